@@ -0,0 +1,254 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.edi.cmd;
+
+import io.ballerina.cli.BLauncherCmd;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark of the CLI launch path of the {@code bal edi} commands.
+ * <p>
+ * Each benchmark parses the command line of a command with picocli and executes it, as {@code bal edi} does, on a
+ * corpus of copies of the shared test schemas. A benchmark runs a number of warm-up iterations followed by the
+ * measured iterations, each writing to a fresh output directory. It is run once in the {@code embedded} mode, which
+ * starts the tool inside this JVM exactly as {@code bal edi} does, and once in the {@code fork} mode, which runs it
+ * with {@code bal run} as {@code bal edi} does when the tool cannot be started inside the CLI (see
+ * {@link EdiToolRunner}). The time of the measured iterations and the peak heap of this JVM are written as JSON to
+ * the results file.
+ * <p>
+ * Arguments: {@code [-wi <warm-up iterations>] [-i <iterations>] [-n <schema counts>] [-m <embedded|fork>...]
+ * [-rff <results file>] [<benchmark>...]}, where schema counts and modes are comma separated.
+ */
+public final class CliBenchmark {
+
+    private static final PrintStream OUT = System.out;
+
+    private final Path corpusRoot;
+    private int warmupIterations = 1;
+    private int iterations = 3;
+    private List<Integer> schemaCounts = List.of(1, 8, 32);
+    private List<String> modes = List.of("embedded", "fork");
+    private Path resultsFile = Paths.get("build", "reports", "cli-benchmark", "results.json");
+    private final List<String> selected = new ArrayList<>();
+
+    private CliBenchmark(Path corpusRoot) {
+        this.corpusRoot = corpusRoot;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String resources = System.getProperty("edi.tools.test.resources");
+        if (resources == null) {
+            throw new IllegalStateException("The edi.tools.test.resources system property is not set.");
+        }
+        CliBenchmark benchmark = new CliBenchmark(Paths.get(resources));
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-wi" -> benchmark.warmupIterations = Integer.parseInt(args[++i]);
+                case "-i" -> benchmark.iterations = Math.max(1, Integer.parseInt(args[++i]));
+                case "-n" -> benchmark.schemaCounts = Arrays.stream(args[++i].split(","))
+                        .map(String::trim).map(Integer::valueOf).toList();
+                case "-m" -> benchmark.modes = Arrays.stream(args[++i].split(",")).map(String::trim).toList();
+                case "-rff" -> benchmark.resultsFile = Paths.get(args[++i]);
+                default -> benchmark.selected.add(args[i]);
+            }
+        }
+        for (String mode : benchmark.modes) {
+            if (!mode.equals("embedded") && !mode.equals("fork")) {
+                throw new IllegalArgumentException("Unknown mode " + mode + ". Use embedded or fork.");
+            }
+        }
+        benchmark.run();
+    }
+
+    private void run() throws IOException, InterruptedException {
+        List<Benchmark> benchmarks = List.of(
+                new Benchmark("codegen", "x12xsd/004010/210.json", ".json", (in, out) -> new String[] {
+                        "-i", in.toString(), "-o", out.toString() }),
+                new Benchmark("codegenTyped", "x12xsd/004010/210.json", ".json", (in, out) -> new String[] {
+                        "-i", in.toString(), "-o", out.toString(), "--typed-codec" }),
+                new Benchmark("libgen", "x12xsd/004010/210.json", ".json", (in, out) -> new String[] {
+                        "-p", "benchorg/benchlib", "-i", in.toString(), "-o", out.toString() }),
+                new Benchmark("convertX12Schema", "x12xsd/004010/210.xsd", ".xsd", (in, out) -> new String[] {
+                        "-c", "-i", in.toString(), "-o", out.toString() }),
+                new Benchmark("convertESL", "esl/schemas", ".esl", (in, out) -> new String[] {
+                        "-b", corpusRoot.resolve("esl/basedefs.esl").toString(), "-i", in.toString(),
+                        "-o", out.toString() }));
+
+        Path workDir = Files.createTempDirectory("edi-cli-benchmark");
+        List<String> results = new ArrayList<>();
+        try {
+            for (Benchmark benchmark : benchmarks) {
+                if (!selected.isEmpty() && !selected.contains(benchmark.name)) {
+                    continue;
+                }
+                for (int schemaCount : schemaCounts) {
+                    Path corpus = writeCorpus(workDir.resolve(benchmark.name + "-" + schemaCount), benchmark,
+                            schemaCount);
+                    for (String mode : modes) {
+                        results.add(measure(benchmark, mode, corpus, schemaCount, workDir));
+                    }
+                }
+            }
+        } finally {
+            deleteRecursively(workDir);
+        }
+
+        Files.createDirectories(resultsFile.toAbsolutePath().getParent());
+        Files.writeString(resultsFile, "[\n" + String.join(",\n", results) + "\n]\n");
+        OUT.println("Wrote " + results.size() + " results to " + resultsFile);
+    }
+
+    private String measure(Benchmark benchmark, String mode, Path corpus, int schemaCount, Path workDir)
+            throws IOException, InterruptedException {
+        System.setProperty(EdiToolRunner.FORK_PROPERTY, String.valueOf("fork".equals(mode)));
+        // Extract the tool before the first iteration so that its one-off copy is not measured.
+        EdiToolRunner.extractTool();
+        for (int i = 0; i < warmupIterations; i++) {
+            execute(benchmark, corpus, workDir.resolve("warmup-" + i));
+        }
+
+        double[] seconds = new double[iterations];
+        resetPeakHeap();
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            execute(benchmark, corpus, workDir.resolve("iteration-" + i));
+            seconds[i] = (System.nanoTime() - start) / 1e9;
+        }
+        long peakHeap = peakHeap();
+
+        double mean = Arrays.stream(seconds).average().orElse(0);
+        double min = Arrays.stream(seconds).min().orElse(0);
+        double max = Arrays.stream(seconds).max().orElse(0);
+        OUT.printf(Locale.ROOT, "%-18s %-10s %4d schemas: %8.3f s/op (min %.3f, max %.3f), peak heap %d MB%n",
+                benchmark.name, mode, schemaCount, mean, min, max, peakHeap / (1024 * 1024));
+        return String.format(Locale.ROOT, "  {\"command\": \"%s\", \"mode\": \"%s\", \"schemas\": %d, "
+                        + "\"iterations\": %d, \"seconds\": %.6f, \"minSeconds\": %.6f, \"maxSeconds\": %.6f, "
+                        + "\"schemasPerSecond\": %.3f, \"peakHeapBytes\": %d}",
+                benchmark.name, mode, schemaCount, iterations, mean, min, max, mean > 0 ? schemaCount / mean : 0,
+                peakHeap);
+    }
+
+    /**
+     * Runs one iteration of the benchmark into an empty output directory. The commands report failures on the
+     * console rather than with an exception, so an iteration that produces no output fails the benchmark.
+     */
+    private void execute(Benchmark benchmark, Path corpus, Path outputDir) throws IOException {
+        deleteRecursively(outputDir);
+        Files.createDirectories(outputDir);
+        BLauncherCmd cmd = switch (benchmark.name) {
+            case "codegen", "codegenTyped" -> new CodegenCmd();
+            case "libgen" -> new LibgenCmd();
+            case "convertX12Schema" -> new ConvertX12Cmd();
+            default -> new EslCmd();
+        };
+        new CommandLine(cmd).parseArgs(benchmark.arguments.of(corpus, outputDir));
+        PrintStream console = System.out;
+        // Keep the progress output of the commands out of the benchmark report.
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            cmd.execute();
+        } finally {
+            System.setOut(console);
+        }
+        try (Stream<Path> outputs = Files.walk(outputDir)) {
+            if (outputs.noneMatch(Files::isRegularFile)) {
+                throw new IllegalStateException(benchmark.name + " did not write any output to " + outputDir);
+            }
+        }
+    }
+
+    /**
+     * Writes {@code schemaCount} copies of the benchmark's source schemas into a corpus directory. A source that is a
+     * directory contributes its files in turn.
+     */
+    private Path writeCorpus(Path corpus, Benchmark benchmark, int schemaCount) throws IOException {
+        Files.createDirectories(corpus);
+        Path source = corpusRoot.resolve(benchmark.source);
+        List<Path> sources;
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> files = Files.list(source)) {
+                sources = files.filter(file -> file.toString().endsWith(benchmark.extension)).sorted().toList();
+            }
+        } else {
+            sources = List.of(source);
+        }
+        for (int i = 0; i < schemaCount; i++) {
+            Path file = sources.get(i % sources.size());
+            String name = file.getFileName().toString();
+            String baseName = name.substring(0, name.length() - benchmark.extension.length());
+            Files.copy(file, corpus.resolve(baseName + "_" + i + benchmark.extension),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        return corpus;
+    }
+
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    /**
+     * Peak heap of this JVM since the last reset, as the sum of the peaks of the heap memory pools. It does not cover
+     * a forked tool process.
+     */
+    private static long peakHeap() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path item : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(item);
+            }
+        }
+    }
+
+    private record Benchmark(String name, String source, String extension, Arguments arguments) {
+    }
+
+    @FunctionalInterface
+    private interface Arguments {
+        String[] of(Path input, Path output);
+    }
+}
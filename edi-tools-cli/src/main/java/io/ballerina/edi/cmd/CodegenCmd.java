@@ -29,56 +29,154 @@ import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @CommandLine.Command(name = "codegen", description = "Generates Ballerina records and parser functions for a given EDI schema.")
 public class CodegenCmd implements BLauncherCmd {
-    private static final String EDI_TOOL = "editools.jar";
     private static final String CMD_NAME = "codegen";
 
     private final PrintStream printStream;
 
-    @CommandLine.Option(names = { "-i", "--input" }, description = "EDI schema file path")
-    private String schemaPath;
+    @CommandLine.Option(names = { "-i", "--input" }, arity = "1..*",
+            description = "EDI schema file paths, or directories containing EDI schema files")
+    private List<String> schemaPaths;
 
     @CommandLine.Option(names = { "-o", "--output" }, description = "Output path")
     private String outputPath;
 
+    @CommandLine.Option(names = { "--typed-codec" },
+            description = "Generate typed readers and writers instead of converting through JSON")
+    private boolean typedCodec;
+
+    @CommandLine.Option(names = { "-j", "--jobs" },
+            description = "Number of schemas to generate concurrently when generating code for multiple schemas")
+    private Integer jobs;
+
+    @CommandLine.Option(names = { "--watch" },
+            description = "Keep running and regenerate the code of schemas when they change")
+    private boolean watch;
+
     public CodegenCmd() {
         this.printStream = System.out;
     }
 
     @Override
     public void execute() {
-        if (schemaPath == null || outputPath == null) {
+        if (schemaPaths == null || schemaPaths.isEmpty() || outputPath == null) {
             StringBuilder stringBuilder = new StringBuilder();
             printUsage(stringBuilder);
             printStream.println(stringBuilder.toString());
             return;
         }
+        if (jobs != null && jobs < 1) {
+            printStream.println("Invalid number of jobs: " + jobs + ". Provide a value of 1 or more.");
+            return;
+        }
+        boolean batch = isBatch();
+        try (EdiToolRunner.Session session = new EdiToolRunner.Session(printStream)) {
+            if (watch) {
+                watch(session, batch);
+            } else {
+                generate(session, batch, schemaPaths);
+            }
+        } catch (IOException e) {
+            printStream.println("Error in generating code. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Generates the code and regenerates it whenever the schemas change. All runs use the same started tool, so a
+     * regeneration only pays for generating the changed schemas.
+     */
+    private void watch(EdiToolRunner.Session session, boolean batch) {
+        List<Path> inputs = schemaPaths.stream().map(Paths::get).collect(Collectors.toList());
+        // Start watching before the first run, so that schemas saved while it runs are not missed.
+        try (SchemaWatcher watcher = new SchemaWatcher(inputs)) {
+            generate(session, batch, schemaPaths);
+            printStream.println("Watching " + String.join(", ", schemaPaths) + " for changes. Press Ctrl+C to stop.");
+            while (true) {
+                Set<Path> changes = watcher.awaitChanges();
+                regenerate(session, batch, changes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            printStream.println("Error in watching the schemas. " + e.getMessage());
+        }
+    }
+
+    private void generate(EdiToolRunner.Session session, boolean batch, List<String> inputs) {
         try {
-            printStream.println("Generating code for " + schemaPath + "...");
-            Class<?> clazz = CodegenCmd.class;
-            ClassLoader classLoader = clazz.getClassLoader();
-            Path tempFile = Files.createTempFile(null, ".jar");
-            try (InputStream in = classLoader.getResourceAsStream(EDI_TOOL)) {
-                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            List<String> toolArgs = new ArrayList<>();
+            if (batch) {
+                int workerCount = jobs != null ? jobs : Runtime.getRuntime().availableProcessors();
+                printStream.println("Generating code for " + String.join(", ", inputs) + " using "
+                        + workerCount + " jobs...");
+                toolArgs.addAll(List.of(CMD_NAME, "b", String.valueOf(workerCount), typedCodec ? "typed" : "plain",
+                        outputPath));
+                toolArgs.addAll(inputs);
+            } else {
+                String schemaPath = inputs.get(0);
+                printStream.println("Generating code for " + schemaPath + "...");
+                toolArgs.addAll(List.of(CMD_NAME, schemaPath, outputPath));
+                if (typedCodec) {
+                    toolArgs.add("typed");
+                }
             }
-            ProcessBuilder processBuilder = new ProcessBuilder(
-                    "bal", "run", tempFile.toAbsolutePath().toString(), "--", "codegen", schemaPath, outputPath);
-            processBuilder.inheritIO();
-            Process process = processBuilder.start();
-            process.waitFor();
-            java.io.InputStream is = process.getInputStream();
-            byte b[] = new byte[is.available()];
-            is.read(b, 0, b.length);
-            printStream.println(new String(b));
+            if (session.run(toolArgs) != 0) {
+                printStream.println("Error in generating code. The EDI tool exited with an error.");
+            }
+        } catch (InterruptedException e) {
+            // Keep the interrupt, so that a running watch stops.
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             printStream.println("Error in generating code. " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    /**
+     * Regenerates the code of the changed schemas only. In batch mode, the code of a removed schema is deleted from
+     * the output directory.
+     */
+    private void regenerate(EdiToolRunner.Session session, boolean batch, Set<Path> changes) {
+        List<String> inputs = new ArrayList<>();
+        for (Path change : changes) {
+            if (Files.exists(change)) {
+                inputs.add(change.toString());
+            } else if (batch) {
+                String fileName = change.getFileName().toString();
+                String outputName = (fileName.endsWith(".json")
+                        ? fileName.substring(0, fileName.length() - ".json".length()) : fileName) + ".bal";
+                Path output = Paths.get(outputPath, outputName);
+                try {
+                    if (Files.deleteIfExists(output)) {
+                        printStream.println("Removed " + output + " of the removed schema " + change);
+                    }
+                } catch (IOException e) {
+                    printStream.println("Error in removing " + output + ". " + e.getMessage());
+                }
+            } else {
+                printStream.println("Schema " + change + " was removed. Waiting for it to be created again...");
+            }
+        }
+        if (!inputs.isEmpty()) {
+            generate(session, batch, inputs);
+        }
+    }
+
+    /**
+     * Batch mode writes one file per schema into the output directory. It is used for several inputs or a
+     * directory input. The number of jobs only sets how many of the schemas are generated concurrently.
+     */
+    private boolean isBatch() {
+        return schemaPaths.size() > 1 || Files.isDirectory(Paths.get(schemaPaths.get(0)));
+    }
+
     @Override
     public String getName() {
         return CMD_NAME;
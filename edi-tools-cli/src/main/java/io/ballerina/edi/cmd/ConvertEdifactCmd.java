@@ -26,11 +26,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
 
 @CommandLine.Command(name = "convertEdifactSchema", description = "Converts EDIFACT schema to EDI schema.")
 public class ConvertEdifactCmd implements BLauncherCmd {
@@ -46,35 +44,67 @@ public class ConvertEdifactCmd implements BLauncherCmd {
     @CommandLine.Option(names = { "-o", "--output" }, description = "EDIFACT schema directory path")
     private String dir;
 
+    @CommandLine.Option(names = { "-d", "--directory" },
+            description = "Directory containing the UN/EDIFACT directory files (EDMD, EDSD, EDCD, EDED)")
+    private String directory;
+
+    @CommandLine.Option(names = { "--cache-dir" },
+            description = "Directory to cache the fetched EDIFACT directory pages in")
+    private String cacheDir;
+
+    @CommandLine.Option(names = { "--offline" },
+            description = "Convert only from the pages in the cache directory")
+    private boolean offline;
+
+    @CommandLine.Option(names = { "-j", "--jobs" }, description = "Number of pages to fetch concurrently")
+    private Integer jobs;
+
     public ConvertEdifactCmd() {
         this.printStream = System.out;
     }
 
     @Override
     public void execute() {
-        if (version == null || dir == null) {
+        if ((version == null && directory == null) || dir == null) {
             StringBuilder stringBuilder = new StringBuilder();
             printUsage(stringBuilder);
             printStream.println(stringBuilder.toString());
             return;
         }
+        if (offline && cacheDir == null) {
+            printStream.println("The --offline option requires --cache-dir.");
+            return;
+        }
+        if (jobs != null && jobs < 1) {
+            printStream.println("Invalid number of jobs: " + jobs + ". Provide a value of 1 or more.");
+            return;
+        }
         try {
             printStream.println("Generating EDI schema for EDIFACT schema ...");
-            URL res = ConvertEdifactCmd.class.getClassLoader().getResource("editools.jar");
-            Path tempFile = Files.createTempFile(null, ".jar");
-            try (InputStream in = res.openStream()) {
-                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            List<String> argsList = new ArrayList<>();
+            argsList.add(CMD_NAME);
+            argsList.add(version == null ? "" : version);
+            argsList.add(type == null ? "" : type);
+            argsList.add(dir);
+            if (cacheDir != null) {
+                argsList.add("cache");
+                argsList.add(cacheDir);
+            }
+            if (offline) {
+                argsList.add("offline");
+            }
+            if (jobs != null) {
+                argsList.add("j");
+                argsList.add(String.valueOf(jobs));
+            }
+            if (directory != null) {
+                argsList.add("dir");
+                argsList.add(directory);
+            }
+            if (EdiToolRunner.run(printStream, argsList) != 0) {
+                printStream.println("Error in generating edi schema for edifact schema. "
+                        + "The EDI tool exited with an error.");
             }
-            ProcessBuilder processBuilder = new ProcessBuilder(
-                    "bal", "run", tempFile.toAbsolutePath().toString(), "--", CMD_NAME, version, type == null ? "" : type,
-                    dir);
-            processBuilder.inheritIO();
-            Process process = processBuilder.start();
-            process.waitFor();
-            java.io.InputStream is = process.getInputStream();
-            byte b[] = new byte[is.available()];
-            is.read(b, 0, b.length);
-            printStream.println(new String(b));
         } catch (Exception e) {
             printStream.println("Error in generating edi schema for edifact schema. " + e.getMessage());
             e.printStackTrace();
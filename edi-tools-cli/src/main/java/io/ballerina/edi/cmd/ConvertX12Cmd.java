@@ -27,9 +27,6 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -37,7 +34,6 @@ import java.util.List;
 public class ConvertX12Cmd implements BLauncherCmd {
 
     private static final String CMD_NAME = "convertX12Schema";
-    private static final String EDI_TOOL = "editools.jar";
 
     private final PrintStream printStream;
 
@@ -56,6 +52,10 @@ public class ConvertX12Cmd implements BLauncherCmd {
     @CommandLine.Option(names = { "-d", "--segdet" }, description = { "Segment details path" })
     private String segdetPath;
 
+    @CommandLine.Option(names = { "-j", "--jobs" },
+            description = { "Number of schemas to convert concurrently in collection mode" })
+    private Integer jobs;
+
     public ConvertX12Cmd() {
         this.printStream = System.out;
     }
@@ -68,6 +68,10 @@ public class ConvertX12Cmd implements BLauncherCmd {
             printStream.println(stringBuilder.toString());
             return;
         }
+        if (jobs != null && jobs < 1) {
+            printStream.println("Invalid number of jobs: " + jobs + ". Provide a value of 1 or more.");
+            return;
+        }
         StringBuilder stringBuilder = new StringBuilder("Converting schema ");
         if (collectionMode) {
             stringBuilder.append("in collection ");
@@ -77,38 +81,25 @@ public class ConvertX12Cmd implements BLauncherCmd {
         }
         stringBuilder.append(inputPath).append("...");
         printStream.println(stringBuilder);
-        Class<?> clazz = ConvertX12Cmd.class;
-        ClassLoader classLoader = clazz.getClassLoader();
         try {
-            Path tempFile = Files.createTempFile(null, ".jar");
-            try (InputStream in = classLoader.getResourceAsStream(EDI_TOOL)) {
-                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
-            }
             List<String> argsList = new ArrayList<>();
-            argsList.add("bal");
-            argsList.add("run");
-            argsList.add(tempFile.toAbsolutePath().toString());
-            argsList.add("--");
             argsList.add(CMD_NAME);
             if (headersIncluded) {
                 argsList.add("H");
             }
             if (collectionMode) {
                 argsList.add("c");
+                argsList.add("j");
+                argsList.add(String.valueOf(jobs != null ? jobs : Runtime.getRuntime().availableProcessors()));
             }
             argsList.add(inputPath);
             argsList.add(outputPath);
             if (segdetPath != null) {
                 argsList.add(segdetPath);
             }
-            ProcessBuilder processBuilder = new ProcessBuilder(argsList);
-            Process process = processBuilder.start();
-            process.waitFor();
-            java.io.InputStream is = process.getInputStream();
-            byte[] b = new byte[is.available()];
-            is.read(b, 0, b.length);
-            printStream.println(new String(b));
-
+            if (EdiToolRunner.run(printStream, argsList) != 0) {
+                printStream.println("Error in generating code. The EDI tool exited with an error.");
+            }
         } catch (IOException | InterruptedException e) {
             printStream.println("Error in generating code. " + e.getMessage());
             e.printStackTrace();
@@ -27,9 +27,6 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 
 /**
  * Main class to implement "edi" command for ballerina.
@@ -39,11 +36,11 @@ import java.nio.file.StandardCopyOption;
         LibgenCmd.class,
         EslCmd.class,
         ConvertX12Cmd.class,
-        ConvertEdifactCmd.class
+        ConvertEdifactCmd.class,
+        MsggenCmd.class
 })
 public class EdiCmd implements BLauncherCmd {
     private static final String CMD_NAME = "edi";
-    private static final String EDI_TOOL = "editools.jar";
     private PrintStream printStream;
 
     @CommandLine.Option(names = { "-h", "--help" }, hidden = true)
@@ -56,20 +53,9 @@ public class EdiCmd implements BLauncherCmd {
     @Override
     public void execute() {
         try {
-            Class<?> clazz = EdiCmd.class;
-            ClassLoader classLoader = clazz.getClassLoader();
-            Path tempFile = Files.createTempFile(null, ".jar");
-            try (InputStream in = classLoader.getResourceAsStream(EDI_TOOL)) {
-                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            if (EdiToolRunner.run(printStream) != 0) {
+                printStream.println("Error in executing EDI CLI commands. The EDI tool exited with an error.");
             }
-            ProcessBuilder processBuilder = new ProcessBuilder("bal", "run", tempFile.toAbsolutePath().toString());
-            processBuilder.inheritIO();
-            Process process = processBuilder.start();
-            process.waitFor();
-            java.io.InputStream is = process.getInputStream();
-            byte b[] = new byte[is.available()];
-            is.read(b, 0, b.length);
-            printStream.println(new String(b));
         } catch (Exception e) {
             printStream.println("Error in executing EDI CLI commands. " + e.getMessage());
             e.printStackTrace();
@@ -0,0 +1,339 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.edi.cmd;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * Runs the bundled Ballerina EDI tool (editools.jar) for the CLI commands.
+ * <p>
+ * The jar is extracted once per tool version to a content-addressed cache file. The tool is then started inside the
+ * running JVM through the Ballerina runtime API, in a class loader that only sees the jar and the platform classes,
+ * and each command is a call of its {@code runTool} function, which returns the exit status of the command instead
+ * of ending the process. When the runtime API is not available in the jar, or when the {@value #FORK_PROPERTY} system
+ * property is set to true, the tool is run with {@code bal run} in a separate process instead.
+ */
+final class EdiToolRunner {
+
+    static final String FORK_PROPERTY = "edi.tools.forkTool";
+    static final String CACHE_DIR_PROPERTY = "edi.tools.cacheDir";
+
+    private static final String EDI_TOOL = "editools.jar";
+    private static final String TOOL_FUNCTION = "runTool";
+
+    private static Path extractedTool;
+
+    private EdiToolRunner() {
+    }
+
+    /**
+     * Runs the EDI tool with the given arguments and waits for it to complete.
+     *
+     * @param printStream stream to report failures of the tool run on
+     * @param args        arguments passed to the tool
+     * @return exit status of the tool; 0 on success
+     */
+    static int run(PrintStream printStream, List<String> args) throws IOException, InterruptedException {
+        try (Session session = new Session(printStream)) {
+            return session.run(args);
+        }
+    }
+
+    static int run(PrintStream printStream, String... args) throws IOException, InterruptedException {
+        return run(printStream, List.of(args));
+    }
+
+    /**
+     * Returns the extracted editools.jar, copying it out of the CLI jar only when the cache does not
+     * already hold a jar with the same content.
+     */
+    static synchronized Path extractTool() throws IOException {
+        if (extractedTool != null && Files.exists(extractedTool)) {
+            return extractedTool;
+        }
+        String digest = toolDigest();
+        Path cacheDir = toolCacheDir();
+        Path target = cacheDir.resolve("editools-" + digest + ".jar");
+        if (!Files.exists(target)) {
+            Files.createDirectories(cacheDir);
+            // Copy to a temporary file first so that a concurrent CLI never sees a partially written jar.
+            Path tempFile = Files.createTempFile(cacheDir, "editools-", ".tmp");
+            try (InputStream in = openTool()) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+        extractedTool = target;
+        return target;
+    }
+
+    private static Path toolCacheDir() {
+        String configured = System.getProperty(CACHE_DIR_PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("java.io.tmpdir"), "ballerina-edi-tools");
+    }
+
+    private static String toolDigest() throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 is not available to identify " + EDI_TOOL, e);
+        }
+        try (InputStream in = new DigestInputStream(openTool(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+    }
+
+    private static InputStream openTool() throws IOException {
+        URL resource = EdiToolRunner.class.getClassLoader().getResource(EDI_TOOL);
+        if (resource == null) {
+            throw new IOException(EDI_TOOL + " is not bundled with the EDI CLI tool.");
+        }
+        return resource.openStream();
+    }
+
+    private static int runInSubprocess(Path toolJar, List<String> args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of("bal", "run", toolJar.toAbsolutePath().toString()));
+        if (!args.isEmpty()) {
+            command.add("--");
+            command.addAll(args);
+        }
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        processBuilder.inheritIO();
+        return processBuilder.start().waitFor();
+    }
+
+    /**
+     * A started EDI tool that runs any number of commands. The Ballerina runtime of the tool is started by the first
+     * command and stays up until the session is closed, so that later commands, like the regenerations of a watch,
+     * only pay for the work of the command itself.
+     */
+    static final class Session implements AutoCloseable {
+        private final PrintStream printStream;
+        private final Path toolJar;
+        private EmbeddedTool embeddedTool;
+        private boolean embeddedToolTried;
+
+        Session(PrintStream printStream) throws IOException {
+            this.printStream = printStream;
+            this.toolJar = extractTool();
+        }
+
+        /**
+         * Runs one command of the tool and waits for it to complete.
+         *
+         * @param args arguments passed to the tool
+         * @return exit status of the command; 0 on success
+         */
+        synchronized int run(List<String> args) throws IOException, InterruptedException {
+            if (!Boolean.getBoolean(FORK_PROPERTY)) {
+                if (!embeddedToolTried) {
+                    embeddedToolTried = true;
+                    embeddedTool = EmbeddedTool.start(toolJar);
+                }
+                if (embeddedTool != null) {
+                    return embeddedTool.call(printStream, args);
+                }
+            }
+            return runInSubprocess(toolJar, args);
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (embeddedTool != null) {
+                EmbeddedTool tool = embeddedTool;
+                embeddedTool = null;
+                tool.stop();
+            }
+        }
+    }
+
+    /**
+     * The EDI tool started in an isolated class loader through the Ballerina runtime API. The API classes come from
+     * the tool jar and are only known to the CLI by name.
+     */
+    private static final class EmbeddedTool {
+        private final URLClassLoader loader;
+        private final Object module;
+        private final Object runtime;
+        private final Method callFunction;
+        private final Method stopRuntime;
+        private final Method fromString;
+        private final Method createArrayValue;
+        private final Class<?> stringClass;
+
+        private EmbeddedTool(URLClassLoader loader, Object module, Object runtime, Method callFunction,
+                             Method stopRuntime, Method fromString, Method createArrayValue, Class<?> stringClass) {
+            this.loader = loader;
+            this.module = module;
+            this.runtime = runtime;
+            this.callFunction = callFunction;
+            this.stopRuntime = stopRuntime;
+            this.fromString = fromString;
+            this.createArrayValue = createArrayValue;
+            this.stringClass = stringClass;
+        }
+
+        /**
+         * Loads the tool and initializes its module, or returns null when the jar does not provide the runtime API.
+         */
+        static EmbeddedTool start(Path toolJar) throws IOException {
+            String[] moduleId = moduleId(toolJar);
+            if (moduleId == null) {
+                return null;
+            }
+            URLClassLoader loader = new URLClassLoader(new URL[] { toolJar.toUri().toURL() },
+                    ClassLoader.getPlatformClassLoader());
+            Thread thread = Thread.currentThread();
+            ClassLoader contextLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+            try {
+                Class<?> moduleClass = Class.forName("io.ballerina.runtime.api.Module", true, loader);
+                Class<?> runtimeClass = Class.forName("io.ballerina.runtime.api.Runtime", true, loader);
+                Class<?> stringClass = Class.forName("io.ballerina.runtime.api.values.BString", true, loader);
+                Method fromString = Class.forName("io.ballerina.runtime.api.utils.StringUtils", true, loader)
+                        .getMethod("fromString", String.class);
+                Method createArrayValue = Class.forName("io.ballerina.runtime.api.creators.ValueCreator", true, loader)
+                        .getMethod("createArrayValue", stringClass.arrayType());
+                Method callFunction = findCallFunction(runtimeClass, moduleClass);
+                Method stopRuntime = runtimeClass.getMethod("stop");
+
+                Constructor<?> moduleConstructor = moduleClass.getConstructor(String.class, String.class, String.class);
+                Object module = moduleConstructor.newInstance((Object[]) moduleId);
+                Object runtime = runtimeClass.getMethod("from", moduleClass).invoke(null, module);
+                runtimeClass.getMethod("init").invoke(runtime);
+                runtimeClass.getMethod("start").invoke(runtime);
+                return new EmbeddedTool(loader, module, runtime, callFunction, stopRuntime, fromString,
+                        createArrayValue, stringClass);
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                // The tool was built without the runtime API or could not be started in this JVM; it runs in a
+                // separate process instead.
+                loader.close();
+                return null;
+            } finally {
+                thread.setContextClassLoader(contextLoader);
+            }
+        }
+
+        /**
+         * Reads the organization, name and major version of the tool's root module from the main class of the jar,
+         * which Ballerina names {@code <org>.<name>.<major version>.$_init}.
+         */
+        private static String[] moduleId(Path toolJar) throws IOException {
+            String mainClassName;
+            try (JarFile jarFile = new JarFile(toolJar.toFile())) {
+                Manifest manifest = jarFile.getManifest();
+                mainClassName = manifest == null ? null
+                        : manifest.getMainAttributes().getValue(Attributes.Name.MAIN_CLASS);
+            }
+            if (mainClassName == null) {
+                return null;
+            }
+            String[] parts = mainClassName.split("\\.");
+            if (parts.length < 4) {
+                return null;
+            }
+            String name = String.join(".", List.of(parts).subList(1, parts.length - 2));
+            return new String[] { parts[0], name, parts[parts.length - 2] };
+        }
+
+        private static Method findCallFunction(Class<?> runtimeClass, Class<?> moduleClass)
+                throws NoSuchMethodException {
+            for (Method method : runtimeClass.getMethods()) {
+                Class<?>[] parameters = method.getParameterTypes();
+                // callFunction(Module module, String functionName, StrandMetadata metadata, Object... args)
+                if (method.getName().equals("callFunction") && parameters.length == 4
+                        && parameters[0] == moduleClass && parameters[1] == String.class
+                        && parameters[3] == Object[].class) {
+                    return method;
+                }
+            }
+            throw new NoSuchMethodException(runtimeClass.getName() + ".callFunction");
+        }
+
+        /**
+         * Calls the tool's {@code runTool} function with the given arguments and returns its exit status. A panic of
+         * the tool is reported on the given stream as a failed run.
+         */
+        synchronized int call(PrintStream printStream, List<String> args) {
+            Thread thread = Thread.currentThread();
+            ClassLoader contextLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+            try {
+                Object toolArgs = Array.newInstance(stringClass, args.size());
+                for (int i = 0; i < args.size(); i++) {
+                    Array.set(toolArgs, i, fromString.invoke(null, args.get(i)));
+                }
+                Object status = callFunction.invoke(runtime, module, TOOL_FUNCTION, null,
+                        new Object[] { createArrayValue.invoke(null, toolArgs) });
+                return status instanceof Number number ? number.intValue() : 1;
+            } catch (InvocationTargetException e) {
+                printStream.println("EDI tool failed: " + e.getCause());
+                return 1;
+            } catch (IllegalAccessException e) {
+                printStream.println("EDI tool failed: " + e);
+                return 1;
+            } finally {
+                thread.setContextClassLoader(contextLoader);
+            }
+        }
+
+        void stop() throws IOException {
+            Thread thread = Thread.currentThread();
+            ClassLoader contextLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+            try {
+                stopRuntime.invoke(runtime);
+            } catch (InvocationTargetException | IllegalAccessException e) {
+                throw new IOException("The EDI tool could not be stopped. " + e.getMessage(), e);
+            } finally {
+                thread.setContextClassLoader(contextLoader);
+                loader.close();
+            }
+        }
+    }
+}
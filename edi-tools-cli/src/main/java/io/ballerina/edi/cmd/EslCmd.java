@@ -27,14 +27,12 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
 
 @CommandLine.Command(name = "convertESL", description = "Converts ESL schemas to Ballerina compatible JSON schemas.")
 public class EslCmd implements BLauncherCmd {
     private static final String CMD_NAME = "convertESL";
-    private static final String EDI_TOOL = "editools.jar";
 
     private PrintStream printStream;
 
@@ -47,6 +45,14 @@ public class EslCmd implements BLauncherCmd {
     @CommandLine.Option(names = { "-o", "--output" }, description = "Output path")
     private String outputPath;
 
+    @CommandLine.Option(names = { "--cache-dir" },
+            description = "Directory to keep the snapshot of the parsed segment definitions in")
+    private String cacheDir;
+
+    @CommandLine.Option(names = { "-j", "--jobs" },
+            description = "Number of ESL schemas to convert concurrently when the input is a directory")
+    private Integer jobs;
+
     public EslCmd() {
         printStream = System.out;
     }
@@ -59,23 +65,26 @@ public class EslCmd implements BLauncherCmd {
             printStream.println(stringBuilder.toString());
             return;
         }
+        if (jobs != null && jobs < 1) {
+            printStream.println("Invalid number of jobs: " + jobs + ". Provide a value of 1 or more.");
+            return;
+        }
         try {
             printStream.println("Converting ESL schemas in " + schemaPath);
-            Class<?> clazz = LibgenCmd.class;
-            ClassLoader classLoader = clazz.getClassLoader();
-            Path tempFile = Files.createTempFile(null, ".jar");
-            try (InputStream in = classLoader.getResourceAsStream(EDI_TOOL)) {
-                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            List<String> argsList = new ArrayList<>();
+            argsList.add(CMD_NAME);
+            argsList.add(schemaPath);
+            argsList.add(basedefPath);
+            argsList.add(outputPath);
+            if (cacheDir != null) {
+                argsList.add("cache");
+                argsList.add(cacheDir);
+            }
+            argsList.add("j");
+            argsList.add(String.valueOf(jobs != null ? jobs : Runtime.getRuntime().availableProcessors()));
+            if (EdiToolRunner.run(printStream, argsList) != 0) {
+                printStream.println("Error in generating library. The EDI tool exited with an error.");
             }
-            ProcessBuilder processBuilder = new ProcessBuilder(
-                    "bal", "run", tempFile.toAbsolutePath().toString(), "--", "convertESL", schemaPath, basedefPath,
-                    outputPath);
-            Process process = processBuilder.start();
-            process.waitFor();
-            java.io.InputStream is = process.getInputStream();
-            byte b[] = new byte[is.available()];
-            is.read(b, 0, b.length);
-            printStream.println(new String(b));
         } catch (Exception e) {
             printStream.println("Error in generating library. " + e.getMessage());
             e.printStackTrace();
@@ -27,14 +27,16 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @CommandLine.Command(name = "libgen", description = "Generates Ballerina package for code for the given collection of EDI schemas.")
 public class LibgenCmd implements BLauncherCmd {
     private static final String CMD_NAME = "libgen";
-    private static final String EDI_TOOL = "editools.jar";
 
     private PrintStream printStream;
 
@@ -47,6 +49,25 @@ public class LibgenCmd implements BLauncherCmd {
     @CommandLine.Option(names = { "-o", "--output" }, description = "Output path")
     private String outputPath;
 
+    @CommandLine.Option(names = { "-j", "--jobs" }, description = "Number of EDI modules to generate concurrently")
+    private Integer jobs;
+
+    @CommandLine.Option(names = { "--incremental" },
+            description = "Regenerate only the modules of changed schemas in an existing package")
+    private boolean incremental;
+
+    @CommandLine.Option(names = { "--metrics" },
+            description = "Count the conversions of the generated package per EDI type")
+    private boolean metrics;
+
+    @CommandLine.Option(names = { "--typed-codec" },
+            description = "Generate the modules with typed readers and writers instead of converting through JSON")
+    private boolean typedCodec;
+
+    @CommandLine.Option(names = { "--watch" },
+            description = "Keep running and update the package when the schemas change")
+    private boolean watch;
+
     public LibgenCmd() {
         printStream = System.out;
     }
@@ -66,26 +87,67 @@ public class LibgenCmd implements BLauncherCmd {
                     " The packagename part must contain only alphanumeric characters, underscores, or periods and be 1 to 256 characters long.");
             return;
         }
+        if (jobs != null && jobs < 1) {
+            printStream.println("Invalid number of jobs: " + jobs + ". Provide a value of 1 or more.");
+            return;
+        }
+        try (EdiToolRunner.Session session = new EdiToolRunner.Session(printStream)) {
+            if (watch) {
+                watch(session);
+            } else {
+                generate(session, incremental);
+            }
+        } catch (IOException e) {
+            printStream.println("Error in generating library. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Generates the library and updates it whenever the schemas change. All runs use the same started tool, so
+     * an update only pays for regenerating the modules of the changed schemas.
+     */
+    private void watch(EdiToolRunner.Session session) {
+        // Start watching before the first run, so that schemas saved while it runs are not missed.
+        try (SchemaWatcher watcher = new SchemaWatcher(List.of(Paths.get(schemaPath)))) {
+            generate(session, incremental);
+            printStream.println("Watching " + schemaPath + " for changes. Press Ctrl+C to stop.");
+            while (true) {
+                Set<Path> changes = watcher.awaitChanges();
+                printStream.println("Schemas changed: " + changes.stream().map(path -> path.getFileName().toString())
+                        .collect(Collectors.joining(", ")));
+                // The package now exists, so later runs only regenerate the modules of the changed schemas.
+                generate(session, true);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            printStream.println("Error in watching the schemas. " + e.getMessage());
+        }
+    }
+
+    private void generate(EdiToolRunner.Session session, boolean incrementalRun) {
         try {
             printStream.println("Generating library package for " + packageName + " : " + schemaPath);
-            Class<?> clazz = LibgenCmd.class;
-            ClassLoader classLoader = clazz.getClassLoader();
-            Path tempFile = Files.createTempFile(null, ".jar");
-            try (InputStream in = classLoader.getResourceAsStream(EDI_TOOL)) {
-                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
-            }
             String orgName = packageName.split("/")[0];
             String libName = packageName.split("/")[1];
-            ProcessBuilder processBuilder = new ProcessBuilder(
-                    "bal", "run", tempFile.toAbsolutePath().toString(), "--", "libgen", orgName, libName, schemaPath,
-                    outputPath);
-            processBuilder.inheritIO();
-            Process process = processBuilder.start();
-            process.waitFor();
-            java.io.InputStream is = process.getInputStream();
-            byte b[] = new byte[is.available()];
-            is.read(b, 0, b.length);
-            printStream.println(new String(b));
+            int workerCount = jobs != null ? jobs : Runtime.getRuntime().availableProcessors();
+            List<String> args = new ArrayList<>(List.of(CMD_NAME, orgName, libName, schemaPath, outputPath,
+                    "j", String.valueOf(workerCount)));
+            if (incrementalRun) {
+                args.add("i");
+            }
+            if (metrics) {
+                args.add("m");
+            }
+            if (typedCodec) {
+                args.add("t");
+            }
+            if (session.run(args) != 0) {
+                printStream.println("Error in generating library. The EDI tool exited with an error.");
+            }
+        } catch (InterruptedException e) {
+            // Keep the interrupt, so that a running watch stops.
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             printStream.println("Error in generating library. " + e.getMessage());
             e.printStackTrace();
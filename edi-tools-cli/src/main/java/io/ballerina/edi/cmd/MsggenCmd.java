@@ -0,0 +1,173 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.edi.cmd;
+
+import io.ballerina.cli.BLauncherCmd;
+import picocli.CommandLine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@CommandLine.Command(name = "msggen", description = "Generates random EDI messages that conform to an EDI schema.")
+public class MsggenCmd implements BLauncherCmd {
+    private static final String CMD_NAME = "msggen";
+    private static final Pattern SIZE_PATTERN = Pattern.compile("(\\d+)\\s*([KMG]?B?)");
+    private static final Map<String, Long> SIZE_UNITS = Map.of("", 1L, "B", 1L, "K", 1L << 10, "KB", 1L << 10,
+            "M", 1L << 20, "MB", 1L << 20, "G", 1L << 30, "GB", 1L << 30);
+
+    private final PrintStream printStream;
+
+    @CommandLine.Option(names = { "-i", "--input" }, description = "EDI schema path")
+    private String schemaPath;
+
+    @CommandLine.Option(names = { "-o", "--output" }, description = "Output path")
+    private String outputPath;
+
+    @CommandLine.Option(names = { "-n", "--count" },
+            description = "Number of messages, or of interchanges for schemas with an envelope")
+    private Integer count;
+
+    @CommandLine.Option(names = { "-t", "--transactions" },
+            description = "Number of transactions in each interchange of schemas with an envelope")
+    private Integer transactions;
+
+    @CommandLine.Option(names = { "-s", "--size" },
+            description = "Generate messages until the output reaches this size, e.g. 500MB")
+    private String size;
+
+    @CommandLine.Option(names = { "--seed" }, description = "Seed of the random values")
+    private Long seed;
+
+    @CommandLine.Option(names = { "--max-repeats" },
+            description = "Most occurrences of unbounded segments, segment groups and repeated fields")
+    private Integer maxRepeats;
+
+    @CommandLine.Option(names = { "--transaction-id" },
+            description = "Transaction identifier written to X12 ST01 and EDIFACT UNH")
+    private String transactionId;
+
+    public MsggenCmd() {
+        this.printStream = System.out;
+    }
+
+    @Override
+    public void execute() {
+        if (schemaPath == null || outputPath == null) {
+            StringBuilder stringBuilder = new StringBuilder();
+            printUsage(stringBuilder);
+            printStream.println(stringBuilder.toString());
+            return;
+        }
+        if ((count != null && count < 1) || (transactions != null && transactions < 1)
+                || (maxRepeats != null && maxRepeats < 1)) {
+            printStream.println("Invalid count, transactions or max repeats. Provide a value of 1 or more.");
+            return;
+        }
+        Long targetSize = null;
+        if (size != null) {
+            targetSize = parseSize(size);
+            if (targetSize == null) {
+                printStream.println("Invalid size: " + size + ". Provide a size such as 1048576, 500KB, 20MB or 2GB.");
+                return;
+            }
+        }
+        try {
+            printStream.println("Generating EDI messages for " + schemaPath + "...");
+            List<String> args = new ArrayList<>(List.of(CMD_NAME, schemaPath, outputPath));
+            addOption(args, "n", count);
+            addOption(args, "t", transactions);
+            addOption(args, "s", targetSize);
+            addOption(args, "seed", seed);
+            addOption(args, "r", maxRepeats);
+            addOption(args, "id", transactionId);
+            if (EdiToolRunner.run(printStream, args) != 0) {
+                printStream.println("Error in generating EDI messages. The EDI tool exited with an error.");
+            }
+        } catch (Exception e) {
+            printStream.println("Error in generating EDI messages. " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private static void addOption(List<String> args, String name, Object value) {
+        if (value != null) {
+            args.add(name);
+            args.add(value.toString());
+        }
+    }
+
+    /**
+     * Parses a size in bytes, with an optional K, M or G (or KB, MB, GB) suffix in powers of 1024.
+     *
+     * @return the size in bytes, or null if the size is not valid
+     */
+    static Long parseSize(String text) {
+        Matcher matcher = SIZE_PATTERN.matcher(text.trim().toUpperCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            long value = Long.parseLong(matcher.group(1));
+            return value > 0 ? Math.multiplyExact(value, SIZE_UNITS.get(matcher.group(2))) : null;
+        } catch (ArithmeticException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return CMD_NAME;
+    }
+
+    @Override
+    public void printLongDesc(StringBuilder stringBuilder) {
+        Class<?> clazz = EdiCmd.class;
+        ClassLoader classLoader = clazz.getClassLoader();
+        InputStream inputStream = classLoader.getResourceAsStream("cli-docs/msggen.help");
+        if (inputStream != null) {
+            try (InputStreamReader inputStreamREader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+                    BufferedReader br = new BufferedReader(inputStreamREader)) {
+                String content = br.readLine();
+                printStream.append(content);
+                while ((content = br.readLine()) != null) {
+                    printStream.append('\n').append(content);
+                }
+            } catch (IOException e) {
+                printStream.println("Helper text is not available.");
+            }
+        }
+    }
+
+    @Override
+    public void printUsage(StringBuilder stringBuilder) {
+    }
+
+    @Override
+    public void setParentCmdParser(CommandLine parentCmdParser) {
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.edi.cmd;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches schema files, and the schema files directly inside directories, for the {@code --watch} option of the
+ * code generation commands.
+ * <p>
+ * A file input is watched through its parent directory, and only changes to that file are reported. A directory
+ * input reports changes to any {@code .json} file in it. Editors often save a file in several steps (truncate,
+ * write, rename), so changes are collected until no further change arrives for the debounce interval and then
+ * reported together.
+ */
+final class SchemaWatcher implements Closeable {
+
+    static final long DEBOUNCE_MILLIS = 100;
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+    private final Set<Path> watchedFiles = new HashSet<>();
+    private final Set<Path> watchedDirInputs = new HashSet<>();
+    private final long debounceMillis;
+
+    SchemaWatcher(List<Path> inputs) throws IOException {
+        this(inputs, DEBOUNCE_MILLIS);
+    }
+
+    SchemaWatcher(List<Path> inputs, long debounceMillis) throws IOException {
+        this.debounceMillis = debounceMillis;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        try {
+            for (Path input : inputs) {
+                Path path = input.toAbsolutePath().normalize();
+                Path dir;
+                if (Files.isDirectory(path)) {
+                    watchedDirInputs.add(path);
+                    dir = path;
+                } else {
+                    watchedFiles.add(path);
+                    dir = path.getParent();
+                }
+                WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirs.put(key, dir);
+            }
+        } catch (IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until a watched schema changes and the changes settle.
+     *
+     * @return the changed schema files, in the order they first changed, including deleted ones. When events were
+     * lost, every watched input is returned instead, directories included.
+     */
+    Set<Path> awaitChanges() throws InterruptedException {
+        Set<Path> changes = new LinkedHashSet<>();
+        while (changes.isEmpty()) {
+            collect(watchService.take(), changes);
+        }
+        WatchKey key;
+        while ((key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+            collect(key, changes);
+        }
+        return changes;
+    }
+
+    private void collect(WatchKey key, Set<Path> changes) {
+        Path dir = watchedDirs.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changes.addAll(watchedFiles);
+                changes.addAll(watchedDirInputs);
+                continue;
+            }
+            Path changed = dir.resolve((Path) event.context());
+            if (watchedFiles.contains(changed)
+                    || (watchedDirInputs.contains(dir) && changed.getFileName().toString().endsWith(".json"))) {
+                changes.add(changed);
+            }
+        }
+        key.reset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
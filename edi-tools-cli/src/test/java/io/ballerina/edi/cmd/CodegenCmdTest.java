@@ -24,7 +24,10 @@ import picocli.CommandLine;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -49,4 +52,72 @@ class CodegenCmdTest {
         assertTrue(generated.contains("function toEdiString("), "Missing toEdiString function");
         assertTrue(generated.contains("SimpleOrder"), "Missing schema record type SimpleOrder");
     }
+
+    @Test
+    void testCodegenGeneratesSourcesForSchemaDirectory(@TempDir Path tempDir) throws Exception {
+        Path schemaDir = Files.createDirectory(tempDir.resolve("schemas"));
+        Path schema = TestUtils.copyResource("codegen/schema.json", schemaDir);
+        Files.copy(schema, schemaDir.resolve("second_schema.json"));
+        Path outputDir = tempDir.resolve("gen");
+
+        CodegenCmd cmd = new CodegenCmd();
+        new CommandLine(cmd).parseArgs("-i", schemaDir.toString(), "-o", outputDir.toString(), "-j", "2");
+        cmd.execute();
+
+        for (String name : new String[] { "schema.bal", "second_schema.bal" }) {
+            Path output = outputDir.resolve(name);
+            assertTrue(Files.exists(output), "Generated source was not created: " + output);
+            assertTrue(Files.readString(output).contains("function fromEdiString("),
+                    "Missing fromEdiString function in " + output);
+        }
+    }
+
+    @Test
+    void testCodegenWritesSingleSchemaToOutputFileWithJobs(@TempDir Path tempDir) throws Exception {
+        Path schema = TestUtils.copyResource("codegen/schema.json", tempDir);
+        Path output = tempDir.resolve("gen_code.bal");
+
+        CodegenCmd cmd = new CodegenCmd();
+        new CommandLine(cmd).parseArgs("-i", schema.toString(), "-o", output.toString(), "-j", "2");
+        cmd.execute();
+
+        assertTrue(Files.isRegularFile(output), "The code of a single schema should be written to the output file");
+        assertTrue(Files.readString(output).contains("function fromEdiString("), "Missing fromEdiString function");
+    }
+
+    @Test
+    void testCodegenWatchRegeneratesChangedSchemas(@TempDir Path tempDir) throws Exception {
+        Path schemaDir = Files.createDirectory(tempDir.resolve("schemas"));
+        Path schema = TestUtils.copyResource("codegen/schema.json", schemaDir);
+        Path outputDir = tempDir.resolve("gen");
+
+        CodegenCmd cmd = new CodegenCmd();
+        new CommandLine(cmd).parseArgs("-i", schemaDir.toString(), "-o", outputDir.toString(), "--watch");
+        Thread watch = new Thread(cmd::execute, "codegen-watch");
+        watch.start();
+        try {
+            Path output = outputDir.resolve("schema.bal");
+            awaitCondition(() -> Files.exists(output), "Initial code was not generated: " + output);
+
+            Files.copy(schema, schemaDir.resolve("added_schema.json"));
+            Path added = outputDir.resolve("added_schema.bal");
+            awaitCondition(() -> Files.exists(added), "Code of the added schema was not generated: " + added);
+
+            Files.delete(schema);
+            awaitCondition(() -> !Files.exists(output), "Code of the removed schema was not deleted: " + output);
+            assertTrue(Files.exists(added), "Code of an unchanged schema should be kept");
+        } finally {
+            watch.interrupt();
+            watch.join(TimeUnit.SECONDS.toMillis(60));
+        }
+        assertFalse(watch.isAlive(), "The watch did not stop when interrupted");
+    }
+
+    private static void awaitCondition(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(50);
+        }
+    }
 }
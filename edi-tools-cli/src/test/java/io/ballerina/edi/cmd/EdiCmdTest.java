@@ -39,7 +39,7 @@ class EdiCmdTest {
         CommandLine commandLine = new CommandLine(new EdiCmd());
         Set<String> subcommands = commandLine.getSubcommands().keySet();
         assertTrue(subcommands.containsAll(Set.of(
-                        "codegen", "libgen", "convertESL", "convertX12Schema", "convertEdifactSchema")),
+                        "codegen", "libgen", "convertESL", "convertX12Schema", "convertEdifactSchema", "msggen")),
                 "Missing subcommands, found: " + subcommands);
     }
 
@@ -0,0 +1,84 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.edi.cmd;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the shared tool runner: the bundled editools.jar is extracted once and reused, the tool can
+ * run several times in the same JVM, and a failed run returns a non-zero status.
+ */
+class EdiToolRunnerTest {
+
+    @Test
+    void testToolJarIsExtractedOnce() throws Exception {
+        Path first = EdiToolRunner.extractTool();
+        long modified = Files.getLastModifiedTime(first).toMillis();
+        Path second = EdiToolRunner.extractTool();
+
+        assertEquals(first, second, "The extracted tool jar should be reused");
+        assertEquals(modified, Files.getLastModifiedTime(second).toMillis(), "The tool jar should not be rewritten");
+        assertTrue(first.getFileName().toString().matches("editools-[0-9a-f]{16}\\.jar"),
+                "The extracted tool jar should be named after its content: " + first);
+    }
+
+    @Test
+    void testDeletedToolJarIsExtractedAgain() throws Exception {
+        Path extracted = EdiToolRunner.extractTool();
+        Files.delete(extracted);
+
+        Path restored = EdiToolRunner.extractTool();
+        assertEquals(extracted, restored, "The tool jar should be restored to the same cache path");
+        assertTrue(Files.size(restored) > 0, "The restored tool jar is empty");
+    }
+
+    @Test
+    void testToolRunsRepeatedlyInOneJvm(@TempDir Path tempDir) throws Exception {
+        Path schema = TestUtils.copyResource("codegen/schema.json", tempDir);
+        try (EdiToolRunner.Session session = new EdiToolRunner.Session(System.out)) {
+            for (int i = 0; i < 2; i++) {
+                Path output = tempDir.resolve("gen_" + i + ".bal");
+                assertEquals(0, session.run(List.of("codegen", schema.toString(), output.toString())),
+                        "codegen run " + i + " failed");
+                assertTrue(Files.readString(output).contains("function fromEdiString("),
+                        "codegen run " + i + " did not generate the parser");
+            }
+        }
+    }
+
+    @Test
+    void testFailedToolRunReturnsNonZeroStatus(@TempDir Path tempDir) throws Exception {
+        Path missingSchema = tempDir.resolve("missing.json");
+        int status = EdiToolRunner.run(System.out, "codegen", missingSchema.toString(),
+                tempDir.resolve("gen.bal").toString());
+
+        assertNotEquals(0, status, "codegen of a missing schema should fail");
+        assertFalse(Files.exists(tempDir.resolve("gen.bal")), "No code should be generated for a missing schema");
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.edi.cmd;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import picocli.CommandLine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the msggen command end-to-end: generates random messages for a schema via the bundled
+ * editools.jar and the `bal` from PATH (the local distribution).
+ */
+class MsggenCmdTest {
+
+    @Test
+    void testMsggenGeneratesMessages(@TempDir Path tempDir) throws Exception {
+        Path schema = TestUtils.copyResource("codegen/schema.json", tempDir);
+        Path output = tempDir.resolve("messages.edi");
+
+        MsggenCmd cmd = new MsggenCmd();
+        new CommandLine(cmd).parseArgs("-i", schema.toString(), "-o", output.toString(), "-n", "5", "--seed", "7");
+        cmd.execute();
+
+        assertTrue(Files.exists(output), "Messages were not generated: " + output);
+        List<String> messages = Files.readAllLines(output);
+        assertEquals(5, messages.size(), "Expected one message per line");
+        messages.forEach(message -> assertFalse(message.isBlank(), "Generated message is empty"));
+    }
+
+    @Test
+    void testMsggenIsReproducibleWithSeed(@TempDir Path tempDir) throws Exception {
+        Path schema = TestUtils.copyResource("codegen/schema.json", tempDir);
+        String[] outputs = new String[2];
+        for (int i = 0; i < outputs.length; i++) {
+            Path output = tempDir.resolve("messages" + i + ".edi");
+            MsggenCmd cmd = new MsggenCmd();
+            new CommandLine(cmd).parseArgs("-i", schema.toString(), "-o", output.toString(), "-s", "4KB",
+                    "--seed", "42");
+            cmd.execute();
+            outputs[i] = Files.readString(output);
+        }
+        assertTrue(outputs[0].length() >= 4096, "Output is smaller than the target size");
+        assertEquals(outputs[0], outputs[1], "The same seed should generate the same messages");
+    }
+
+    @Test
+    void testParseSize() {
+        assertEquals(1000L, MsggenCmd.parseSize("1000"));
+        assertEquals(500L * 1024, MsggenCmd.parseSize("500KB"));
+        assertEquals(20L * 1024 * 1024, MsggenCmd.parseSize("20mb"));
+        assertEquals(2L * 1024 * 1024 * 1024, MsggenCmd.parseSize("2G"));
+        assertNull(MsggenCmd.parseSize("0"));
+        assertNull(MsggenCmd.parseSize("large"));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ *  Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.edi.cmd;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the schema watcher behind the --watch option: which changes are reported and how bursts of changes
+ * are collected.
+ */
+class SchemaWatcherTest {
+
+    @Test
+    void testReportsChangedSchemasOfDirectory(@TempDir Path tempDir) throws Exception {
+        Path schemaDir = Files.createDirectory(tempDir.resolve("schemas")).toRealPath();
+        Path schema = Files.writeString(schemaDir.resolve("850.json"), "{}");
+        try (SchemaWatcher watcher = new SchemaWatcher(List.of(schemaDir), 500)) {
+            Files.writeString(schemaDir.resolve("notes.txt"), "not a schema");
+            Files.writeString(schema, "{\"name\": \"PO\"}");
+            Path added = Files.writeString(schemaDir.resolve("810.json"), "{}");
+
+            assertEquals(Set.of(schema, added), watcher.awaitChanges());
+        }
+    }
+
+    @Test
+    void testReportsOnlyTheWatchedFile(@TempDir Path tempDir) throws Exception {
+        Path dir = tempDir.toRealPath();
+        Path schema = Files.writeString(dir.resolve("850.json"), "{}");
+        Path other = Files.writeString(dir.resolve("810.json"), "{}");
+        try (SchemaWatcher watcher = new SchemaWatcher(List.of(schema), 500)) {
+            Files.writeString(other, "{\"name\": \"Invoice\"}");
+            Files.delete(schema);
+
+            assertEquals(Set.of(schema), watcher.awaitChanges());
+        }
+    }
+}
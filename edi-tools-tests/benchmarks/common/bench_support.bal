@@ -0,0 +1,105 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/os;
+import ballerina/time;
+
+// Shared by the benchmarks of a sample module. The Gradle `benchmark` task
+// copies this file into the tests of each sample module, runs the `benchmark`
+// test group and compares the reports written here against the baseline.
+
+const string BENCHMARK_REPORT_DIR = "target/benchmark";
+const decimal BENCHMARK_WARMUP_SECONDS = 1;
+
+type BenchmarkResult record {|
+    string sample;
+    string operation;
+    string scenario;
+    int payloadBytes;
+    int transactions;
+    int iterations;
+    decimal messagesPerSecond;
+    decimal mbPerSecond;
+    int peakHeapBytes;
+|};
+
+// Payload sizes in bytes, from BENCHMARK_PAYLOAD_SIZES (comma separated).
+function benchmarkPayloadSizes() returns int[]|error {
+    return benchmarkInts("BENCHMARK_PAYLOAD_SIZES", "1024,65536,1048576,10485760,52428800");
+}
+
+// Transactions per interchange, from BENCHMARK_TRANSACTION_COUNTS (comma separated).
+function benchmarkTransactionCounts() returns int[]|error {
+    return benchmarkInts("BENCHMARK_TRANSACTION_COUNTS", "1,100,10000,100000");
+}
+
+function benchmarkInts(string envVar, string defaultValue) returns int[]|error {
+    string value = os:getEnv(envVar);
+    string[] items = re `,`.split(value == "" ? defaultValue : value);
+    return from string item in items
+        where item.trim() != ""
+        select check int:fromString(item.trim());
+}
+
+// Measured time of each case, from BENCHMARK_MIN_SECONDS.
+function benchmarkMinSeconds() returns decimal|error {
+    string value = os:getEnv("BENCHMARK_MIN_SECONDS");
+    return value == "" ? 3d : decimal:fromString(value);
+}
+
+// Runs `operation` for BENCHMARK_WARMUP_SECONDS, then for at least the minimum
+// measured time, and reports its throughput. Each call converts one payload of
+// `payloadBytes` bytes holding `transactions` messages.
+function measure(string sample, string operation, string scenario, int payloadBytes, int transactions,
+        function () returns error? op) returns BenchmarkResult|error {
+    decimal warmupStart = time:monotonicNow();
+    while time:monotonicNow() - warmupStart < BENCHMARK_WARMUP_SECONDS {
+        check op();
+    }
+    decimal minSeconds = check benchmarkMinSeconds();
+    resetPeakHeap();
+    int iterations = 0;
+    decimal startTime = time:monotonicNow();
+    decimal elapsed = 0;
+    while iterations == 0 || elapsed < minSeconds {
+        check op();
+        iterations += 1;
+        elapsed = time:monotonicNow() - startTime;
+    }
+    BenchmarkResult result = {
+        sample,
+        operation,
+        scenario,
+        payloadBytes,
+        transactions,
+        iterations,
+        messagesPerSecond: (<decimal>(iterations * transactions) / elapsed).round(2),
+        mbPerSecond: (<decimal>iterations * <decimal>payloadBytes / elapsed / 1048576d).round(3),
+        peakHeapBytes: peakHeapBytes()
+    };
+    io:println(string `[${sample}] ${operation} ${scenario}: ${result.messagesPerSecond} msg/s, ${result.mbPerSecond} MB/s, peak heap ${result.peakHeapBytes / 1048576} MB`);
+    return result;
+}
+
+function writeBenchmarkReport(string name, BenchmarkResult[] results) returns error? {
+    if !check file:test(BENCHMARK_REPORT_DIR, file:EXISTS) {
+        check file:createDir(BENCHMARK_REPORT_DIR, file:RECURSIVE);
+    }
+    check io:fileWriteJson(check file:joinPath(BENCHMARK_REPORT_DIR, name + ".json"), results.toJson());
+}
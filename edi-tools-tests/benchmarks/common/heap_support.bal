@@ -0,0 +1,73 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+// Peak heap measurement of the benchmarks. Gradle copies this file into the
+// tests of each sample module, next to bench_support.bal, and into the tests of
+// edi-tools for its tooling benchmark.
+//
+// Heap use is read from the JVM memory pools. The peak is the sum of the peaks
+// of the heap pools since resetPeakHeap, which may be reached at different times.
+function resetPeakHeap() {
+    handle pools = getMemoryPoolMXBeans();
+    foreach int i in 0 ..< listSize(pools) {
+        resetPeakUsage(listGet(pools, i));
+    }
+}
+
+function peakHeapBytes() returns int {
+    handle pools = getMemoryPoolMXBeans();
+    int peak = 0;
+    foreach int i in 0 ..< listSize(pools) {
+        handle pool = listGet(pools, i);
+        if java:toString(getType(pool)) == "Heap memory" {
+            peak += getUsed(getPeakUsage(pool));
+        }
+    }
+    return peak;
+}
+
+function getMemoryPoolMXBeans() returns handle = @java:Method {
+    'class: "java.lang.management.ManagementFactory"
+} external;
+
+function listSize(handle list) returns int = @java:Method {
+    'class: "java.util.List",
+    name: "size"
+} external;
+
+function listGet(handle list, int index) returns handle = @java:Method {
+    'class: "java.util.List",
+    name: "get",
+    paramTypes: ["int"]
+} external;
+
+function resetPeakUsage(handle pool) = @java:Method {
+    'class: "java.lang.management.MemoryPoolMXBean"
+} external;
+
+function getType(handle pool) returns handle = @java:Method {
+    'class: "java.lang.management.MemoryPoolMXBean"
+} external;
+
+function getPeakUsage(handle pool) returns handle = @java:Method {
+    'class: "java.lang.management.MemoryPoolMXBean"
+} external;
+
+function getUsed(handle usage) returns int = @java:Method {
+    'class: "java.lang.management.MemoryUsage"
+} external;
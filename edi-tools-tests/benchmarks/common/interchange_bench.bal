@@ -0,0 +1,90 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/io;
+import ballerina/test;
+
+// Measures the generated interchangeFromEdiString of the sample on
+// interchanges with each benchmark transaction count. Interchanges are scaled
+// by repeating the first transaction of the sample message.
+@test:Config {groups: ["benchmark"]}
+function benchInterchangeThroughput() returns error? {
+    string ediText = check io:fileReadString("<sample-dir>/message.edi");
+    string segmentDelimiter = check (check schemaJson.delimiters.segment).ensureType();
+    string fieldDelimiter = check (check schemaJson.delimiters.'field).ensureType();
+    string[] segments = splitSegments(ediText, segmentDelimiter);
+    string headerCode = check envelopeSegmentCode("header") + fieldDelimiter;
+    string trailerCode = check envelopeSegmentCode("trailer") + fieldDelimiter;
+    int? headerIndex = ();
+    int? trailerIndex = ();
+    foreach int i in 0 ..< segments.length() {
+        if headerIndex is () && segments[i].startsWith(headerCode) {
+            headerIndex = i;
+        } else if headerIndex is int && segments[i].startsWith(trailerCode) {
+            trailerIndex = i;
+            break;
+        }
+    }
+    if headerIndex is () || trailerIndex is () {
+        return error("The sample message has no transaction to repeat");
+    }
+    string before = joinSegments(segments.slice(0, headerIndex), segmentDelimiter);
+    string 'transaction = joinSegments(segments.slice(headerIndex, trailerIndex + 1), segmentDelimiter);
+    string after = joinSegments(segments.slice(trailerIndex + 1), segmentDelimiter);
+
+    BenchmarkResult[] results = [];
+    foreach int transactions in check benchmarkTransactionCounts() {
+        string[] parts = [before];
+        foreach int i in 0 ..< transactions {
+            parts.push('transaction);
+        }
+        parts.push(after);
+        string interchangeText = string:'join("", ...parts);
+        results.push(check measure("<sample-name>", "interchangeFromEdiString", transactions.toString() + "tx",
+                interchangeText.toBytes().length(), transactions, function() returns error? {
+            _ = check interchangeFromEdiString(interchangeText);
+        }));
+    }
+    check writeBenchmarkReport("<sample-name>", results);
+}
+
+// Segment code of the transaction header or trailer of the envelope.
+function envelopeSegmentCode(string position) returns string|error {
+    map<json> transactionEnvelope = check (check schemaJson.envelope.'transaction).ensureType();
+    json[] units = check transactionEnvelope[position].ensureType();
+    string ref = check (check units[0].ref).ensureType();
+    map<json> segmentDefinitions = check (check schemaJson.segmentDefinitions).ensureType();
+    return (check segmentDefinitions[ref].code).ensureType();
+}
+
+function splitSegments(string ediText, string segmentDelimiter) returns string[] {
+    string[] segments = [];
+    int segmentStart = 0;
+    while segmentStart < ediText.length() {
+        int segmentEnd = ediText.indexOf(segmentDelimiter, segmentStart) ?: ediText.length();
+        string segment = ediText.substring(segmentStart, segmentEnd).trim();
+        if segment != "" {
+            segments.push(segment);
+        }
+        segmentStart = segmentEnd + segmentDelimiter.length();
+    }
+    return segments;
+}
+
+function joinSegments(string[] segments, string segmentDelimiter) returns string {
+    return string:'join("", ...from string segment in segments select segment + segmentDelimiter);
+}
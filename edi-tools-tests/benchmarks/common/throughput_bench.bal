@@ -0,0 +1,87 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/edi;
+import ballerina/io;
+import ballerina/test;
+
+// Measures the generated fromEdiString and toEdiString of the sample on
+// messages scaled up from the sample message to each benchmark payload size.
+// Messages are scaled by repeating the elements of the unbounded top-level
+// segments and segment groups. A sample without one is only measured at its
+// own size.
+@test:Config {groups: ["benchmark"]}
+function benchMessageThroughput() returns error? {
+    string ediText = check io:fileReadString("<sample-dir>/message.edi");
+    edi:EdiSchema schema = check edi:getSchema(schemaJson);
+    map<json> sample = check (check edi:fromEdiString(ediText, schema)).ensureType();
+    string[] repeatable = check repeatableUnits();
+
+    string baseText = check scaledMessage(sample, repeatable, 1, schema);
+    int baseBytes = baseText.toBytes().length();
+    int stepBytes = repeatable.length() == 0 ? 0 : (check scaledMessage(sample, repeatable, 2, schema)).toBytes().length() - baseBytes;
+
+    BenchmarkResult[] results = [];
+    foreach int targetBytes in check benchmarkPayloadSizes() {
+        if stepBytes <= 0 && targetBytes > baseBytes {
+            io:println(string `[<sample-name>] skipping ${targetBytes} bytes: the sample message has no unbounded segments to repeat`);
+            continue;
+        }
+        int copies = stepBytes <= 0 ? 1 : int:max(1, (targetBytes - baseBytes + stepBytes - 1) / stepBytes + 1);
+        string scaledText = check scaledMessage(sample, repeatable, copies, schema);
+        int payloadBytes = scaledText.toBytes().length();
+        string scenario = targetBytes.toString() + "B";
+
+        results.push(check measure("<sample-name>", "fromEdiString", scenario, payloadBytes, 1, function() returns error? {
+            _ = check fromEdiString(scaledText);
+        }));
+        var parsed = check fromEdiString(scaledText);
+        results.push(check measure("<sample-name>", "toEdiString", scenario, payloadBytes, 1, function() returns error? {
+            _ = check toEdiString(parsed);
+        }));
+    }
+    check writeBenchmarkReport("<sample-name>", results);
+}
+
+// Tags of the top-level units of the schema that may repeat without limit.
+function repeatableUnits() returns string[]|error {
+    json[] units = check (check schemaJson.segments).ensureType();
+    string[] tags = [];
+    foreach json unit in units {
+        map<json> unitMap = check unit.ensureType();
+        json tag = unitMap["tag"];
+        if unitMap["maxOccurances"] == -1 && tag is string {
+            tags.push(tag);
+        }
+    }
+    return tags;
+}
+
+function scaledMessage(map<json> sample, string[] repeatable, int copies, edi:EdiSchema schema) returns string|error {
+    map<json> scaled = sample.clone();
+    foreach string tag in repeatable {
+        json items = sample[tag];
+        if items is json[] {
+            json[] repeated = [];
+            foreach int i in 0 ..< copies {
+                repeated.push(...items);
+            }
+            scaled[tag] = repeated;
+        }
+    }
+    return edi:toEdiString(scaled, schema);
+}
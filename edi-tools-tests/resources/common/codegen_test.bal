@@ -14,6 +14,7 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/file;
 import ballerina/test;
 import ballerina/io;
 
@@ -24,4 +25,16 @@ function testGenerateCode() returns error? {
     if generatedRecord is error {
         test:assertFail("Generated code is not compatible with the schema. " + generatedRecord.message());
     }
-}
\ No newline at end of file
+}
+
+@test:Config
+function testWriteToChannel() returns error? {
+    string ediText = check io:fileReadString("resources/<sample-name>/message.edi");
+    anydata generatedRecord = check fromEdiString(ediText);
+    string path = check file:createTempFile(suffix = ".edi");
+    io:WritableByteChannel channel = check io:openWritableFile(path);
+    check toEdiChannel(check generatedRecord.cloneWithType(), channel);
+    check channel.close();
+    // The runtime converts one top-level unit at a time, so the text is compared after reading it back.
+    test:assertEquals(check fromEdiString(check io:fileReadString(path)), generatedRecord);
+}
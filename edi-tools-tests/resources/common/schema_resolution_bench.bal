@@ -0,0 +1,54 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/edi;
+import ballerina/io;
+import ballerina/test;
+import ballerina/time;
+
+const int SCHEMA_BENCH_WARMUP = 20;
+const int SCHEMA_BENCH_ITERATIONS = 200;
+
+// Compares the per-message cost of rebuilding the schema on every call (the
+// behaviour of previously generated modules) with the module-level schema
+// resolved once at init. Only reports timings; correctness is covered by
+// codegen_test.bal. Runs with the benchmark group, not with `./gradlew test`.
+@test:Config {groups: ["benchmark"]}
+function benchSchemaResolution() returns error? {
+    string ediText = check io:fileReadString("resources/<sample-name>/message.edi");
+
+    decimal rebuildCost = check timePerMessage(function() returns error? {
+        edi:EdiSchema schema = check edi:getSchema(schemaJson);
+        _ = check fromEdiStringWithSchema(ediText, schema);
+    });
+    decimal cachedCost = check timePerMessage(function() returns error? {
+        _ = check fromEdiString(ediText);
+    });
+
+    io:println(string `[<sample-name>] fromEdiString per message: schema rebuilt ${rebuildCost} us, schema resolved once ${cachedCost} us`);
+}
+
+function timePerMessage(function () returns error? parse) returns decimal|error {
+    foreach int i in 0 ..< SCHEMA_BENCH_WARMUP {
+        check parse();
+    }
+    decimal startTime = time:monotonicNow();
+    foreach int i in 0 ..< SCHEMA_BENCH_ITERATIONS {
+        check parse();
+    }
+    decimal elapsed = time:monotonicNow() - startTime;
+    return (elapsed * 1000000d / <decimal>SCHEMA_BENCH_ITERATIONS).round(2);
+}
@@ -22,7 +22,19 @@ import editools.edifact;
 import editools.esl;
 import editools.x12xsd;
 
-public function main(string[] args) {
+public function main(string[] args) returns error? {
+    int status = runTool(args);
+    if status != 0 {
+        return error(string `EDI tool failed with exit status ${status}`);
+    }
+}
+
+# Runs a command of the EDI tool.
+# The EDI CLI calls this function in its own JVM, so that a failed command returns instead of ending the process.
+#
+# + args - Command name followed by its arguments
+# + return - Exit status of the command; 0 on success
+public function runTool(string[] args) returns int {
 
     string usage = string 
 `NAME
@@ -51,15 +63,29 @@ COMMANDS
        convertESL
            Convert ESL schema to Ballerina EDI schema.
 
+       msggen
+           Generate random EDI messages that conform to an EDI schema.
+
 OPTIONS
        The following options are available for each command:
 
        codegen:
-           -i, --input <input schema path>
-               Path to the EDI schema file.
+           -i, --input <input schema path>...
+               Path to the EDI schema file. Multiple schema files or directories
+               of schema files can be given to generate code for all of them.
 
            -o, --output <output path>
-               Path to the output file.
+               Path to the output file, or the output directory when more than
+               one schema is given.
+
+           -j, --jobs <number of jobs>
+               Number of schemas to generate concurrently.
+
+           --typed-codec
+               Generate typed readers and writers instead of converting through JSON.
+
+           --watch
+               Keep running and regenerate the code of schemas when they change.
 
        libgen:
            -p, --package <package name>
@@ -71,6 +97,21 @@ OPTIONS
            -o, --output <output folder>
                Path to the folder where libraries will be generated.
 
+           -j, --jobs <number of jobs>
+               Number of EDI modules to generate concurrently.
+
+           --incremental
+               Regenerate only the modules of changed schemas in an existing library.
+
+           --metrics
+               Count the conversions of the library per EDI type.
+
+           --typed-codec
+               Generate typed readers and writers instead of converting through JSON.
+
+           --watch
+               Keep running and update the library when the schemas change.
+
        convertX12Schema:
            -H, --headers
                Enable headers mode for X12 schema conversion.
@@ -87,6 +128,9 @@ OPTIONS
            -d, --segdet <segment details path>
                Path to the segment details file for X12 schema conversion.
 
+           -j, --jobs <number of jobs>
+               Number of schemas to convert concurrently in collection mode.
+
        convertEdifactSchema:
            -v, --version <EDIFACT version>
                EDIFACT version for EDIFACT schema conversion.
@@ -97,6 +141,19 @@ OPTIONS
            -o, --output <output folder>
                Path to the folder where EDIFACT schemas will be generated.
 
+           -d, --directory <directory folder>
+               Path to a local copy of the UN/EDIFACT directory files (EDMD, EDSD, EDCD, EDED)
+               to convert from instead of the UNECE web pages.
+
+           --cache-dir <cache folder>
+               Path to a folder to keep the fetched EDIFACT directory pages in.
+
+           --offline
+               Convert only from the pages in the cache folder.
+
+           -j, --jobs <number of jobs>
+               Number of pages to fetch concurrently.
+
        convertESL:
            -b, --basedef <segment definitions file path>
                Path to the segment definitions file for ESL schema conversion.
@@ -107,6 +164,39 @@ OPTIONS
            -o, --output <output file/folder>
                Path to the output file or folder.
 
+           --cache-dir <cache folder>
+               Path to a folder to keep the snapshot of the parsed segment definitions in.
+               Defaults to the folder of the segment definitions file.
+
+           -j, --jobs <number of jobs>
+               Number of ESL schemas to convert concurrently when the input is a folder.
+
+       msggen:
+           -i, --input <input schema path>
+               Path to the EDI schema file.
+
+           -o, --output <output path>
+               Path to the output file.
+
+           -n, --count <number of messages>
+               Number of messages, or of interchanges for schemas with an envelope.
+
+           -t, --transactions <number of transactions>
+               Number of transactions in each interchange of schemas with an envelope.
+
+           -s, --size <target size>
+               Generate messages until the output reaches this size, e.g. 500MB.
+
+           --seed <seed>
+               Seed of the random values. The same seed generates the same messages.
+
+           --max-repeats <occurrences>
+               Most occurrences of unbounded segments, segment groups and repeated fields.
+
+           --transaction-id <transaction identifier>
+               Transaction identifier written to X12 ST01 and EDIFACT UNH.
+               Defaults to the schema file name.
+
 EXAMPLES
        Generate records and parser functions for a given EDI schema.
            $ bal edi codegen -i resources/schema.json -o modules/orders/records.bal
@@ -120,55 +210,189 @@ EXAMPLES
        Convert EDIFACT schema to Ballerina EDI schema.
            $ bal edi convertEdifactSchema -v d03a -t ORDERS -o output/schema.json
 
+       Convert EDIFACT schema from a local copy of the UN/EDIFACT directory files.
+           $ bal edi convertEdifactSchema -d d03a/ -t ORDERS -o output/
+
        Convert ESL schema to Ballerina EDI schema.
            $ bal edi convertESL -b segment_definitions.yaml -i esl_schema.esl -o output/schema.json
+
+       Generate 1 GB of interchanges with 100 transactions each.
+           $ bal edi msggen -i schemas/810.json -o load/810.edi -t 100 -s 1GB --seed 42
 `;
 
     if args.length() == 0 {
         io:println(usage);
-        return;
+        return 0;
     }
 
     string mode = args[0].trim();
-    if mode == "codegen" {
-        if args.length() != 3 {
+    if mode == "codegen" && args.length() > 1 && args[1] == "b" {
+        // Batch mode: codegen b <jobs> <typed|plain> <output directory> <schema file or directory>...
+        if args.length() < 6 {
             io:println(usage);
-            return;
+            return 1;
+        }
+        int|error jobs = int:fromString(args[2]);
+        if jobs is error {
+            log:printError("Invalid number of jobs: " + args[2]);
+            return 1;
+        }
+        if jobs < 1 {
+            log:printError("Number of jobs must be at least 1: " + args[2]);
+            return 1;
+        }
+        string[] inputs = from string input in args.slice(5) select input.trim();
+        codegen:SchemaCodegenResult[]|error results = codegen:generateCodeForSchemas(inputs, args[4].trim(), jobs,
+                args[3] == "typed");
+        if results is error {
+            log:printError("Error generating code: " + results.message());
+            return 1;
+        }
+        int failed = 0;
+        foreach codegen:SchemaCodegenResult result in results {
+            string? err = result.err;
+            if err is string {
+                failed += 1;
+                log:printError(string `Error generating code for ${result.schemaPath}: ${err}`);
+            } else {
+                io:println(string `Generated ${result.outputPath}`);
+            }
+        }
+        io:println(string `Generated code for ${results.length() - failed} of ${results.length()} schemas.`);
+        return failed == 0 ? 0 : 1;
+
+    } else if mode == "codegen" {
+        if !(args.length() == 3 || (args.length() == 4 && args[3].trim() == "typed")) {
+            io:println(usage);
+            return 1;
         }
         json|error mappingJson = io:fileReadJson(args[1].trim());
         if mappingJson is error {
             log:printError("Error reading schema json file: " + mappingJson.message());
-            return;
+            return 1;
         }
-        error? e = codegen:generateCodeForSchema(mappingJson, args[2].trim());
+        error? e = codegen:generateCodeForSchema(mappingJson, args[2].trim(), args.length() == 4);
         if e is error {
             log:printError("Error generating code: " + e.message());
+            return 1;
         }
 
     } else if mode == "libgen" {
-        if !(args.length() == 5 || args.length() == 6) {
+        // libgen <org> <lib> <schema path> <output path> [j <jobs>] [i] [m] [t] [versioned]
+        if args.length() < 5 {
             io:println(usage);
-            return;
+            return 1;
         }
         codegen:LibData libdata = {
             orgName: args[1],
             libName: args[2],
             schemaPath: args[3],
             outputPath: args[4],
-            versioned: args.length() == 6 ? true : false
+            versioned: false
         };
+        string[] options = args.slice(5);
+        while options.length() > 0 {
+            string option = options.shift();
+            if option == "j" && options.length() > 0 {
+                string jobsArg = options.shift();
+                int|error jobs = int:fromString(jobsArg);
+                if jobs is error {
+                    log:printError("Invalid number of jobs: " + jobsArg);
+                    return 1;
+                }
+                libdata.jobs = int:max(1, jobs);
+            } else if option == "i" {
+                libdata.incremental = true;
+            } else if option == "m" {
+                libdata.metrics = true;
+            } else if option == "t" {
+                libdata.typedCodec = true;
+            } else {
+                libdata.versioned = true;
+            }
+        }
         error? e = codegen:generateLibrary(libdata);
         if e is error {
             log:printError("Error generating library: " + e.message());
+            return 1;
+        }
+
+    } else if mode == "msggen" {
+        // msggen <schema path> <output path> [n <count>] [t <transactions>] [s <target size>] [seed <seed>]
+        //     [r <max repeats>] [id <transaction id>]
+        do {
+            if args.length() < 3 {
+                io:println(usage);
+                return 1;
+            }
+            string schemaPath = args[1].trim();
+            string outputPath = args[2].trim();
+            string fileName = check file:basename(schemaPath);
+            codegen:MessageGenOptions options = {
+                // Like libgen, the schema file name is taken as the transaction identifier.
+                transactionId: (fileName.endsWith(".json") ? fileName.substring(0, fileName.length() - 5) : fileName)
+                    .toUpperAscii()
+            };
+            string[] genArgs = args.slice(3);
+            while genArgs.length() > 0 {
+                if genArgs.length() < 2 {
+                    io:println(usage);
+                    return 1;
+                }
+                string option = genArgs.shift();
+                string value = genArgs.shift().trim();
+                if option == "n" {
+                    options.count = check int:fromString(value);
+                } else if option == "t" {
+                    options.transactions = check int:fromString(value);
+                } else if option == "s" {
+                    options.targetSize = check int:fromString(value);
+                } else if option == "seed" {
+                    options.seed = check int:fromString(value);
+                } else if option == "r" {
+                    options.maxRepeats = check int:fromString(value);
+                } else if option == "id" {
+                    options.transactionId = value;
+                } else {
+                    io:println(usage);
+                    return 1;
+                }
+            }
+            codegen:MessageGenResult result = check codegen:generateMessages(check io:fileReadJson(schemaPath),
+                    outputPath, options);
+            io:println(string `Generated ${result.messages} messages (${result.characters} characters) to ${outputPath}`);
+        } on fail error e {
+            log:printError("Error generating messages: " + e.message());
+            return 1;
         }
 
     } else if mode == "convertESL" {
-        string eslPath = args[1].trim();
-        string basedefPath = args[2].trim();
-        string outputPath = args[3].trim();
-        error? e = esl:convertEsl(eslPath, basedefPath, outputPath);
-        if e is error {
+        // convertESL <ESL path> <basedefs path> <output path> [cache <cache dir>] [j <jobs>]
+        do {
+            if args.length() < 4 {
+                io:println(usage);
+                return 1;
+            }
+            string eslPath = args[1].trim();
+            string basedefPath = args[2].trim();
+            string outputPath = args[3].trim();
+            esl:EslConversionOptions options = {};
+            string[] eslArgs = args.slice(4);
+            while eslArgs.length() > 0 {
+                string option = eslArgs.shift();
+                if option == "cache" && eslArgs.length() > 0 {
+                    options.cacheDir = eslArgs.shift().trim();
+                } else if option == "j" && eslArgs.length() > 0 {
+                    options.jobs = int:max(1, check int:fromString(eslArgs.shift()));
+                } else {
+                    io:println(usage);
+                    return 1;
+                }
+            }
+            check esl:convertEsl(eslPath, basedefPath, outputPath, options);
+        } on fail error e {
             log:printError("Error converting ESL: " + e.message());
+            return 1;
         }
 
     } else if mode == "convertX12Schema" {
@@ -184,6 +408,11 @@ EXAMPLES
                 collection = true;
                 _ = x12args.shift();
             }
+            int jobs = 1;
+            if (x12args[0] == "j") {
+                _ = x12args.shift();
+                jobs = int:max(1, check int:fromString(x12args.shift()));
+            }
             string inputPath = x12args[0].trim();
             string outputPath = x12args[1].trim();
             string segDetlPath = x12args.length() > 2 ? x12args[2].trim() : "";
@@ -194,14 +423,14 @@ EXAMPLES
             if (collection) {
                 if (!isInputDir || !isOutputDir) {
                     io:println("In collection mode, both output and input should be a directories");
-                    return;
+                    return 1;
                 }
-                check x12xsd:convertFromX12CollectionAndWrite(inputPath, outputPath, headers, segDetlPath);
+                check x12xsd:convertFromX12CollectionAndWrite(inputPath, outputPath, headers, segDetlPath, jobs);
             } else {
                 if (headers) {
                     if (!isInputDir) {
                         io:println("In header mode, input should be a directory containing header and message schema files");
-                        return;
+                        return 1;
                     }
                     string outputPathGenerated = outputPath;
                     if (isOutputDir) {
@@ -212,28 +441,55 @@ EXAMPLES
                 } else {
                     if (isInputDir || isOutputDir) {
                         io:println("Collection mode or header mode not selected, both input and output should be files");
-                        return;
+                        return 1;
                     }
                     check x12xsd:convertFromX12XsdAndWrite(inputPath, outputPath, segDetlPath);
                 }
             }
         } on fail error e {
             log:printError("Error converting X12 schema: " + e.message());
+            return 1;
         }
     } else if mode == "convertEdifactSchema" {
+        // convertEdifactSchema <version> <type> <output path> [cache <cache dir>] [offline] [j <jobs>] [dir <directory>]
         do {
-            if args.length() < 3 {
+            if args.length() < 4 {
                 io:println(usage);
-                return;
+                return 1;
             }
             string version = args[1].trim(); // ex: d10a
             string 'type = args[2].trim(); // ex: INVOIC
             string outputPath = args[3].trim();
-            check edifact:convertEdifactToEdi(version, outputPath, 'type == "" ? () : 'type);
+            edifact:EdifactConversionOptions options = {};
+            string? directoryPath = ();
+            string[] edifactArgs = args.slice(4);
+            while edifactArgs.length() > 0 {
+                string option = edifactArgs.shift();
+                if option == "cache" && edifactArgs.length() > 0 {
+                    options.cacheDir = edifactArgs.shift().trim();
+                } else if option == "offline" {
+                    options.offline = true;
+                } else if option == "j" && edifactArgs.length() > 0 {
+                    options.jobs = int:max(1, check int:fromString(edifactArgs.shift()));
+                } else if option == "dir" && edifactArgs.length() > 0 {
+                    directoryPath = edifactArgs.shift().trim();
+                } else {
+                    io:println(usage);
+                    return 1;
+                }
+            }
+            if directoryPath is string {
+                check edifact:convertEdifactDirectoryToEdi(directoryPath, outputPath, 'type == "" ? () : 'type);
+            } else {
+                check edifact:convertEdifactToEdi(version, outputPath, 'type == "" ? () : 'type, options);
+            }
         } on fail error e {
             log:printError("Error converting EDIFACT schema: " + e.message());
+            return 1;
         }
     } else {
         io:println(usage);
+        return 1;
     }
+    return 0;
 }
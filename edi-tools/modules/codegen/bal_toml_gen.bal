@@ -28,12 +28,14 @@ org = "ballerina"
 name = "edi"
 version = "${EDI_RUNTIME_VERSION}"
 ` : "";
+    string[] exports = from string moduleName in libdata.moduleExports
+        select moduleName.toJsonString();
     return string `
 [package]
 org = "${libdata.orgName}"
 name = "${libdata.libName}"
 version = "0.1.0"
 distribution = "2201.11.0"
-export=[${libdata.exportsBlock}]
+export=[${string:'join(",", ...exports)}]
 ${dependencyBlock}`;
 }
@@ -0,0 +1,135 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/io;
+
+# Outcome of generating code for one schema in a batch.
+#
+# + schemaPath - Path of the input schema file
+# + outputPath - Path of the generated .bal file
+# + err - Error message if the generation failed
+public type SchemaCodegenResult record {|
+    string schemaPath;
+    string outputPath;
+    string? err = ();
+|};
+
+type SchemaCodegenTask record {|
+    int index;
+    string schemaPath;
+    string outputPath;
+|};
+
+# Generates code for many schemas in one run. Each schema file is written to
+# `<outputDir>/<schema file name>.bal`. Inputs that are directories contribute
+# all `.json` files directly inside them.
+#
+# Schemas are distributed over at most `jobs` workers. Each schema is generated
+# independently, so the generated files do not depend on the scheduling order.
+# A schema that fails does not stop the others; its error is reported in the
+# returned results, which are in input order.
+#
+# + inputs - Schema files and/or directories containing schema files
+# + outputDir - Directory to write the generated files. Created if it does not exist.
+# + jobs - Maximum number of schemas generated concurrently
+# + typedCodec - Generate typed readers and writers (see `generateCodeForSchema`)
+# + return - Per-schema results, or an error if the inputs cannot be resolved
+public function generateCodeForSchemas(string[] inputs, string outputDir, int jobs, boolean typedCodec = false)
+        returns SchemaCodegenResult[]|error {
+    SchemaCodegenTask[] tasks = check resolveCodegenTasks(inputs, outputDir);
+    if !check file:test(outputDir, file:EXISTS) {
+        check file:createDir(outputDir, file:RECURSIVE);
+    }
+
+    int workerCount = int:max(1, int:min(jobs, tasks.length()));
+    SchemaCodegenTask[][] buckets = [];
+    foreach int i in 0 ..< workerCount {
+        buckets.push([]);
+    }
+    foreach SchemaCodegenTask task in tasks {
+        buckets[task.index % workerCount].push(task);
+    }
+
+    future<SchemaCodegenResult[]>[] workers = [];
+    foreach SchemaCodegenTask[] bucket in buckets {
+        readonly & SchemaCodegenTask[] workerTasks = bucket.cloneReadOnly();
+        future<SchemaCodegenResult[]> worker = start generateCodegenTasks(workerTasks, typedCodec);
+        workers.push(worker);
+    }
+
+    SchemaCodegenResult[] results = [];
+    foreach future<SchemaCodegenResult[]> worker in workers {
+        results.push(...check wait worker);
+    }
+    map<SchemaCodegenResult> resultsByPath = map from SchemaCodegenResult result in results
+        select [result.schemaPath, result];
+    return from SchemaCodegenTask task in tasks
+        select resultsByPath.get(task.schemaPath);
+}
+
+isolated function generateCodegenTasks(readonly & SchemaCodegenTask[] tasks, boolean typedCodec)
+        returns SchemaCodegenResult[] {
+    SchemaCodegenResult[] results = [];
+    foreach SchemaCodegenTask task in tasks {
+        error? e = generateCodegenTask(task, typedCodec);
+        results.push({schemaPath: task.schemaPath, outputPath: task.outputPath, err: e is error ? e.message() : ()});
+    }
+    return results;
+}
+
+isolated function generateCodegenTask(SchemaCodegenTask task, boolean typedCodec) returns error? {
+    json schemaJson = check io:fileReadJson(task.schemaPath);
+    check generateCodeForSchema(schemaJson, task.outputPath, typedCodec);
+}
+
+// Expands the inputs into one task per schema file, keeping the input order.
+// Two schemas that would be written to the same output file are rejected up
+// front, since the result would otherwise depend on which one finished last.
+function resolveCodegenTasks(string[] inputs, string outputDir) returns SchemaCodegenTask[]|error {
+    string[] schemaPaths = [];
+    foreach string input in inputs {
+        if check file:test(input, file:IS_DIR) {
+            file:MetaData[] items = check file:readDir(input);
+            string[] dirSchemas = from file:MetaData item in items
+                where !item.dir && item.absPath.endsWith(".json")
+                order by item.absPath
+                select item.absPath;
+            schemaPaths.push(...dirSchemas);
+        } else {
+            schemaPaths.push(check file:getAbsolutePath(input));
+        }
+    }
+    if schemaPaths.length() == 0 {
+        return error("No schema files found in " + inputs.toString());
+    }
+
+    SchemaCodegenTask[] tasks = [];
+    map<string> outputOwners = {};
+    foreach int i in 0 ..< schemaPaths.length() {
+        string schemaPath = schemaPaths[i];
+        string fileName = check file:basename(schemaPath);
+        string outputName = (fileName.endsWith(".json") ? fileName.substring(0, fileName.length() - ".json".length()) :
+            fileName) + ".bal";
+        string? owner = outputOwners[outputName];
+        if owner is string {
+            return error(string `Schemas ${owner} and ${schemaPath} would both be generated to ${outputName}.`);
+        }
+        outputOwners[outputName] = schemaPath;
+        tasks.push({index: i, schemaPath, outputPath: check file:joinPath(outputDir, outputName)});
+    }
+    return tasks;
+}
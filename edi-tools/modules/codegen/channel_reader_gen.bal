@@ -0,0 +1,84 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Channel readers.
+//
+// `fromEdiString` takes the whole document as one string, so a caller reading
+// a file holds the file text before parsing starts. In typed codec mode the
+// generated module also exposes `fromEdiChannel` and `fromEdiFile`, and for
+// envelope-aware schemas in either mode `transactionsFromEdiChannel` and
+// `transactionsFromEdiFile`, which read the EDI text from a byte channel in a
+// given charset or from a character channel. The text is read in chunks by the
+// `EdiCodecState` scanner as segments are consumed, and consumed text is
+// dropped. The ballerina/edi runtime converts whole documents only, so without
+// the typed codec there is no `fromEdiChannel`, and the transaction streams
+// hand the runtime one transaction body at a time.
+
+// Renders `fromEdiChannel` and `fromEdiFile` in typed codec mode, and the
+// channel helpers shared by the channel readers.
+isolated function renderChannelReaderFns(string name, boolean typedCodec) returns string {
+    string readerFns = typedCodec ? string `
+
+# Read Ballerina ${name} record from EDI text in a channel. The channel is read to its end but not closed.
+# The EDI text is parsed as it is read, so the whole text is not held in memory.
+#
+# + channel - Channel to read the EDI text from
+# + charset - Charset of the EDI text in a byte channel
+# + return - Ballerina record or error
+public isolated function fromEdiChannel(io:ReadableByteChannel|io:ReadableCharacterChannel channel,
+        string charset = "UTF-8") returns ${name}|error {
+    EdiCodecState state = check ediCodecOpenChannel(ediReadableCharacterChannel(channel, charset),
+            codecDelimiters, codecIgnoreSegments);
+    ${name} data = check read${name}(state);
+    check ediCodecExpectEnd(state);
+    return data;
+}
+
+# Read Ballerina ${name} record from an EDI file.
+# The EDI text is parsed as it is read, so the whole text is not held in memory.
+#
+# + path - Path of the EDI file
+# + charset - Charset of the EDI file
+# + return - Ballerina record or error
+public isolated function fromEdiFile(string path, string charset = "UTF-8") returns ${name}|error {
+    io:ReadableByteChannel channel = check io:openReadableFile(path);
+    ${name}|error data = fromEdiChannel(channel, charset);
+    check channel.close();
+    return data;
+}` : "";
+
+    return string `${readerFns}
+
+const EDI_CHANNEL_READ_LENGTH = 8192;
+
+isolated function ediReadableCharacterChannel(io:ReadableByteChannel|io:ReadableCharacterChannel channel,
+        string charset) returns io:ReadableCharacterChannel {
+    if channel is io:ReadableCharacterChannel {
+        return channel;
+    }
+    return new (channel, charset);
+}
+
+// Reads the next chunk of at most EDI_CHANNEL_READ_LENGTH characters, or nil at the end of the channel.
+isolated function ediChannelRead(io:ReadableCharacterChannel channel) returns string?|error {
+    string|io:Error chunk = channel.read(EDI_CHANNEL_READ_LENGTH);
+    if chunk is io:EofError {
+        return ();
+    }
+    string text = check chunk;
+    return text == "" ? () : text;
+}`;
+}
@@ -0,0 +1,219 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/edi;
+
+// Channel writers.
+//
+// `toEdiString` and `interchangeToEdiString` return the whole document as one
+// string, which is then copied again to wherever it is sent. The generated
+// module also exposes `toEdiChannel`, and for envelope-aware schemas
+// `interchangeToEdiChannel` and an interchange writer, which write the EDI text
+// to an `io:WritableByteChannel` or `io:WritableCharacterChannel` instead.
+// Segments go through an `EdiCodecSink` that writes them out in small chunks.
+// In typed codec mode the writers emit every segment themselves. Otherwise the
+// ballerina/edi runtime converts one part at a time with a schema of that part:
+// `toEdiChannel` converts each top-level unit, and each repetition of a
+// repeated one, and the interchange writer each transaction body, so at most
+// one part is held as text.
+
+// Renders `toEdiChannel` and the channel helpers shared by the channel writers.
+isolated function renderChannelWriterFns(string name, boolean typedCodec) returns string {
+    string writeBody = typedCodec ?
+        string `EdiCodecSink sink = {channel: ediCharacterChannel(channel)};
+    check write${name}(data, codecDelimiters, sink);
+    check ediCodecFlush(sink);` :
+        string `EdiCodecSink sink = {channel: ediCharacterChannel(channel)};
+    map<anydata> units = data;
+    foreach var [tag, unitSchema] in ediBodyUnits {
+        anydata value = units[tag];
+        if value is anydata[] && value.length() > 0 {
+            foreach anydata item in value {
+                check ediCodecEmitSegments(sink, check edi:toEdiString({[tag]: [item.toJson()]}, unitSchema),
+                        codecDelimiters);
+            }
+        } else {
+            // Converted even when absent, so that the runtime rejects a missing mandatory unit.
+            map<json> unitData = value is () ? {} : {[tag]: value.toJson()};
+            check ediCodecEmitSegments(sink, check edi:toEdiString(unitData, unitSchema), codecDelimiters);
+        }
+    }
+    check ediCodecFlush(sink);`;
+    string bodyUnits = typedCodec ? "" : string `
+
+// Top-level units of ${name}, each with a schema that has only that unit, so that
+// toEdiChannel converts one unit at a time.
+final readonly & [string, edi:EdiSchema][] ediBodyUnits = check resolveEdiBodyUnits();
+
+isolated function resolveEdiBodyUnits() returns readonly & [string, edi:EdiSchema][]|error {
+    edi:EdiSchema schema = check edi:getSchema(schemaJson);
+    edi:EdiUnitSchema[] topUnits = schema.segments;
+    schema.segments = [];
+    schema.envelope = ();
+    [string, edi:EdiSchema][] units = [];
+    foreach edi:EdiUnitSchema unit in topUnits {
+        if unit is edi:EdiUnitRef {
+            return error("Segment reference is not supported for this operation.");
+        }
+        edi:EdiSchema unitSchema = schema.clone();
+        unitSchema.segments = [unit];
+        units.push([unit.tag, unitSchema]);
+    }
+    return units.cloneReadOnly();
+}`;
+
+    return string `
+
+# Write Ballerina ${name} record as EDI text to a channel. Byte channels are written in UTF-8.
+# The channel is not closed. Segments are written out in small chunks as they are converted,
+# so the whole EDI text is not held in memory.
+#
+# + data - Ballerina record to be written
+# + channel - Channel to write the EDI text to
+# + return - Error if the record cannot be converted or written
+public isolated function toEdiChannel(${name} data, io:WritableByteChannel|io:WritableCharacterChannel channel)
+        returns error? {
+    ${writeBody}
+}
+
+isolated function ediCharacterChannel(io:WritableByteChannel|io:WritableCharacterChannel channel)
+        returns io:WritableCharacterChannel {
+    if channel is io:WritableCharacterChannel {
+        return channel;
+    }
+    return new (channel, "UTF-8");
+}
+
+isolated function ediChannelWrite(io:WritableCharacterChannel channel, string text) returns error? {
+    int offset = 0;
+    while offset < text.length() {
+        offset += check channel.write(text, offset);
+    }
+}${bodyUnits}`;
+}
+
+// Renders the interchange writer class and `interchangeToEdiChannel`, which
+// writes a whole interchange record with it.
+isolated function renderInterchangeWriterFns(string name, edi:EdiEnvelopeSchema env, boolean typedCodec)
+        returns string {
+    edi:EdiEnvelopeLevel? grp = env?.group;
+
+    string writeTransaction = typedCodec ?
+        string `check write${name}Transaction(t, self.sink);` :
+        string `${name}|error body = t.body;
+        if body is error {
+            return error("Cannot serialise a transaction whose body is an error: " + body.message());
+        }
+        check write${name}TransactionHeader(t.transactionHeader, codecDelimiters, self.sink);
+        check ediCodecEmitSegments(self.sink, check edi:toEdiString(body, envelopeBodySchema), codecDelimiters);
+        check write${name}TransactionTrailer(t.transactionTrailer, codecDelimiters, self.sink);`;
+    string bodySchema = typedCodec ? "" : string `
+
+// Schema of the transaction bodies written by ${name}InterchangeWriter, without the envelope.
+final readonly & edi:EdiSchema envelopeBodySchema = check resolveEnvelopeBodySchema();
+
+isolated function resolveEnvelopeBodySchema() returns readonly & edi:EdiSchema|error {
+    edi:EdiSchema schema = check edi:getSchema(schemaJson);
+    schema.envelope = ();
+    return schema.cloneReadOnly();
+}`;
+
+    string groupMethods = grp is edi:EdiEnvelopeLevel ? string `
+
+    # Write the header of a functional group. Write the transactions of the group next,
+    # and end it with writeGroupTrailer.
+    #
+    # + header - Group header
+    # + return - Error if the header cannot be written
+    public isolated function writeGroupHeader(${name}GroupHeader header) returns error? {
+        check write${name}GroupHeader(header, codecDelimiters, self.sink);
+    }
+
+    # Write the trailer of the current functional group.
+    #
+    # + trailer - Group trailer
+    # + return - Error if the trailer cannot be written
+    public isolated function writeGroupTrailer(${name}GroupTrailer trailer) returns error? {
+        check write${name}GroupTrailer(trailer, codecDelimiters, self.sink);
+    }` : "";
+
+    string writeParts = grp is edi:EdiEnvelopeLevel ?
+        string `foreach ${name}FunctionalGroup g in msg.groups {
+        check writer.writeGroupHeader(g.groupHeader);
+        foreach ${name}Transaction t in g.transactions {
+            check writer.writeTransaction(t);
+        }
+        check writer.writeGroupTrailer(g.groupTrailer);
+    }` :
+        string `foreach ${name}Transaction t in msg.transactions {
+        check writer.writeTransaction(t);
+    }`;
+    string order = grp is edi:EdiEnvelopeLevel ?
+        "the group headers, transactions and group trailers in interchange order" :
+        "the transactions in interchange order";
+
+    return string `
+
+# Write a ${name}Interchange as EDI text to a channel; the streaming counterpart of interchangeToEdiString.
+# The channel is not closed.
+#
+# + msg - The interchange to write
+# + channel - Channel to write the EDI text to
+# + return - Error if the interchange cannot be converted or written
+public isolated function interchangeToEdiChannel(${name}Interchange msg,
+        io:WritableByteChannel|io:WritableCharacterChannel channel) returns error? {
+    ${name}InterchangeWriter writer = check new (channel, msg.interchangeHeader);
+    ${writeParts}
+    check writer.close(msg.interchangeTrailer);
+}
+
+# Writes a ${name} interchange to a channel one part at a time. The interchange header is
+# written when the writer is created; write ${order}, then close the writer with the
+# interchange trailer. Each part is written out as it is given, so only the part being
+# written is held in memory, however large the interchange.
+public class ${name}InterchangeWriter {
+    private final EdiCodecSink sink;
+
+    # Start an interchange on the channel. Byte channels are written in UTF-8.
+    #
+    # + channel - Channel to write the EDI text to. It is not closed by the writer.
+    # + header - Interchange header
+    # + return - Error if the header cannot be written
+    public isolated function init(io:WritableByteChannel|io:WritableCharacterChannel channel,
+            ${name}InterchangeHeader header) returns error? {
+        self.sink = {channel: ediCharacterChannel(channel)};
+        check write${name}InterchangeHeader(header, codecDelimiters, self.sink);
+    }${groupMethods}
+
+    # Write a transaction with its header and trailer.
+    # A transaction whose body is an error is refused.
+    #
+    # + t - Transaction to write
+    # + return - Error if the transaction cannot be converted or written
+    public isolated function writeTransaction(${name}Transaction t) returns error? {
+        ${writeTransaction}
+    }
+
+    # Write the interchange trailer and everything not written out yet.
+    #
+    # + trailer - Interchange trailer
+    # + return - Error if the trailer cannot be written
+    public isolated function close(${name}InterchangeTrailer trailer) returns error? {
+        check write${name}InterchangeTrailer(trailer, codecDelimiters, self.sink);
+        check ediCodecFlush(self.sink);
+    }
+}${bodySchema}`;
+}
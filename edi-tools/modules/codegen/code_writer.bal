@@ -0,0 +1,82 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+
+// Number of characters buffered by `CodeWriter` before they are written out.
+const CODE_WRITER_BUFFER_SIZE = 65536;
+
+# Writes generated source to a file as it is produced. Small pieces of code are
+# collected in a bounded buffer and written to the file in chunks, so generating
+# a file needs memory for the largest emitted piece (typically one record or one
+# function) rather than for the whole file.
+class CodeWriter {
+    private final io:WritableCharacterChannel channel;
+    private string[] pending = [];
+    private int pendingLength = 0;
+
+    isolated function init(string path) returns error? {
+        self.channel = check io:openWritableFile(path).toCharacterChannel("UTF-8");
+    }
+
+    # Appends the given pieces of code to the file.
+    #
+    # + parts - Code to write, in order
+    # + return - Error if the code cannot be written
+    isolated function write(string... parts) returns error? {
+        foreach string part in parts {
+            self.pending.push(part);
+            self.pendingLength += part.length();
+        }
+        if self.pendingLength >= CODE_WRITER_BUFFER_SIZE {
+            check self.flush();
+        }
+    }
+
+    # Appends the given entries, separated by `separator`.
+    #
+    # + entries - Entries to write
+    # + separator - Text written between two entries
+    # + return - Error if the code cannot be written
+    isolated function writeJoined(string[] entries, string separator) returns error? {
+        foreach int i in 0 ..< entries.length() {
+            if i > 0 {
+                check self.write(separator);
+            }
+            check self.write(entries[i]);
+        }
+    }
+
+    # Writes out the buffered code and closes the file.
+    #
+    # + return - Error if the code cannot be written
+    isolated function close() returns error? {
+        error? flushResult = self.flush();
+        check self.channel.close();
+        return flushResult;
+    }
+
+    private isolated function flush() returns error? {
+        if self.pendingLength == 0 {
+            return;
+        }
+        string chunk = string:'join("", ...self.pending);
+        self.pending = [];
+        self.pendingLength = 0;
+        _ = check self.channel.write(chunk, 0);
+    }
+}
+
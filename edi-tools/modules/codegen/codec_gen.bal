@@ -0,0 +1,830 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/edi;
+
+// Typed codec generation.
+//
+// In the default mode a generated module parses EDI text into a generic `json`
+// tree with the ballerina/edi runtime and converts it with `cloneWithType`.
+// The typed codec instead emits one reader and one writer per generated record,
+// so segments are read straight into the `*_Type` / `*_GType` records and
+// written straight back out, without an intermediate JSON value.
+//
+// Readers walk a lazily tokenized segment stream (`EdiCodecState`), choosing a
+// unit when the next segment code matches one of its leading segment codes.
+// The stream reads either a string or, chunk by chunk, a channel.
+// Writers append one segment at a time to an `EdiCodecSink`, which either
+// collects the segments into a string or writes them on to a channel.
+
+// Writes the shared scanner helpers, the schema delimiters and a reader and
+// writer for every record in `records`.
+isolated function writeTypedCodec(CodeWriter writer, edi:EdiSchema schema, BalRecord[] records) returns error? {
+    check writer.write(check renderCodecRuntime(schema));
+    foreach BalRecord rec in records {
+        edi:EdiSegSchema? segment = rec.segmentSource;
+        edi:EdiFieldSchema? composite = rec.compositeSource;
+        edi:EdiUnitSchema[]? units = rec.unitsSource;
+        if segment is edi:EdiSegSchema {
+            check writer.write("\n", renderSegmentReader(rec, segment), "\n", renderSegmentWriter(rec, segment));
+        } else if composite is edi:EdiFieldSchema {
+            check writer.write("\n", renderCompositeReader(rec, composite), "\n", renderCompositeWriter(rec, composite));
+        } else if units is edi:EdiUnitSchema[] {
+            check writer.write("\n", check renderUnitsReader(rec, units), "\n", check renderUnitsWriter(rec, units));
+        } else {
+            return error("Cannot generate a typed codec for record " + rec.name + ". Its source schema unit is unknown.");
+        }
+    }
+}
+
+// Writes the shared scanner helpers and the readers and writers of the envelope
+// header and trailer records, and of the records they contain. Used without the
+// typed codec, where the transaction stream still reads the envelope segments,
+// and the interchange writer writes them, with these.
+isolated function writeEnvelopeCodec(CodeWriter writer, edi:EdiSchema schema, BalRecord[] records,
+        edi:EdiEnvelopeSchema env) returns error? {
+    string[] levels = ["InterchangeHeader", "InterchangeTrailer", "TransactionHeader", "TransactionTrailer"];
+    if env?.group is edi:EdiEnvelopeLevel {
+        levels.push("GroupHeader", "GroupTrailer");
+    }
+    string[] envelopeRecords = from string level in levels
+        select schema.name + level;
+    map<boolean> needed = {};
+    BalRecord[] pending = from BalRecord rec in records
+        where envelopeRecords.indexOf(rec.name) is int
+        select rec;
+    while pending.length() > 0 {
+        BalRecord rec = pending.pop();
+        if needed.hasKey(rec.name) {
+            continue;
+        }
+        needed[rec.name] = true;
+        foreach BalField f in rec.fields {
+            BalType btype = f.btype;
+            if btype is BalRecord {
+                pending.push(btype);
+            }
+        }
+    }
+
+    check writer.write(check renderCodecRuntime(schema));
+    foreach BalRecord rec in records {
+        if !needed.hasKey(rec.name) {
+            continue;
+        }
+        edi:EdiSegSchema? segment = rec.segmentSource;
+        edi:EdiFieldSchema? composite = rec.compositeSource;
+        edi:EdiUnitSchema[]? units = rec.unitsSource;
+        if segment is edi:EdiSegSchema {
+            check writer.write("\n", renderSegmentReader(rec, segment), "\n", renderSegmentWriter(rec, segment));
+        } else if composite is edi:EdiFieldSchema {
+            check writer.write("\n", renderCompositeReader(rec, composite), "\n", renderCompositeWriter(rec, composite));
+        } else if units is edi:EdiUnitSchema[] {
+            check writer.write("\n", check renderUnitsReader(rec, units), "\n", check renderUnitsWriter(rec, units));
+        } else {
+            return error("Cannot generate a reader for record " + rec.name + ". Its source schema unit is unknown.");
+        }
+    }
+}
+
+// Renders the typed replacements of `fromEdiString` and `toEdiString`.
+isolated function renderTypedBodyFns(string name) returns string {
+    return string `
+# Convert EDI string to Ballerina ${name} record.
+#
+# + ediText - EDI string to be converted
+# + return - Ballerina record or error
+public isolated function fromEdiString(string ediText) returns ${name}|error {
+    EdiCodecState state = ediCodecOpen(ediText, codecDelimiters, codecIgnoreSegments);
+    ${name} data = check read${name}(state);
+    check ediCodecExpectEnd(state);
+    return data;
+}
+
+# Convert Ballerina ${name} record to EDI string.
+#
+# + data - Ballerina record to be converted
+# + return - EDI string or error
+public isolated function toEdiString(${name} data) returns string|error {
+    EdiCodecSink sink = {};
+    check write${name}(data, codecDelimiters, sink);
+    return ediCodecContent(sink);
+}`;
+}
+
+// Typed counterparts of the functions emitted by `renderEnvelopeFns`. Envelope
+// headers, trailers and bodies are read with the generated readers, so none of
+// them detours through `cloneWithType` / `toJson`. As with the runtime path, a
+// malformed transaction body is captured as an error in that transaction and
+// the reader resumes at the transaction trailer.
+isolated function renderTypedEnvelopeFns(string name, edi:EdiEnvelopeSchema env) returns string {
+    edi:EdiEnvelopeLevel? grp = env?.group;
+    string txnTrailerCodes = unitsLeadingCodes(env.'transaction.trailer).toString();
+
+    string readTransactions = string `${name}Transaction[] txns = [];
+        while check ediCodecAt(state, ${unitsLeadingCodes(env.'transaction.header).toString()}) {
+            ${name}TransactionHeader th = check read${name}TransactionHeader(state);
+            ${name}|error body = read${name}TransactionBody(state);
+            if body is error {
+                check ediCodecSkipTo(state, ${txnTrailerCodes});
+            }
+            ${name}TransactionTrailer tt = check read${name}TransactionTrailer(state);
+            txns.push({transactionHeader: th, body, transactionTrailer: tt});
+        }`;
+
+    string readHeaders = grp is edi:EdiEnvelopeLevel ?
+        string `${name}InterchangeHeader interchange = check read${name}InterchangeHeader(state);
+    ${name}GroupHeader group = check read${name}GroupHeader(state);
+    ${name}TransactionHeader txn = check read${name}TransactionHeader(state);
+    return {interchange, group, 'transaction: txn};` :
+        string `${name}InterchangeHeader interchange = check read${name}InterchangeHeader(state);
+    ${name}TransactionHeader txn = check read${name}TransactionHeader(state);
+    return {interchange, 'transaction: txn};`;
+
+    string readInterchange = grp is edi:EdiEnvelopeLevel ?
+        string `${name}InterchangeHeader ih = check read${name}InterchangeHeader(state);
+    ${name}FunctionalGroup[] groups = [];
+    while check ediCodecAt(state, ${unitsLeadingCodes(grp.header).toString()}) {
+        ${name}GroupHeader gh = check read${name}GroupHeader(state);
+        ${readTransactions}
+        ${name}GroupTrailer gt = check read${name}GroupTrailer(state);
+        groups.push({groupHeader: gh, transactions: txns, groupTrailer: gt});
+    }
+    ${name}InterchangeTrailer it = check read${name}InterchangeTrailer(state);
+    check ediCodecExpectEnd(state);
+    return {interchangeHeader: ih, groups, interchangeTrailer: it};` :
+        string `${name}InterchangeHeader ih = check read${name}InterchangeHeader(state);
+    ${readTransactions}
+    ${name}InterchangeTrailer it = check read${name}InterchangeTrailer(state);
+    check ediCodecExpectEnd(state);
+    return {interchangeHeader: ih, transactions: txns, interchangeTrailer: it};`;
+
+    string writeInterchange = grp is edi:EdiEnvelopeLevel ?
+        string `check write${name}InterchangeHeader(msg.interchangeHeader, codecDelimiters, sink);
+    foreach ${name}FunctionalGroup g in msg.groups {
+        check write${name}GroupHeader(g.groupHeader, codecDelimiters, sink);
+        foreach ${name}Transaction t in g.transactions {
+            check write${name}Transaction(t, sink);
+        }
+        check write${name}GroupTrailer(g.groupTrailer, codecDelimiters, sink);
+    }
+    check write${name}InterchangeTrailer(msg.interchangeTrailer, codecDelimiters, sink);` :
+        string `check write${name}InterchangeHeader(msg.interchangeHeader, codecDelimiters, sink);
+    foreach ${name}Transaction t in msg.transactions {
+        check write${name}Transaction(t, sink);
+    }
+    check write${name}InterchangeTrailer(msg.interchangeTrailer, codecDelimiters, sink);`;
+
+    return string `
+
+# Parse only the envelope header segments from the given EDI string.
+#
+# + ediText - EDI string to parse
+# + return - Parsed ${name}Headers record, or error if the headers are malformed
+public isolated function headersFromEdiString(string ediText) returns ${name}Headers|error {
+    EdiCodecState state = ediCodecOpen(ediText, codecDelimiters, codecIgnoreSegments);
+    ${readHeaders}
+}
+
+# Parse the full envelope hierarchy from the given EDI string.
+# A malformed transaction body becomes an error in that transaction's body field.
+#
+# + ediText - EDI string to parse
+# + return - Parsed ${name}Interchange, or error if the envelope is malformed
+public isolated function interchangeFromEdiString(string ediText) returns ${name}Interchange|error {
+    EdiCodecState state = ediCodecOpen(ediText, codecDelimiters, codecIgnoreSegments);
+    ${readInterchange}
+}
+
+# Serialise a ${name}Interchange into EDI text; the inverse of interchangeFromEdiString.
+# A transaction whose body is an error is refused — filter or replace it before calling.
+#
+# + msg - The interchange to serialise
+# + return - EDI text, or error
+public isolated function interchangeToEdiString(${name}Interchange msg) returns string|error {
+    EdiCodecSink sink = {};
+    ${writeInterchange}
+    return ediCodecContent(sink);
+}
+
+// Reads a transaction body and checks that it ends at the transaction trailer, so
+// that unexpected body segments fail the body rather than the whole interchange.
+isolated function read${name}TransactionBody(EdiCodecState state) returns ${name}|error {
+    ${name} body = check read${name}(state);
+    if !(check ediCodecAt(state, ${txnTrailerCodes})) {
+        return ediCodecUnexpectedSegment(state);
+    }
+    return body;
+}
+
+isolated function write${name}Transaction(${name}Transaction t, EdiCodecSink sink) returns error? {
+    ${name}|error body = t.body;
+    if body is error {
+        return error("Cannot serialise a transaction whose body is an error: " + body.message());
+    }
+    check write${name}TransactionHeader(t.transactionHeader, codecDelimiters, sink);
+    check write${name}(body, codecDelimiters, sink);
+    check write${name}TransactionTrailer(t.transactionTrailer, codecDelimiters, sink);
+}`;
+}
+
+isolated function renderSegmentReader(BalRecord rec, edi:EdiSegSchema segment) returns string {
+    string[] lines = [
+        string `isolated function read${rec.name}(string[] f, EdiCodecDelimiters d) returns ${rec.name}|error {`,
+        string `    if f.length() > ${segment.fields.length()} {`,
+        string `        return ediCodecTooManyFields(f, ${segment.fields.length()});`,
+        "    }"
+    ];
+    edi:EdiFieldSchema[] fields = segment.fields;
+    string[] schemaTags = from edi:EdiFieldSchema fieldSchema in fields select fieldSchema.tag;
+    lines.push(...renderValueReads(rec, schemaTags, "f", segment.code));
+    lines.push("    return r;", "}");
+    return string:'join("\n", ...lines);
+}
+
+isolated function renderCompositeReader(BalRecord rec, edi:EdiFieldSchema composite) returns string {
+    string[] lines = [
+        string `isolated function read${rec.name}(string value, EdiCodecDelimiters d) returns ${rec.name}|error {`,
+        "    string[] c = ediCodecSplit(value, d.component);"
+    ];
+    edi:EdiComponentSchema[] components = composite.components;
+    string[] schemaTags = from edi:EdiComponentSchema component in components select component.tag;
+    lines.push(...renderValueReads(rec, schemaTags, "c", composite.tag));
+    lines.push("    return r;", "}");
+    return string:'join("\n", ...lines);
+}
+
+// Renders the statements that read the positional values in `parts` into a
+// record `r` of type `rec`. Required values go into the record constructor;
+// optional and repeated values are assigned afterwards, only when present.
+isolated function renderValueReads(BalRecord rec, string[] schemaTags, string parts, string context) returns string[] {
+    string[] reads = [];
+    string[] checks = [];
+    string[] requiredInits = [];
+    string[] assignments = [];
+    foreach int i in 0 ..< schemaTags.length() {
+        BalField? balField = rec.getField(schemaTags[i]);
+        if balField is () {
+            continue;
+        }
+        string v = "v" + i.toString();
+        reads.push(string `    string ${v} = ediCodecValue(${parts}, ${i});`);
+        boolean required = !balField.optional;
+        if required {
+            checks.push(string `    if ${v} == "" {`,
+                    string `        return ediCodecMissingField("${context}", "${balField.name}");`,
+                    "    }");
+        }
+        if balField.array {
+            assignments.push(string `    foreach string item in ediCodecSplit(${v}, d.repetition) {`,
+                    "        if item != \"\" {",
+                    string `            r.${balField.name}.push(${codecValueExpr(balField.btype, "item", context, balField.name)});`,
+                    "        }",
+                    "    }");
+        } else if required {
+            requiredInits.push(string `${balField.name}: ${codecValueExpr(balField.btype, v, context, balField.name)}`);
+        } else {
+            assignments.push(string `    if ${v} != "" {`,
+                    string `        r.${balField.name} = ${codecValueExpr(balField.btype, v, context, balField.name)};`,
+                    "    }");
+        }
+    }
+    return [...reads, ...checks, string `    ${rec.name} r = {${string:'join(", ", ...requiredInits)}};`, ...assignments];
+}
+
+isolated function codecValueExpr(BalType btype, string raw, string context, string tag) returns string {
+    if btype is BalRecord {
+        return string `check read${btype.name}(${raw}, d)`;
+    }
+    if btype == BINT {
+        return string `check ediCodecInt(${raw}, "${context}", "${tag}")`;
+    }
+    if btype == BFLOAT {
+        return string `check ediCodecFloat(${raw}, d, "${context}", "${tag}")`;
+    }
+    return raw;
+}
+
+isolated function renderSegmentWriter(BalRecord rec, edi:EdiSegSchema segment) returns string {
+    string[] lines = [
+        string `isolated function write${rec.name}(${rec.name} r, EdiCodecDelimiters d, EdiCodecSink sink) returns error? {`,
+        "    string[] f = [];"
+    ];
+    edi:EdiFieldSchema[] fields = segment.fields;
+    string[] schemaTags = from edi:EdiFieldSchema fieldSchema in fields select fieldSchema.tag;
+    lines.push(...renderValueWrites(rec, schemaTags, "f"));
+    lines.push("    check ediCodecEmit(sink, ediCodecJoin(f, d.'field), d);", "}");
+    return string:'join("\n", ...lines);
+}
+
+isolated function renderCompositeWriter(BalRecord rec, edi:EdiFieldSchema composite) returns string {
+    string[] lines = [
+        string `isolated function write${rec.name}(${rec.name} r, EdiCodecDelimiters d) returns string {`,
+        "    string[] c = [];"
+    ];
+    edi:EdiComponentSchema[] components = composite.components;
+    string[] schemaTags = from edi:EdiComponentSchema component in components select component.tag;
+    lines.push(...renderValueWrites(rec, schemaTags, "c"));
+    lines.push("    return ediCodecJoin(c, d.component);", "}");
+    return string:'join("\n", ...lines);
+}
+
+// Renders the statements that push the text of every positional value of `r`
+// into `parts`. Values that have no record field (unsupported data types) are
+// written as empty values so the positions of later values are kept.
+isolated function renderValueWrites(BalRecord rec, string[] schemaTags, string parts) returns string[] {
+    string[] writes = [];
+    foreach int i in 0 ..< schemaTags.length() {
+        BalField? balField = rec.getField(schemaTags[i]);
+        if balField is () {
+            writes.push(string `    ${parts}.push("");`);
+            continue;
+        }
+        string typeName = codecTypeName(balField.btype);
+        if balField.array {
+            writes.push(string `    ${parts}.push(string:'join(d.repetition, ...from ${typeName} item in r.${balField.name} select ${codecTextExpr(balField.btype, "item")}));`);
+        } else if !balField.optional {
+            writes.push(string `    ${parts}.push(${codecTextExpr(balField.btype, "r." + balField.name)});`);
+        } else {
+            string o = "o" + i.toString();
+            writes.push(string `    ${typeName}? ${o} = r?.${balField.name};`,
+                    string `    ${parts}.push(${o} is () ? "" : ${codecTextExpr(balField.btype, o)});`);
+        }
+    }
+    return writes;
+}
+
+isolated function codecTypeName(BalType btype) returns string {
+    return btype is BalRecord ? btype.name : btype.toString();
+}
+
+isolated function codecTextExpr(BalType btype, string value) returns string {
+    if btype is BalRecord {
+        return string `write${btype.name}(${value}, d)`;
+    }
+    if btype == BFLOAT {
+        return string `ediCodecFloatText(${value}, d)`;
+    }
+    if btype == BSTRING {
+        return value;
+    }
+    return value + ".toString()";
+}
+
+// Renders the reader of a segment group, the transaction body root or an
+// envelope header / trailer wrapper. Record fields are generated one per unit,
+// in unit order, by `generateRecordForUnits`.
+isolated function renderUnitsReader(BalRecord rec, edi:EdiUnitSchema[] units) returns string|error {
+    if rec.fields.length() != units.length() {
+        return error("Record " + rec.name + " does not match the units it was generated from.");
+    }
+    string[] lines = [string `isolated function read${rec.name}(EdiCodecState state) returns ${rec.name}|error {`];
+    string[] requiredInits = [];
+    string[] assignments = [];
+    foreach int i in 0 ..< units.length() {
+        edi:EdiUnitSchema unit = units[i];
+        BalField balField = rec.fields[i];
+        BalType child = balField.btype;
+        if unit is edi:EdiUnitRef || child !is BalRecord {
+            return error("Segment reference is not supported for this operation.");
+        }
+        int minOccurs = unit.minOccurances;
+        int maxOccurs = unit.maxOccurances;
+        string u = "u" + i.toString();
+        string at = unitAtExpr(unit);
+        string read = child.segmentSource is () ?
+            string `check read${child.name}(state)` :
+            string `check read${child.name}(check ediCodecNext(state), state.delimiters)`;
+        if balField.array {
+            string bound = maxOccurs > 1 ? string ` && ${u}.length() < ${maxOccurs}` : "";
+            lines.push(string `    ${child.name}[] ${u} = [];`,
+                    string `    while ${bound == "" ? at : "(" + at + ")" + bound} {`,
+                    string `        ${u}.push(${read});`,
+                    "    }");
+            if minOccurs > 0 {
+                lines.push(string `    if ${u}.length() < ${minOccurs} {`,
+                        string `        return ediCodecMissingUnit(state, "${balField.name}");`,
+                        "    }");
+            }
+            requiredInits.push(string `${balField.name}: ${u}`);
+        } else {
+            lines.push(string `    ${child.name}? ${u} = ();`,
+                    string `    if ${at} {`,
+                    string `        ${u} = ${read};`,
+                    "    }");
+            if balField.optional {
+                assignments.push(string `    if ${u} !is () {`,
+                        string `        r.${balField.name} = ${u};`,
+                        "    }");
+            } else {
+                lines.push(string `    if ${u} is () {`,
+                        string `        return ediCodecMissingUnit(state, "${balField.name}");`,
+                        "    }");
+                requiredInits.push(string `${balField.name}: ${u}`);
+            }
+        }
+    }
+    lines.push(string `    ${rec.name} r = {${string:'join(", ", ...requiredInits)}};`, ...assignments);
+    lines.push("    return r;", "}");
+    return string:'join("\n", ...lines);
+}
+
+isolated function renderUnitsWriter(BalRecord rec, edi:EdiUnitSchema[] units) returns string|error {
+    if rec.fields.length() != units.length() {
+        return error("Record " + rec.name + " does not match the units it was generated from.");
+    }
+    string[] lines = [string `isolated function write${rec.name}(${rec.name} r, EdiCodecDelimiters d, EdiCodecSink sink) returns error? {`];
+    foreach int i in 0 ..< units.length() {
+        BalField balField = rec.fields[i];
+        string childName = codecTypeName(balField.btype);
+        if balField.array {
+            lines.push(string `    foreach ${childName} item in r.${balField.name} {`,
+                    string `        check write${childName}(item, d, sink);`,
+                    "    }");
+        } else if balField.optional {
+            string u = "u" + i.toString();
+            lines.push(string `    ${childName}? ${u} = r?.${balField.name};`,
+                    string `    if ${u} !is () {`,
+                    string `        check write${childName}(${u}, d, sink);`,
+                    "    }");
+        } else {
+            lines.push(string `    check write${childName}(r.${balField.name}, d, sink);`);
+        }
+    }
+    lines.push("}");
+    return string:'join("\n", ...lines);
+}
+
+isolated function unitAtExpr(edi:EdiSegSchema|edi:EdiSegGroupSchema unit) returns string {
+    if unit is edi:EdiSegSchema {
+        return string `check ediCodecAtCode(state, "${unit.code}")`;
+    }
+    return string `check ediCodecAt(state, ${unitsLeadingCodes(unit.segments).toString()})`;
+}
+
+// Returns the segment codes that can start the given sequence of units: the
+// codes of every leading optional unit, up to and including the first
+// mandatory one.
+isolated function unitsLeadingCodes(edi:EdiUnitSchema[] units) returns string[] {
+    string[] codes = [];
+    foreach edi:EdiUnitSchema unit in units {
+        if unit is edi:EdiUnitRef {
+            continue;
+        }
+        string[] unitCodes = unit is edi:EdiSegSchema ? [unit.code] : unitsLeadingCodes(unit.segments);
+        foreach string code in unitCodes {
+            if codes.indexOf(code) is () {
+                codes.push(code);
+            }
+        }
+        if unit.minOccurances > 0 {
+            break;
+        }
+    }
+    return codes;
+}
+
+isolated function renderCodecRuntime(edi:EdiSchema schema) returns string|error {
+    map<json> delimiters = check schema.delimiters.toJson().ensureType();
+    json repetition = delimiters["repetition"];
+    json decimalSeparator = delimiters["decimalSeparator"];
+    string[] ignoreSegments = schema.ignoreSegments;
+    return string `
+final readonly & EdiCodecDelimiters codecDelimiters = {
+    segment: ${schema.delimiters.segment.toJsonString()},
+    'field: ${schema.delimiters.'field.toJsonString()},
+    component: ${schema.delimiters.component.toJsonString()},
+    repetition: ${(repetition is string ? repetition : "NOT_USED").toJsonString()},
+    decimalSeparator: ${(decimalSeparator is string ? decimalSeparator : ".").toJsonString()}
+};
+
+final readonly & string[] codecIgnoreSegments = ${ignoreSegments.toJsonString()};
+
+// Characters that, at the ISA repetition position, denote a version without a repetition separator.
+const CODEC_ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789 ";
+
+type EdiCodecDelimiters record {|
+    string segment;
+    string 'field;
+    string component;
+    string repetition;
+    string decimalSeparator;
+|};
+
+// Lazily tokenized segment stream. Only the next segment (the lookahead) is
+// split into fields at any time. When reading a channel, `text` holds the text
+// read but not yet consumed and is refilled from the channel until the channel
+// ends. Consumed text from the mark on is moved to `marked` as it is dropped,
+// so a long marked region is copied once, when it is taken.
+type EdiCodecState record {|
+    string text;
+    int offset;
+    string[]? lookahead = ();
+    int lookaheadOffset = 0;
+    int segmentCount = 0;
+    EdiCodecDelimiters delimiters;
+    readonly & string[] ignoreSegments;
+    io:ReadableCharacterChannel? channel = ();
+    int? mark = ();
+    string[] marked = [];
+|};
+
+// Segments written by the writers. Without a channel the segments are collected
+// for `ediCodecContent`; with one they are written out in chunks of about
+// EDI_CODEC_FLUSH_LENGTH characters, so only the current chunk is held.
+type EdiCodecSink record {|
+    string[] segments = [];
+    int length = 0;
+    io:WritableCharacterChannel? channel = ();
+|};
+
+const EDI_CODEC_FLUSH_LENGTH = 8192;
+
+// Length of the ISA segment, within which the UNA or ISA delimiters are declared.
+const EDI_CODEC_HEADER_LENGTH = 106;
+
+// Starts reading the given EDI text. Delimiters declared by a leading UNA
+// service string advice or ISA header take precedence over the schema ones.
+isolated function ediCodecOpen(string ediText, readonly & EdiCodecDelimiters defaults,
+        readonly & string[] ignoreSegments) returns EdiCodecState {
+    EdiCodecDelimiters delimiters = defaults;
+    int offset = 0;
+    if ediText.startsWith("UNA") && ediText.length() >= 9 {
+        string repetition = ediText.substring(7, 8);
+        delimiters = {
+            component: ediText.substring(3, 4),
+            'field: ediText.substring(4, 5),
+            decimalSeparator: ediText.substring(5, 6),
+            repetition: repetition == " " ? defaults.repetition : repetition,
+            segment: ediText.substring(8, 9)
+        };
+        offset = 9;
+    } else if ediText.startsWith("ISA") && ediText.length() >= 106 {
+        string repetition = ediText.substring(82, 83);
+        delimiters = {
+            'field: ediText.substring(3, 4),
+            component: ediText.substring(104, 105),
+            segment: ediText.substring(105, 106),
+            repetition: CODEC_ALPHANUMERIC.includes(repetition) ? defaults.repetition : repetition,
+            decimalSeparator: defaults.decimalSeparator
+        };
+    }
+    return {text: ediText, offset, delimiters, ignoreSegments};
+}
+
+// Starts reading EDI text from the given channel, reading just enough of it to
+// find the declared delimiters.
+isolated function ediCodecOpenChannel(io:ReadableCharacterChannel channel, readonly & EdiCodecDelimiters defaults,
+        readonly & string[] ignoreSegments) returns EdiCodecState|error {
+    string[] chunks = [];
+    int length = 0;
+    while length < EDI_CODEC_HEADER_LENGTH {
+        string? chunk = check ediChannelRead(channel);
+        if chunk is () {
+            return ediCodecOpen(string:'join("", ...chunks), defaults, ignoreSegments);
+        }
+        chunks.push(chunk);
+        length += chunk.length();
+    }
+    EdiCodecState state = ediCodecOpen(string:'join("", ...chunks), defaults, ignoreSegments);
+    state.channel = channel;
+    return state;
+}
+
+// Returns the offset of the end of the next segment, reading the channel until
+// the segment delimiter is found or the channel ends.
+isolated function ediCodecSegmentEnd(EdiCodecState state) returns int?|error {
+    int? segmentEnd = state.text.indexOf(state.delimiters.segment, state.offset);
+    while segmentEnd is () {
+        io:ReadableCharacterChannel? channel = state.channel;
+        if channel is () {
+            return ();
+        }
+        string? chunk = check ediChannelRead(channel);
+        if chunk is () {
+            state.channel = ();
+            return ();
+        }
+        ediCodecCompact(state);
+        // A multi-character delimiter may be split across the chunks.
+        int searchFrom = int:max(state.offset, state.text.length() - state.delimiters.segment.length() + 1);
+        state.text += chunk;
+        segmentEnd = state.text.indexOf(state.delimiters.segment, searchFrom);
+    }
+    return segmentEnd;
+}
+
+// Drops the consumed text, keeping the part of it from the mark on in `marked`.
+isolated function ediCodecCompact(EdiCodecState state) {
+    int consumed = state.offset;
+    if consumed == 0 {
+        return;
+    }
+    int? mark = state.mark;
+    if mark is int {
+        state.marked.push(state.text.substring(mark, consumed));
+        state.mark = 0;
+    }
+    state.text = state.text.substring(consumed);
+    state.offset = 0;
+    state.lookaheadOffset -= consumed;
+}
+
+// Keeps the text from the next segment on until `ediCodecTakeMarked`.
+isolated function ediCodecMark(EdiCodecState state) returns error? {
+    state.mark = check ediCodecNextOffset(state);
+}
+
+// Returns the text from the mark to the next segment and clears the mark.
+isolated function ediCodecTakeMarked(EdiCodecState state) returns string|error {
+    int endOffset = check ediCodecNextOffset(state);
+    int? mark = state.mark;
+    if mark is () {
+        return error("No EDI segment is marked.");
+    }
+    string[] marked = state.marked;
+    marked.push(state.text.substring(mark, endOffset));
+    state.mark = ();
+    state.marked = [];
+    return string:'join("", ...marked);
+}
+
+isolated function ediCodecPeek(EdiCodecState state) returns string[]?|error {
+    while state.lookahead is () {
+        if state.offset >= state.text.length() && state.channel is () {
+            return ();
+        }
+        int? segmentEnd = check ediCodecSegmentEnd(state);
+        int end = segmentEnd ?: state.text.length();
+        int segmentStart = state.offset;
+        string segmentText = state.text.substring(segmentStart, end).trim();
+        state.offset = segmentEnd is int ? end + state.delimiters.segment.length() : end;
+        if segmentText == "" {
+            continue;
+        }
+        string[] fields = ediCodecSplit(segmentText, state.delimiters.'field);
+        if state.ignoreSegments.indexOf(fields[0]) is () {
+            state.lookahead = fields;
+            state.lookaheadOffset = segmentStart;
+        }
+    }
+    return state.lookahead;
+}
+
+// Returns the offset of the next segment in the text, or the text length at the end of the input.
+isolated function ediCodecNextOffset(EdiCodecState state) returns int|error {
+    string[]? fields = check ediCodecPeek(state);
+    return fields is () ? state.text.length() : state.lookaheadOffset;
+}
+
+isolated function ediCodecNext(EdiCodecState state) returns string[]|error {
+    string[]? fields = check ediCodecPeek(state);
+    if fields is () {
+        return error("Unexpected end of EDI input after segment " + state.segmentCount.toString() + ".");
+    }
+    state.lookahead = ();
+    state.segmentCount += 1;
+    return fields;
+}
+
+isolated function ediCodecAtCode(EdiCodecState state, string code) returns boolean|error {
+    string[]? fields = check ediCodecPeek(state);
+    return fields is string[] && fields[0] == code;
+}
+
+isolated function ediCodecAt(EdiCodecState state, string[] codes) returns boolean|error {
+    string[]? fields = check ediCodecPeek(state);
+    return fields is string[] && codes.indexOf(fields[0]) is int;
+}
+
+isolated function ediCodecSkipTo(EdiCodecState state, string[] codes) returns error? {
+    while !(check ediCodecAt(state, codes)) {
+        _ = check ediCodecNext(state);
+    }
+}
+
+isolated function ediCodecExpectEnd(EdiCodecState state) returns error? {
+    string[]? fields = check ediCodecPeek(state);
+    if fields is string[] {
+        return ediCodecUnexpectedSegment(state);
+    }
+}
+
+isolated function ediCodecUnexpectedSegment(EdiCodecState state) returns error {
+    string[]? fields = check ediCodecPeek(state);
+    string code = fields is string[] ? fields[0] : "<end of input>";
+    return error("Unexpected segment " + code + " after segment " + state.segmentCount.toString() + ".");
+}
+
+isolated function ediCodecMissingUnit(EdiCodecState state, string tag) returns error {
+    return error("Mandatory unit " + tag + " is missing after segment " + state.segmentCount.toString() + ".");
+}
+
+isolated function ediCodecMissingField(string context, string tag) returns error {
+    return error("Mandatory field " + tag + " of " + context + " is missing.");
+}
+
+isolated function ediCodecTooManyFields(string[] fields, int expected) returns error {
+    return error("Segment " + fields[0] + " has " + fields.length().toString() + " fields. Expected at most " +
+            expected.toString() + ".");
+}
+
+isolated function ediCodecSplit(string text, string delimiter) returns string[] {
+    string[] parts = [];
+    int startIndex = 0;
+    int? next = text.indexOf(delimiter, startIndex);
+    while next is int {
+        parts.push(text.substring(startIndex, next));
+        startIndex = next + delimiter.length();
+        next = text.indexOf(delimiter, startIndex);
+    }
+    parts.push(text.substring(startIndex));
+    return parts;
+}
+
+isolated function ediCodecValue(string[] parts, int index) returns string {
+    return index < parts.length() ? parts[index] : "";
+}
+
+isolated function ediCodecInt(string value, string context, string tag) returns int|error {
+    int|error parsed = int:fromString(value.trim());
+    if parsed is error {
+        return error("Invalid integer value '" + value + "' in field " + tag + " of " + context + ".");
+    }
+    return parsed;
+}
+
+isolated function ediCodecFloat(string value, EdiCodecDelimiters d, string context, string tag) returns float|error {
+    string normalized = d.decimalSeparator == "." ? value : string:'join(".", ...ediCodecSplit(value, d.decimalSeparator));
+    float|error parsed = float:fromString(normalized.trim());
+    if parsed is error {
+        return error("Invalid decimal value '" + value + "' in field " + tag + " of " + context + ".");
+    }
+    return parsed;
+}
+
+isolated function ediCodecFloatText(float value, EdiCodecDelimiters d) returns string {
+    string text = value.toString();
+    return d.decimalSeparator == "." ? text : string:'join(d.decimalSeparator, ...ediCodecSplit(text, "."));
+}
+
+// Joins positional values, dropping trailing empty values.
+isolated function ediCodecJoin(string[] values, string delimiter) returns string {
+    int end = values.length();
+    while end > 0 && values[end - 1] == "" {
+        end -= 1;
+    }
+    return string:'join(delimiter, ...values.slice(0, end));
+}
+
+isolated function ediCodecEmit(EdiCodecSink sink, string segment, EdiCodecDelimiters d) returns error? {
+    sink.segments.push(segment, d.segment);
+    if sink.channel !is () {
+        sink.length += segment.length() + d.segment.length();
+        if sink.length >= EDI_CODEC_FLUSH_LENGTH {
+            check ediCodecFlush(sink);
+        }
+    }
+}
+
+// Emits whole segments converted by the ballerina/edi runtime, ending them with
+// the segment delimiter if the runtime did not.
+isolated function ediCodecEmitSegments(EdiCodecSink sink, string segments, EdiCodecDelimiters d) returns error? {
+    string text = segments.trim();
+    if text == "" {
+        return;
+    }
+    if text.endsWith(d.segment) {
+        text = text.substring(0, text.length() - d.segment.length());
+    }
+    check ediCodecEmit(sink, text, d);
+}
+
+// Writes the segments emitted so far to the channel of the sink, if it has one.
+isolated function ediCodecFlush(EdiCodecSink sink) returns error? {
+    io:WritableCharacterChannel? channel = sink.channel;
+    if channel is () || sink.segments.length() == 0 {
+        return;
+    }
+    check ediChannelWrite(channel, string:'join("", ...sink.segments));
+    sink.segments = [];
+    sink.length = 0;
+}
+
+isolated function ediCodecContent(EdiCodecSink sink) returns string {
+    return string:'join("", ...sink.segments);
+}`;
+}
@@ -0,0 +1,128 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/crypto;
+import ballerina/file;
+import ballerina/io;
+
+// Version of the code generated by libgen. Bump it whenever a change to the
+// tool changes the generated modules, so that incremental runs regenerate
+// libraries created by an older version instead of mixing both.
+const LIBGEN_GENERATOR_VERSION = "2.2.0-6";
+
+const LIBGEN_MANIFEST = "libgen-manifest.json";
+
+# Describes a library generated by libgen. Written to the root of the library
+# on every run, and read back by incremental runs to find the modules whose
+# inputs have not changed.
+#
+# + generatorVersion - Version of the code generator that generated the library
+# + orgName - Organization name of the library
+# + libName - Name of the library
+# + versioned - Whether the library was generated from versioned schema folders
+# + metrics - Whether the library root counts its conversions
+# + typedCodec - Whether the modules were generated with the typed codec
+# + modules - Generated EDI modules, in the order they appear in the library
+type LibManifest record {|
+    string generatorVersion;
+    string orgName;
+    string libName;
+    boolean versioned;
+    boolean metrics = false;
+    boolean typedCodec = false;
+    ManifestModule[] modules;
+|};
+
+# EDI module entry of a library manifest.
+#
+# + completeEdiName - EDI name, prefixed with the version folder for versioned libraries
+# + moduleName - Name of the generated module
+# + schemaHash - Hash of the inputs the module was generated from
+# + hasEnvelope - Whether the schema of the module defines an envelope
+type ManifestModule record {|
+    string completeEdiName;
+    string moduleName;
+    string schemaHash;
+    boolean hasEnvelope;
+|};
+
+// Hash of the inputs of one generated module: the schema file content and the
+// generator version.
+function moduleInputHash(string schemaPath) returns string|error {
+    byte[] schemaBytes = check io:fileReadBytes(schemaPath);
+    byte[] input = [...LIBGEN_GENERATOR_VERSION.toBytes(), 0, ...schemaBytes];
+    return crypto:hashSha256(input).toBase16();
+}
+
+// Reads the manifest of the library at `libdata.libPath`. Returns nil if the
+// directory does not contain a library generated by libgen.
+function readLibManifest(LibData libdata) returns LibManifest?|error {
+    string manifestPath = check file:joinPath(libdata.libPath, LIBGEN_MANIFEST);
+    if !check file:test(manifestPath, file:EXISTS) {
+        return ();
+    }
+    json manifestJson = check io:fileReadJson(manifestPath);
+    LibManifest|error manifest = manifestJson.cloneWithType();
+    if manifest is error {
+        return error(string `Invalid libgen manifest ${manifestPath}: ${manifest.message()}`);
+    }
+    return manifest;
+}
+
+function writeLibManifest(LibData libdata, LibManifest manifest) returns error? {
+    check io:fileWriteJson(check file:joinPath(libdata.libPath, LIBGEN_MANIFEST), manifest.toJson());
+}
+
+// Modules of a previous run can only be reused if they were generated by the
+// same generator version for the same library, with the same codec.
+function isManifestReusable(LibManifest manifest, LibData libdata) returns boolean {
+    return manifest.generatorVersion == LIBGEN_GENERATOR_VERSION && manifest.orgName == libdata.orgName
+        && manifest.libName == libdata.libName && manifest.versioned == libdata.versioned
+        && manifest.typedCodec == libdata.typedCodec;
+}
+
+// The root files of the library (`<lib>.bal`, `rest_connector.bal` and
+// `Ballerina.toml`) only depend on the ordered list of modules, apart from
+// the metrics option that is compared separately.
+function hasSameModules(LibManifest previous, LibManifest current) returns boolean {
+    if previous.modules.length() != current.modules.length() {
+        return false;
+    }
+    foreach int i in 0 ..< current.modules.length() {
+        ManifestModule p = previous.modules[i];
+        ManifestModule c = current.modules[i];
+        if p.completeEdiName != c.completeEdiName || p.moduleName != c.moduleName || p.hasEnvelope != c.hasEnvelope {
+            return false;
+        }
+    }
+    return true;
+}
+
+// Removes the module directories of schemas that were removed since the
+// previous run.
+function removeStaleModules(LibData libdata, LibManifest previous, LibManifest current) returns error? {
+    map<boolean> currentModules = map from ManifestModule m in current.modules
+        select [m.moduleName, true];
+    foreach ManifestModule m in previous.modules {
+        if currentModules.hasKey(m.moduleName) {
+            continue;
+        }
+        string modulePath = check file:joinPath(libdata.libPath, "modules", m.moduleName);
+        if check file:test(modulePath, file:EXISTS) {
+            check file:remove(modulePath, file:RECURSIVE);
+        }
+    }
+}
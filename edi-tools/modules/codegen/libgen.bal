@@ -25,31 +25,73 @@ public type LibData record {|
     string schemaPath = "";
 
     boolean versioned;
+    int jobs = 1;
+    boolean incremental = false;
+    boolean metrics = false;
+    boolean typedCodec = false;
     string libPath = "";
-    string importsBlock = "";
-    string exportsBlock = "";
-    string enumBlock = "";
-    string ediDeserializers = "";
-    string ediSerializers = "";
+    string[] moduleImports = [];
+    string[] moduleExports = [];
+    string[] enumMembers = [];
+    string[] ediDeserializers = [];
+    string[] ediChannelDeserializers = [];
+    string[] ediSerializers = [];
     string[] ediNames = [];
+    map<string[]> transactionEdiNames = {};
     boolean hasEnvelope = false;
 |};
 
+type EdiModuleTask record {|
+    int index;
+    string ediName;
+    string ediVersion;
+    string completeEdiName;
+    string moduleName;
+    string schemaPath;
+    string schemaHash;
+|};
+
+// Module generated for one EDI schema, merged into `LibData` by `addEdiModule`.
+type EdiModule record {|
+    int index;
+    string ediName;
+    string ediVersion;
+    string completeEdiName;
+    string moduleName;
+    string schemaHash;
+    boolean hasEnvelope;
+|};
+
 # Generates a Ballerina library project containing:
 # - Ballerina records for all provided schemas
 # - Utility functions to work with EDI files of given schemas
 # - REST connector to process EDI files of given schemas
 #
+# When `libdata.incremental` is set and the target directory holds a library generated before, only the
+# modules whose schema changed are regenerated, modules of removed schemas are deleted, and the root files
+# are rewritten only when the set of modules changed. See `lib_manifest.bal`.
+#
+# When `libdata.metrics` is set, the conversions of the library root are counted per EDI type. See `metrics_gen.bal`.
+#
+# When `libdata.typedCodec` is set, the modules are generated with the typed codec (see `generateCodeForSchema`),
+# so that the library root can read EDI text of every EDI type from channels and files as it arrives. Without it,
+# only envelope-aware EDI types can be read that way, one transaction at a time.
+#
 # + libdata - Data structure containing the following inputs for the library: orgName, libName, outputPath, schemaPath
 # + return - Returns error if library generation is not successful
 public function generateLibrary(LibData libdata) returns error? {
-    check createLibStructure(libdata);
-    if libdata.versioned {
-        check generateCodeFromFolders(libdata);
-    } else {
-        check generateCodeFromSchemas(libdata, "", ());
+    LibManifest? previous = check createLibStructure(libdata);
+    EdiModuleTask[] tasks = libdata.versioned ? check createTasksFromFolders(libdata) :
+        check createEdiModuleTasks("", check file:readDir(libdata.schemaPath), 0);
+    LibManifest? reusable = previous is LibManifest && isManifestReusable(previous, libdata) ? previous : ();
+    LibManifest manifest = check generateEdiModules(libdata, tasks, reusable);
+    if previous is LibManifest {
+        check removeStaleModules(libdata, previous, manifest);
+    }
+    if reusable is () || !hasSameModules(reusable, manifest) || reusable.metrics != manifest.metrics {
+        check createBalLib(libdata);
     }
-    check createBalLib(libdata);
+    check writeLibManifest(libdata, manifest);
     if libdata.hasEnvelope {
         io:println("");
         io:println("Generated library uses envelope-aware schema and APIs from " +
@@ -60,9 +102,18 @@ public function generateLibrary(LibData libdata) returns error? {
     }
 }
 
-function createLibStructure(LibData libdata) returns error? {
+// Prepares the library directory. Returns the manifest of the library already
+// in the directory when regenerating it incrementally.
+function createLibStructure(LibData libdata) returns LibManifest?|error {
     libdata.libPath = check file:joinPath(libdata.outputPath, libdata.libName);
+    libdata.moduleExports = [libdata.libName];
     if check file:test(libdata.libPath, file:EXISTS) {
+        if libdata.incremental {
+            LibManifest? manifest = check readLibManifest(libdata);
+            if manifest is LibManifest {
+                return manifest;
+            }
+        }
         file:MetaData[] files = check file:readDir(libdata.libPath);
         if files.length() > 0 {
             return error(string `Target library path ${libdata.libPath} is not empty. Please provide an empty directory to create the library.`);
@@ -70,41 +121,130 @@ function createLibStructure(LibData libdata) returns error? {
     } else {
         check file:createDir(libdata.libPath, file:RECURSIVE);
     }
-    libdata.exportsBlock = "\"" + libdata.libName + "\"";
-    check copyNonTemplatedFiles(libdata);
+    return ();
 }
 
-function generateCodeFromFolders(LibData libdata) returns error? {
+function createTasksFromFolders(LibData libdata) returns EdiModuleTask[]|error {
     file:MetaData[] schemaFolders = check file:readDir(libdata.schemaPath);
+    EdiModuleTask[] tasks = [];
     foreach file:MetaData schemaFolder in schemaFolders {
         string schemaFolderName = check file:basename(schemaFolder.absPath);
         if !schemaFolder.dir {
             return error(string `Schema path must only contain folders. Path: ${libdata.schemaPath}. Item: ${schemaFolderName}`);
         }
         file:MetaData[] schemaFiles = check file:readDir(schemaFolder.absPath);
-        check generateCodeFromSchemas(libdata, schemaFolderName, schemaFiles);
-    }    
+        tasks.push(...check createEdiModuleTasks(schemaFolderName, schemaFiles, tasks.length()));
+    }
+    return tasks;
 }
 
-function generateCodeFromSchemas(LibData libdata, string ediVersion, file:MetaData[]? schemaItems) returns error? {
-    file:MetaData[] schemaFiles = schemaItems != () ? schemaItems : check file:readDir(libdata.schemaPath);
+function createEdiModuleTasks(string ediVersion, file:MetaData[] schemaFiles, int firstIndex)
+        returns EdiModuleTask[]|error {
+    EdiModuleTask[] tasks = [];
     foreach file:MetaData schemaFile in schemaFiles {
         string ediName = check file:basename(schemaFile.absPath);
         if ediName.endsWith(".json") {
             ediName = ediName.substring(0, ediName.length() - ".json".length());
         }
-        json schemaJson = check io:fileReadJson(schemaFile.absPath);
-        check generateEDIFileSpecificCode(ediName, ediVersion, schemaJson, libdata);
+        string completeEdiName = ediVersion == "" ? ediName : ediVersion + "_" + ediName;
+        string moduleName = ediVersion == "" ? "m" + ediName : "m" + ediVersion + ".m" + ediName;
+        tasks.push({
+            index: firstIndex + tasks.length(),
+            ediName,
+            ediVersion,
+            completeEdiName,
+            moduleName,
+            schemaPath: schemaFile.absPath,
+            schemaHash: check moduleInputHash(schemaFile.absPath)
+        });
+    }
+    return tasks;
+}
+
+// Generates the per-EDI modules on up to `libdata.jobs` strands, then merges
+// the results into the library-level blocks in task order, so the generated
+// package is identical to the one produced by a sequential run. Modules whose
+// inputs match the `reusable` manifest are kept as they are.
+function generateEdiModules(LibData libdata, EdiModuleTask[] tasks, LibManifest? reusable) returns LibManifest|error {
+    map<ManifestModule> previousModules = {};
+    if reusable is LibManifest {
+        foreach ManifestModule previous in reusable.modules {
+            previousModules[previous.completeEdiName] = previous;
+        }
+    }
+
+    EdiModule[] modules = [];
+    EdiModuleTask[] changed = [];
+    foreach EdiModuleTask task in tasks {
+        ManifestModule? previous = previousModules[task.completeEdiName];
+        if previous is ManifestModule && previous.schemaHash == task.schemaHash && previous.moduleName == task.moduleName
+                && check file:test(check file:joinPath(libdata.libPath, "modules", task.moduleName), file:IS_DIR) {
+            modules.push({index: task.index, ediName: task.ediName, ediVersion: task.ediVersion,
+                completeEdiName: task.completeEdiName, moduleName: task.moduleName,
+                schemaHash: task.schemaHash, hasEnvelope: previous.hasEnvelope});
+        } else {
+            changed.push(task);
+        }
+    }
+    if reusable is LibManifest {
+        io:println(string `Regenerating ${changed.length()} of ${tasks.length()} EDI modules.`);
+    }
+
+    int workerCount = int:max(1, int:min(libdata.jobs, changed.length()));
+    EdiModuleTask[][] buckets = [];
+    foreach int i in 0 ..< workerCount {
+        buckets.push([]);
+    }
+    foreach int i in 0 ..< changed.length() {
+        buckets[i % workerCount].push(changed[i]);
     }
+
+    future<EdiModule[]|error>[] workers = [];
+    foreach EdiModuleTask[] bucket in buckets {
+        readonly & EdiModuleTask[] workerTasks = bucket.cloneReadOnly();
+        future<EdiModule[]|error> worker = start generateEdiModuleTasks(workerTasks, libdata.libPath, libdata.typedCodec);
+        workers.push(worker);
+    }
+    foreach future<EdiModule[]|error> worker in workers {
+        modules.push(...check wait worker);
+    }
+
+    EdiModule[] ordered = from EdiModule ediModule in modules
+        order by ediModule.index
+        select ediModule;
+    foreach EdiModule ediModule in ordered {
+        addEdiModule(libdata, ediModule);
+    }
+    return {
+        generatorVersion: LIBGEN_GENERATOR_VERSION,
+        orgName: libdata.orgName,
+        libName: libdata.libName,
+        versioned: libdata.versioned,
+        metrics: libdata.metrics,
+        typedCodec: libdata.typedCodec,
+        modules: from EdiModule ediModule in ordered
+            select {
+                completeEdiName: ediModule.completeEdiName,
+                moduleName: ediModule.moduleName,
+                schemaHash: ediModule.schemaHash,
+                hasEnvelope: ediModule.hasEnvelope
+            }
+    };
 }
 
 function createBalLib(LibData libdata) returns error? {
-    string mainCode = generateMainCode(libdata);
-    string mainBalName = check file:joinPath(libdata.libPath, libdata.libName + ".bal");
-    check io:fileWriteString(mainBalName, mainCode);
+    check copyNonTemplatedFiles(libdata);
+    check writeMainCode(libdata, check file:joinPath(libdata.libPath, libdata.libName + ".bal"));
 
     string restConnectorFilePath = check file:joinPath(libdata.libPath, "rest_connector.bal");
-    check io:fileWriteString(restConnectorFilePath, generateRESTConnector(libdata.libName));
+    check io:fileWriteString(restConnectorFilePath, generateRESTConnector(libdata.libName, libdata.metrics));
+
+    string metricsFilePath = check file:joinPath(libdata.libPath, "metrics.bal");
+    if libdata.metrics {
+        check io:fileWriteString(metricsFilePath, generateMetricsCode());
+    } else if check file:test(metricsFilePath, file:EXISTS) {
+        check file:remove(metricsFilePath);
+    }
 
     string balTomlPath = check file:joinPath(libdata.libPath, "Ballerina.toml");
     check io:fileWriteString(balTomlPath, generateBallerinaToml(libdata));
@@ -115,32 +255,74 @@ function copyNonTemplatedFiles(LibData libdata) returns error? {
     check writeLibFile(ModuleMdText, "Module.md", libdata);
 }
 
-function generateEDIFileSpecificCode(string ediName, string ediVersion, json mappingJson, LibData libdata) returns error? {
-    string completeEdiName = ediVersion == "" ? ediName : ediVersion + "_" + ediName;
-    string moduleName = ediVersion == "" ? "m" + ediName : "m" + ediVersion + ".m" + ediName;
-    libdata.ediNames.push(completeEdiName);
-    edi:EdiSchema ediMapping = check edi:getSchema(mappingJson);
-    ediMapping.name = "EDI_" + completeEdiName + "_" + ediMapping.name;
-    if ediMapping.envelope is edi:EdiEnvelopeSchema {
-        libdata.hasEnvelope = true;
+isolated function generateEdiModuleTasks(readonly & EdiModuleTask[] tasks, string libPath, boolean typedCodec)
+        returns EdiModule[]|error {
+    EdiModule[] modules = [];
+    foreach EdiModuleTask task in tasks {
+        json schemaJson = check io:fileReadJson(task.schemaPath);
+        modules.push(check generateEDIFileSpecificCode(task, schemaJson, libPath, typedCodec));
     }
+    return modules;
+}
 
-    string modulePath = check file:joinPath(libdata.libPath, "modules", moduleName);
+isolated function generateEDIFileSpecificCode(EdiModuleTask task, json mappingJson, string libPath,
+        boolean typedCodec) returns EdiModule|error {
+    edi:EdiSchema ediMapping = check edi:getSchema(mappingJson);
+    ediMapping.name = "EDI_" + task.completeEdiName + "_" + ediMapping.name;
+
+    string modulePath = check file:joinPath(libPath, "modules", task.moduleName);
+    if check file:test(modulePath, file:EXISTS) {
+        // Regenerating a changed module. Start from an empty directory so that no stale files are left behind.
+        check file:remove(modulePath, file:RECURSIVE);
+    }
     check file:createDir(modulePath, file:RECURSIVE);
 
-    string recordsPath = check file:joinPath(modulePath, "G_" + ediName + ".bal");
-    check generateCodeForSchema(ediMapping, recordsPath);
+    string recordsPath = check file:joinPath(modulePath, "G_" + task.ediName + ".bal");
+    check generateCodeForSchema(ediMapping, recordsPath, typedCodec);
 
-    string transformer = generateTransformerCode(ediName, ediMapping.name);
+    string transformer = generateTransformerCode(task.ediName, ediMapping.name, typedCodec, ediMapping.envelope);
     check io:fileWriteString(check file:joinPath(modulePath, "transformer.bal"), transformer);
 
-    libdata.importsBlock += "\n" + string `import ${libdata.libName}.${moduleName};`;
-    libdata.exportsBlock += ",\"" + libdata.libName + "." + moduleName + "\"";
-    libdata.enumBlock += string `${libdata.enumBlock.length() > 0 ? ", " : ""}EDI_${completeEdiName} = "${completeEdiName}"`;
-    libdata.ediDeserializers += (libdata.ediDeserializers.length() > 0 ? ",\n" : "") +
-        string `    "${completeEdiName}": ${moduleName}:transformFromEdiString`;
-    libdata.ediSerializers += (libdata.ediSerializers.length() > 0 ? ",\n" : "") +
-        string `    "${completeEdiName}": ${moduleName}:transformToEdiString`;
+    return {
+        index: task.index,
+        ediName: task.ediName,
+        ediVersion: task.ediVersion,
+        completeEdiName: task.completeEdiName,
+        moduleName: task.moduleName,
+        schemaHash: task.schemaHash,
+        hasEnvelope: ediMapping.envelope is edi:EdiEnvelopeSchema
+    };
+}
+
+// Adds a generated module to the library-level imports, exports, enum and
+// serializer / deserializer maps.
+function addEdiModule(LibData libdata, EdiModule ediModule) {
+    string completeEdiName = ediModule.completeEdiName;
+    string moduleName = ediModule.moduleName;
+    libdata.ediNames.push(completeEdiName);
+    if ediModule.hasEnvelope {
+        libdata.hasEnvelope = true;
+    }
+    libdata.moduleImports.push(string `import ${libdata.libName}.${moduleName};`);
+    libdata.moduleExports.push(libdata.libName + "." + moduleName);
+    libdata.enumMembers.push(string `EDI_${completeEdiName} = "${completeEdiName}"`);
+    libdata.ediDeserializers.push(string `    "${completeEdiName}": ${moduleName}:transformFromEdiString`);
+    if libdata.typedCodec || ediModule.hasEnvelope {
+        // Other modules cannot read EDI text as it arrives, see `generateTransformerCode`.
+        libdata.ediChannelDeserializers.push(string `    "${completeEdiName}": ${moduleName}:transformFromEdiChannel`);
+    }
+    libdata.ediSerializers.push(string `    "${completeEdiName}": ${moduleName}:transformToEdiString`);
+
+    // The schema file name is taken as the transaction identifier (X12 ST01 or EDIFACT message type) and the
+    // folder name of versioned libraries as the version (X12 GS08 or EDIFACT version and release).
+    string transactionId = ediModule.ediName.toUpperAscii();
+    string[] keys = ediModule.ediVersion == "" ? [transactionId] :
+        [ediModule.ediVersion.toUpperAscii() + "/" + transactionId, transactionId];
+    foreach string key in keys {
+        string[] names = libdata.transactionEdiNames[key] ?: [];
+        names.push(completeEdiName);
+        libdata.transactionEdiNames[key] = names;
+    }
 }
 
 function writeLibFile(string content, string targetName, LibData libdata) returns error? {
@@ -14,15 +14,32 @@
 // specific language governing permissions and limitations
 // under the License.
 
-function generateMainCode(LibData libdata) returns string {
-    return string `
-${libdata.importsBlock}
+function writeMainCode(LibData libdata, string path) returns error? {
+    CodeWriter writer = check new (path);
+    error? result = writeMainCodeTo(writer, libdata);
+    check writer.close();
+    return result;
+}
+
+// Writes the library's root module. The per-EDI import lines, enum members and
+// serializer map entries are written one at a time, so the file is never built
+// up as a single string.
+function writeMainCodeTo(CodeWriter writer, LibData libdata) returns error? {
+    check writer.write("\nimport ballerina/io;");
+    foreach string moduleImport in libdata.moduleImports {
+        check writer.write("\n", moduleImport);
+    }
+    check writer.write(string `
 
 type EdiSerialize isolated function (anydata) returns string|error;
 type EdiDeserialize isolated function (string) returns anydata|error;
+type EdiChannelDeserialize isolated function (io:ReadableByteChannel|io:ReadableCharacterChannel, string)
+        returns anydata|error;
 
 public enum EDI_NAME {
-    ${libdata.enumBlock}
+    `);
+    check writer.writeJoined(libdata.enumMembers, ", ");
+    check writer.write(string `
 }
 
 public isolated function getEDINames() returns string[] {
@@ -39,10 +56,10 @@ public isolated function fromEdiString(string ediText, EDI_NAME ediName) returns
     if ediDeserialize is () {
         return error("EDI deserializer is not initialized for EDI type: " + ediName);
     }
-    return ediDeserialize(ediText);
+    return ${libdata.metrics ? "parseWithMetrics(ediDeserialize, ediText, ediName)" : "ediDeserialize(ediText)"};
 }
 
-# Convert Ballerina record to EDI string.
+${renderChannelReaders(libdata)}# Convert Ballerina record to EDI string.
 # 
 # + data - Ballerina record to be converted
 # + ediName - EDI type name
@@ -52,16 +69,181 @@ public isolated function toEdiString(anydata data, EDI_NAME ediName) returns str
     if ediSerialize is () {
         return error("EDI serializer is not initialized for EDI type: " + ediName);
     }
-    return ediSerialize(data);
+    return ${libdata.metrics ? "serializeWithMetrics(ediSerialize, data, ediName)" : "ediSerialize(data)"};
+}
+
+# Identify the EDI type of an EDI string from its first segments, without parsing it.
+# X12 text is identified by the transaction set identifier (ST01) and the functional
+# group version (GS08), and EDIFACT text by the message type, version and release of UNH.
+# 
+# + ediText - EDI string
+# + return - EDI type name or error if the EDI string is not of an EDI type of this library
+public isolated function detectEdiName(string ediText) returns EDI_NAME|error {
+    [string, string]? ids = sniffTransaction(ediText);
+    if ids is () {
+        return error("Cannot identify the EDI type. No X12 ST or EDIFACT UNH segment found at the start of the EDI string.");
+    }
+    var [transactionId, version] = ids;
+    EDI_NAME? ediName = ediNamesByTransaction[version + "/" + transactionId];
+    if ediName is () && version.length() > X12_VERSION_LENGTH {
+        // GS08 may extend the version with an implementation convention, e.g. 004010X098A1.
+        ediName = ediNamesByTransaction[version.substring(0, X12_VERSION_LENGTH) + "/" + transactionId];
+    }
+    if ediName is () {
+        ediName = ediNamesByTransaction[transactionId];
+    }
+    if ediName is () {
+        return error("Unsupported EDI transaction: " + transactionId + (version == "" ? "" : " version " + version));
+    }
+    return ediName;
+}
+
+# Convert EDI string to Ballerina record, identifying the EDI type with detectEdiName.
+# 
+# + ediText - EDI string to be converted
+# + return - Ballerina record or error
+public isolated function fromEdiStringAuto(string ediText) returns anydata|error {
+    return fromEdiString(ediText, check detectEdiName(ediText));
+}
+
+// Number of segments read from the start of an EDI string to find the transaction header.
+const SNIFF_SEGMENTS = 8;
+const X12_VERSION_LENGTH = 6;
+
+// Returns the transaction identifier and version found in the first segments of the
+// EDI string. Only the few segments read are copied out of the string.
+isolated function sniffTransaction(string ediText) returns [string, string]? {
+    int offset = 0;
+    while offset < ediText.length() && ediText.substring(offset, offset + 1).trim() == "" {
+        offset += 1;
+    }
+    string fieldSeparator = "+";
+    string componentSeparator = ":";
+    string segmentTerminator = "'";
+    boolean x12 = false;
+    if sniffAt(ediText, offset, "UNA") && ediText.length() >= offset + 9 {
+        componentSeparator = ediText.substring(offset + 3, offset + 4);
+        fieldSeparator = ediText.substring(offset + 4, offset + 5);
+        segmentTerminator = ediText.substring(offset + 8, offset + 9);
+        offset += 9;
+    } else if sniffAt(ediText, offset, "ISA") && ediText.length() >= offset + 106 {
+        x12 = true;
+        fieldSeparator = ediText.substring(offset + 3, offset + 4);
+        segmentTerminator = ediText.substring(offset + 105, offset + 106);
+    } else if (sniffAt(ediText, offset, "GS") || sniffAt(ediText, offset, "ST")) && ediText.length() >= offset + 3 {
+        x12 = true;
+        fieldSeparator = ediText.substring(offset + 2, offset + 3);
+        segmentTerminator = "~";
+    }
+
+    string version = "";
+    foreach int i in 0 ..< SNIFF_SEGMENTS {
+        if offset >= ediText.length() {
+            break;
+        }
+        int segmentEnd = ediText.indexOf(segmentTerminator, offset) ?: ediText.length();
+        string segment = ediText.substring(offset, segmentEnd).trim();
+        offset = segmentEnd + segmentTerminator.length();
+        if x12 && segment.startsWith("GS" + fieldSeparator) {
+            version = sniffValue(segment, fieldSeparator, 8).toUpperAscii();
+        } else if x12 && segment.startsWith("ST" + fieldSeparator) {
+            // Without an interchange header the segment terminator is not known, so ST01 ends at the next separator.
+            string transactionId = sniffValue(segment, fieldSeparator, 1);
+            return [sniffValue(transactionId, segmentTerminator, 0).toUpperAscii(), version];
+        } else if !x12 && segment.startsWith("UNH" + fieldSeparator) {
+            string messageIdentifier = sniffValue(segment, fieldSeparator, 2);
+            return [sniffValue(messageIdentifier, componentSeparator, 0).toUpperAscii(),
+                (sniffValue(messageIdentifier, componentSeparator, 1) +
+                    sniffValue(messageIdentifier, componentSeparator, 2)).toUpperAscii()];
+        }
+    }
+    return ();
+}
+
+isolated function sniffAt(string text, int offset, string prefix) returns boolean {
+    return text.length() >= offset + prefix.length() && text.substring(offset, offset + prefix.length()) == prefix;
+}
+
+// Returns the value at the given position of a separated string, or an empty string if there is none.
+isolated function sniffValue(string text, string separator, int index) returns string {
+    int valueStart = 0;
+    foreach int i in 0 ..< index {
+        int? next = text.indexOf(separator, valueStart);
+        if next is () {
+            return "";
+        }
+        valueStart = next + separator.length();
+    }
+    return text.substring(valueStart, text.indexOf(separator, valueStart) ?: text.length()).trim();
 }
 
 final readonly & map<EdiDeserialize> ediDeserializers = {
-    ${libdata.ediDeserializers}
+    `);
+    check writer.writeJoined(libdata.ediDeserializers, ",\n");
+    check writer.write(`
+};
+
+final readonly & map<EdiChannelDeserialize> ediChannelDeserializers = {
+    `);
+    check writer.writeJoined(libdata.ediChannelDeserializers, ",\n");
+    check writer.write(`
 };
 
 final readonly & map<EdiSerialize> ediSerializers = {
-    ${libdata.ediSerializers}
+    `);
+    check writer.writeJoined(libdata.ediSerializers, ",\n");
+    // Transaction keys shared by more than one EDI type identify none of them.
+    string[] transactionEntries = from [string, string[]] [key, names] in libdata.transactionEdiNames.entries()
+        where names.length() == 1
+        select string `    ${key.toJsonString()}: EDI_${names[0]}`;
+    check writer.write(`
 };
-    `;
 
+final readonly & map<EDI_NAME> ediNamesByTransaction = {
+    `);
+    check writer.writeJoined(transactionEntries, ",\n");
+    check writer.write(`
+};
+    `);
+}
+
+// Renders `fromEdiChannel` and `fromEdiFile` of the library root, when any
+// module can read EDI text as it arrives. See `addEdiModule`.
+function renderChannelReaders(LibData libdata) returns string {
+    if libdata.ediChannelDeserializers.length() == 0 {
+        return "";
+    }
+    return string `# Read Ballerina record from EDI text in a channel, parsing the text as it is read. EDI types with
+# an envelope are read one transaction at a time, and the result is the list of the transaction bodies.
+# The channel is read to its end but not closed.
+# 
+# + channel - Channel to read the EDI text from
+# + ediName - EDI type name
+# + charset - Charset of the EDI text in a byte channel
+# + return - Ballerina record or error
+public isolated function fromEdiChannel(io:ReadableByteChannel|io:ReadableCharacterChannel channel, EDI_NAME ediName,
+        string charset = "UTF-8") returns anydata|error {
+    EdiChannelDeserialize? ediDeserialize = ediChannelDeserializers[ediName];
+    if ediDeserialize is () {
+        return error("EDI type " + ediName + " cannot be read from a channel. " +
+                "Generate the library with --typed-codec to read it as it arrives.");
+    }
+    return ${libdata.metrics ? "parseChannelWithMetrics(ediDeserialize, channel, charset, ediName)" :
+        "ediDeserialize(channel, charset)"};
+}
+
+# Read Ballerina record from an EDI file, parsing the text as it is read, as with fromEdiChannel.
+# 
+# + path - Path of the EDI file
+# + ediName - EDI type name
+# + charset - Charset of the EDI file
+# + return - Ballerina record or error
+public isolated function fromEdiFile(string path, EDI_NAME ediName, string charset = "UTF-8") returns anydata|error {
+    io:ReadableByteChannel channel = check io:openReadableFile(path);
+    anydata|error data = fromEdiChannel(channel, ediName, charset);
+    check channel.close();
+    return data;
+}
+
+`;
 }
@@ -0,0 +1,420 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/edi;
+
+// Characters of generated string values. Values are taken from a pool of these
+// characters, which never clash with the delimiters of a schema.
+const MESSAGE_GEN_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+const MESSAGE_GEN_POOL_SIZE = 4096;
+const MESSAGE_GEN_DEFAULT_LENGTH = 8;
+const MESSAGE_GEN_NOT_USED = "NOT_USED";
+
+// Widths of the fixed-length ISA01 - ISA16 fields of an X12 interchange header.
+final readonly & int[] ISA_FIELD_WIDTHS = [2, 10, 2, 10, 2, 15, 2, 15, 6, 4, 1, 5, 9, 1, 1, 1];
+
+# Options of `generateMessages`.
+#
+# + count - Number of messages to generate. For schemas with an envelope, the number of interchanges.
+# + transactions - Number of transactions in each interchange of schemas with an envelope
+# + targetSize - Keep generating messages until the output has at least this many characters. Overrides `count`.
+# + seed - Seed of the random values. The same schema, options and seed always generate the same output.
+# + maxRepeats - Most occurrences generated for a unit or a repeated field that has no upper bound, or a higher one
+# + transactionId - Transaction identifier written to X12 ST01 and to the message type of EDIFACT UNH
+public type MessageGenOptions record {|
+    int count = 1;
+    int transactions = 1;
+    int? targetSize = ();
+    int seed = 1;
+    int maxRepeats = 3;
+    string? transactionId = ();
+|};
+
+# Outcome of `generateMessages`.
+#
+# + messages - Number of messages, or of interchanges for schemas with an envelope
+# + transactions - Number of transactions in the interchanges
+# + characters - Number of characters written
+public type MessageGenResult record {|
+    int messages;
+    int transactions;
+    int characters;
+|};
+
+// Values of the control fields of an envelope segment.
+type EnvelopeControl record {|
+    string number;
+    int count = 0;
+|};
+
+# Generates random EDI messages that conform to the given schema and writes them to a file.
+# Units occur between their minimum and maximum occurrences, optional fields and components are
+# filled at random, and values match the data type and length of their field. Messages are
+# written one per line, using the delimiters of the schema.
+#
+# For schemas with an envelope, each message is an interchange with `transactions` transactions
+# (in one functional group when the envelope has a group level). The control numbers of the
+# envelope headers are repeated in their trailers, and the trailers carry the segment, transaction
+# and group counts, at the positions X12 (ISA/GS/ST) and EDIFACT (UNB/UNG/UNH) define for them.
+#
+# Messages are written as they are generated, so the output size is not bounded by memory.
+#
+# + schema - EDI schema as JSON
+# + outputPath - Path of the file to write
+# + options - Number and size of the messages, and the seed of the random values
+# + return - Number of messages and characters written, or an error if the generation fails
+public isolated function generateMessages(json schema, string outputPath, MessageGenOptions options = {})
+        returns MessageGenResult|error {
+    if options.count < 1 || options.transactions < 1 || options.maxRepeats < 1 {
+        return error("The count, transactions and maxRepeats options must be at least 1.");
+    }
+    MessageGenerator generator = check new (check edi:getSchema(schema), options);
+    CodeWriter writer = check new (outputPath);
+    MessageGenResult|error result = generator.generate(writer);
+    check writer.close();
+    return result;
+}
+
+// Writes the messages of one `generateMessages` run. Random values come from an
+// xorshift generator, so that the output only depends on the seed.
+class MessageGenerator {
+    private final edi:EdiSchema schema;
+    private final MessageGenOptions options;
+    private final string segmentDelimiter;
+    private final string fieldDelimiter;
+    private final string componentDelimiter;
+    private final string subcomponentDelimiter;
+    private final string repetitionDelimiter;
+    private final string decimalSeparator;
+    private final string transactionId;
+    private final string pool;
+    private int state;
+    private CodeWriter? writer = ();
+    private int characters = 0;
+    private int segmentCount = 0;
+
+    isolated function init(edi:EdiSchema schema, MessageGenOptions options) returns error? {
+        self.schema = schema;
+        self.options = options;
+        map<json> delimiters = check schema.delimiters.toJson().ensureType();
+        self.segmentDelimiter = schema.delimiters.segment;
+        self.fieldDelimiter = schema.delimiters.'field;
+        self.componentDelimiter = schema.delimiters.component;
+        json subcomponent = delimiters["subcomponent"];
+        self.subcomponentDelimiter = subcomponent is string ? subcomponent : MESSAGE_GEN_NOT_USED;
+        json repetition = delimiters["repetition"];
+        self.repetitionDelimiter = repetition is string ? repetition : MESSAGE_GEN_NOT_USED;
+        json decimalSeparator = delimiters["decimalSeparator"];
+        self.decimalSeparator = decimalSeparator is string ? decimalSeparator : ".";
+        self.transactionId = options.transactionId ?: schema.name.toUpperAscii();
+
+        // xorshift has a fixed point at 0, so the seed is mixed with a constant.
+        int state = options.seed ^ 0x2545F4914F6CDD1D;
+        state = state == 0 ? 1 : state;
+        string[] poolChars = [];
+        foreach int i in 0 ..< MESSAGE_GEN_POOL_SIZE {
+            state = nextRandomState(state);
+            int index = (state >>> 1) % MESSAGE_GEN_ALPHABET.length();
+            poolChars.push(MESSAGE_GEN_ALPHABET.substring(index, index + 1));
+        }
+        self.pool = string:'join("", ...poolChars);
+        self.state = state;
+    }
+
+    isolated function generate(CodeWriter writer) returns MessageGenResult|error {
+        self.writer = writer;
+        int? targetSize = self.options.targetSize;
+        edi:EdiEnvelopeSchema? envelope = self.schema.envelope;
+        int messages = 0;
+        while true {
+            if targetSize is int {
+                if self.characters >= targetSize {
+                    break;
+                }
+            } else if messages >= self.options.count {
+                break;
+            }
+            messages += 1;
+            if envelope is edi:EdiEnvelopeSchema {
+                check self.writeInterchange(envelope, messages);
+            } else {
+                check self.writeUnits(self.schema.segments, true);
+            }
+            check self.write("\n");
+        }
+        return {
+            messages,
+            transactions: envelope is () ? 0 : messages * self.options.transactions,
+            characters: self.characters
+        };
+    }
+
+    isolated function writeInterchange(edi:EdiEnvelopeSchema envelope, int interchangeNumber) returns error? {
+        string interchangeControl = zeroPad(interchangeNumber, 9);
+        check self.writeEnvelopeUnits(envelope.interchange.header, {number: interchangeControl});
+        edi:EdiEnvelopeLevel? group = envelope?.group;
+        if group is edi:EdiEnvelopeLevel {
+            check self.writeEnvelopeUnits(group.header, {number: interchangeNumber.toString()});
+        }
+        foreach int i in 1 ... self.options.transactions {
+            string transactionControl = zeroPad(i, 4);
+            self.segmentCount = 0;
+            check self.writeEnvelopeUnits(envelope.'transaction.header, {number: transactionControl});
+            check self.writeUnits(self.schema.segments, true);
+            // The segment count includes the trailer segment itself.
+            check self.writeEnvelopeUnits(envelope.'transaction.trailer,
+                    {number: transactionControl, count: self.segmentCount + 1});
+        }
+        if group is edi:EdiEnvelopeLevel {
+            check self.writeEnvelopeUnits(group.trailer,
+                    {number: interchangeNumber.toString(), count: self.options.transactions});
+        }
+        check self.writeEnvelopeUnits(envelope.interchange.trailer,
+                {number: interchangeControl, count: group is () ? self.options.transactions : 1});
+    }
+
+    isolated function writeEnvelopeUnits(edi:EdiUnitSchema[] units, EnvelopeControl control) returns error? {
+        foreach edi:EdiUnitSchema unit in units {
+            if unit is edi:EdiSegSchema {
+                check self.writeSegment(unit, control);
+            } else if unit is edi:EdiSegGroupSchema {
+                check self.writeUnits(unit.segments, true);
+            } else {
+                return error("Segment reference is not supported for this operation.");
+            }
+        }
+    }
+
+    // Writes each unit between its minimum and maximum occurrences. The first unit
+    // of a message or segment group identifies it, so it occurs at least once.
+    isolated function writeUnits(edi:EdiUnitSchema[] units, boolean firstRequired) returns error? {
+        foreach int i in 0 ..< units.length() {
+            edi:EdiUnitSchema unit = units[i];
+            if unit is edi:EdiUnitRef {
+                return error("Segment reference is not supported for this operation.");
+            }
+            int minOccurances = firstRequired && i == 0 ? int:max(1, unit.minOccurances) : unit.minOccurances;
+            int occurrences = self.occurrences(minOccurances, unit.maxOccurances);
+            foreach int j in 0 ..< occurrences {
+                if unit is edi:EdiSegSchema {
+                    check self.writeSegment(unit, ());
+                } else {
+                    check self.writeUnits(unit.segments, true);
+                }
+            }
+        }
+    }
+
+    isolated function writeSegment(edi:EdiSegSchema segment, EnvelopeControl? control) returns error? {
+        // The first field of a segment schema is the segment code.
+        string[] fields = [segment.code];
+        foreach int i in 1 ..< segment.fields.length() {
+            fields.push(self.fieldValue(segment.fields[i]));
+        }
+        if control is EnvelopeControl {
+            self.setControlFields(segment.code, fields, control);
+        }
+        int end = fields.length();
+        while end > 1 && fields[end - 1] == "" {
+            end -= 1;
+        }
+        self.segmentCount += 1;
+        check self.write(string:'join(self.fieldDelimiter, ...fields.slice(0, end)), self.segmentDelimiter);
+    }
+
+    // Sets the control number, the counts and the delimiters carried by the
+    // standard X12 and EDIFACT envelope segments, where the schema has the field.
+    isolated function setControlFields(string code, string[] fields, EnvelopeControl control) {
+        match code {
+            "ISA" => {
+                if fields.length() == ISA_FIELD_WIDTHS.length() + 1 {
+                    foreach int i in 1 ..< fields.length() {
+                        fields[i] = fitText(fields[i], ISA_FIELD_WIDTHS[i - 1]);
+                    }
+                    fields[11] = self.repetitionDelimiter == MESSAGE_GEN_NOT_USED ? "U" : self.repetitionDelimiter;
+                    fields[16] = self.componentDelimiter;
+                }
+                setField(fields, 13, control.number);
+            }
+            "GS"|"UNB"|"UNG" => {
+                setField(fields, code == "GS" ? 6 : 5, control.number);
+            }
+            "ST" => {
+                setField(fields, 1, self.transactionId);
+                setField(fields, 2, control.number);
+            }
+            "UNH" => {
+                setField(fields, 1, control.number);
+                if fields.length() > 2 {
+                    int? typeEnd = fields[2].indexOf(self.componentDelimiter);
+                    fields[2] = self.transactionId + (typeEnd is int ? fields[2].substring(typeEnd) : "");
+                }
+            }
+            "IEA"|"GE"|"SE"|"UNZ"|"UNE"|"UNT" => {
+                setField(fields, 1, control.count.toString());
+                setField(fields, 2, control.number);
+            }
+        }
+    }
+
+    isolated function fieldValue(edi:EdiFieldSchema fieldSchema) returns string {
+        if !fieldSchema.required && self.nextInt(2) == 0 {
+            return "";
+        }
+        int repeats = fieldSchema.repeat && self.repetitionDelimiter != MESSAGE_GEN_NOT_USED ?
+            1 + self.nextInt(self.options.maxRepeats) : 1;
+        string[] values = [];
+        foreach int i in 0 ..< repeats {
+            if fieldSchema.dataType == edi:COMPOSITE {
+                values.push(self.compositeValue(fieldSchema.components));
+            } else {
+                values.push(self.simpleValue(fieldSchema.dataType, fieldSchema.length));
+            }
+        }
+        return string:'join(self.repetitionDelimiter, ...values);
+    }
+
+    // Joins the component values, leaving out trailing empty components. A
+    // composite that is written has at least one value.
+    isolated function compositeValue(edi:EdiComponentSchema[] components) returns string {
+        string[] values = [];
+        foreach edi:EdiComponentSchema component in components {
+            if !component.required && self.nextInt(2) == 0 {
+                values.push("");
+            } else if component.subcomponents.length() > 0 && self.subcomponentDelimiter != MESSAGE_GEN_NOT_USED {
+                string[] subcomponents = from var subcomponent in component.subcomponents
+                    select self.simpleValue(subcomponent.dataType, -1);
+                values.push(string:'join(self.subcomponentDelimiter, ...subcomponents));
+            } else {
+                values.push(self.simpleValue(component.dataType, -1));
+            }
+        }
+        int end = values.length();
+        while end > 0 && values[end - 1] == "" {
+            end -= 1;
+        }
+        if end == 0 && components.length() > 0 {
+            values[0] = self.simpleValue(components[0].dataType, -1);
+            end = 1;
+        }
+        return string:'join(self.componentDelimiter, ...values.slice(0, end));
+    }
+
+    // Returns a random value of the data type. A fixed length gives the length of
+    // strings and the most digits of numbers; a range gives the bounds of the length.
+    isolated function simpleValue(edi:EdiDataType dataType, anydata length) returns string {
+        int minLength = 1;
+        int maxLength = MESSAGE_GEN_DEFAULT_LENGTH;
+        if length is int && length > 0 {
+            minLength = dataType == edi:STRING ? length : 1;
+            maxLength = length;
+        } else if length is map<anydata> {
+            anydata min = length["min"];
+            anydata max = length["max"];
+            minLength = min is int && min > 0 ? min : 1;
+            maxLength = max is int && max >= minLength ? max : minLength + MESSAGE_GEN_DEFAULT_LENGTH - 1;
+        }
+        int size = minLength + self.nextInt(maxLength - minLength + 1);
+        if dataType == edi:INT {
+            return self.digits(int:min(size, 18));
+        } else if dataType == edi:FLOAT {
+            if size < 3 {
+                return self.digits(size);
+            }
+            int fraction = int:min(2, size - 2);
+            return self.digits(int:min(size - fraction - 1, 15)) + self.decimalSeparator + self.digits(fraction);
+        }
+        return self.text(size);
+    }
+
+    isolated function text(int size) returns string {
+        string[] parts = [];
+        int remaining = size;
+        while remaining > 0 {
+            int partSize = int:min(remaining, MESSAGE_GEN_POOL_SIZE);
+            int offset = self.nextInt(MESSAGE_GEN_POOL_SIZE - partSize + 1);
+            parts.push(self.pool.substring(offset, offset + partSize));
+            remaining -= partSize;
+        }
+        return string:'join("", ...parts);
+    }
+
+    // Returns a number of the given digits without leading zeros.
+    isolated function digits(int size) returns string {
+        int low = 1;
+        foreach int i in 1 ..< size {
+            low *= 10;
+        }
+        return (low + self.nextInt(low * 9)).toString();
+    }
+
+    isolated function occurrences(int minOccurances, int maxOccurances) returns int {
+        int min = int:max(0, minOccurances);
+        int max = maxOccurances < 0 || maxOccurances > self.options.maxRepeats ?
+            int:max(min, self.options.maxRepeats) : int:max(min, maxOccurances);
+        return min + self.nextInt(max - min + 1);
+    }
+
+    // Returns a random number from 0 to bound - 1.
+    isolated function nextInt(int bound) returns int {
+        self.state = nextRandomState(self.state);
+        return (self.state >>> 1) % bound;
+    }
+
+    isolated function write(string... parts) returns error? {
+        CodeWriter? writer = self.writer;
+        if writer is () {
+            return error("The message generator has no output.");
+        }
+        foreach string part in parts {
+            self.characters += part.length();
+        }
+        check writer.write(...parts);
+    }
+}
+
+// One step of the xorshift64 generator.
+isolated function nextRandomState(int state) returns int {
+    int x = state;
+    x ^= x << 13;
+    x ^= x >>> 7;
+    x ^= x << 17;
+    return x;
+}
+
+isolated function setField(string[] fields, int index, string value) {
+    if index < fields.length() {
+        fields[index] = value;
+    }
+}
+
+// Pads or cuts the text to the width. Numbers are padded with leading zeros.
+isolated function fitText(string text, int width) returns string {
+    if text.length() >= width {
+        return text.substring(0, width);
+    }
+    string padding = "";
+    boolean numeric = int:fromString(text) is int;
+    foreach int i in text.length() ..< width {
+        padding += numeric ? "0" : " ";
+    }
+    return numeric ? padding + text : text + padding;
+}
+
+isolated function zeroPad(int number, int width) returns string {
+    string text = number.toString();
+    return text.length() >= width ? text : fitText(text, width);
+}
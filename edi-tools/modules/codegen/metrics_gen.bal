@@ -0,0 +1,238 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// The generated metrics file counts the conversions of `fromEdiString`,
+// `fromEdiChannel` / `fromEdiFile` and `toEdiString` in the library root per
+// EDI type and operation. Each count is kept both in the library, for
+// `getEdiMetrics` and the `metrics` resource of the REST connector, and in
+// metrics registered with ballerina/observe, which are published by the
+// configured metrics reporter (e.g. Prometheus) when observability is enabled.
+// The latency histogram is published as one cumulative counter per bucket,
+// `edi_conversion_seconds_bucket` tagged with the bucket's upper bound `le`, as
+// Prometheus histograms are. Libraries generated without metrics do not contain
+// this file, and their conversions are not wrapped at all.
+function generateMetricsCode() returns string {
+    return string `
+import ballerina/io;
+import ballerina/log;
+import ballerina/observe;
+import ballerina/time;
+
+const EDI_PARSE = "parse";
+const EDI_SERIALIZE = "serialize";
+
+# Upper bounds of the conversion latency buckets, in seconds. Conversions slower
+# than the last bound are counted in one more bucket.
+const decimal[] EDI_LATENCY_BUCKETS = [0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1, 5];
+
+# Conversion metrics of one EDI type and operation since the program started.
+# 
+# + ediName - EDI type name
+# + operation - "parse" for fromEdiString, fromEdiChannel and fromEdiFile or "serialize" for toEdiString
+# + count - Number of conversions
+# + errors - Number of conversions that returned an error
+# + chars - Total length of the EDI strings parsed or serialized, in characters. EDI text read from
+# channels and files is not counted.
+# + totalSeconds - Total time spent in the conversions
+# + maxSeconds - Time spent in the slowest conversion
+# + latencyBuckets - Number of conversions per latency bucket of EDI_LATENCY_BUCKETS
+public type EdiMetrics record {|
+    EDI_NAME ediName;
+    string operation;
+    int count;
+    int errors;
+    int chars;
+    decimal totalSeconds;
+    decimal maxSeconds;
+    int[] latencyBuckets;
+|};
+
+# Returns the conversion metrics of each EDI type and operation.
+# 
+# + return - Conversion metrics
+public isolated function getEdiMetrics() returns EdiMetrics[] {
+    return ediMetrics.snapshot();
+}
+
+final EdiMetricsRegistry ediMetrics = new;
+
+isolated function parseWithMetrics(EdiDeserialize ediDeserialize, string ediText, EDI_NAME ediName)
+        returns anydata|error {
+    decimal startTime = time:monotonicNow();
+    anydata|error result = ediDeserialize(ediText);
+    ediMetrics.add(ediName, EDI_PARSE, time:monotonicNow() - startTime, ediText.length(), result is error);
+    return result;
+}
+
+isolated function parseChannelWithMetrics(EdiChannelDeserialize ediDeserialize,
+        io:ReadableByteChannel|io:ReadableCharacterChannel channel, string charset, EDI_NAME ediName)
+        returns anydata|error {
+    decimal startTime = time:monotonicNow();
+    anydata|error result = ediDeserialize(channel, charset);
+    ediMetrics.add(ediName, EDI_PARSE, time:monotonicNow() - startTime, 0, result is error);
+    return result;
+}
+
+isolated function serializeWithMetrics(EdiSerialize ediSerialize, anydata data, EDI_NAME ediName)
+        returns string|error {
+    decimal startTime = time:monotonicNow();
+    string|error result = ediSerialize(data);
+    ediMetrics.add(ediName, EDI_SERIALIZE, time:monotonicNow() - startTime, result is string ? result.length() : 0,
+            result is error);
+    return result;
+}
+
+isolated class EdiMetricsRegistry {
+    private final map<EdiOperationMetrics> operations = createEdiOperationMetrics();
+
+    isolated function add(EDI_NAME ediName, string operation, decimal seconds, int chars, boolean failed) {
+        EdiOperationMetrics? metrics;
+        lock {
+            metrics = self.operations[ediName + "/" + operation];
+        }
+        if metrics is EdiOperationMetrics {
+            metrics.add(seconds, chars, failed);
+        }
+    }
+
+    isolated function snapshot() returns EdiMetrics[] {
+        lock {
+            EdiMetrics[] snapshots = from EdiOperationMetrics metrics in self.operations
+                select metrics.snapshot();
+            return snapshots.clone();
+        }
+    }
+}
+
+isolated function createEdiOperationMetrics() returns map<EdiOperationMetrics> {
+    map<EdiOperationMetrics> operations = {};
+    foreach string ediName in getEDINames() {
+        foreach string operation in [EDI_PARSE, EDI_SERIALIZE] {
+            operations[ediName + "/" + operation] = new (<EDI_NAME>ediName, operation);
+        }
+    }
+    return operations;
+}
+
+isolated function createLatencyBuckets() returns int[] {
+    int[] buckets = [];
+    foreach int i in 0 ... EDI_LATENCY_BUCKETS.length() {
+        buckets.push(0);
+    }
+    return buckets;
+}
+
+# Registers one counter per latency bucket of EDI_LATENCY_BUCKETS, tagged with
+# the bucket's upper bound as "le", and a last one tagged "+Inf" that counts all
+# conversions.
+# 
+# + tags - Tags of the EDI type and operation
+# + return - Counters in bucket order
+isolated function createLatencyBucketCounters(readonly & map<string> tags) returns observe:Counter[] {
+    observe:Counter[] counters = [];
+    foreach int i in 0 ... EDI_LATENCY_BUCKETS.length() {
+        string le = i < EDI_LATENCY_BUCKETS.length() ? EDI_LATENCY_BUCKETS[i].toString() : "+Inf";
+        observe:Counter counter = new ("edi_conversion_seconds_bucket",
+            "Number of EDI conversions that took at most le seconds", {...tags, "le": le});
+        logMetricRegistration(counter.register(), "edi_conversion_seconds_bucket");
+        counters.push(counter);
+    }
+    return counters;
+}
+
+isolated function logMetricRegistration(error? registered, string name) {
+    if registered is error {
+        log:printWarn("Cannot register EDI conversion metric " + name, 'error = registered);
+    }
+}
+
+isolated class EdiOperationMetrics {
+    private final EDI_NAME ediName;
+    private final string operation;
+    private final observe:Counter conversions;
+    private final observe:Counter conversionErrors;
+    private final observe:Counter conversionChars;
+    private final observe:Gauge conversionSeconds;
+    private final observe:Counter[] latencyBucketCounters;
+    private int count = 0;
+    private int errors = 0;
+    private int chars = 0;
+    private decimal totalSeconds = 0;
+    private decimal maxSeconds = 0;
+    private int[] latencyBuckets = createLatencyBuckets();
+
+    isolated function init(EDI_NAME ediName, string operation) {
+        self.ediName = ediName;
+        self.operation = operation;
+        readonly & map<string> tags = {"edi_name": ediName, "operation": operation};
+        self.conversions = new ("edi_conversions_total", "Number of EDI conversions", tags);
+        self.conversionErrors = new ("edi_conversion_errors_total", "Number of EDI conversions that failed", tags);
+        self.conversionChars = new ("edi_conversion_chars_total", "Length of the converted EDI strings", tags);
+        self.conversionSeconds = new ("edi_conversion_seconds", "Time spent in the last EDI conversion", tags);
+        self.latencyBucketCounters = createLatencyBucketCounters(tags);
+        logMetricRegistration(self.conversions.register(), "edi_conversions_total");
+        logMetricRegistration(self.conversionErrors.register(), "edi_conversion_errors_total");
+        logMetricRegistration(self.conversionChars.register(), "edi_conversion_chars_total");
+        logMetricRegistration(self.conversionSeconds.register(), "edi_conversion_seconds");
+    }
+
+    isolated function add(decimal seconds, int chars, boolean failed) {
+        self.conversions.increment();
+        self.conversionChars.increment(chars);
+        self.conversionSeconds.setValue(<float>seconds);
+        if failed {
+            self.conversionErrors.increment();
+        }
+        int bucket = EDI_LATENCY_BUCKETS.length();
+        foreach int i in 0 ..< EDI_LATENCY_BUCKETS.length() {
+            if seconds <= EDI_LATENCY_BUCKETS[i] {
+                bucket = i;
+                break;
+            }
+        }
+        lock {
+            self.count += 1;
+            self.chars += chars;
+            self.totalSeconds += seconds;
+            self.maxSeconds = decimal:max(self.maxSeconds, seconds);
+            self.latencyBuckets[bucket] += 1;
+            // Each published bucket counts every conversion up to its bound.
+            foreach int i in bucket ..< self.latencyBucketCounters.length() {
+                self.latencyBucketCounters[i].increment();
+            }
+            if failed {
+                self.errors += 1;
+            }
+        }
+    }
+
+    isolated function snapshot() returns EdiMetrics {
+        lock {
+            return {
+                ediName: self.ediName,
+                operation: self.operation,
+                count: self.count,
+                errors: self.errors,
+                chars: self.chars,
+                totalSeconds: self.totalSeconds,
+                maxSeconds: self.maxSeconds,
+                latencyBuckets: self.latencyBuckets.clone()
+            };
+        }
+    }
+}
+`;
+}
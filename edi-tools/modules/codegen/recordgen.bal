@@ -14,11 +14,10 @@
 // specific language governing permissions and limitations
 // under the License.
 
-import ballerina/io;
 import ballerina/log;
 import ballerina/edi;
 
-map<BalType> ediToBalTypes = {
+final readonly & map<BalBasicType> ediToBalTypes = {
     "string": BSTRING,
     "int": BINT,
     "float": BFLOAT
@@ -27,6 +26,11 @@ map<BalType> ediToBalTypes = {
 type GenContext record {|
     map<BalRecord> typeRecords = {};
     map<int> typeNumber = {};
+    map<int> segmentTypeNumber = {};
+    // Generated segment, segment group and composite records keyed by tag and
+    // `BalRecord.fingerprint`, so that every occurrence of the same structure
+    // is represented by a single type.
+    map<BalRecord> internedRecords = {};
 |};
 
 # Generates all Ballerina records required to represent EDI data in the given schema and writes those to a file.
@@ -34,13 +38,18 @@ type GenContext record {|
 # + mapping - EDI schema for which records need to be generated
 # + outpath - Path of the file to write generated records. This should be a .bal file.
 # + return - Returns error if the record generation is not successfull
-public function generateCodeToFile(edi:EdiSchema mapping, string outpath) returns error? {
+public isolated function generateCodeToFile(edi:EdiSchema mapping, string outpath) returns error? {
     BalRecord[] records = check generateCode(mapping);
-    string sRecords = "";
+    CodeWriter writer = check new (outpath);
+    error? result = writeRecords(writer, records);
+    check writer.close();
+    return result;
+}
+
+isolated function writeRecords(CodeWriter writer, BalRecord[] records) returns error? {
     foreach BalRecord rec in records {
-        sRecords += rec.toString() + "\n";
+        check writer.write(rec.toString(), "\n");
     }
-    _ = check io:fileWriteString(outpath, sRecords);
 }
 
 # Generates all Ballerina records required to represent EDI data in the given schema.
@@ -51,7 +60,7 @@ public function generateCodeToFile(edi:EdiSchema mapping, string outpath) return
 #
 # + mapping - EDI schema for which records need to be generated
 # + return - Returns an array of generated records. Error if the generation is not successfull.
-public function generateCode(edi:EdiSchema mapping) returns BalRecord[]|error {
+public isolated function generateCode(edi:EdiSchema mapping) returns BalRecord[]|error {
     GenContext context = {};
     _ = check generateRecordForUnits(mapping.segments, mapping.name, context);
 
@@ -75,18 +84,24 @@ public function generateCode(edi:EdiSchema mapping) returns BalRecord[]|error {
 // the segment's tag so the wrapper matches the JSON shape produced by the
 // runtime's `readSegmentGroup`. Individual segment record types are emitted
 // into `context.typeRecords` as a side effect via `generateRecordForSegment`.
-function generateEnvelopeLevelRecord(edi:EdiEnvelopeLevel level, string typeName,
+isolated function generateEnvelopeLevelRecord(edi:EdiEnvelopeLevel level, string typeName,
         GenContext context, boolean isHeader) returns BalRecord|error {
     edi:EdiUnitSchema[] units = isHeader ? level.header : level.trailer;
     return generateRecordForUnits(units, typeName, context);
 }
 
-function generateRecordForSegmentGroup(edi:EdiSegGroupSchema groupmap, GenContext context) returns BalRecord|error {
-    string sgTypeName = generateTypeName(groupmap.tag, context);
-    return check generateRecordForUnits(groupmap.segments, sgTypeName, context);
+isolated function generateRecordForSegmentGroup(edi:EdiSegGroupSchema groupmap, GenContext context) returns BalRecord|error {
+    BalRecord sgrec = check buildRecordForUnits(groupmap.segments, groupmap.tag, context);
+    return internRecord(sgrec, groupmap.tag, context, generateTypeName);
+}
+
+isolated function generateRecordForUnits(edi:EdiUnitSchema[] umaps, string typeName, GenContext context) returns BalRecord|error {
+    BalRecord sgrec = check buildRecordForUnits(umaps, typeName, context);
+    context.typeRecords[typeName] = sgrec;
+    return sgrec;
 }
 
-function generateRecordForUnits(edi:EdiUnitSchema[] umaps, string typeName, GenContext context) returns BalRecord|error {
+isolated function buildRecordForUnits(edi:EdiUnitSchema[] umaps, string typeName, GenContext context) returns BalRecord|error {
     BalRecord sgrec = new (typeName);
     foreach edi:EdiUnitSchema umap in umaps {
         if umap is edi:EdiUnitRef {
@@ -100,18 +115,12 @@ function generateRecordForUnits(edi:EdiUnitSchema[] umaps, string typeName, GenC
             sgrec.addField(srec, umap.tag, umap.maxOccurances != 1, umap.minOccurances == 0);
         }
     }
-    context.typeRecords[typeName] = sgrec;
+    sgrec.unitsSource = umaps;
     return sgrec;
 }
 
-function generateRecordForSegment(edi:EdiSegSchema segmap, GenContext context) returns BalRecord|error {
-    string sTypeName = startWithUppercase(segmap.tag + "_Type");
-    BalRecord? erec = context.typeRecords[sTypeName];
-    if erec is BalRecord {
-        return erec;
-    }
-
-    BalRecord srec = new (sTypeName);
+isolated function generateRecordForSegment(edi:EdiSegSchema segmap, GenContext context) returns BalRecord|error {
+    BalRecord srec = new (segmap.tag);
     foreach edi:EdiFieldSchema emap in segmap.fields {
         BalType? balType = ediToBalTypes[emap.dataType];
         string? defaultValue = ();
@@ -131,45 +140,41 @@ function generateRecordForSegment(edi:EdiSegSchema segmap, GenContext context) r
             srec.addField(balType, emap.tag, emap.repeat, !emap.required, defaultValue);
         }
     }
-    context.typeRecords[sTypeName] = srec;
-    return srec;
+    srec.segmentSource = segmap;
+    return internRecord(srec, segmap.tag, context, generateSegmentTypeName);
 }
 
-function generateRecordForComposite(edi:EdiFieldSchema emap, GenContext context) returns BalRecord {
-    BalRecord newRec = new (emap.tag);
-    foreach edi:EdiComponentSchema submap in emap.components {
-        BalType? balType = ediToBalTypes[submap.dataType];
-        if balType is BalType {
-            newRec.addField(balType, submap.tag, false, !submap.required);
-        }
-    }
-    int? num = context.typeNumber[emap.tag];
-    if num is int {
-        foreach int i in 1...num {
-            string index = i == 1 ? "" : i.toString();
-            string cTypeName = startWithUppercase(string `${emap.tag}${index}_GType`);
-            BalRecord? crec = context.typeRecords[cTypeName];
-            if crec is BalRecord {
-                newRec.name = cTypeName;
-                if newRec.isEqual(crec) {
-                    return crec;
-                }
-            }
-        }
-    }
-    string cTypeName = generateTypeName(emap.tag, context);
-    BalRecord crec = new (cTypeName);
+isolated function generateRecordForComposite(edi:EdiFieldSchema emap, GenContext context) returns BalRecord {
+    BalRecord crec = new (emap.tag);
     foreach edi:EdiComponentSchema submap in emap.components {
         BalType? balType = ediToBalTypes[submap.dataType];
         if balType is BalType {
             crec.addField(balType, submap.tag, false, !submap.required);
         }
     }
-    context.typeRecords[cTypeName] = crec;
-    return crec;
+    crec.compositeSource = emap;
+    return internRecord(crec, emap.tag, context, generateTypeName);
+}
+
+// Returns the record already generated for `tag` with the same structure as
+// `rec`. Otherwise names `rec` with `nameGenerator` and registers it. Nested
+// records are interned before the records that contain them, so a fingerprint
+// only needs the names of the nested types, and each lookup costs one map
+// access regardless of how deep the structure is.
+isolated function internRecord(BalRecord rec, string tag, GenContext context,
+        isolated function (string, GenContext) returns string nameGenerator) returns BalRecord {
+    string key = tag + "\n" + rec.fingerprint();
+    BalRecord? existing = context.internedRecords[key];
+    if existing is BalRecord {
+        return existing;
+    }
+    rec.name = nameGenerator(tag, context);
+    context.internedRecords[key] = rec;
+    context.typeRecords[rec.name] = rec;
+    return rec;
 }
 
-function startWithUppercase(string s) returns string {
+isolated function startWithUppercase(string s) returns string {
     string newS = s.trim();
     if newS.length() == 0 {
         return s;
@@ -179,7 +184,7 @@ function startWithUppercase(string s) returns string {
     return newS;
 }
 
-function generateTypeName(string tag, GenContext context) returns string {
+isolated function generateTypeName(string tag, GenContext context) returns string {
     int? num = context.typeNumber[tag];
     if num is int {
         int newNum = num + 1;
@@ -194,6 +199,19 @@ function generateTypeName(string tag, GenContext context) returns string {
     }
 }
 
+// Segment records are named `<Tag>_Type`. A segment tag that is used with
+// different structures, for example with a different code or fields, gets
+// `<Tag>2_Type`, `<Tag>3_Type` and so on.
+isolated function generateSegmentTypeName(string tag, GenContext context) returns string {
+    int newNum = (context.segmentTypeNumber[tag] ?: 0) + 1;
+    context.segmentTypeNumber[tag] = newNum;
+    if newNum > 1 {
+        log:printDebug(string `Segment tag is used with different structures. Modifying the name of the corresponding generated type to avoid conflicts.
+            Segment: ${tag}, Structures: ${newNum}`);
+    }
+    return startWithUppercase(string `${tag}${newNum == 1 ? "" : newNum.toString()}_Type`);
+}
+
 type ValueType string|int|float|decimal|boolean;
 
 public class BalRecord {
@@ -202,31 +220,77 @@ public class BalRecord {
     boolean closed = true;
     boolean publicRecord = true;
 
-    function init(string name) {
+    // Schema units this record was generated from. Exactly one of these is set for
+    // records produced by `generateCode`; the typed codec generator reads them to
+    // map record fields back to segment positions.
+    edi:EdiSegSchema? segmentSource = ();
+    edi:EdiFieldSchema? compositeSource = ();
+    edi:EdiUnitSchema[]? unitsSource = ();
+
+    isolated function init(string name) {
         self.name = name;
     }
 
-    function addField(BalType btype, string name, boolean array, boolean optional, ValueType? defaultValue = ()) {
+    isolated function addField(BalType btype, string name, boolean array, boolean optional, ValueType? defaultValue = ()) {
         self.fields.push(new BalField(btype, name, array, optional, defaultValue));
     }
 
-    function toString(boolean... anonymous) returns string {
+    isolated function getField(string name) returns BalField? {
+        foreach BalField f in self.fields {
+            if f.name == name {
+                return f;
+            }
+        }
+        return ();
+    }
+
+    isolated function toString(boolean... anonymous) returns string {
         if anonymous.length() == 0 {
             anonymous.push(false);
         }
-        string recString = string `record {${self.closed ? "|" : ""}` + "\n";
+        string[] parts = [];
+        if !anonymous[0] {
+            parts.push(string `${self.publicRecord ? "public" : ""} type ${self.name} `);
+        }
+        parts.push(string `record {${self.closed ? "|" : ""}` + "\n");
         foreach BalField f in self.fields {
-            recString += "   " + f.toString(anonymous[0]) + "\n";
+            parts.push("   ", f.toString(anonymous[0]), "\n");
         }
-        recString += string `${self.closed ? "|" : ""}};` + "\n";
+        parts.push(string `${self.closed ? "|" : ""}};` + "\n");
+        return string:'join("", ...parts);
+    }
 
-        if !anonymous[0] {
-            recString = string `${self.publicRecord ? "public" : ""} type ${self.name} ${recString}`;
+    # Returns a key that is equal for two records only if they generate the same
+    # type apart from its name. Covers the fields and the parts of the source
+    # schema that the typed codec reads: the segment code and field layout, the
+    # composite components, and the occurrence bounds of the units in a group.
+    # Nested records are identified by name, since they are interned first.
+    #
+    # + return - Structural fingerprint of the record
+    isolated function fingerprint() returns string {
+        string[] parts = [self.closed.toString(), self.publicRecord.toString()];
+        foreach BalField f in self.fields {
+            parts.push(f.fingerprint());
+        }
+        edi:EdiSegSchema? segment = self.segmentSource;
+        edi:EdiFieldSchema? composite = self.compositeSource;
+        edi:EdiUnitSchema[]? units = self.unitsSource;
+        if segment is edi:EdiSegSchema {
+            parts.push("segment", segment.code, segment.fields.toJsonString());
+        } else if composite is edi:EdiFieldSchema {
+            parts.push("composite", composite.components.toJsonString());
+        } else if units is edi:EdiUnitSchema[] {
+            parts.push("units");
+            foreach edi:EdiUnitSchema umap in units {
+                if umap is edi:EdiSegSchema|edi:EdiSegGroupSchema {
+                    parts.push(string `${umap.minOccurances}..${umap.maxOccurances}`);
+                }
+            }
         }
-        return recString;
+        return string:'join("\n", ...parts);
     }
 
-    function isEqual(BalRecord other) returns boolean {
+    isolated function isEqual(BalRecord other) returns boolean {
         if self.name != other.name {
             return false;
         }
@@ -257,7 +321,7 @@ class BalField {
     boolean array = false;
     boolean optional = true;
 
-    function init(BalType btype, string name, boolean array, boolean optional, ValueType? defaultValue = ()) {
+    isolated function init(BalType btype, string name, boolean array, boolean optional, ValueType? defaultValue = ()) {
         self.btype = btype;
         self.name = name;
         self.defaultValue = defaultValue;
@@ -265,7 +329,7 @@ class BalField {
         self.optional = optional;
     }
 
-    function isEqual(BalField other) returns boolean {
+    isolated function isEqual(BalField other) returns boolean {
         if self.btype is BalRecord {
             return false;
         }
@@ -279,7 +343,13 @@ class BalField {
             self.optional == other.optional;
     }
 
-    function toString(boolean... anonymous) returns string {
+    isolated function fingerprint() returns string {
+        BalType t = self.btype;
+        string typeName = t is BalRecord ? t.name : t;
+        return string `${self.name}:${typeName}:${self.array}:${self.optional}:${self.defaultValue.toString()}`;
+    }
+
+    isolated function toString(boolean... anonymous) returns string {
         if anonymous.length() == 0 {
             anonymous.push(false);
         }
@@ -307,7 +377,7 @@ public enum BalBasicType {
     BSTRING = "string", BINT = "int", BFLOAT = "float", BBOOLEAN = "boolean"
 }
 
-function compareBalTypes(BalType t1, BalType t2) returns boolean {
+isolated function compareBalTypes(BalType t1, BalType t2) returns boolean {
     if t1 is BalRecord && t2 is BalRecord {
         return t1.isEqual(t2);
     }
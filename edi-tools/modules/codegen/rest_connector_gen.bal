@@ -14,25 +14,60 @@
 // specific language governing permissions and limitations
 // under the License.
 
-function generateRESTConnector(string libName) returns string {
+// The generated service converts single documents with the `edis` and `objects`
+// resources, and many documents per request with the `bulk` resources. Bulk
+// requests and responses are NDJSON: one document per line in, one result per
+// line out. The request body is split into lines as its bytes arrive, and the
+// results are streamed back as soon as each window of
+// `restConnectorBulkConcurrency` documents is converted, so neither the whole
+// request nor the whole response is held in memory. A document that fails to
+// convert only produces an error line. The `edis` and `bulk/edis`
+// resources without an EDI type identify it from each document with
+// `detectEdiName` of the library root. Libraries generated with metrics also
+// have a `metrics` resource that returns `getEdiMetrics` of the library root.
+function generateRESTConnector(string libName, boolean metrics = false) returns string {
     string:RegExp re = re `[.]`;
+    string metricsResource = metrics ? string `
+    # Resource to get the conversion metrics of each EDI type.
+    # 
+    # + return - Conversion metrics
+    isolated resource function get metrics() returns EdiMetrics[] {
+        return getEdiMetrics();
+    }
+` : "";
     string restConCode = string `
 import ballerina/http;
+import ballerina/io;
 
 configurable int restConnectorPort = 9090;
+# Request timeout of the REST connector listener, in seconds.
+configurable decimal restConnectorTimeout = 60;
+# Maximum number of documents of a bulk request that are converted concurrently.
+configurable int restConnectorBulkConcurrency = 8;
+# Maximum number of documents accepted in one bulk request.
+configurable int restConnectorBulkMaxItems = 10000;
 
-service /${re.replaceAll(libName,"_")}Parser on new http:Listener(restConnectorPort) {
+const NDJSON_CONTENT_TYPE = "application/x-ndjson";
+const byte NEWLINE = 10;
 
+service /${re.replaceAll(libName,"_")}Parser on new http:Listener(restConnectorPort, timeout = restConnectorTimeout) {
+
+    # Resource to convert EDI string to Ballerina record as JSON. The EDI type is
+    # identified from the envelope or transaction header of the EDI string.
+    # 
+    # + ediData - EDI string to be converted
+    # + return - Ballerina record as JSON or error
+    isolated resource function post edis(@http:Payload string ediData) returns json|error {
+        anydata target = check fromEdiStringAuto(ediData);
+        return target.toJson();
+    }
     # Resource to convert EDI string to Ballerina record as JSON.
     # 
     # + ediType - EDI type name
     # + ediData - EDI string to be converted
     # + return - Ballerina record as JSON or error
     isolated resource function post edis/[string ediType](@http:Payload string ediData) returns json|error {
-        EDI_NAME|error ediTypeName = ediType.ensureType();
-        if ediTypeName is error {
-            return error("Unsupported EDI type: " + ediType + ". " + ediTypeName.message());
-        }
+        EDI_NAME ediTypeName = check toEdiName(ediType);
         anydata target = check fromEdiString(ediData, ediTypeName);   
         return target.toJson();
     }
@@ -42,17 +77,203 @@ service /${re.replaceAll(libName,"_")}Parser on new http:Listener(restConnectorP
     # + jsonData - Ballerina record as JSON
     # + return - EDI string or error
     isolated resource function post objects/[string ediType](@http:Payload json jsonData) returns string|error {
-        EDI_NAME|error ediTypeName = ediType.ensureType();
-        if ediTypeName is error {
-            return error("Unsupported EDI type: " + ediType + ". " + ediTypeName.message());
-        }
+        EDI_NAME ediTypeName = check toEdiName(ediType);
         string ediText = check toEdiString(jsonData, ediTypeName);   
         return ediText;
     }
 
+    # Resource to convert many EDI strings to Ballerina records as JSON.
+    # The request has one EDI string per line, as a JSON string. The response
+    # has one line per EDI string, in request order, with either the record
+    # ({"index": 0, "result": {...}}) or the error ({"index": 0, "error": "..."}).
+    # A request of more than restConnectorBulkMaxItems documents ends with an
+    # error line after the results of the documents within the limit.
+    # 
+    # + ediType - EDI type name
+    # + request - NDJSON request of EDI strings
+    # + return - NDJSON response of the results or error if the request cannot be read
+    isolated resource function post bulk/edis/[string ediType](http:Request request) returns http:Response|error {
+        EDI_NAME ediTypeName = check toEdiName(ediType);
+        return bulkResponse(check new BulkConversion(request, ediTypeName, true));
+    }
+
+    # Resource to convert many Ballerina records to EDI strings.
+    # The request has one Ballerina record per line, as JSON. The response has
+    # one line per record, in request order, with either the EDI string as a
+    # JSON string or the error, as for bulk/edis.
+    # 
+    # + ediType - EDI type name
+    # + request - NDJSON request of Ballerina records
+    # + return - NDJSON response of the results or error if the request cannot be read
+    isolated resource function post bulk/objects/[string ediType](http:Request request) returns http:Response|error {
+        EDI_NAME ediTypeName = check toEdiName(ediType);
+        return bulkResponse(check new BulkConversion(request, ediTypeName, false));
+    }
+
+    # Resource to convert many EDI strings to Ballerina records as JSON, as for
+    # bulk/edis/[ediType], identifying the EDI type of each EDI string separately.
+    # 
+    # + request - NDJSON request of EDI strings
+    # + return - NDJSON response of the results or error if the request cannot be read
+    isolated resource function post bulk/edis(http:Request request) returns http:Response|error {
+        return bulkResponse(check new BulkConversion(request, (), true));
+    }
+
     isolated resource function get edis() returns string[] {
         return getEDINames();
     }
+${metricsResource}}
+
+isolated function toEdiName(string ediType) returns EDI_NAME|error {
+    EDI_NAME|error ediTypeName = ediType.ensureType();
+    if ediTypeName is error {
+        return error("Unsupported EDI type: " + ediType + ". " + ediTypeName.message());
+    }
+    return ediTypeName;
+}
+
+isolated function bulkResponse(BulkConversion conversion) returns http:Response {
+    http:Response response = new;
+    response.setByteStream(new stream<byte[], io:Error?>(conversion), NDJSON_CONTENT_TYPE);
+    return response;
+}
+
+# Reads the lines of a bulk request as its body arrives and converts them window
+# by window, as the response is written.
+class BulkConversion {
+    private final stream<byte[], io:Error?> body;
+    private final EDI_NAME? ediName;
+    private final boolean fromEdi;
+    // Bytes of the body read but not yet split into lines, and the start of a
+    // line that continues in the next bytes.
+    private byte[] bytes = [];
+    private int offset = 0;
+    private byte[] partialLine = [];
+    private boolean bodyEnded = false;
+    private boolean limitReported = false;
+    private int nextIndex = 0;
+
+    isolated function init(http:Request request, EDI_NAME? ediName, boolean fromEdi) returns error? {
+        self.body = check request.getByteStream();
+        self.ediName = ediName;
+        self.fromEdi = fromEdi;
+    }
+
+    public isolated function next() returns record {| byte[] value; |}|io:Error? {
+        if self.limitReported {
+            return ();
+        }
+        int windowSize = int:min(int:max(1, restConnectorBulkConcurrency), restConnectorBulkMaxItems - self.nextIndex);
+        if windowSize <= 0 {
+            // The documents within the limit are converted; refuse the rest of the request.
+            if (check self.readLines(1)).length() == 0 {
+                return ();
+            }
+            self.limitReported = true;
+            error tooMany = error("Bulk request has more than " + restConnectorBulkMaxItems.toString() + " documents.");
+            return {value: (bulkError(self.nextIndex, tooMany) + "\n").toBytes()};
+        }
+        (readonly & byte[])[] lines = check self.readLines(windowSize);
+        if lines.length() == 0 {
+            return ();
+        }
+        future<string>[] conversions = [];
+        foreach int i in 0 ..< lines.length() {
+            future<string> conversion = start convertBulkLine(self.nextIndex + i, lines[i], self.ediName, self.fromEdi);
+            conversions.push(conversion);
+        }
+        string chunk = "";
+        foreach int i in 0 ..< conversions.length() {
+            string|error result = wait conversions[i];
+            chunk += (result is error ? bulkError(self.nextIndex + i, result) : result) + "\n";
+        }
+        self.nextIndex += lines.length();
+        return {value: chunk.toBytes()};
+    }
+
+    // Reads up to count non-blank lines of the body. Lines are split on the
+    // newline byte, which never occurs inside a multi-byte UTF-8 character.
+    isolated function readLines(int count) returns (readonly & byte[])[]|io:Error {
+        (readonly & byte[])[] lines = [];
+        while lines.length() < count {
+            if self.offset >= self.bytes.length() {
+                if self.bodyEnded {
+                    break;
+                }
+                record {| byte[] value; |}? received = check self.body.next();
+                if received is () {
+                    self.bodyEnded = true;
+                    if !isBlankLine(self.partialLine) {
+                        lines.push(self.partialLine.cloneReadOnly());
+                    }
+                    self.partialLine = [];
+                } else {
+                    self.bytes = received.value;
+                    self.offset = 0;
+                }
+                continue;
+            }
+            int? lineEnd = self.bytes.indexOf(NEWLINE, self.offset);
+            if lineEnd is () {
+                self.partialLine.push(...self.bytes.slice(self.offset));
+                self.offset = self.bytes.length();
+                continue;
+            }
+            byte[] line = self.partialLine;
+            line.push(...self.bytes.slice(self.offset, lineEnd));
+            self.partialLine = [];
+            self.offset = lineEnd + 1;
+            if !isBlankLine(line) {
+                lines.push(line.cloneReadOnly());
+            }
+        }
+        return lines;
+    }
+}
+
+isolated function isBlankLine(byte[] line) returns boolean {
+    foreach byte b in line {
+        // Space, tab and carriage return
+        if b != 32 && b != 9 && b != 13 {
+            return false;
+        }
+    }
+    return true;
+}
+
+// A nil EDI type name converts EDI strings to records, identifying the EDI type of each EDI string.
+isolated function convertBulkLine(int index, readonly & byte[] lineBytes, EDI_NAME? ediName, boolean fromEdi) returns string {
+    string|error line = string:fromBytes(lineBytes);
+    if line is error {
+        return bulkError(index, line);
+    }
+    json|error result;
+    if fromEdi || ediName is () {
+        result = bulkFromEdi(line, ediName);
+    } else {
+        result = bulkToEdi(line, ediName);
+    }
+    if result is error {
+        return bulkError(index, result);
+    }
+    return {index, result}.toJsonString();
+}
+
+isolated function bulkFromEdi(string line, EDI_NAME? ediName) returns json|error {
+    json ediData = check line.fromJsonString();
+    if ediData !is string {
+        return error("EDI data should be a JSON string.");
+    }
+    anydata target = check fromEdiString(ediData, ediName ?: check detectEdiName(ediData));
+    return target.toJson();
+}
+
+isolated function bulkToEdi(string line, EDI_NAME ediName) returns json|error {
+    return check toEdiString(check line.fromJsonString(), ediName);
+}
+
+isolated function bulkError(int index, error e) returns string {
+    return {index, 'error: e.message()}.toJsonString();
 }
     `;
 
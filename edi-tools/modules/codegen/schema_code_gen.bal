@@ -15,34 +15,38 @@
 // under the License.
 
 import ballerina/edi;
-import ballerina/io;
 
-public function generateCodeForSchema(json schema, string outputPath) returns error? {
+# Generates a Ballerina module source file for the given EDI schema.
+#
+# + schema - EDI schema as JSON
+# + outputPath - Path of the .bal file to write
+# + typedCodec - Emit typed readers and writers for `fromEdiString` / `toEdiString` (and the envelope
+# functions) instead of converting through the runtime's JSON representation
+# + return - Error if the generation is not successful
+public isolated function generateCodeForSchema(json schema, string outputPath, boolean typedCodec = false) returns error? {
     edi:EdiSchema ediSchema = check edi:getSchema(schema);
     BalRecord[] records = check generateCode(ediSchema);
-    string recordsString = "";
-    foreach BalRecord rec in records {
-        recordsString += rec.toString() + "\n";
-    }
-
-    string envelopeRecordsCode = "";
-    string envelopeFnsCode = "";
-    if ediSchema.envelope is edi:EdiEnvelopeSchema {
-        edi:EdiEnvelopeSchema env = <edi:EdiEnvelopeSchema>ediSchema.envelope;
-        envelopeRecordsCode = renderEnvelopeRecords(ediSchema.name, env);
-        envelopeFnsCode = renderEnvelopeFns(ediSchema.name, env);
-    }
-
-    string schemaCode = string `
-import ballerina/edi;
+    CodeWriter writer = check new (outputPath);
+    error? result = writeSchemaCode(writer, schema, ediSchema, records, typedCodec);
+    check writer.close();
+    return result;
+}
 
+// Writes the module source in the order of the file: entry points, records,
+// the embedded schema and, in typed codec mode, the readers and writers. Each
+// part is handed to the writer as soon as it is rendered. Without the typed
+// codec, the channel writers still use the codec sink, and envelope schemas get
+// the readers and writers of their envelope records, which the transaction
+// stream and the interchange writer use.
+isolated function writeSchemaCode(CodeWriter writer, json schema, edi:EdiSchema ediSchema, BalRecord[] records,
+        boolean typedCodec) returns error? {
+    string bodyFnsCode = typedCodec ? renderTypedBodyFns(ediSchema.name) : string `
 # Convert EDI string to Ballerina ${ediSchema.name} record.
 #
 # + ediText - EDI string to be converted
 # + return - Ballerina record or error
 public isolated function fromEdiString(string ediText) returns ${ediSchema.name}|error {
-    edi:EdiSchema ediSchema = check edi:getSchema(schemaJson);
-    json dataJson = check edi:fromEdiString(ediText, ediSchema);
+    json dataJson = check edi:fromEdiString(ediText, resolvedSchema);
     return dataJson.cloneWithType();
 }
 
@@ -51,11 +55,15 @@ public isolated function fromEdiString(string ediText) returns ${ediSchema.name}
 # + data - Ballerina record to be converted
 # + return - EDI string or error
 public isolated function toEdiString(${ediSchema.name} data) returns string|error {
-    edi:EdiSchema ediSchema = check edi:getSchema(schemaJson);
-    return edi:toEdiString(data, ediSchema);
-}
+    return edi:toEdiString(data, resolvedSchema);
+}`;
 
-# Get the EDI schema.
+    check writer.write(string `
+import ballerina/edi;
+import ballerina/io;
+${bodyFnsCode}${renderChannelReaderFns(ediSchema.name, typedCodec)}${renderChannelWriterFns(ediSchema.name, typedCodec)}
+
+# Get a mutable copy of the EDI schema.
 #
 # + return - EDI schema or error
 public isolated function getSchema() returns edi:EdiSchema|error {
@@ -80,16 +88,33 @@ public isolated function fromEdiStringWithSchema(string ediText, edi:EdiSchema s
 public isolated function toEdiStringWithSchema(${ediSchema.name} data, edi:EdiSchema ediSchema) returns string|error {
     return edi:toEdiString(data, ediSchema);
 }
-${envelopeFnsCode}
-
-${recordsString}
-${envelopeRecordsCode}
+`);
 
-final readonly & json schemaJson = ${schema.toJsonString()};
-    `;
-
-    check io:fileWriteString(outputPath, schemaCode);
+    edi:EdiEnvelopeSchema? env = ediSchema.envelope;
+    if env is edi:EdiEnvelopeSchema {
+        check writer.write(typedCodec ? renderTypedEnvelopeFns(ediSchema.name, env) : renderEnvelopeFns(ediSchema.name, env));
+        check writer.write(renderTransactionStreamFns(ediSchema.name, env, typedCodec));
+        check writer.write(renderInterchangeWriterFns(ediSchema.name, env, typedCodec));
+    }
+    check writer.write("\n\n");
+    check writeRecords(writer, records);
+    check writer.write("\n");
+    if env is edi:EdiEnvelopeSchema {
+        check writer.write(renderEnvelopeRecords(ediSchema.name, env));
+    }
+    check writer.write("\n\nfinal readonly & json schemaJson = ", schema.toJsonString(), string `;
 
+// Resolved once at module initialization and shared by every entry point above.
+final readonly & edi:EdiSchema resolvedSchema = (check edi:getSchema(schemaJson)).cloneReadOnly();
+`);
+    if typedCodec {
+        check writeTypedCodec(writer, ediSchema, records);
+    } else if env is edi:EdiEnvelopeSchema {
+        check writeEnvelopeCodec(writer, ediSchema, records, env);
+    } else {
+        check writer.write(check renderCodecRuntime(ediSchema));
+    }
+    check writer.write("\n    ");
 }
 
 // Renders the typed envelope records (Interchange / FunctionalGroup / Transaction)
@@ -97,7 +122,7 @@ final readonly & json schemaJson = ${schema.toJsonString()};
 // (e.g. <Name>InterchangeHeader, <Name>TransactionHeader) are emitted by
 // `recordgen.generateCode` via the envelope-level walk added there — so this
 // function only needs to reference them by name.
-function renderEnvelopeRecords(string name, edi:EdiEnvelopeSchema env) returns string {
+isolated function renderEnvelopeRecords(string name, edi:EdiEnvelopeSchema env) returns string {
     string transactionRecord = string `
 # A single transaction within a ${name} interchange.
 #
@@ -183,7 +208,7 @@ ${headersRecord}`;
 // so the typed wrapper records emitted by `renderEnvelopeRecords` populate
 // cleanly. Per-transaction bodies remain fail-safe — a body that came back as
 // an error stays as an error in the typed transaction.
-function renderEnvelopeFns(string name, edi:EdiEnvelopeSchema env) returns string {
+isolated function renderEnvelopeFns(string name, edi:EdiEnvelopeSchema env) returns string {
     // Body unwrap helpers — Ballerina does not narrow `json|error` (or
     // `<Name>|error`) across a `?:` ternary, so an inline conversion would
     // be rejected. Two helpers: parse direction (json -> typed) and write
@@ -290,8 +315,7 @@ isolated function unwrap${name}Body(${name}|error typed) returns json|error {
 # + ediText - EDI string to parse
 # + return - Parsed ${name}Headers record, or error if the headers are malformed
 public isolated function headersFromEdiString(string ediText) returns ${name}Headers|error {
-    edi:EdiSchema ediSchema = check edi:getSchema(schemaJson);
-    json raw = check edi:headersFromEdiString(ediText, ediSchema);
+    json raw = check edi:headersFromEdiString(ediText, resolvedSchema);
     return raw.cloneWithType();
 }
 
@@ -301,8 +325,7 @@ public isolated function headersFromEdiString(string ediText) returns ${name}Hea
 # + ediText - EDI string to parse
 # + return - Parsed ${name}Interchange, or error if the envelope is malformed
 public isolated function interchangeFromEdiString(string ediText) returns ${name}Interchange|error {
-    edi:EdiSchema ediSchema = check edi:getSchema(schemaJson);
-    edi:EdiInterchange raw = check edi:interchangeFromEdiString(ediText, ediSchema);
+    edi:EdiInterchange raw = check edi:interchangeFromEdiString(ediText, resolvedSchema);
     ${assemble}
 }
 
@@ -312,10 +335,9 @@ public isolated function interchangeFromEdiString(string ediText) returns ${name
 # + msg - The interchange to serialise
 # + return - EDI text, or error
 public isolated function interchangeToEdiString(${name}Interchange msg) returns string|error {
-    edi:EdiSchema ediSchema = check edi:getSchema(schemaJson);
     edi:EdiInterchange raw;
     ${rawInterchange}
-    return edi:interchangeToEdiString(raw, ediSchema);
+    return edi:interchangeToEdiString(raw, resolvedSchema);
 }
 ${bodyHelper}`;
 }
@@ -0,0 +1,71 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+@test:Config {}
+function testBatchCodegenMatchesSingleSchemaCodegen() returns error? {
+    string inputDir = check file:createTempDir();
+    json sampleSchema = check io:fileReadJson("modules/codegen/resources/sample1/schema.json");
+    check io:fileWriteJson(check file:joinPath(inputDir, "simple_order.json"), sampleSchema);
+    check io:fileWriteJson(check file:joinPath(inputDir, "orders.json"), envelopeSchemaJson);
+    check io:fileWriteJson(check file:joinPath(inputDir, "rate.json"), x12EnvelopeSchemaJson);
+
+    string outputDir = check file:joinPath(check file:createTempDir(), "gen");
+    SchemaCodegenResult[] results = check generateCodeForSchemas([inputDir], outputDir, 2);
+
+    string[] generated = from SchemaCodegenResult result in results select check file:basename(result.outputPath);
+    test:assertEquals(generated, ["orders.bal", "rate.bal", "simple_order.bal"],
+            "Results should be reported in input order");
+    foreach SchemaCodegenResult result in results {
+        test:assertEquals(result.err, (), "Unexpected error for " + result.schemaPath);
+        string singleOutput = check file:joinPath(check file:createTempDir(), "single.bal");
+        check generateCodeForSchema(check io:fileReadJson(result.schemaPath), singleOutput);
+        test:assertEquals(check io:fileReadString(result.outputPath), check io:fileReadString(singleOutput),
+                "Batch output differs from single schema output for " + result.schemaPath);
+    }
+}
+
+@test:Config {}
+function testBatchCodegenReportsErrorsPerSchema() returns error? {
+    string inputDir = check file:createTempDir();
+    string validSchema = check file:joinPath(inputDir, "valid.json");
+    string invalidSchema = check file:joinPath(inputDir, "invalid.json");
+    check io:fileWriteJson(validSchema, check io:fileReadJson("modules/codegen/resources/sample1/schema.json"));
+    check io:fileWriteJson(invalidSchema, {"name": "Invalid"});
+
+    string outputDir = check file:createTempDir();
+    SchemaCodegenResult[] results = check generateCodeForSchemas([invalidSchema, validSchema], outputDir, 4);
+
+    test:assertEquals(results.length(), 2);
+    test:assertTrue(results[0].err is string, "The invalid schema should report an error");
+    test:assertEquals(results[1].err, (), "The valid schema should still be generated");
+    test:assertTrue(check file:test(results[1].outputPath, file:EXISTS));
+}
+
+@test:Config {}
+function testBatchCodegenRejectsClashingOutputs() returns error? {
+    string firstDir = check file:createTempDir();
+    string secondDir = check file:createTempDir();
+    json sampleSchema = check io:fileReadJson("modules/codegen/resources/sample1/schema.json");
+    check io:fileWriteJson(check file:joinPath(firstDir, "order.json"), sampleSchema);
+    check io:fileWriteJson(check file:joinPath(secondDir, "order.json"), sampleSchema);
+
+    SchemaCodegenResult[]|error results = generateCodeForSchemas([firstDir, secondDir], check file:createTempDir(), 2);
+    test:assertTrue(results is error, "Two schemas generated to order.bal should be rejected");
+}
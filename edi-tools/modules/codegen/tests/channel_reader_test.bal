@@ -0,0 +1,201 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+@test:Config {}
+function testChannelReaderOutput() returns error? {
+    string outPath = check file:createTempDir() + "/rate.bal";
+    check generateCodeForSchema(x12EnvelopeSchemaJson, outPath);
+    string output = check io:fileReadString(outPath);
+    foreach string expected in [
+            "public isolated function transactionsFromEdiChannel(io:ReadableByteChannel|io:ReadableCharacterChannel channel,",
+            "public isolated function transactionsFromEdiFile(string path, string charset = \"UTF-8\")",
+            "string bodyText = check ediCodecTakeMarked(state);"] {
+        test:assertTrue(output.includes(expected), "Expected: " + expected);
+    }
+    test:assertFalse(output.includes("public isolated function fromEdiChannel("),
+            "Without the typed codec, the text of a whole document should not be read from a channel");
+    test:assertFalse(output.includes("public isolated function fromEdiFile("),
+            "Without the typed codec, the text of a whole document should not be read from a file");
+
+    string typedPath = check file:createTempDir() + "/order.bal";
+    check generateCodeForSchema(check io:fileReadJson("modules/codegen/resources/sample1/schema.json"), typedPath, true);
+    string typedOutput = check io:fileReadString(typedPath);
+    test:assertTrue(typedOutput.includes("public isolated function fromEdiFile(string path, string charset = \"UTF-8\") returns SimpleOrder|error"),
+            "Expected fromEdiFile with the typed codec");
+    test:assertTrue(typedOutput.includes("EdiCodecState state = check ediCodecOpenChannel("),
+            "The typed codec should parse the channel as it is read");
+    test:assertFalse(typedOutput.includes("transactionsFromEdiChannel"),
+            "Schemas without an envelope have no transaction stream");
+}
+
+@test:Config {}
+function testChannelReadersOfGeneratedLibrary() returns error? {
+    string plainPath = check generateDetectionLibrary();
+    string plainRootCode = check io:fileReadString(check file:joinPath(plainPath, "detectlib.bal"));
+    test:assertFalse(plainRootCode.includes("public isolated function fromEdiChannel("),
+            "Without the typed codec, modules without an envelope cannot be read from a channel");
+    string plainTransformer = check io:fileReadString(check file:joinPath(plainPath, "modules", "m004010.m850",
+            "transformer.bal"));
+    test:assertFalse(plainTransformer.includes("transformFromEdiChannel"),
+            "Unexpected transformFromEdiChannel without the typed codec");
+
+    string libPath = check generateDetectionLibrary(true);
+    string rootCode = check io:fileReadString(check file:joinPath(libPath, "detectlib.bal"));
+    test:assertTrue(rootCode.includes("public isolated function fromEdiChannel(io:ReadableByteChannel|io:ReadableCharacterChannel channel, EDI_NAME ediName,"),
+            "Expected fromEdiChannel in the library root");
+    test:assertTrue(rootCode.includes("public isolated function fromEdiFile(string path, EDI_NAME ediName, string charset = \"UTF-8\")"),
+            "Expected fromEdiFile in the library root");
+    test:assertTrue(rootCode.includes("final readonly & map<EdiChannelDeserialize> ediChannelDeserializers = {"),
+            "Expected the channel deserializers");
+    test:assertTrue(rootCode.includes(":transformFromEdiChannel"), "Expected the channel deserializers of the modules");
+
+    // Envelope-aware modules are read one transaction at a time without the typed codec.
+    string schemaDir = check file:createTempDir();
+    check io:fileWriteJson(check file:joinPath(schemaDir, "210.json"), x12EnvelopeSchemaJson);
+    string outputPath = check file:createTempDir();
+    check generateLibrary({orgName: "testorg", libName: "ratelib", schemaPath: schemaDir, outputPath, versioned: false});
+    string rateRootCode = check io:fileReadString(check file:joinPath(outputPath, "ratelib", "ratelib.bal"));
+    test:assertTrue(rateRootCode.includes("public isolated function fromEdiChannel("),
+            "Expected fromEdiChannel for an envelope-aware module");
+    string transformer = check io:fileReadString(check file:joinPath(outputPath, "ratelib", "modules", "m210",
+            "transformer.bal"));
+    test:assertTrue(transformer.includes("TransactionStream interchange = check transactionsFromEdiChannel(channel, charset);"),
+            "Envelope-aware modules should be read from a channel one transaction at a time");
+}
+
+// Builds and runs a package that reads the same EDI text from files, in several
+// charsets, and from strings, with and without the typed codec. The interchanges
+// are large enough to be read in several chunks. The generated main returns an
+// error on any mismatch.
+@test:Config {}
+function testChannelReadersMatchStringReaders() returns error? {
+    string tmpDir = check file:createTempDir();
+    string pkgPath = check file:joinPath(tmpDir, "channelread");
+    foreach string module in ["edifact", "x12", "typedx12", "typedorder"] {
+        check file:createDir(check file:joinPath(pkgPath, "modules", module), file:RECURSIVE);
+    }
+    json orderSchemaJson = check io:fileReadJson("modules/codegen/resources/sample1/schema.json");
+    check generateCodeForSchema(envelopeSchemaJson, check file:joinPath(pkgPath, "modules", "edifact", "orders_gen.bal"));
+    check generateCodeForSchema(x12EnvelopeSchemaJson, check file:joinPath(pkgPath, "modules", "x12", "rate_gen.bal"));
+    check generateCodeForSchema(x12EnvelopeSchemaJson, check file:joinPath(pkgPath, "modules", "typedx12", "rate_gen.bal"), true);
+    check generateCodeForSchema(orderSchemaJson, check file:joinPath(pkgPath, "modules", "typedorder", "order_gen.bal"), true);
+
+    string balToml = string `
+[package]
+org = "wso2test"
+name = "channelread"
+version = "0.1.0"
+`;
+    check io:fileWriteString(check file:joinPath(pkgPath, "Ballerina.toml"), balToml);
+
+    string mainBal = string `
+import ballerina/file;
+import ballerina/io;
+import channelread.edifact;
+import channelread.typedorder;
+import channelread.typedx12;
+import channelread.x12;
+
+public function main() returns error? {
+    string dir = check file:createTempDir();
+
+    // Item codes with non-ASCII characters check the charset of the byte channels.
+    string[] orderParts = ["HDR*ORDER_1201*ABC_Störe*2008-01-01~"];
+    foreach int i in 0 ..< 1000 {
+        orderParts.push("ITM*Ä-" + i.toString() + "*12~\n");
+    }
+    string orderText = string:'join("", ...orderParts);
+    foreach string charset in ["UTF-8", "UTF-16", "ISO-8859-1"] {
+        string path = check writeFile(dir, orderText, charset);
+        check expectSame((check typedorder:fromEdiFile(path, charset)).toString(),
+                (check typedorder:fromEdiString(orderText)).toString(), "Typed order in " + charset);
+    }
+    io:ReadableByteChannel bytes = check io:openReadableFile(check writeFile(dir, orderText, "UTF-8"));
+    io:ReadableCharacterChannel characters = new (bytes, "UTF-8");
+    check expectSame((check typedorder:fromEdiChannel(characters)).toString(),
+            (check typedorder:fromEdiString(orderText)).toString(), "Typed order from a character channel");
+    check characters.close();
+    if typedorder:fromEdiFile(check writeFile(dir, orderText + "XYZ*1~", "UTF-8")) !is error {
+        return error("A trailing unknown segment should fail the typed order");
+    }
+
+    string[] edifactParts = ["UNB+1'"];
+    string[] x12Parts = ["ISA*1~GS*2~"];
+    foreach int i in 0 ..< 500 {
+        edifactParts.push("UNH+M" + i.toString() + "'BGM+D" + i.toString() + "'UNT+M" + i.toString() + "'");
+        x12Parts.push("ST*3*" + i.toString() + "~B3*INV-" + i.toString() + "~SE*3*" + i.toString() + "~");
+    }
+    edifactParts.push("UNZ+500'");
+    x12Parts.push("GE*500*2~IEA*1*1~");
+    string edifactText = string:'join("", ...edifactParts);
+    string x12Text = string:'join("", ...x12Parts);
+
+    edifact:OrdersTransactionStream orders = check edifact:transactionsFromEdiFile(check writeFile(dir, edifactText, "UTF-8"));
+    edifact:OrdersTransaction[] orderTransactions = check from edifact:OrdersTransaction t in orders.transactions
+        select t;
+    check expectSame(orderTransactions.toString(),
+            (check edifact:interchangeFromEdiString(edifactText)).transactions.toString(), "EDIFACT transactions");
+
+    x12:RateTransactionStream rates = check x12:transactionsFromEdiFile(check writeFile(dir, x12Text, "UTF-16"), "UTF-16");
+    x12:RateGroupTransaction[] rateTransactions = check from x12:RateGroupTransaction t in rates.transactions
+        select t;
+    check expectSame(rateTransactions.toString(),
+            (check from x12:RateGroupTransaction t in (check x12:transactionsFromEdiString(x12Text)).transactions select t).toString(),
+            "X12 transactions");
+
+    typedx12:RateTransactionStream typedRates = check typedx12:transactionsFromEdiFile(check writeFile(dir, x12Text, "UTF-8"));
+    int count = 0;
+    check from typedx12:RateGroupTransaction t in typedRates.transactions
+        do {
+            count += 1;
+        };
+    if count != 500 {
+        return error("Typed X12 stream read " + count.toString() + " transactions instead of 500");
+    }
+    check file:remove(dir, file:RECURSIVE);
+}
+
+function writeFile(string dir, string text, string charset) returns string|error {
+    string path = check file:createTempFile(dir = dir, suffix = ".edi");
+    io:WritableByteChannel bytes = check io:openWritableFile(path);
+    io:WritableCharacterChannel characters = new (bytes, charset);
+    int offset = 0;
+    while offset < text.length() {
+        offset += check characters.write(text, offset);
+    }
+    check characters.close();
+    return path;
+}
+
+function expectSame(string actual, string expected, string what) returns error? {
+    if actual != expected {
+        return error(what + " differ. Channel: " + actual + ", string: " + expected);
+    }
+}
+`;
+    check io:fileWriteString(check file:joinPath(pkgPath, "main.bal"), mainBal);
+
+    string? failure = check runBalPackage(pkgPath, "Channel reader check");
+    check file:remove(tmpDir, file:RECURSIVE);
+
+    if failure is string {
+        test:assertFail(failure);
+    }
+}
@@ -0,0 +1,176 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+@test:Config {}
+function testChannelWriterOutput() returns error? {
+    string outPath = check file:createTempDir() + "/rate.bal";
+    check generateCodeForSchema(x12EnvelopeSchemaJson, outPath);
+    string output = check io:fileReadString(outPath);
+
+    test:assertTrue(output.includes("public isolated function toEdiChannel(Rate data, io:WritableByteChannel|io:WritableCharacterChannel channel)"),
+            "Expected toEdiChannel");
+    test:assertTrue(output.includes("public isolated function interchangeToEdiChannel(RateInterchange msg,"),
+            "Expected interchangeToEdiChannel for an envelope schema");
+    test:assertTrue(output.includes("public class RateInterchangeWriter {"), "Expected the interchange writer");
+    test:assertTrue(output.includes("public isolated function writeGroupHeader(RateGroupHeader header)"),
+            "Grouped envelopes should write group headers");
+    test:assertTrue(output.includes("isolated function writeRateInterchangeHeader(RateInterchangeHeader r"),
+            "The interchange writer needs writers for the envelope records");
+    test:assertFalse(output.includes("isolated function writeRate(Rate r"),
+            "Bodies are written by the runtime without the typed codec");
+
+    string plainPath = check file:createTempDir() + "/order.bal";
+    check generateCodeForSchema(check io:fileReadJson("modules/codegen/resources/sample1/schema.json"), plainPath);
+    string plainOutput = check io:fileReadString(plainPath);
+    test:assertTrue(plainOutput.includes("public isolated function toEdiChannel(SimpleOrder data,"),
+            "Expected toEdiChannel");
+    test:assertTrue(plainOutput.includes("foreach var [tag, unitSchema] in ediBodyUnits {"),
+            "Without the typed codec, toEdiChannel should convert one top-level unit at a time");
+    test:assertTrue(plainOutput.includes("isolated function ediCodecEmitSegments(EdiCodecSink sink,"),
+            "toEdiChannel needs the codec sink without the typed codec");
+    test:assertFalse(plainOutput.includes("interchangeToEdiChannel"),
+            "Schemas without an envelope have no interchange writer");
+}
+
+// Builds and runs a package that writes the same data with the channel writers
+// and with the string writers, with and without the typed codec. The
+// interchanges are large enough to be written out in several chunks. The
+// generated main returns an error on any mismatch.
+@test:Config {}
+function testChannelWritersMatchStringWriters() returns error? {
+    string tmpDir = check file:createTempDir();
+    string pkgPath = check file:joinPath(tmpDir, "channelcheck");
+    foreach string module in ["edifact", "x12", "typedx12", "order", "typedorder"] {
+        check file:createDir(check file:joinPath(pkgPath, "modules", module), file:RECURSIVE);
+    }
+    json orderSchemaJson = check io:fileReadJson("modules/codegen/resources/sample1/schema.json");
+    check generateCodeForSchema(envelopeSchemaJson, check file:joinPath(pkgPath, "modules", "edifact", "orders_gen.bal"));
+    check generateCodeForSchema(x12EnvelopeSchemaJson, check file:joinPath(pkgPath, "modules", "x12", "rate_gen.bal"));
+    check generateCodeForSchema(x12EnvelopeSchemaJson, check file:joinPath(pkgPath, "modules", "typedx12", "rate_gen.bal"), true);
+    check generateCodeForSchema(orderSchemaJson, check file:joinPath(pkgPath, "modules", "order", "order_gen.bal"));
+    check generateCodeForSchema(orderSchemaJson, check file:joinPath(pkgPath, "modules", "typedorder", "order_gen.bal"), true);
+
+    string balToml = string `
+[package]
+org = "wso2test"
+name = "channelcheck"
+version = "0.1.0"
+`;
+    check io:fileWriteString(check file:joinPath(pkgPath, "Ballerina.toml"), balToml);
+
+    string mainBal = string `
+import ballerina/file;
+import ballerina/io;
+import channelcheck.edifact;
+import channelcheck.order;
+import channelcheck.typedorder;
+import channelcheck.typedx12;
+import channelcheck.x12;
+
+public function main() returns error? {
+    string dir = check file:createTempDir();
+
+    string[] orderParts = ["HDR*ORDER_1201*ABC_Store*2008-01-01~"];
+    foreach int i in 0 ..< 1000 {
+        orderParts.push("ITM*A-" + i.toString() + "*12~");
+    }
+    string orderText = string:'join("", ...orderParts);
+
+    // Without the typed codec, each top-level unit is converted by the runtime, so the text is compared after
+    // reading it back.
+    order:SimpleOrder plainOrder = check order:fromEdiString(orderText);
+    string plainText = check writeToFile(dir, function(io:WritableByteChannel channel) returns error? {
+        check order:toEdiChannel(plainOrder, channel);
+    });
+    check expectSame((check order:fromEdiString(plainText)).toString(), plainOrder.toString(), "Order");
+    typedorder:SimpleOrder typedOrder = check typedorder:fromEdiString(orderText);
+    check expectSame(check writeToFile(dir, function(io:WritableByteChannel channel) returns error? {
+        check typedorder:toEdiChannel(typedOrder, channel);
+    }), check typedorder:toEdiString(typedOrder), "Typed order");
+
+    string[] edifactParts = ["UNB+1'"];
+    string[] x12Parts = ["ISA*1~GS*2~"];
+    foreach int i in 0 ..< 500 {
+        edifactParts.push("UNH+M" + i.toString() + "'BGM+D" + i.toString() + "'UNT+M" + i.toString() + "'");
+        x12Parts.push("ST*3*" + i.toString() + "~B3*INV-" + i.toString() + "~SE*3*" + i.toString() + "~");
+    }
+    edifactParts.push("UNZ+500'");
+    x12Parts.push("GE*500*2~IEA*1*1~");
+    string edifactText = string:'join("", ...edifactParts);
+    string x12Text = string:'join("", ...x12Parts);
+
+    // Without the typed codec, bodies are converted by the runtime, so the text is compared after reading it back.
+    edifact:OrdersInterchange orders = check edifact:interchangeFromEdiString(edifactText);
+    string ordersText = check writeToFile(dir, function(io:WritableByteChannel channel) returns error? {
+        check edifact:interchangeToEdiChannel(orders, channel);
+    });
+    check expectSame((check edifact:interchangeFromEdiString(ordersText)).toString(), orders.toString(), "EDIFACT interchange");
+
+    x12:RateInterchange rate = check x12:interchangeFromEdiString(x12Text);
+    string rateText = check writeToFile(dir, function(io:WritableByteChannel channel) returns error? {
+        check x12:interchangeToEdiChannel(rate, channel);
+    });
+    check expectSame((check x12:interchangeFromEdiString(rateText)).toString(), rate.toString(), "X12 interchange");
+
+    typedx12:RateInterchange typedRate = check typedx12:interchangeFromEdiString(x12Text);
+    check expectSame(check writeToFile(dir, function(io:WritableByteChannel channel) returns error? {
+        check typedx12:interchangeToEdiChannel(typedRate, channel);
+    }), check typedx12:interchangeToEdiString(typedRate), "Typed X12 interchange");
+
+    // The same interchange written one part at a time to a character channel.
+    string partsText = check writeToFile(dir, function(io:WritableByteChannel channel) returns error? {
+        io:WritableCharacterChannel characters = new (channel, "UTF-8");
+        typedx12:RateInterchangeWriter writer = check new (characters, typedRate.interchangeHeader);
+        foreach typedx12:RateFunctionalGroup g in typedRate.groups {
+            check writer.writeGroupHeader(g.groupHeader);
+            foreach typedx12:RateTransaction t in g.transactions {
+                check writer.writeTransaction(t);
+            }
+            check writer.writeGroupTrailer(g.groupTrailer);
+        }
+        check writer.close(typedRate.interchangeTrailer);
+    });
+    check expectSame(partsText, check typedx12:interchangeToEdiString(typedRate), "Typed X12 interchange by parts");
+    check file:remove(dir, file:RECURSIVE);
+}
+
+function writeToFile(string dir, function (io:WritableByteChannel) returns error? write) returns string|error {
+    string path = check file:joinPath(dir, "out.edi");
+    io:WritableByteChannel channel = check io:openWritableFile(path);
+    check write(channel);
+    check channel.close();
+    return io:fileReadString(path);
+}
+
+function expectSame(string actual, string expected, string what) returns error? {
+    if actual != expected {
+        return error(what + " differ. Channel: " + actual + ", string: " + expected);
+    }
+}
+`;
+    check io:fileWriteString(check file:joinPath(pkgPath, "main.bal"), mainBal);
+
+    string? failure = check runBalPackage(pkgPath, "Channel writer check");
+    check file:remove(tmpDir, file:RECURSIVE);
+
+    if failure is string {
+        test:assertFail(failure);
+    }
+}
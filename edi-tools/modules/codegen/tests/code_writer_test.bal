@@ -0,0 +1,51 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/edi;
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+@test:Config {}
+function testCodeWriterWritesAllParts() returns error? {
+    string path = check file:joinPath(check file:createTempDir(), "out.bal");
+    string[] expected = [];
+    CodeWriter writer = check new (path);
+    // Enough code to fill the buffer several times over.
+    foreach int i in 0 ..< 5000 {
+        string line = string `public const C${i} = "${i}";`;
+        check writer.write(line, "\n");
+        expected.push(line, "\n");
+    }
+    check writer.writeJoined(["a", "b", "c"], ", ");
+    expected.push("a, b, c");
+    check writer.close();
+
+    test:assertEquals(check io:fileReadString(path), string:'join("", ...expected));
+}
+
+@test:Config {}
+function testGenerateCodeToFile() returns error? {
+    string path = check file:joinPath(check file:createTempDir(), "records.bal");
+    edi:EdiSchema schema = check edi:getSchema(check io:fileReadJson("modules/codegen/resources/sample1/schema.json"));
+    check generateCodeToFile(schema, path);
+
+    string expected = "";
+    foreach BalRecord rec in check generateCode(schema) {
+        expected += rec.toString() + "\n";
+    }
+    test:assertEquals(check io:fileReadString(path), expected);
+}
@@ -0,0 +1,90 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+// Versioned library with an X12 850 in two versions, an X12 810 and an EDIFACT ORDERS.
+function generateDetectionLibrary(boolean typedCodec = false) returns string|error {
+    json sampleSchema = check io:fileReadJson("modules/codegen/resources/sample1/schema.json");
+    string schemaDir = check file:createTempDir();
+    foreach [string, string] [version, name] in [["004010", "850"], ["004010", "810"], ["005010", "850"], ["d03a", "ORDERS"]] {
+        string versionDir = check file:joinPath(schemaDir, version);
+        if !check file:test(versionDir, file:EXISTS) {
+            check file:createDir(versionDir);
+        }
+        check io:fileWriteJson(check file:joinPath(versionDir, name + ".json"), sampleSchema);
+    }
+    string outputPath = check file:createTempDir();
+    check generateLibrary({orgName: "testorg", libName: "detectlib", schemaPath: schemaDir, outputPath,
+        versioned: true, typedCodec});
+    return file:joinPath(outputPath, "detectlib");
+}
+
+@test:Config {}
+function testTransactionLookupOfGeneratedLibrary() returns error? {
+    string libPath = check generateDetectionLibrary();
+    string rootCode = check io:fileReadString(check file:joinPath(libPath, "detectlib.bal"));
+    foreach string entry in ["\"004010/850\": EDI_004010_850", "\"005010/850\": EDI_005010_850",
+            "\"004010/810\": EDI_004010_810", "\"810\": EDI_004010_810", "\"D03A/ORDERS\": EDI_d03a_ORDERS",
+            "\"ORDERS\": EDI_d03a_ORDERS"] {
+        test:assertTrue(rootCode.includes(entry), "Transaction lookup does not contain: " + entry);
+    }
+    test:assertFalse(rootCode.includes("\"850\":"), "A transaction of two versions must not be looked up without its version");
+    test:assertTrue(rootCode.includes("public isolated function fromEdiStringAuto(string ediText) returns anydata|error"),
+            "Expected fromEdiStringAuto in the library root");
+}
+
+// Builds and runs the generated library with a main that identifies EDI strings
+// of each kind. The main returns an error, and `bal run` exits non-zero, on any mismatch.
+@test:Config {}
+function testDetectEdiNameOfGeneratedLibrary() returns error? {
+    string libPath = check generateDetectionLibrary();
+    string mainBal = string `
+const ISA = "ISA*00*          *00*          *ZZ*SENDER         *ZZ*RECEIVER       *240802*1705*U*00401*000000001*0*P*>~";
+
+public function main() returns error? {
+    check expectEdiName(ISA + "GS*PO*S*R*20240802*1705*1*X*004010~ST*850*0001~BEG*00~", EDI_004010_850);
+    check expectEdiName(ISA + "GS*PO*S*R*20240802*1705*1*X*005010X220A1~ST*850*0001~", EDI_005010_850);
+    check expectEdiName("\nST*810*0001~BIG*20240802~", EDI_004010_810);
+    check expectEdiName("UNB+UNOA:2+S+R+240802:1705+1'UNH+1+ORDERS:D:03A:UN'BGM+220'", EDI_d03a_ORDERS);
+    check expectEdiName("UNA:+.? 'UNB+UNOA:2+S+R+240802:1705+1'UNH+1+ORDERS:D:96A:UN'", EDI_d03a_ORDERS);
+    foreach string unknown in ["ST*850*0001~", "UNH+1+INVOIC:D:03A:UN'", "hello"] {
+        if detectEdiName(unknown) is EDI_NAME {
+            return error("EDI type should not be identified: " + unknown);
+        }
+    }
+}
+
+function expectEdiName(string ediText, EDI_NAME expected) returns error? {
+    EDI_NAME actual = check detectEdiName(ediText);
+    if actual != expected {
+        return error("Identified " + actual + " instead of " + expected + " for " + ediText);
+    }
+}
+`;
+    check io:fileWriteString(check file:joinPath(libPath, "main.bal"), mainBal);
+    // The REST service would keep the program running after main returns.
+    check file:remove(check file:joinPath(libPath, "rest_connector.bal"));
+
+    string? failure = check runBalPackage(libPath, "EDI type detection check");
+    check file:remove(check file:parentPath(libPath), file:RECURSIVE);
+
+    if failure is string {
+        test:assertFail(failure);
+    }
+}
@@ -170,4 +170,10 @@ function testEnvelopeCodegenOutput() returns error? {
     // interchangeToEdiString takes the typed OrdersInterchange and returns string|error.
     test:assertTrue(output.includes("interchangeToEdiString(OrdersInterchange msg) returns string|error"),
             "interchangeToEdiString must take the typed OrdersInterchange wrapper");
+
+    // The embedded schema is resolved once at module init, not per message.
+    test:assertTrue(output.includes("final readonly & edi:EdiSchema resolvedSchema = (check edi:getSchema(schemaJson)).cloneReadOnly();"),
+            "Generated module should resolve its schema once into a readonly module-level value");
+    test:assertFalse(output.includes("edi:EdiSchema ediSchema = check edi:getSchema(schemaJson);"),
+            "Generated entry points must not rebuild the schema on every call");
 }
@@ -146,6 +146,30 @@ public function main() {
     // X12 shape (with group) in the submodule.
     check generateCodeForSchema(x12EnvelopeSchemaJson, check file:joinPath(x12ModulePath, "rate_gen.bal"));
 
+    string? failure = check buildBalPackage(pkgPath, "Generated envelope code");
+    check file:remove(tmpDir, file:RECURSIVE);
+
+    if failure is string {
+        test:assertFail(failure);
+    }
+}
+
+// Compiles the package at `pkgPath` with `bal build` and returns the failure
+// message if it does not compile. The caller cleans up and asserts — Ballerina
+// has no try/finally, and test:assertFail aborts the function, so cleanup placed
+// after it would never run on the failure path.
+function buildBalPackage(string pkgPath, string description) returns string?|error {
+    return execBalCommand("build", pkgPath, description + " failed to compile");
+}
+
+// Runs the package at `pkgPath` with `bal run` and returns the failure message
+// if it exits with a non-zero code, e.g. when its main returns an error. As with
+// `buildBalPackage`, the caller cleans up and asserts.
+function runBalPackage(string pkgPath, string description) returns string?|error {
+    return execBalCommand("run", pkgPath, description + " failed");
+}
+
+function execBalCommand(string command, string pkgPath, string failure) returns string?|error {
     // Prefer the intermediate distribution's `bal` (exported by the gradle
     // build via BALLERINA_DIST_BIN); fall back to the system `bal` for ad-hoc
     // local runs.
@@ -154,28 +178,18 @@ public function main() {
     if distBin != "" {
         balCommand = check file:joinPath(distBin, "bal");
     }
-    os:Process proc = check os:exec({value: balCommand, arguments: ["build", pkgPath]});
+    os:Process proc = check os:exec({value: balCommand, arguments: [command, pkgPath]});
     int exitCode = check proc.waitForExit();
-
-    // Capture any failure message, then always clean up the temp dir before
-    // asserting — Ballerina has no try/finally, and test:assertFail aborts the
-    // function, so cleanup placed after it would never run on the failure path.
-    string? failure = ();
-    if exitCode != 0 {
-        byte[] stdoutBytes = check proc.output(io:stdout);
-        byte[] stderrBytes = check proc.output(io:stderr);
-        string stdoutText = check string:fromBytes(stdoutBytes);
-        string stderrText = check string:fromBytes(stderrBytes);
-        failure = string `Generated envelope code failed to compile (bal build exit ${exitCode}).
+    if exitCode == 0 {
+        return ();
+    }
+    byte[] stdoutBytes = check proc.output(io:stdout);
+    byte[] stderrBytes = check proc.output(io:stderr);
+    string stdoutText = check string:fromBytes(stdoutBytes);
+    string stderrText = check string:fromBytes(stderrBytes);
+    return string `${failure} (bal ${command} exit ${exitCode}).
 stdout:
 ${stdoutText}
 stderr:
 ${stderrText}`;
-    }
-
-    check file:remove(tmpDir, file:RECURSIVE);
-
-    if failure is string {
-        test:assertFail(failure);
-    }
 }
@@ -0,0 +1,149 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+@test:Config {}
+function testParallelLibgenMatchesSequentialLibgen() returns error? {
+    string schemaDir = check file:createTempDir();
+    json sampleSchema = check io:fileReadJson("modules/codegen/resources/sample1/schema.json");
+    foreach string name in ["order", "invoice", "shipment", "receipt", "payment"] {
+        check io:fileWriteJson(check file:joinPath(schemaDir, name + ".json"), sampleSchema);
+    }
+    check io:fileWriteJson(check file:joinPath(schemaDir, "orders.json"), envelopeSchemaJson);
+    check io:fileWriteJson(check file:joinPath(schemaDir, "rate.json"), x12EnvelopeSchemaJson);
+
+    string sequentialOut = check file:createTempDir();
+    string parallelOut = check file:createTempDir();
+    check generateLibrary({orgName: "testorg", libName: "testlib", schemaPath: schemaDir,
+        outputPath: sequentialOut, versioned: false, jobs: 1});
+    check generateLibrary({orgName: "testorg", libName: "testlib", schemaPath: schemaDir,
+        outputPath: parallelOut, versioned: false, jobs: 4});
+
+    map<string> sequentialFiles = check readTree(check file:joinPath(sequentialOut, "testlib"), "");
+    map<string> parallelFiles = check readTree(check file:joinPath(parallelOut, "testlib"), "");
+    test:assertEquals(parallelFiles.keys().sort(), sequentialFiles.keys().sort(),
+            "Parallel libgen should generate the same files as a sequential run");
+    foreach [string, string] [path, content] in sequentialFiles.entries() {
+        test:assertEquals(parallelFiles[path], content, "Parallel libgen output differs in " + path);
+    }
+}
+
+// Reads every file under `dir` into a map keyed by its path relative to `dir`.
+function readTree(string dir, string relPath) returns map<string>|error {
+    map<string> files = {};
+    foreach file:MetaData item in check file:readDir(dir) {
+        string name = check file:basename(item.absPath);
+        string itemRelPath = relPath == "" ? name : relPath + "/" + name;
+        if item.dir {
+            foreach [string, string] [path, content] in (check readTree(item.absPath, itemRelPath)).entries() {
+                files[path] = content;
+            }
+        } else {
+            files[itemRelPath] = check io:fileReadString(item.absPath);
+        }
+    }
+    return files;
+}
+
+// Marks generated files with a trailing comment. An incremental run that leaves
+// a file untouched keeps the marker; a run that rewrites the file drops it.
+const UNTOUCHED_MARKER = "\n// untouched\n";
+
+@test:Config {}
+function testIncrementalLibgen() returns error? {
+    string schemaDir = check file:createTempDir();
+    json sampleSchema = check io:fileReadJson("modules/codegen/resources/sample1/schema.json");
+    foreach string name in ["order", "invoice", "shipment"] {
+        check io:fileWriteJson(check file:joinPath(schemaDir, name + ".json"), sampleSchema);
+    }
+    string outputPath = check file:createTempDir();
+    string libPath = check file:joinPath(outputPath, "testlib");
+    LibData libdata = {orgName: "testorg", libName: "testlib", schemaPath: schemaDir, outputPath,
+        versioned: false, incremental: true};
+    check generateLibrary(libdata.clone());
+    test:assertTrue(check file:test(check file:joinPath(libPath, "libgen-manifest.json"), file:EXISTS),
+            "libgen should write a manifest to the library");
+
+    string[] markedFiles = ["testlib.bal", "Ballerina.toml", "modules/morder/G_order.bal",
+        "modules/minvoice/G_invoice.bal", "modules/mshipment/G_shipment.bal"];
+    foreach string markedFile in markedFiles {
+        check markFile(check file:joinPath(libPath, markedFile));
+    }
+
+    // Nothing changed: no file is rewritten.
+    check generateLibrary(libdata.clone());
+    foreach string markedFile in markedFiles {
+        test:assertTrue(check isMarked(check file:joinPath(libPath, markedFile)),
+                "Unchanged library file was rewritten: " + markedFile);
+    }
+
+    // One schema changed: only its module is regenerated.
+    check io:fileWriteJson(check file:joinPath(schemaDir, "invoice.json"), envelopeSchemaJson);
+    check generateLibrary(libdata.clone());
+    test:assertFalse(check isMarked(check file:joinPath(libPath, "modules/minvoice/G_invoice.bal")),
+            "Module of the changed schema should be regenerated");
+    foreach string markedFile in ["modules/morder/G_order.bal", "modules/mshipment/G_shipment.bal"] {
+        test:assertTrue(check isMarked(check file:joinPath(libPath, markedFile)),
+                "Module of an unchanged schema was regenerated: " + markedFile);
+    }
+
+    // One schema removed: its module is deleted and the root files are rewritten.
+    check file:remove(check file:joinPath(schemaDir, "shipment.json"));
+    check generateLibrary(libdata.clone());
+    test:assertFalse(check file:test(check file:joinPath(libPath, "modules/mshipment"), file:EXISTS),
+            "Module of the removed schema should be deleted");
+    test:assertFalse(check isMarked(check file:joinPath(libPath, "testlib.bal")),
+            "Library root file should be rewritten when the set of schemas changes");
+    test:assertTrue(check isMarked(check file:joinPath(libPath, "modules/morder/G_order.bal")),
+            "Module of an unchanged schema was regenerated");
+
+    // The incrementally updated library is the same as one generated from scratch.
+    string freshOutput = check file:createTempDir();
+    check generateLibrary({orgName: "testorg", libName: "testlib", schemaPath: schemaDir, outputPath: freshOutput,
+        versioned: false});
+    string markedPath = check file:joinPath(libPath, "modules/morder/G_order.bal");
+    string markedContent = check io:fileReadString(markedPath);
+    check io:fileWriteString(markedPath, markedContent.substring(0, markedContent.length() - UNTOUCHED_MARKER.length()));
+    map<string> incrementalFiles = check readTree(libPath, "");
+    map<string> freshFiles = check readTree(check file:joinPath(freshOutput, "testlib"), "");
+    test:assertEquals(incrementalFiles, freshFiles, "Incremental libgen output differs from a full generation");
+}
+
+@test:Config {}
+function testLibgenRejectsNonEmptyDirectoryWithoutManifest() returns error? {
+    string schemaDir = check file:createTempDir();
+    check io:fileWriteJson(check file:joinPath(schemaDir, "order.json"),
+            check io:fileReadJson("modules/codegen/resources/sample1/schema.json"));
+    string outputPath = check file:createTempDir();
+    string libPath = check file:joinPath(outputPath, "testlib");
+    check file:createDir(libPath);
+    check io:fileWriteString(check file:joinPath(libPath, "notes.txt"), "not a generated library");
+
+    error? e = generateLibrary({orgName: "testorg", libName: "testlib", schemaPath: schemaDir, outputPath,
+        versioned: false, incremental: true});
+    test:assertTrue(e is error, "Incremental libgen must not write into a directory it did not generate");
+}
+
+function markFile(string path) returns error? {
+    check io:fileWriteString(path, UNTOUCHED_MARKER, io:APPEND);
+}
+
+function isMarked(string path) returns boolean|error {
+    return (check io:fileReadString(path)).endsWith(UNTOUCHED_MARKER);
+}
@@ -0,0 +1,115 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/edi;
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+@test:Config {}
+function testGeneratedMessagesParse() returns error? {
+    json schemaJson = check io:fileReadJson("modules/codegen/resources/sample1/schema.json");
+    string path = check file:joinPath(check file:createTempDir(), "messages.edi");
+    MessageGenResult result = check generateMessages(schemaJson, path, {count: 20, seed: 3});
+
+    string[] messages = check io:fileReadLines(path);
+    test:assertEquals(result.messages, 20);
+    test:assertEquals(messages.length(), 20);
+    edi:EdiSchema schema = check edi:getSchema(schemaJson);
+    foreach string message in messages {
+        test:assertTrue(message.startsWith("HDR"), "Message should start with its first segment: " + message);
+        _ = check edi:fromEdiString(message, schema);
+    }
+}
+
+@test:Config {}
+function testGeneratedMessagesFollowSeed() returns error? {
+    json schemaJson = check io:fileReadJson("modules/codegen/resources/sample1/schema.json");
+    string dir = check file:createTempDir();
+    string[] outputs = [];
+    foreach int seed in [5, 5, 6] {
+        string path = check file:joinPath(dir, string `messages_${outputs.length()}.edi`);
+        _ = check generateMessages(schemaJson, path, {targetSize: 10000, seed});
+        outputs.push(check io:fileReadString(path));
+    }
+    test:assertTrue(outputs[0].length() >= 10000, "Output should reach the target size");
+    test:assertEquals(outputs[0], outputs[1], "The same seed should generate the same messages");
+    test:assertNotEquals(outputs[0], outputs[2], "Different seeds should generate different messages");
+}
+
+@test:Config {}
+function testGeneratedInterchangesParse() returns error? {
+    string path = check file:joinPath(check file:createTempDir(), "interchanges.edi");
+    MessageGenResult result = check generateMessages(envelopeSchemaJson, path,
+            {count: 2, transactions: 3, transactionId: "ORDERS"});
+    test:assertEquals(result.transactions, 6);
+
+    string[] interchanges = check io:fileReadLines(path);
+    test:assertEquals(interchanges.length(), 2);
+    edi:EdiSchema schema = check edi:getSchema(envelopeSchemaJson);
+    foreach string interchange in interchanges {
+        _ = check edi:interchangeFromEdiString(interchange, schema);
+        // Each transaction is UNH, BGM and UNT; UNT carries the segment count.
+        test:assertTrue(interchange.includes("UNH+0001'BGM"), interchange);
+        test:assertTrue(interchange.includes("UNT+3'UNH+0002'"), interchange);
+        test:assertTrue(interchange.endsWith("UNT+3'UNZ+3'"), interchange);
+    }
+}
+
+@test:Config {}
+function testGeneratedX12InterchangeHeader() returns error? {
+    json[] isaFields = [{"tag": "code"}];
+    foreach int i in 1 ... 16 {
+        isaFields.push({"tag": "ISA" + i.toString()});
+    }
+    json schemaJson = {
+        "name": "Invoice",
+        "delimiters": {"segment": "~", "field": "*", "component": ">", "repetition": "^"},
+        "envelope": {
+            "interchange": {"header": [{"ref": "ISA"}], "trailer": [{"ref": "IEA"}]},
+            "group": {"header": [{"ref": "GS"}], "trailer": [{"ref": "GE"}]},
+            "transaction": {"header": [{"ref": "ST"}], "trailer": [{"ref": "SE"}]}
+        },
+        "segments": [
+            {"code": "BIG", "tag": "beginningSegment", "fields": [{"tag": "code"}, {"tag": "date", "required": true}]}
+        ],
+        "segmentDefinitions": {
+            "ISA": {"code": "ISA", "tag": "interchangeHeader", "fields": isaFields},
+            "GS": {"code": "GS", "tag": "groupHeader", "fields": [{"tag": "code"}, {"tag": "GS1"}, {"tag": "GS2"},
+                {"tag": "GS3"}, {"tag": "GS4"}, {"tag": "GS5"}, {"tag": "GS6", "required": true}]},
+            "ST": {"code": "ST", "tag": "transactionHeader", "fields": [{"tag": "code"}, {"tag": "ST1"},
+                {"tag": "ST2"}]},
+            "SE": {"code": "SE", "tag": "transactionTrailer", "fields": [{"tag": "code"},
+                {"tag": "SE1", "dataType": "int"}, {"tag": "SE2"}]},
+            "GE": {"code": "GE", "tag": "groupTrailer", "fields": [{"tag": "code"},
+                {"tag": "GE1", "dataType": "int"}, {"tag": "GE2"}]},
+            "IEA": {"code": "IEA", "tag": "interchangeTrailer", "fields": [{"tag": "code"},
+                {"tag": "IEA1", "dataType": "int"}, {"tag": "IEA2"}]}
+        }
+    };
+    string path = check file:joinPath(check file:createTempDir(), "invoices.edi");
+    _ = check generateMessages(schemaJson, path, {transactions: 2, transactionId: "810"});
+
+    string interchange = (check io:fileReadLines(path))[0];
+    // The ISA fields have fixed widths, so the delimiters are at fixed positions.
+    test:assertEquals(interchange.substring(3, 4), "*");
+    test:assertEquals(interchange.substring(82, 83), "^");
+    test:assertEquals(interchange.substring(90, 99), "000000001");
+    test:assertEquals(interchange.substring(104, 106), ">~");
+    test:assertTrue(interchange.includes("~ST*810*0001~BIG*"), interchange);
+    test:assertTrue(interchange.includes("~SE*3*0002~GE*2*1~IEA*1*000000001~"), interchange);
+    _ = check edi:interchangeFromEdiString(interchange, check edi:getSchema(schemaJson));
+}
@@ -0,0 +1,72 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+function generateMetricsLibrary(string outputPath, boolean metrics, boolean incremental = false) returns string|error {
+    string schemaDir = check file:createTempDir();
+    check io:fileWriteJson(check file:joinPath(schemaDir, "order.json"),
+            check io:fileReadJson("modules/codegen/resources/sample1/schema.json"));
+    check generateLibrary({orgName: "testorg", libName: "metricslib", schemaPath: schemaDir, outputPath,
+        versioned: false, metrics, incremental});
+    check file:remove(schemaDir, file:RECURSIVE);
+    return file:joinPath(outputPath, "metricslib");
+}
+
+@test:Config {}
+function testLibgenMetricsOption() returns error? {
+    string outputPath = check file:createTempDir();
+    string libPath = check generateMetricsLibrary(outputPath, false);
+    string metricsPath = check file:joinPath(libPath, "metrics.bal");
+    string rootPath = check file:joinPath(libPath, "metricslib.bal");
+    string restConnectorPath = check file:joinPath(libPath, "rest_connector.bal");
+    test:assertFalse(check file:test(metricsPath, file:EXISTS), "metrics.bal should only be generated with metrics");
+    test:assertTrue((check io:fileReadString(rootPath)).includes("return ediDeserialize(ediText);"));
+    test:assertFalse((check io:fileReadString(restConnectorPath)).includes("get metrics()"));
+
+    // Switching metrics on rewrites the root files of an incrementally generated library.
+    _ = check generateMetricsLibrary(outputPath, true, true);
+    test:assertTrue(check file:test(metricsPath, file:EXISTS), "metrics.bal should be generated with metrics");
+    test:assertTrue((check io:fileReadString(metricsPath)).includes("\"edi_conversion_seconds_bucket\""),
+            "The latency buckets should be published as observe metrics");
+    string rootCode = check io:fileReadString(rootPath);
+    test:assertTrue(rootCode.includes("return parseWithMetrics(ediDeserialize, ediText, ediName);"));
+    test:assertTrue(rootCode.includes("return serializeWithMetrics(ediSerialize, data, ediName);"));
+    test:assertTrue((check io:fileReadString(restConnectorPath)).includes(
+            "isolated resource function get metrics() returns EdiMetrics[]"));
+
+    _ = check generateMetricsLibrary(outputPath, false, true);
+    test:assertFalse(check file:test(metricsPath, file:EXISTS), "metrics.bal should be removed without metrics");
+    test:assertTrue((check io:fileReadString(rootPath)).includes("return ediDeserialize(ediText);"));
+
+    check file:remove(outputPath, file:RECURSIVE);
+}
+
+@test:Config {}
+function testGeneratedLibraryWithMetricsCompiles() returns error? {
+    string outputPath = check file:createTempDir();
+    string libPath = check generateMetricsLibrary(outputPath, true);
+
+    string? failure = check buildBalPackage(libPath, "Generated library with metrics");
+    check file:remove(outputPath, file:RECURSIVE);
+
+    if failure is string {
+        test:assertFail(failure);
+    }
+}
@@ -14,6 +14,7 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/edi;
 import ballerina/test;
 
 @test:Config {}
@@ -64,3 +65,68 @@ function testComplexRecordGeneration() {
     output = re2.replaceAll(output, " ");
     test:assertEquals(output, expected);
 }
+
+final readonly & json partyLoopJson = {
+    "tag": "party",
+    "maxOccurances": -1,
+    "segments": [
+        {"code": "N1", "tag": "name", "fields": [{"tag": "code", "required": true}, {"tag": "entity"}]},
+        {"code": "REF", "tag": "reference", "maxOccurances": -1,
+            "fields": [{"tag": "code", "required": true}, {"tag": "qualifier"}, {"tag": "value"}]}
+    ]
+};
+
+final readonly & json repeatedLoopSchemaJson = {
+    "name": "Shipment",
+    "delimiters": {"segment": "~", "field": "*", "component": ":", "repetition": "^"},
+    "segments": [
+        {"tag": "shipper", "segments": [partyLoopJson]},
+        {"tag": "consignee", "segments": [partyLoopJson]},
+        {
+            "tag": "items",
+            "maxOccurances": -1,
+            "segments": [
+                partyLoopJson,
+                {"code": "NTE", "tag": "name", "fields": [{"tag": "code", "required": true}, {"tag": "note"}]}
+            ]
+        }
+    ]
+};
+
+@test:Config {}
+function testStructurallyIdenticalRecordsAreShared() returns error? {
+    BalRecord[] records = check generateCode(check edi:getSchema(repeatedLoopSchemaJson));
+    map<BalRecord> byName = map from BalRecord rec in records
+        select [rec.name, rec];
+
+    // The three `party` loops have the same structure, so they share one type.
+    BalRecord shipment = byName.get("Shipment");
+    test:assertEquals(typeNameOf(byName.get(typeNameOf(shipment, "shipper")), "party"), "Party_GType");
+    test:assertEquals(typeNameOf(byName.get(typeNameOf(shipment, "consignee")), "party"), "Party_GType");
+    test:assertEquals(typeNameOf(byName.get(typeNameOf(shipment, "items")), "party"), "Party_GType");
+    test:assertFalse(byName.hasKey("Party2_GType"), "Identical party loops should not produce a second type");
+    test:assertEquals(typeNameOf(byName.get("Party_GType"), "reference"), "Reference_Type");
+}
+
+@test:Config {}
+function testSegmentsSharingATagGetDistinctTypes() returns error? {
+    BalRecord[] records = check generateCode(check edi:getSchema(repeatedLoopSchemaJson));
+    map<BalRecord> byName = map from BalRecord rec in records
+        select [rec.name, rec];
+
+    // `name` is used for both the N1 and the NTE segment, which have different codes and fields.
+    BalRecord items = byName.get(typeNameOf(byName.get("Shipment"), "items"));
+    test:assertEquals(typeNameOf(items, "name"), "Name2_Type");
+    BalRecord nte = byName.get("Name2_Type");
+    test:assertTrue(nte.getField("note") is BalField, "NTE segment type should have its own fields");
+    test:assertTrue(byName.get("Name_Type").getField("entity") is BalField, "N1 segment type should keep its fields");
+}
+
+function typeNameOf(BalRecord rec, string fieldName) returns string {
+    BalField? f = rec.getField(fieldName);
+    if f is () {
+        return "";
+    }
+    BalType t = f.btype;
+    return t is BalRecord ? t.name : t;
+}
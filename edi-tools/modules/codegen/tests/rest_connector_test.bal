@@ -0,0 +1,54 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+@test:Config {}
+function testRestConnectorHasBulkResources() {
+    string restConnector = generateRESTConnector("testorg.testlib");
+    foreach string expected in [
+        "configurable int restConnectorPort = 9090;",
+        "configurable decimal restConnectorTimeout = 60;",
+        "configurable int restConnectorBulkConcurrency = 8;",
+        "configurable int restConnectorBulkMaxItems = 10000;",
+        "service /testorg_testlibParser on new http:Listener(restConnectorPort, timeout = restConnectorTimeout)",
+        "resource function post bulk/edis/[string ediType](http:Request request)",
+        "resource function post bulk/objects/[string ediType](http:Request request)",
+        // Bulk requests are read as a stream rather than as one text payload.
+        "self.body = check request.getByteStream();"
+    ] {
+        test:assertTrue(restConnector.includes(expected), "REST connector does not contain: " + expected);
+    }
+}
+
+@test:Config {}
+function testGeneratedLibraryWithRestConnectorCompiles() returns error? {
+    string schemaDir = check file:createTempDir();
+    check io:fileWriteJson(check file:joinPath(schemaDir, "order.json"),
+            check io:fileReadJson("modules/codegen/resources/sample1/schema.json"));
+    string outputPath = check file:createTempDir();
+    check generateLibrary({orgName: "testorg", libName: "testlib", schemaPath: schemaDir, outputPath,
+        versioned: false});
+
+    string? failure = check buildBalPackage(check file:joinPath(outputPath, "testlib"), "Generated library");
+    check file:remove(outputPath, file:RECURSIVE);
+
+    if failure is string {
+        test:assertFail(failure);
+    }
+}
@@ -0,0 +1,126 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+@test:Config {}
+function testTransactionStreamOutput() returns error? {
+    string outPath = check file:createTempDir() + "/rate.bal";
+    check generateCodeForSchema(x12EnvelopeSchemaJson, outPath);
+    string output = check io:fileReadString(outPath);
+
+    test:assertTrue(output.includes("public isolated function transactionsFromEdiString(string ediText) returns RateTransactionStream|error"),
+            "Expected transactionsFromEdiString for an envelope schema");
+    test:assertTrue(output.includes("stream<RateGroupTransaction, error?> transactions;"),
+            "Grouped envelopes should stream transactions with their group header");
+    test:assertTrue(output.includes("isolated function readRateInterchangeHeader(EdiCodecState state)"),
+            "The stream needs readers for the envelope records");
+    test:assertFalse(output.includes("isolated function readRate(EdiCodecState state)"),
+            "Bodies are read by the runtime without the typed codec");
+
+    string plainPath = check file:createTempDir() + "/order.bal";
+    check generateCodeForSchema(check io:fileReadJson("modules/codegen/resources/sample1/schema.json"), plainPath);
+    string plainOutput = check io:fileReadString(plainPath);
+    test:assertFalse(plainOutput.includes("transactionsFromEdiString"),
+            "Schemas without an envelope have no transaction stream");
+    test:assertFalse(plainOutput.includes("EdiCodecState"), "Schemas without an envelope need no readers");
+}
+
+// Builds and runs a package that reads the same interchanges with
+// `interchangeFromEdiString` and with the transaction stream, with and without
+// the typed codec. The generated main returns an error on any mismatch.
+@test:Config {}
+function testTransactionStreamMatchesInterchange() returns error? {
+    string tmpDir = check file:createTempDir();
+    string pkgPath = check file:joinPath(tmpDir, "streamcheck");
+    foreach string module in ["edifact", "x12", "typedx12"] {
+        check file:createDir(check file:joinPath(pkgPath, "modules", module), file:RECURSIVE);
+    }
+    check generateCodeForSchema(envelopeSchemaJson, check file:joinPath(pkgPath, "modules", "edifact", "orders_gen.bal"));
+    check generateCodeForSchema(x12EnvelopeSchemaJson, check file:joinPath(pkgPath, "modules", "x12", "rate_gen.bal"));
+    check generateCodeForSchema(x12EnvelopeSchemaJson, check file:joinPath(pkgPath, "modules", "typedx12", "rate_gen.bal"), true);
+
+    string balToml = string `
+[package]
+org = "wso2test"
+name = "streamcheck"
+version = "0.1.0"
+`;
+    check io:fileWriteString(check file:joinPath(pkgPath, "Ballerina.toml"), balToml);
+
+    string mainBal = string `
+import streamcheck.edifact;
+import streamcheck.typedx12;
+import streamcheck.x12;
+
+// The second EDIFACT message and the second X12 transaction of the first group have a malformed body.
+const EDIFACT_TEXT = "UNB+1'UNH+M1'BGM+D1'UNT+M1'UNH+M2'XYZ+1'UNT+M2'UNH+M3'BGM+D3'UNT+M3'UNZ+3'";
+const X12_TEXT = "ISA*1~GS*2~ST*3*4~B3*INV-1~SE*3*4~ST*3*5~XYZ*1~SE*3*5~GE*2*2~GS*6~ST*3*7~B3*INV-3~SE*3*7~GE*1*6~IEA*2*1~";
+
+public function main() returns error? {
+    edifact:OrdersInterchange orders = check edifact:interchangeFromEdiString(EDIFACT_TEXT);
+    edifact:OrdersTransactionStream orderStream = check edifact:transactionsFromEdiString(EDIFACT_TEXT);
+    check expectSame(orderStream.interchangeHeader.toString(), orders.interchangeHeader.toString(), "EDIFACT header");
+    string[] expected = from edifact:OrdersTransaction t in orders.transactions select describe(t.transactionHeader, t.body, t.transactionTrailer);
+    string[] streamed = check from edifact:OrdersTransaction t in orderStream.transactions select describe(t.transactionHeader, t.body, t.transactionTrailer);
+    check expectSame(streamed.toString(), expected.toString(), "EDIFACT transactions");
+
+    x12:RateInterchange rate = check x12:interchangeFromEdiString(X12_TEXT);
+    expected = [];
+    foreach x12:RateFunctionalGroup g in rate.groups {
+        foreach x12:RateTransaction t in g.transactions {
+            expected.push(g.groupHeader.toString() + describe(t.transactionHeader, t.body, t.transactionTrailer));
+        }
+    }
+    x12:RateTransactionStream rateStream = check x12:transactionsFromEdiString(X12_TEXT);
+    check expectSame(rateStream.interchangeHeader.toString(), rate.interchangeHeader.toString(), "X12 header");
+    streamed = check from x12:RateGroupTransaction gt in rateStream.transactions
+        select gt.groupHeader.toString() + describe(gt.'transaction.transactionHeader, gt.'transaction.body, gt.'transaction.transactionTrailer);
+    check expectSame(streamed.toString(), expected.toString(), "X12 transactions");
+
+    typedx12:RateTransactionStream typedStream = check typedx12:transactionsFromEdiString(X12_TEXT);
+    streamed = check from typedx12:RateGroupTransaction gt in typedStream.transactions
+        select gt.groupHeader.toString() + describe(gt.'transaction.transactionHeader, gt.'transaction.body, gt.'transaction.transactionTrailer);
+    check expectSame(streamed.toString(), expected.toString(), "Typed X12 transactions");
+
+    stream<x12:RateGroupTransaction, error?> truncated = (check x12:transactionsFromEdiString("ISA*1~GS*2~ST*3*4~B3*INV-1~SE*3*4~")).transactions;
+    x12:RateGroupTransaction[]|error read = from x12:RateGroupTransaction gt in truncated select gt;
+    if read !is error {
+        return error("A truncated interchange should end the stream with an error");
+    }
+}
+
+function describe(anydata header, anydata|error body, anydata trailer) returns string {
+    return header.toString() + (body is error ? "<error>" : body.toString()) + trailer.toString();
+}
+
+function expectSame(string actual, string expected, string what) returns error? {
+    if actual != expected {
+        return error(what + " differ. Stream: " + actual + ", interchange: " + expected);
+    }
+}
+`;
+    check io:fileWriteString(check file:joinPath(pkgPath, "main.bal"), mainBal);
+
+    string? failure = check runBalPackage(pkgPath, "Transaction stream check");
+    check file:remove(tmpDir, file:RECURSIVE);
+
+    if failure is string {
+        test:assertFail(failure);
+    }
+}
@@ -0,0 +1,119 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+@test:Config {}
+function testTypedCodecOutput() returns error? {
+    string outPath = check file:createTempDir() + "/orders.bal";
+    check generateCodeForSchema(envelopeSchemaJson, outPath, typedCodec = true);
+
+    string output = check io:fileReadString(outPath);
+
+    // Every generated record gets its own reader and writer.
+    test:assertTrue(output.includes("isolated function readOrders(EdiCodecState state) returns Orders|error"),
+            "Expected a reader for the Orders body record");
+    test:assertTrue(output.includes("isolated function readBeginningOfMessage_Type(string[] f, EdiCodecDelimiters d)"),
+            "Expected a reader for the BGM segment record");
+    test:assertTrue(output.includes("isolated function writeOrdersInterchangeHeader(OrdersInterchangeHeader r"),
+            "Expected a writer for the interchange header wrapper");
+
+    // Entry points use the typed codec, not the runtime's JSON representation.
+    test:assertTrue(output.includes("EdiCodecState state = ediCodecOpen(ediText, codecDelimiters, codecIgnoreSegments);"),
+            "fromEdiString should read with the typed codec");
+    test:assertFalse(output.includes("check edi:fromEdiString(ediText, resolvedSchema)"),
+            "fromEdiString must not convert through JSON in typed codec mode");
+    test:assertFalse(output.includes("check edi:interchangeFromEdiString(ediText, resolvedSchema)"),
+            "interchangeFromEdiString must not convert through JSON in typed codec mode");
+
+    // The runtime path stays available for customized schemas.
+    test:assertTrue(output.includes("public isolated function fromEdiStringWithSchema"),
+            "fromEdiStringWithSchema should still be generated");
+}
+
+// Builds and runs a package that reads sample1 with both the typed codec and the
+// runtime path, and round-trips an envelope through the typed codec. The
+// generated main returns an error, and `bal run` exits non-zero, on any mismatch.
+@test:Config {}
+function testTypedCodecMatchesRuntime() returns error? {
+    string tmpDir = check file:createTempDir();
+    string pkgPath = check file:joinPath(tmpDir, "typedcheck");
+    string sampleSchemaPath = "modules/codegen/resources/sample1/schema.json";
+    string sampleMessagePath = check file:getAbsolutePath("modules/codegen/resources/sample1/message.edi");
+    json sampleSchema = check io:fileReadJson(sampleSchemaPath);
+
+    foreach string module in ["typed", "runtime", "typedenv", "typedx12"] {
+        check file:createDir(check file:joinPath(pkgPath, "modules", module), file:RECURSIVE);
+    }
+    check generateCodeForSchema(sampleSchema, check file:joinPath(pkgPath, "modules", "typed", "order_gen.bal"), true);
+    check generateCodeForSchema(sampleSchema, check file:joinPath(pkgPath, "modules", "runtime", "order_gen.bal"));
+    check generateCodeForSchema(envelopeSchemaJson, check file:joinPath(pkgPath, "modules", "typedenv", "orders_gen.bal"), true);
+    check generateCodeForSchema(x12EnvelopeSchemaJson, check file:joinPath(pkgPath, "modules", "typedx12", "rate_gen.bal"), true);
+
+    string balToml = string `
+[package]
+org = "wso2test"
+name = "typedcheck"
+version = "0.1.0"
+`;
+    check io:fileWriteString(check file:joinPath(pkgPath, "Ballerina.toml"), balToml);
+
+    string mainBal = string `
+import ballerina/io;
+import typedcheck.runtime;
+import typedcheck.typed;
+import typedcheck.typedenv;
+import typedcheck.typedx12;
+
+public function main() returns error? {
+    string ediText = check io:fileReadString(${sampleMessagePath.toJsonString()});
+    typed:SimpleOrder viaCodec = check typed:fromEdiString(ediText);
+    runtime:SimpleOrder viaRuntime = check runtime:fromEdiString(ediText);
+    if viaCodec.toJson() != viaRuntime.toJson() {
+        return error("Typed codec read differs from the runtime: " + viaCodec.toJsonString());
+    }
+    string written = check typed:toEdiString(viaCodec);
+    runtime:SimpleOrder reread = check runtime:fromEdiString(written);
+    if reread.toJson() != viaRuntime.toJson() {
+        return error("Runtime cannot read the typed codec output: " + written);
+    }
+
+    typedenv:OrdersInterchange interchange = check typedenv:interchangeFromEdiString("UNB+1'UNH+M1'BGM+D1'UNT+M1'UNZ+1'");
+    if interchange.transactions.length() != 1 || interchange.transactions[0].body is error {
+        return error("Unexpected EDIFACT interchange: " + interchange.toString());
+    }
+    typedenv:OrdersInterchange again = check typedenv:interchangeFromEdiString(check typedenv:interchangeToEdiString(interchange));
+    if again.toString() != interchange.toString() {
+        return error("EDIFACT interchange round trip changed the message: " + again.toString());
+    }
+
+    typedx12:RateInterchange rate = check typedx12:interchangeFromEdiString("ISA*1~GS*2~ST*3*4~B3*INV-1~SE*3*4~GE*1*2~IEA*1*1~");
+    if rate.groups.length() != 1 || rate.groups[0].transactions.length() != 1 {
+        return error("Unexpected X12 interchange: " + rate.toString());
+    }
+}
+`;
+    check io:fileWriteString(check file:joinPath(pkgPath, "main.bal"), mainBal);
+
+    string? failure = check runBalPackage(pkgPath, "Typed codec check");
+    check file:remove(tmpDir, file:RECURSIVE);
+
+    if failure is string {
+        test:assertFail(failure);
+    }
+}
@@ -0,0 +1,220 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/edi;
+
+// Lazy transaction streams.
+//
+// `interchangeFromEdiString` builds the whole envelope hierarchy before it
+// returns. For envelope-aware schemas the generated module also exposes
+// `transactionsFromEdiString`, which reads the interchange header eagerly and
+// returns a stream that reads one transaction per pull. Envelope segments are
+// read with the typed codec readers. In typed codec mode the bodies are read
+// the same way; otherwise the text of each body is sliced out and converted by
+// the ballerina/edi runtime, so only the transaction being pulled is parsed.
+// `transactionsFromEdiChannel` and `transactionsFromEdiFile` read the
+// interchange from a channel as the transactions are pulled, so only the text
+// of the transaction being pulled is held.
+
+// Renders the stream records, the reader class behind the stream and the
+// `transactionsFrom*` entry points.
+isolated function renderTransactionStreamFns(string name, edi:EdiEnvelopeSchema env, boolean typedCodec) returns string {
+    edi:EdiEnvelopeLevel? grp = env?.group;
+    string txnHeaderCodes = unitsLeadingCodes(env.'transaction.header).toString();
+    string txnTrailerCodes = unitsLeadingCodes(env.'transaction.trailer).toString();
+    string itemType = grp is edi:EdiEnvelopeLevel ? name + "GroupTransaction" : name + "Transaction";
+
+    string streamRecords = grp is edi:EdiEnvelopeLevel ?
+        string `
+# A transaction read from a ${name} transaction stream, with the header of its functional group.
+#
+# + groupHeader - Header segment of the functional group of the transaction
+# + 'transaction - The transaction
+public type ${name}GroupTransaction record {|
+    ${name}GroupHeader groupHeader;
+    ${name}Transaction 'transaction;
+|};
+
+# A ${name} interchange whose transactions are read as they are pulled from the stream.
+#
+# + interchangeHeader - Interchange header segment
+# + transactions - Transactions of all functional groups, in interchange order
+public type ${name}TransactionStream record {|
+    ${name}InterchangeHeader interchangeHeader;
+    stream<${name}GroupTransaction, error?> transactions;
+|};
+` :
+        string `
+# A ${name} interchange whose transactions are read as they are pulled from the stream.
+#
+# + interchangeHeader - Interchange header segment
+# + transactions - Transactions in interchange order
+public type ${name}TransactionStream record {|
+    ${name}InterchangeHeader interchangeHeader;
+    stream<${name}Transaction, error?> transactions;
+|};
+`;
+
+    string nextTransaction = grp is edi:EdiEnvelopeLevel ?
+        string `while true {
+            ${name}GroupHeader? groupHeader = self.groupHeader;
+            if groupHeader is () {
+                if !(check ediCodecAt(state, ${unitsLeadingCodes(grp.header).toString()})) {
+                    break;
+                }
+                self.groupHeader = check read${name}GroupHeader(state);
+            } else if check ediCodecAt(state, ${txnHeaderCodes}) {
+                return {value: {groupHeader, 'transaction: check self.readTransaction()}};
+            } else {
+                _ = check read${name}GroupTrailer(state);
+                self.groupHeader = ();
+            }
+        }` :
+        string `if check ediCodecAt(state, ${txnHeaderCodes}) {
+            return {value: check self.readTransaction()};
+        }`;
+
+    string bodyField = typedCodec ? "" : string `
+    private final readonly & edi:EdiSchema bodySchema;`;
+    string bodySchemaInit = typedCodec ? "" : string `
+        // Bodies are sliced out of the interchange, so they use its delimiters.
+        edi:EdiSchema bodySchema = check edi:getSchema(schemaJson);
+        bodySchema.envelope = ();
+        bodySchema.delimiters.segment = state.delimiters.segment;
+        bodySchema.delimiters.'field = state.delimiters.'field;
+        bodySchema.delimiters.component = state.delimiters.component;
+        bodySchema.delimiters.repetition = state.delimiters.repetition;
+        self.bodySchema = bodySchema.cloneReadOnly();`;
+    string readBody = typedCodec ?
+        string `${name}|error body = read${name}TransactionBody(state);
+        if body is error {
+            check ediCodecSkipTo(state, ${txnTrailerCodes});
+        }` :
+        string `check ediCodecMark(state);
+        check ediCodecSkipTo(state, ${txnTrailerCodes});
+        string bodyText = check ediCodecTakeMarked(state);
+        ${name}|error body = convert${name}Body(edi:fromEdiString(bodyText, self.bodySchema));`;
+
+    return string `
+${streamRecords}
+# Read the interchange header from the given EDI string and return a stream of its transactions.
+# Each transaction is parsed when it is pulled from the stream, so only one transaction body is
+# held at a time. A malformed transaction body becomes an error in that transaction's body field;
+# a malformed envelope ends the stream with an error.
+#
+# + ediText - EDI string to parse
+# + return - ${name}TransactionStream, or error if the interchange header is malformed
+public isolated function transactionsFromEdiString(string ediText) returns ${name}TransactionStream|error {
+    EdiCodecState state = ediCodecOpen(ediText, codecDelimiters, codecIgnoreSegments);
+    ${name}InterchangeHeader interchangeHeader = check read${name}InterchangeHeader(state);
+    ${name}TransactionReader reader = check new (state);
+    return {interchangeHeader, transactions: new stream<${itemType}, error?>(reader)};
+}
+
+# Read the interchange header from EDI text in a channel and return a stream of its transactions.
+# The rest of the text is read as the transactions are pulled. The channel is not closed.
+#
+# + channel - Channel to read the EDI text from
+# + charset - Charset of the EDI text in a byte channel
+# + return - ${name}TransactionStream, or error if the interchange header is malformed
+public isolated function transactionsFromEdiChannel(io:ReadableByteChannel|io:ReadableCharacterChannel channel,
+        string charset = "UTF-8") returns ${name}TransactionStream|error {
+    EdiCodecState state = check ediCodecOpenChannel(ediReadableCharacterChannel(channel, charset), codecDelimiters,
+            codecIgnoreSegments);
+    ${name}InterchangeHeader interchangeHeader = check read${name}InterchangeHeader(state);
+    ${name}TransactionReader reader = check new (state);
+    return {interchangeHeader, transactions: new stream<${itemType}, error?>(reader)};
+}
+
+# Read the interchange header from an EDI file and return a stream of its transactions.
+# The file is closed when the stream ends, fails or is closed.
+#
+# + path - Path of the EDI file
+# + charset - Charset of the EDI file
+# + return - ${name}TransactionStream, or error if the interchange header is malformed
+public isolated function transactionsFromEdiFile(string path, string charset = "UTF-8")
+        returns ${name}TransactionStream|error {
+    io:ReadableByteChannel file = check io:openReadableFile(path);
+    ${name}TransactionStream|error transactions = openEdiFileTransactions(file, charset);
+    if transactions is error {
+        check file.close();
+    }
+    return transactions;
+}
+
+isolated function openEdiFileTransactions(io:ReadableByteChannel file, string charset)
+        returns ${name}TransactionStream|error {
+    EdiCodecState state = check ediCodecOpenChannel(ediReadableCharacterChannel(file, charset), codecDelimiters,
+            codecIgnoreSegments);
+    ${name}InterchangeHeader interchangeHeader = check read${name}InterchangeHeader(state);
+    ${name}TransactionReader reader = check new (state, file);
+    return {interchangeHeader, transactions: new stream<${itemType}, error?>(reader)};
+}
+
+// Reads the transactions of an interchange one at a time, after its interchange
+// header. A file opened for the stream is closed when the stream ends.
+class ${name}TransactionReader {
+    private final EdiCodecState state;
+    private io:ReadableByteChannel? file;${grp is edi:EdiEnvelopeLevel ? string `
+    private ${name}GroupHeader? groupHeader = ();` : ""}${bodyField}
+    private boolean done = false;
+
+    isolated function init(EdiCodecState state, io:ReadableByteChannel? file = ()) returns error? {
+        self.state = state;
+        self.file = file;${bodySchemaInit}
+    }
+
+    public isolated function next() returns record {| ${itemType} value; |}|error? {
+        record {| ${itemType} value; |}|error? item = self.readNext();
+        if item is record {| ${itemType} value; |} {
+            return item;
+        }
+        error? closed = self.close();
+        if item is error {
+            return item;
+        }
+        return closed;
+    }
+
+    public isolated function close() returns error? {
+        io:ReadableByteChannel? file = self.file;
+        if file is io:ReadableByteChannel {
+            self.file = ();
+            check file.close();
+        }
+    }
+
+    isolated function readNext() returns record {| ${itemType} value; |}|error? {
+        if self.done {
+            return ();
+        }
+        EdiCodecState state = self.state;
+        ${nextTransaction}
+        self.done = true;
+        _ = check read${name}InterchangeTrailer(state);
+        check ediCodecExpectEnd(state);
+        return ();
+    }
+
+    isolated function readTransaction() returns ${name}Transaction|error {
+        EdiCodecState state = self.state;
+        ${name}TransactionHeader transactionHeader = check read${name}TransactionHeader(state);
+        ${readBody}
+        ${name}TransactionTrailer transactionTrailer = check read${name}TransactionTrailer(state);
+        return {transactionHeader, body, transactionTrailer};
+    }
+}`;
+}
@@ -14,8 +14,56 @@
 // specific language governing permissions and limitations
 // under the License.
 
-function generateTransformerCode(string ediName, string mainRecordName) returns string {
-    string transformer = string `
+import ballerina/edi;
+
+// Renders the transformer of a library module. `transformFromEdiChannel`, which
+// the library root reads channels and files with, is only rendered when the
+// module can read EDI text as it arrives: with the typed codec, or per
+// transaction for envelope-aware schemas.
+isolated function generateTransformerCode(string ediName, string mainRecordName, boolean typedCodec,
+        edi:EdiEnvelopeSchema? env) returns string {
+    string channelReader = "";
+    if env is edi:EdiEnvelopeSchema {
+        string itemType = env?.group is edi:EdiEnvelopeLevel ?
+            mainRecordName + "GroupTransaction" : mainRecordName + "Transaction";
+        string body = env?.group is edi:EdiEnvelopeLevel ? "item.value.'transaction.body" : "item.value.body";
+        channelReader = string `
+
+# Read the transactions of a ${mainRecordName} interchange from EDI text in a channel, one
+# transaction at a time, as transactionsFromEdiChannel does. The channel is read to its end
+# but not closed.
+#
+# + channel - Channel to read the EDI text from
+# + charset - Charset of the EDI text in a byte channel
+# + return - Transaction bodies in interchange order, or error if a transaction or the envelope is malformed
+public isolated function transformFromEdiChannel(io:ReadableByteChannel|io:ReadableCharacterChannel channel,
+        string charset) returns anydata|error {
+    ${mainRecordName}TransactionStream interchange = check transactionsFromEdiChannel(channel, charset);
+    InternalType[] bodies = [];
+    record {| ${itemType} value; |}? item = check interchange.transactions.next();
+    while item is record {| ${itemType} value; |} {
+        bodies.push(transformRead(check ${body}));
+        item = check interchange.transactions.next();
+    }
+    return bodies;
+}`;
+    } else if typedCodec {
+        channelReader = string `
+
+# Read Ballerina ${mainRecordName} record from EDI text in a channel. The EDI text is parsed
+# as it is read.
+#
+# + channel - Channel to read the EDI text from
+# + charset - Charset of the EDI text in a byte channel
+# + return - Ballerina record or error
+public isolated function transformFromEdiChannel(io:ReadableByteChannel|io:ReadableCharacterChannel channel,
+        string charset) returns anydata|error {
+    ${mainRecordName} data = check fromEdiChannel(channel, charset);
+    return transformRead(data);
+}`;
+    }
+
+    string transformer = string `${channelReader == "" ? "" : "\nimport ballerina/io;\n"}
 type InternalType ${mainRecordName};
 
 # Convert EDI string to Ballerina ${mainRecordName} record.
@@ -25,7 +73,7 @@ type InternalType ${mainRecordName};
 public isolated function transformFromEdiString(string ediText) returns anydata|error {
     ${mainRecordName} data = check fromEdiString(ediText);
     return transformRead(data);
-}
+}${channelReader}
 
 isolated function transformRead(${mainRecordName} data) returns InternalType => data;
 
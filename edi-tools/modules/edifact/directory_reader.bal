@@ -0,0 +1,381 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/lang.regexp;
+import ballerina/log;
+
+// Data element from the element directory (EDED).
+type ElementDef record {|
+    string name;
+    string repr;
+|};
+
+// Component of a composite, from the composite directory (EDCD) or listed
+// under a composite position in the segment directory (EDSD).
+type DirectoryComponent record {|
+    string elementCode;
+    string name;
+    boolean required;
+    string repr;
+|};
+
+// Position of a segment in the segment directory. A position without a
+// representation is a composite.
+type SegmentPosition record {|
+    string code;
+    string name;
+    int repeat;
+    string repr;
+    DirectoryComponent[] components = [];
+|};
+
+// Definitions of one UN/EDIFACT directory version, indexed by code, and the
+// message files by message type.
+type EdifactDirectory record {|
+    map<SegmentPosition[]> segments = {};
+    map<DirectoryComponent[]> composites = {};
+    map<ElementDef> elements = {};
+    map<string> messageFiles = {};
+|};
+
+final regexp:RegExp lineBreakReg = re `\r?\n`;
+final regexp:RegExp entrySeparatorReg = re `-{20,}\s*`;
+final regexp:RegExp messageFileReg = re `([A-Z]{6})_[A-Z]\.[0-9A-Z]{3}`;
+
+// Change indicators, such as `+` or `X`, may precede a code in any of the files.
+final regexp:RegExp entryHeaderReg = re `[+*#|X]?\s*([A-Z][A-Z0-9]{2,3})\s+(\S.*)`;
+final regexp:RegExp elementHeaderReg = re `[+*#|X]?\s*(\d{4})\s+(.+?)\s+\[[A-Z]\]`;
+final regexp:RegExp elementReprReg = re `Repr:\s*(\S+).*`;
+final regexp:RegExp segmentPositionReg = re `\d{3}\s+[+*#|X]?\s*([A-Z]?\d{3,4})\s+(.+?)\s+([CM])\s+(\d+)\s*(\S*)`;
+final regexp:RegExp componentLineReg = re `(\d{3}\s+)?[+*#|X]?\s*(\d{4})\s+(.+?)\s+([CM])\s+(\S+)`;
+
+final regexp:RegExp segmentTableTitleReg = re `\d+\.\d+\.\d+\s+Segment table`;
+final regexp:RegExp tableSegmentReg = re `\d{4,5}\s+[+*#|X]?\s*([A-Z]{3}) (.+?)\s+([CM])\s+(\d+)(.*)`;
+final regexp:RegExp tableGroupReg = re `\d{4,5}\s+[+*#|X]?\s*-+ Segment group (\d+)\s+-+\s+([CM])\s+(\d+)(.*)`;
+
+# Converts UN/EDIFACT message types to Ballerina EDI schemas from a local copy of a directory version.
+#
+# The directory, including its subdirectories, should contain the plain-text files published by UNECE
+# for the version: the segment directory (e.g. `EDSD.03A`), the composite and element directories
+# (`EDCD.03A`, `EDED.03A`) and the message files (e.g. `ORDERS_D.03A`). All definitions are read once
+# into an index before any schema is generated, and no network access is needed.
+#
+# + directoryPath - Directory containing the UN/EDIFACT directory files
+# + dir - Directory to write the schemas to
+# + messageType - Message type to convert. All message types in the directory are converted if not given.
+# + return - Error if the conversion fails
+public function convertEdifactDirectoryToEdi(string directoryPath, string dir, string? messageType = ()) returns error? {
+    EdifactDirectory directory = check readEdifactDirectory(directoryPath);
+    if directory.segments.length() == 0 {
+        return error("No segment directory (EDSD) file found in " + directoryPath);
+    }
+
+    string[] messageTypes;
+    if messageType is string {
+        if !directory.messageFiles.hasKey(messageType) {
+            return error("Invalid message type " + messageType + " is given");
+        }
+        messageTypes = [messageType];
+    } else {
+        messageTypes = from string code in directory.messageFiles.keys() order by code select code;
+    }
+
+    map<(Segement|SegmentGroup)[]> messageSegments = {};
+    map<string> segmentTags = {};
+    foreach string code in messageTypes {
+        (Segement|SegmentGroup)[] segments = check readSegmentTable(directory.messageFiles.get(code));
+        collectSegmentTags(segments, segmentTags);
+        messageSegments[code] = segments;
+    }
+
+    SegmentDefintions allSegmentDefinitions = {"UNH": UNH, "UNT": UNT, "UNS": UNS, "DTM": DTM};
+    foreach [string, string] [code, tag] in segmentTags.entries() {
+        SegmentPosition[]? positions = directory.segments[code];
+        if positions is () {
+            log:printDebug("Segment " + code + " not found");
+        } else if !allSegmentDefinitions.hasKey(code) {
+            allSegmentDefinitions[code] = buildSegmentDef(code, tag, positions, directory);
+        }
+    }
+
+    foreach string code in messageTypes {
+        log:printInfo("Generating EDI schema for " + code);
+        EDISchema ediSchema = newEdifactSchema(code);
+        ediSchema.segments = messageSegments.get(code);
+        foreach string segmentCode in collectSegmentTags(ediSchema.segments, {}).keys() {
+            SegmentDef? segmentDef = allSegmentDefinitions[segmentCode];
+            if segmentDef is SegmentDef {
+                ediSchema.segmentDefinitions[segmentCode] = segmentDef;
+            }
+        }
+        check populateEdifactEnvelope(ediSchema);
+        check writeEdiSchema(ediSchema, dir);
+    }
+}
+
+// Reads the segment, composite and element directories and locates the
+// message files under the given path. Directory files are Latin-1 text.
+function readEdifactDirectory(string path) returns EdifactDirectory|error {
+    string[] filePaths = [];
+    check listDirectoryFiles(path, filePaths);
+    EdifactDirectory directory = {};
+    foreach string filePath in filePaths.sort() {
+        string name = (check file:basename(filePath)).toUpperAscii();
+        if name.startsWith("EDSD") {
+            check parseSegmentDirectory(check readDirectoryFile(filePath), directory.segments);
+        } else if name.startsWith("EDCD") {
+            parseCompositeDirectory(check readDirectoryFile(filePath), directory.composites);
+        } else if name.startsWith("EDED") {
+            parseElementDirectory(check readDirectoryFile(filePath), directory.elements);
+        } else {
+            regexp:Groups? messageFile = messageFileReg.fullMatchGroups(name);
+            if messageFile is regexp:Groups {
+                directory.messageFiles[groupText(messageFile, 1)] = filePath;
+            }
+        }
+    }
+    return directory;
+}
+
+function listDirectoryFiles(string path, string[] filePaths) returns error? {
+    foreach file:MetaData item in check file:readDir(path) {
+        if item.dir {
+            check listDirectoryFiles(item.absPath, filePaths);
+        } else {
+            filePaths.push(item.absPath);
+        }
+    }
+}
+
+function readDirectoryFile(string path) returns string|error {
+    io:ReadableCharacterChannel channel = new (check io:openReadableFile(path), "ISO-8859-1");
+    string content = check channel.readString();
+    check channel.close();
+    return content;
+}
+
+// Splits a directory file into its entries, which are separated by lines of
+// dashes. Each entry is returned as its non-blank lines.
+function splitEntries(string content) returns string[][] {
+    string[][] entries = [[]];
+    foreach string line in lineBreakReg.split(content) {
+        if entrySeparatorReg.isFullMatch(line) {
+            entries.push([]);
+        } else if line.trim() != "" {
+            entries[entries.length() - 1].push(line);
+        }
+    }
+    return entries;
+}
+
+function parseSegmentDirectory(string content, map<SegmentPosition[]> segments) returns error? {
+    foreach string[] entry in splitEntries(content) {
+        regexp:Groups? header = entry.length() > 0 ? entryHeaderReg.fullMatchGroups(entry[0].trim()) : ();
+        if header is () {
+            continue;
+        }
+        SegmentPosition[] positions = [];
+        foreach string line in entry.slice(1) {
+            regexp:Groups? position = segmentPositionReg.fullMatchGroups(line.trim());
+            if position is regexp:Groups {
+                positions.push({
+                    code: groupText(position, 1),
+                    name: groupText(position, 2),
+                    repeat: check int:fromString(groupText(position, 4)),
+                    repr: groupText(position, 5)
+                });
+                continue;
+            }
+            regexp:Groups? component = componentLineReg.fullMatchGroups(line.trim());
+            if component is regexp:Groups && positions.length() > 0 {
+                positions[positions.length() - 1].components.push(toDirectoryComponent(component));
+            }
+        }
+        segments[groupText(header, 1)] = positions;
+    }
+}
+
+function parseCompositeDirectory(string content, map<DirectoryComponent[]> composites) {
+    foreach string[] entry in splitEntries(content) {
+        regexp:Groups? header = entry.length() > 0 ? entryHeaderReg.fullMatchGroups(entry[0].trim()) : ();
+        if header is () {
+            continue;
+        }
+        DirectoryComponent[] components = [];
+        foreach string line in entry.slice(1) {
+            regexp:Groups? component = componentLineReg.fullMatchGroups(line.trim());
+            if component is regexp:Groups {
+                components.push(toDirectoryComponent(component));
+            }
+        }
+        composites[groupText(header, 1)] = components;
+    }
+}
+
+function parseElementDirectory(string content, map<ElementDef> elements) {
+    foreach string[] entry in splitEntries(content) {
+        string? code = ();
+        string name = "";
+        string repr = "";
+        foreach string line in entry {
+            regexp:Groups? header = elementHeaderReg.fullMatchGroups(line.trim());
+            if header is regexp:Groups && code is () {
+                code = groupText(header, 1);
+                name = groupText(header, 2);
+                continue;
+            }
+            regexp:Groups? reprMatch = elementReprReg.fullMatchGroups(line.trim());
+            if reprMatch is regexp:Groups {
+                repr = groupText(reprMatch, 1);
+            }
+        }
+        if code is string {
+            elements[code] = {name, repr};
+        }
+    }
+}
+
+function toDirectoryComponent(regexp:Groups component) returns DirectoryComponent {
+    return {
+        elementCode: groupText(component, 2),
+        name: groupText(component, 3),
+        required: groupText(component, 4) == "M",
+        repr: groupText(component, 5)
+    };
+}
+
+// Reads the segment table of a message file. The box drawn on the right of
+// the table gives the nesting: a `|` for each enclosing group that continues,
+// and a `+` for each group that ends with the row.
+function readSegmentTable(string messageFile) returns (Segement|SegmentGroup)[]|error {
+    (Segement|SegmentGroup)[] units = [];
+    SegmentGroup[] openGroups = [];
+    boolean inTable = false;
+    foreach string line in lineBreakReg.split(check readDirectoryFile(messageFile)) {
+        string row = line.trim();
+        if !inTable {
+            inTable = segmentTableTitleReg.isFullMatch(row);
+            continue;
+        }
+        regexp:Groups? groupRow = tableGroupReg.fullMatchGroups(row);
+        if groupRow is regexp:Groups {
+            closeGroups(openGroups, getDepth(groupText(groupRow, 4)));
+            SegmentGroup group = {
+                "tag": "group_" + groupText(groupRow, 1),
+                "minOccurances": getMinOccurances(groupText(groupRow, 2)),
+                "maxOccurances": check int:fromString(groupText(groupRow, 3)),
+                segments: []
+            };
+            addUnit(units, openGroups, group);
+            openGroups.push(group);
+            continue;
+        }
+        regexp:Groups? segmentRow = tableSegmentReg.fullMatchGroups(row);
+        if segmentRow is regexp:Groups {
+            string box = groupText(segmentRow, 5);
+            closeGroups(openGroups, getDepth(box) + getGroupEnds(box));
+            Segement segment = {
+                "ref": groupText(segmentRow, 1),
+                "tag": getTag(groupText(segmentRow, 2).trim()),
+                "minOccurances": getMinOccurances(groupText(segmentRow, 3)),
+                "maxOccurances": check int:fromString(groupText(segmentRow, 4))
+            };
+            addUnit(units, openGroups, segment);
+        }
+    }
+    if !inTable {
+        return error("Segment table not found in " + messageFile);
+    }
+    return units;
+}
+
+function closeGroups(SegmentGroup[] openGroups, int depth) {
+    while openGroups.length() > depth {
+        _ = openGroups.pop();
+    }
+}
+
+function addUnit((Segement|SegmentGroup)[] units, SegmentGroup[] openGroups, Segement|SegmentGroup unit) {
+    if openGroups.length() == 0 {
+        units.push(unit);
+    } else {
+        openGroups[openGroups.length() - 1].segments.push(unit);
+    }
+}
+
+function getGroupEnds(string s) returns int {
+    int ends = 0;
+    foreach string c in s {
+        if c == "+" {
+            ends = ends + 1;
+        }
+    }
+    return ends;
+}
+
+// Adds the code of every segment in the units to `tags`, with the tag of its
+// first use, and returns `tags`.
+function collectSegmentTags((Segement|SegmentGroup)[] units, map<string> tags) returns map<string> {
+    foreach Segement|SegmentGroup unit in units {
+        if unit is SegmentGroup {
+            _ = collectSegmentTags(unit.segments, tags);
+        } else if !tags.hasKey(unit.ref) {
+            tags[unit.ref] = unit.tag;
+        }
+    }
+    return tags;
+}
+
+// Builds a segment definition in the same form as the web conversion: fields
+// are named after the positions and components after their data elements.
+// Components are taken from the composite directory, falling back to those
+// listed in the segment directory.
+function buildSegmentDef(string code, string tag, SegmentPosition[] positions, EdifactDirectory directory)
+        returns SegmentDef {
+    FieldDef[] fields = [{tag: "code", required: true}];
+    string[] fieldNames = [];
+    foreach SegmentPosition position in positions {
+        ComponentDef[] components = [];
+        if position.repr == "" {
+            string[] componentNames = [];
+            foreach DirectoryComponent component in directory.composites[position.code] ?: position.components {
+                ElementDef? element = directory.elements[component.elementCode];
+                string name = element is ElementDef ? element.name : component.name;
+                string repr = element is ElementDef && element.repr != "" ? element.repr : component.repr;
+                components.push({
+                    tag: getComponentName(componentNames, getTag(name)),
+                    required: component.required,
+                    dataType: getType(repr)
+                });
+            }
+        }
+        FieldDef currentField = {
+            tag: getFieldNames(fieldNames, getTag(position.name)),
+            dataType: position.repr == "" ? "composite" : getType(position.repr),
+            repeat: position.repeat > 1,
+            components
+        };
+        fields.push(currentField);
+    }
+    return {code, tag, fields};
+}
+
+function groupText(regexp:Groups groups, int index) returns string {
+    regexp:Span? span = groups[index];
+    return span is regexp:Span ? span.substring() : "";
+}
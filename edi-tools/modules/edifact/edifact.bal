@@ -1,4 +1,3 @@
-import ballerina/http;
 import ballerina/lang.regexp;
 import ballerina/log;
 import ballerina/io;
@@ -67,33 +66,40 @@ type EDISchema record {|
     SegmentDefintions segmentDefinitions;
 |};
 
-final http:Client edifactClient = check new ("https://service.unece.org/");
-readonly & string edifactApi = "";
+// Segment table of one message type.
+type MessageTable record {|
+    string code;
+    SegmentTableRow[] segments;
+|};
 
 final string:RegExp msgTypeReg = re `<A HREF = "([^"]+)">([^<]+)</A>`;
 
-final regexp:RegExp segementTableReg = re `\d+\.\d+\.\d+  Segment table([\s\S]+)`;
-
-final regexp:RegExp segmentGroupReg = re `Segment group (\d+)\s+------------------\s+([CM])\s+(\d+)(-+\+*\|*)`;
-final regexp:RegExp segmentGroupOrSegmentReg = re `<A HREF = "\.\./([^"]+)">([^<]+)</A>\s+(.*)\s+([CM])\s+(\d+)([\s-]+\+*\|*)|Segment group (\d+)\s+------------------\s+([CM])\s+(\d+)(-+\+*\|*)`;
-
-final regexp:RegExp fieldAndComponentReg = re `(\d+)\s+<A HREF = "\.\./([^"]+)">([^<]+)</A>\s+(.*)\s+([CM])\s+(\d+.*)|       <A HREF = "\.\./([^"]+)">([^<]+)</A>\s+([A-Za-z-\n\s]*)\s+([CM])`;
-final regexp:RegExp fieldReg = re `(\d+)\s+<A HREF = "\.\./([^"]+)">([^<]+)</A>\s+(.*)\s+([CM])\s+(\d+.*)`;
-
 final regexp:RegExp componentNameReg = re `<H3>[|*]?\s+(\d+)\s+([^<]+)\s+\[[A-Za-z]+\]?\s*</H3>`;
 final regexp:RegExp componentTypeReg = re `Repr:(.*)`;
 
-public function convertEdifactToEdi(string version, string dir, string? messageType = ()) returns error? {
-    edifactApi = "trade/untdid/" + version + "/";
+# Converts UN/EDIFACT message types of a directory version to Ballerina EDI schemas.
+#
+# The message pages, and then the pages of all the segments and components they use, are fetched in
+# batches of up to `options.jobs` concurrent requests. Set `options.cacheDir` to keep the fetched pages,
+# and `options.offline` to convert only from a previously populated cache.
+#
+# + version - UN/EDIFACT directory version, e.g. `d03a`
+# + dir - Directory to write the schemas to
+# + messageType - Message type to convert. All message types of the version are converted if not given.
+# + options - Where and how to fetch the directory pages
+# + return - Error if the conversion fails
+public function convertEdifactToEdi(string version, string dir, string? messageType = (),
+        EdifactConversionOptions options = {}) returns error? {
+    EdifactPageFetcher fetcher = check new (options);
+    string edifactApi = "trade/untdid/" + version + "/";
     string msgTypesUrl = edifactApi + "trmd/";
-    http:Response msgTypesRes = check edifactClient->get(msgTypesUrl + "trmdi1.htm");
-    if msgTypesRes.statusCode != 200 {
+    string? msgTypes = check fetcher.fetch(msgTypesUrl + "trmdi1.htm");
+    if msgTypes is () {
         return error("Invalid version " + version + " is given");
     }
-    string msgTypes = check msgTypesRes.getTextPayload();
 
-    SegmentDefintions allSegmentDefinitions = {};
-    regexp:Groups[] msgGroups = msgTypeReg.findAllGroups(msgTypes);    
+    [string, string][] selectedTypes = [];
+    regexp:Groups[] msgGroups = msgTypeReg.findAllGroups(msgTypes);
     foreach var msgGroup in msgGroups {
         regexp:Span? urlMatch = msgGroup[1];
         regexp:Span? codeMatch = msgGroup[2];
@@ -101,33 +107,102 @@ public function convertEdifactToEdi(string version, string dir, string? messageT
             return error("Invalid message type is found");
         }
         string code = codeMatch.substring();
-        if messageType is () {
-            check genEdiSchema(msgTypesUrl + urlMatch.substring(), code, dir, allSegmentDefinitions);
-        } else {
-            if code == messageType {
-                check genEdiSchema(msgTypesUrl + urlMatch.substring(), code, dir, allSegmentDefinitions);
-                return;
+        if messageType is () || code == messageType {
+            selectedTypes.push([code, msgTypesUrl + urlMatch.substring()]);
+            if messageType is string {
+                break;
             }
         }
     }
-    if messageType !is () {
+    if messageType is string && selectedTypes.length() == 0 {
         return error("Invalid message type " + messageType + " is given");
     }
+
+    map<string?> msgTypePages = check fetcher.fetchAll(from var [_, url] in selectedTypes select url, options.jobs);
+    MessageTable[] messageTables = [];
+    foreach var [code, url] in selectedTypes {
+        string? msgTypePage = msgTypePages[url];
+        if msgTypePage is () {
+            return error(string `Message type ${code} is not found at ${url}`);
+        }
+        messageTables.push({code, segments: check scanSegmentTable(msgTypePage)});
+    }
+
+    SegmentDefintions allSegmentDefinitions = check fetchSegmentDefinitions(messageTables, fetcher, edifactApi, options.jobs);
+    foreach MessageTable messageTable in messageTables {
+        check genEdiSchema(messageTable, dir, allSegmentDefinitions);
+    }
 }
 
-function genEdiSchema(string url, string code, string dir, SegmentDefintions allSegmentDefinitions) returns error? {
-    log:printInfo("Generating EDI schema for " + code);
-    http:Response msgTypeRes = check edifactClient->get(url);
-    EDISchema ediSchema = check genMsgTypeEdiSchema(check msgTypeRes.getTextPayload(), allSegmentDefinitions, code);
+function genEdiSchema(MessageTable messageTable, string dir, SegmentDefintions allSegmentDefinitions) returns error? {
+    log:printInfo("Generating EDI schema for " + messageTable.code);
+    EDISchema ediSchema = check genMsgTypeEdiSchema(messageTable.segments, allSegmentDefinitions, messageTable.code);
+    check writeEdiSchema(ediSchema, dir);
+}
+
+function writeEdiSchema(EDISchema ediSchema, string dir) returns error? {
     string dirPath = dir;
     if dir[dir.length() - 1] != "/" {
         dirPath = dir + "/";
     }
-    check io:fileWriteJson(dirPath + code + ".json", ediSchema);
+    check io:fileWriteJson(dirPath + ediSchema.name + ".json", ediSchema);
+}
+
+// Fetches the pages of every segment used by the given message types, then the
+// pages of every component those segments use, and parses them into segment
+// definitions. A segment's tag is taken from its first use. Segments without a
+// page are left out, as are the predefined segments, which are not fetched.
+function fetchSegmentDefinitions(MessageTable[] messageTables, EdifactPageFetcher fetcher, string edifactApi, int jobs)
+        returns SegmentDefintions|error {
+    SegmentDefintions definitions = {"UNH": UNH, "UNT": UNT, "UNS": UNS, "DTM": DTM};
+    map<[string, string]> segmentPaths = {};
+    foreach MessageTable messageTable in messageTables {
+        foreach SegmentTableRow row in messageTable.segments {
+            if row is SegmentRow && !definitions.hasKey(row.code) && !segmentPaths.hasKey(row.code) {
+                segmentPaths[row.code] = [edifactApi + row.url, getTag(row.description.trim())];
+            }
+        }
+    }
+    map<string?> segmentPages = check fetcher.fetchAll(from var [path, _] in segmentPaths select path, jobs);
+
+    map<SegmentPageRow[]> segmentFields = {};
+    string[] componentPaths = [];
+    foreach [string, [string, string]] [code, [path, _]] in segmentPaths.entries() {
+        string? segmentPage = segmentPages[path];
+        if segmentPage is () {
+            log:printDebug("Segment " + code + " not found");
+            continue;
+        }
+        SegmentPageRow[] rows = scanSegmentPage(segmentPage);
+        segmentFields[code] = rows;
+        foreach SegmentPageRow row in rows {
+            if row is ComponentRow {
+                componentPaths.push(edifactApi + row.url.trim());
+            }
+        }
+    }
+    map<string?> componentPages = check fetcher.fetchAll(componentPaths, jobs);
+
+    foreach [string, SegmentPageRow[]] [code, rows] in segmentFields.entries() {
+        definitions[code] = check getSegmentDef(rows, code, segmentPaths.get(code)[1], componentPages, edifactApi);
+    }
+    return definitions;
+}
+
+function genMsgTypeEdiSchema(SegmentTableRow[] segments, SegmentDefintions segmentDefinitions, string name) returns EDISchema|error {
+    EDISchema ediSchema = newEdifactSchema(name);
+    check genSegmentsSchema(segments, segmentDefinitions, ediSchema.segments, ediSchema.segmentDefinitions);
+
+    // EDIFACT envelope: interchange = UNB / UNZ, transaction = UNH / UNT.
+    // No group level. Lift UNH / UNT out of `segments` and add UNB / UNZ
+    // definitions so the runtime can parse the full interchange.
+    check populateEdifactEnvelope(ediSchema);
+    return ediSchema;
 }
 
-function genMsgTypeEdiSchema(string msgType, SegmentDefintions segmentDefinitions, string name) returns EDISchema|error {
-    EDISchema ediSchema = {
+// Returns an EDIFACT schema with the standard delimiters and no segments.
+function newEdifactSchema(string name) returns EDISchema {
+    return {
         name,
         // The ballerina/edi runtime (>= 1.6.0) strips and validates a leading
         // UNA service string advice itself in all schema-driven envelope paths
@@ -147,30 +222,6 @@ function genMsgTypeEdiSchema(string msgType, SegmentDefintions segmentDefinition
         segments: [],
         segmentDefinitions: {}
     };
-
-    regexp:Groups[] segmentTableGroups = segementTableReg.findAllGroups(msgType);
-    if segmentTableGroups.length() != 1 {
-        return error("Cannot find a match for single segment table");
-    }
-    regexp:Groups segmentTableGroup = segmentTableGroups[0];
-    if segmentTableGroup.length() != 2 {
-        return error("Segment table not found");
-    }
-    regexp:Span? segmentTableMatch = segmentTableGroup[1];
-    if segmentTableMatch is () {
-        return error("Segment table not found");
-    }
-
-    string segmentTable = segmentTableMatch.substring();
-    regexp:Groups[] segments = segmentGroupOrSegmentReg.findAllGroups(segmentTable);
-
-    check genSegmentsSchema(segments, segmentDefinitions, ediSchema.segments, ediSchema.segmentDefinitions);
-
-    // EDIFACT envelope: interchange = UNB / UNZ, transaction = UNH / UNT.
-    // No group level. Lift UNH / UNT out of `segments` and add UNB / UNZ
-    // definitions so the runtime can parse the full interchange.
-    check populateEdifactEnvelope(ediSchema);
-    return ediSchema;
 }
 
 // Builds the structured envelope for an EDIFACT schema. UNH and UNT are
@@ -243,13 +294,13 @@ function forceMandatory((Segement|SegmentGroup)[] units) returns (Segement|Segme
     return result;
 }
 
-function genSegmentsSchema(regexp:Groups[] segmentsMatch, map<SegmentDef> allSegmentDefinitions, (Segement|SegmentGroup)[] segments, SegmentDefintions segmentDefintions) returns error? {
+function genSegmentsSchema(SegmentTableRow[] rows, map<SegmentDef> allSegmentDefinitions, (Segement|SegmentGroup)[] segments, SegmentDefintions segmentDefintions) returns error? {
     int currentDepth = 0;
     SegmentGroup[] segmentGroupsSeq = [];
     SegmentGroup? currentGroup = ();
-    foreach var segmentMatch in segmentsMatch {
-        if segmentGroupReg.isFullMatch(segmentMatch[0].substring()) {
-            var [segmentGroup, depth] = check genSegmentGroupSchema(segmentMatch, segments);
+    foreach SegmentTableRow row in rows {
+        if row is GroupRow {
+            var [segmentGroup, depth] = check genSegmentGroupSchema(row, segments);
             if depth == 0 {
                 segmentGroupsSeq = [segmentGroup];
                 segments.push(segmentGroup);
@@ -275,53 +326,35 @@ function genSegmentsSchema(regexp:Groups[] segmentsMatch, map<SegmentDef> allSeg
         } else {
             if segmentGroupsSeq.length() > 0 {
                 currentGroup = segmentGroupsSeq[segmentGroupsSeq.length() - 1];
-                regexp:Span? rest = segmentMatch[6];
-                if rest !is () && rest.substring().trim() == "" {
+                if row.box.trim() == "" {
                     currentGroup = ();
                 }
             }
-            check genSementSchema(segmentMatch, allSegmentDefinitions, currentGroup, segments, segmentDefintions);
+            check genSementSchema(row, allSegmentDefinitions, currentGroup, segments, segmentDefintions);
         }
     }
 }
 
-function genSegmentGroupSchema(regexp:Groups segmentGroupMatch, (Segement|SegmentGroup)[] segments) returns [SegmentGroup, int]|error {
-    regexp:Span? groupNumber = segmentGroupMatch[1];
-    regexp:Span? status = segmentGroupMatch[2];
-    regexp:Span? occurance = segmentGroupMatch[3];
-    regexp:Span? depthMatch = segmentGroupMatch[4];
-    if groupNumber is () || status is () || occurance is () || depthMatch is () {
-        return error("Invalid segment group found");
-    }
-    int depth = getDepth(depthMatch.substring());
-    string groupName = "group_" + groupNumber.substring();
+function genSegmentGroupSchema(GroupRow row, (Segement|SegmentGroup)[] segments) returns [SegmentGroup, int]|error {
+    int depth = getDepth(row.box);
+    string groupName = "group_" + row.number;
     SegmentGroup group = {
         "tag": groupName,
-        "minOccurances": getMinOccurances(status.substring()),
-        "maxOccurances": check int:fromString(occurance.substring()),
+        "minOccurances": getMinOccurances(row.status),
+        "maxOccurances": check int:fromString(row.occurrence),
         segments: []
     };
     return [group, depth];
 }
 
-function genSementSchema(regexp:Groups segmentMatch, map<SegmentDef> allSegmentDefinitions, SegmentGroup? currentGroup, (Segement|SegmentGroup)[] segments, SegmentDefintions segmentDefintions) returns error? {
-    regexp:Span? url = segmentMatch[1];
-    regexp:Span? codeMatch = segmentMatch[2];
-    regexp:Span? descriptionMatch = segmentMatch[3];
-    regexp:Span? status = segmentMatch[4];
-    regexp:Span? occurance = segmentMatch[5];
-    regexp:Span? rest = segmentMatch[6];
-    if url is () || codeMatch is () || descriptionMatch is () || status is () || occurance is () || rest is () {
-        return error("Invalid segment found");
-    }
-
-    string code = codeMatch.substring();
-    string tag = getTag(descriptionMatch.substring().trim());
+function genSementSchema(SegmentRow row, map<SegmentDef> allSegmentDefinitions, SegmentGroup? currentGroup, (Segement|SegmentGroup)[] segments, SegmentDefintions segmentDefintions) returns error? {
+    string code = row.code;
+    string tag = getTag(row.description.trim());
     Segement segment = {
         "ref": code,
         tag,
-        "minOccurances": getMinOccurances(status.substring()),
-        "maxOccurances": check int:fromString(occurance.substring())
+        "minOccurances": getMinOccurances(row.status),
+        "maxOccurances": check int:fromString(row.occurrence)
     };
     if currentGroup is () {
         segments.push(segment);
@@ -330,71 +363,44 @@ function genSementSchema(regexp:Groups segmentMatch, map<SegmentDef> allSegmentD
     }
     if !segmentDefintions.hasKey(code) {
         SegmentDef? seg = allSegmentDefinitions[code];
-        if seg is () {
-            http:Response segementPage = check edifactClient->get(edifactApi + url.substring());
-            if code == "UNH" {
-                allSegmentDefinitions[code] = UNH;
-                segmentDefintions[code] = UNH;
-            } else if code == "UNT" {
-                allSegmentDefinitions[code] = UNT;
-                segmentDefintions[code] = UNT;
-            } else if code == "UNS" {
-                allSegmentDefinitions[code] = UNS;
-                segmentDefintions[code] = UNS;
-            } else if code == "DTM" {
-                allSegmentDefinitions[code] = DTM;
-                segmentDefintions[code] = DTM;
-            } else {
-                if segementPage.statusCode == 200 {
-                    SegmentDef currentSegmentDef = check getSegmentDef(check segementPage.getTextPayload(), code, tag);
-                    allSegmentDefinitions[code] = currentSegmentDef;
-                    segmentDefintions[code] = currentSegmentDef;
-                } else if segementPage.statusCode == 404 {
-                    log:printDebug("Segment " + code + " not found");
-                }
-            }
-        } else {
+        if seg is SegmentDef {
             segmentDefintions[code] = seg;
         }
     }
 }
 
-function getSegmentDef(string segmentPage, string code, string tag) returns SegmentDef|error {
-    regexp:Groups[] fieldGroups = fieldAndComponentReg.findAllGroups(segmentPage);
+function getSegmentDef(SegmentPageRow[] rows, string code, string tag, map<string?> componentPages,
+        string edifactApi) returns SegmentDef|error {
     FieldDef[] fields = [{tag: "code", required: true}];
-    check addFields(fields, fieldGroups);
+    check addFields(fields, rows, componentPages, edifactApi);
     return {code, tag, fields};
 }
 
-function addFields(FieldDef[] fields, regexp:Groups[] fieldGroups) returns error? {
+function addFields(FieldDef[] fields, SegmentPageRow[] rows, map<string?> componentPages, string edifactApi)
+        returns error? {
     FieldDef currentField = {...fields[0]};
     string[] componentNames = [];
     string[] fieldNames = [];
-    foreach regexp:Groups fieldGroup in fieldGroups {
-        if fieldReg.isFullMatch(fieldGroup[0].substring()) {
-            currentField = check getField(fieldGroup, fieldNames);
+    foreach SegmentPageRow row in rows {
+        if row is FieldRow {
+            currentField = check getField(row, fieldNames);
             currentField.components = [];
             fields.push(currentField);
             componentNames = [];
         } else {
-            (<ComponentDef[]>currentField.components).push(check getComponent(fieldGroup, componentNames));
+            (<ComponentDef[]>currentField.components).push(check getComponent(row, componentNames, componentPages,
+                    edifactApi));
         }
     }
 }
 
-function getComponent(regexp:Groups fieldGroup, string[] componentNames) returns ComponentDef|error {
-    regexp:Span? urlMatch = fieldGroup[1];
-    regexp:Span? tagMatch = fieldGroup[3];
-    regexp:Span? statusMatch = fieldGroup[4];
-    if urlMatch is () || statusMatch is () || tagMatch is () {
-        return error("Invalid component found");
-    }
-    http:Response componentPageRes = check edifactClient->get(edifactApi + urlMatch.substring().trim());
-    if componentPageRes.statusCode != 200 {
+function getComponent(ComponentRow row, string[] componentNames, map<string?> componentPages, string edifactApi)
+        returns ComponentDef|error {
+    string? componentPage = componentPages[edifactApi + row.url.trim()];
+    if componentPage is () {
         return error("Invalid component found");
     }
     // TODO: if 400, use matches to parse data.
-    string componentPage = check componentPageRes.getTextPayload();
     regexp:Groups typeGroups = componentTypeReg.findAllGroups(componentPage)[0];
     regexp:Span? typeMatch = typeGroups[1];
     if typeMatch is () {
@@ -408,19 +414,13 @@ function getComponent(regexp:Groups fieldGroup, string[] componentNames) returns
 
     return {
         tag: getComponentName(componentNames, getTag(componentNameMatch.substring().trim())),
-        required: statusMatch.substring() == "M" ? true : false,
+        required: row.status == "M" ? true : false,
         dataType: getType(typeMatch.substring().trim())
     };
 }
 
-function getField(regexp:Groups fieldGroup, string[] fieldNames) returns FieldDef|error {
-    regexp:Span? tagMatch = fieldGroup[4];
-    regexp:Span? statusMatch = fieldGroup[5];
-    regexp:Span? occuranceAndTypeMatch = fieldGroup[6];
-    if tagMatch is () || statusMatch is () || occuranceAndTypeMatch is () {
-        return error("Invalid field found");
-    }
-    string occuranceAndType = occuranceAndTypeMatch.substring().trim();
+function getField(FieldRow row, string[] fieldNames) returns FieldDef|error {
+    string occuranceAndType = row.occurrenceAndType.trim();
     regexp:RegExp occuranceAndTypeReg = re `(\d+)\s*(.*)`;
     regexp:Groups occuranceAndTypeGroups = occuranceAndTypeReg.findAllGroups(occuranceAndType)[0];
     regexp:Span? occuranceMatch = occuranceAndTypeGroups[1];
@@ -439,7 +439,7 @@ function getField(regexp:Groups fieldGroup, string[] fieldNames) returns FieldDe
     } else {
         'type = getType(typeString);
     }
-    return {tag: getFieldNames(fieldNames, getTag(tagMatch.substring().trim())), dataType: 'type, repeat: occurance > 1 ? true : false};
+    return {tag: getFieldNames(fieldNames, getTag(row.description.trim())), dataType: 'type, repeat: occurance > 1 ? true : false};
 }
 
 function getTag(string description) returns string {
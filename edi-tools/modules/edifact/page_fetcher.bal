@@ -0,0 +1,161 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/http;
+import ballerina/io;
+import ballerina/lang.regexp;
+import ballerina/log;
+
+# Options for converting UN/EDIFACT message types.
+#
+# + baseUrl - Base URL of the UN/EDIFACT directory pages
+# + cacheDir - Directory to keep fetched pages in. Pages found in the cache are not fetched again.
+# + offline - Use only the pages in `cacheDir`. Fails if a page is not in the cache.
+# + jobs - Maximum number of pages fetched concurrently
+public type EdifactConversionOptions record {|
+    string baseUrl = "https://service.unece.org/";
+    string? cacheDir = ();
+    boolean offline = false;
+    int jobs = 8;
+|};
+
+// Marks a page that the server reported as not found, so that offline runs
+// reproduce the result of the run that populated the cache.
+const NOT_FOUND_SUFFIX = ".notfound";
+
+final regexp:RegExp nonPathCharacters = re `[^A-Za-z0-9._-]+`;
+
+# Fetches UN/EDIFACT directory pages, optionally through a persistent cache.
+# Cached pages are stored under `<cacheDir>/<base URL>/<page path>`, so the
+# cache is keyed by the source and the directory version in the page path.
+isolated class EdifactPageFetcher {
+    private final http:Client httpClient;
+    private final string baseUrl;
+    private final string? cacheRoot;
+    private final boolean offline;
+
+    isolated function init(EdifactConversionOptions options) returns error? {
+        if options.offline && options.cacheDir is () {
+            return error("Offline EDIFACT conversion needs a cache directory.");
+        }
+        self.httpClient = check new (options.baseUrl);
+        self.baseUrl = options.baseUrl;
+        string? cacheDir = options.cacheDir;
+        self.cacheRoot = cacheDir is string ? check file:joinPath(cacheDir, nonPathCharacters.replaceAll(options.baseUrl, "_")) : ();
+        self.offline = options.offline;
+    }
+
+    # Returns the page at `path`, relative to the base URL.
+    #
+    # + path - Path of the page
+    # + return - Page content, nil if the page does not exist, or an error
+    isolated function fetch(string path) returns string?|error {
+        string? cacheRoot = self.cacheRoot;
+        string? cachePath = cacheRoot is string ? check file:joinPath(cacheRoot, path) : ();
+        if cachePath is string {
+            if check file:test(cachePath, file:EXISTS) {
+                return check io:fileReadString(cachePath);
+            }
+            if check file:test(cachePath + NOT_FOUND_SUFFIX, file:EXISTS) {
+                return ();
+            }
+            if self.offline {
+                return error(string `EDIFACT page ${path} is not in the cache ${<string>cacheRoot}. ` +
+                    "Run the conversion once without offline mode to populate the cache.");
+            }
+        }
+
+        http:Response response = check self.httpClient->get(path);
+        string? page;
+        if response.statusCode == 200 {
+            page = check response.getTextPayload();
+        } else if response.statusCode == 404 {
+            page = ();
+        } else {
+            return error(string `Failed to fetch EDIFACT page ${self.baseUrl}${path}. Status: ${response.statusCode}`);
+        }
+
+        if cachePath is string {
+            string dir = check file:parentPath(cachePath);
+            if !check file:test(dir, file:EXISTS) {
+                check file:createDir(dir, file:RECURSIVE);
+            }
+            // Write under a temporary name first, so that an interrupted run never leaves a partial page in the cache.
+            string target = page is string ? cachePath : cachePath + NOT_FOUND_SUFFIX;
+            check io:fileWriteString(target + ".part", page ?: "");
+            check file:rename(target + ".part", target);
+        }
+        return page;
+    }
+
+    # Fetches the given pages on up to `jobs` strands.
+    #
+    # + paths - Paths of the pages. Duplicates are fetched once.
+    # + jobs - Maximum number of pages fetched concurrently
+    # + return - Page content by path, with nil for pages that do not exist, or an error
+    isolated function fetchAll(string[] paths, int jobs) returns map<string?>|error {
+        string[] uniquePaths = [];
+        map<boolean> seen = {};
+        foreach string path in paths {
+            if !seen.hasKey(path) {
+                seen[path] = true;
+                uniquePaths.push(path);
+            }
+        }
+
+        int workerCount = int:max(1, int:min(jobs, uniquePaths.length()));
+        string[][] buckets = [];
+        foreach int i in 0 ..< workerCount {
+            buckets.push([]);
+        }
+        foreach int i in 0 ..< uniquePaths.length() {
+            buckets[i % workerCount].push(uniquePaths[i]);
+        }
+        future<map<string?>|error>[] workers = [];
+        foreach string[] bucket in buckets {
+            readonly & string[] workerPaths = bucket.cloneReadOnly();
+            future<map<string?>|error> worker = start fetchPages(self, workerPaths);
+            workers.push(worker);
+        }
+
+        map<string?> pages = {};
+        error? firstError = ();
+        foreach future<map<string?>|error> worker in workers {
+            map<string?>|error result = wait worker;
+            if result is error {
+                firstError = firstError ?: result;
+            } else {
+                foreach [string, string?] [path, page] in result.entries() {
+                    pages[path] = page;
+                }
+            }
+        }
+        if firstError is error {
+            return firstError;
+        }
+        log:printDebug(string `Fetched ${uniquePaths.length()} EDIFACT pages`);
+        return pages;
+    }
+}
+
+isolated function fetchPages(EdifactPageFetcher fetcher, readonly & string[] paths) returns map<string?>|error {
+    map<string?> pages = {};
+    foreach string path in paths {
+        pages[path] = check fetcher.fetch(path);
+    }
+    return pages;
+}
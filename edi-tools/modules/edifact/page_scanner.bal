@@ -0,0 +1,405 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Single-pass scanner for the segment table of a UNECE message page and the
+// field list of a UNECE segment page.
+//
+// The scanner reports the same rows, with the same text, as the regular
+// expressions it replaces:
+//
+//   segment table: <A HREF = "\.\./([^"]+)">([^<]+)</A>\s+(.*)\s+([CM])\s+(\d+)([\s-]+\+*\|*)
+//                  | Segment group (\d+)\s+------------------\s+([CM])\s+(\d+)(-+\+*\|*)
+//   segment page:  (\d+)\s+<A HREF = "\.\./([^"]+)">([^<]+)</A>\s+(.*)\s+([CM])\s+(\d+.*)
+//                  |       <A HREF = "\.\./([^"]+)">([^<]+)</A>\s+([A-Za-z-\n\s]*)\s+([CM])
+//
+// Every row starts at, or right before, a link or a "Segment group" label, so
+// the scanner jumps from one of those to the next instead of trying the
+// expressions at every position of the page.
+
+# Segment row of a message's segment table.
+#
+# + url - Link to the segment page, relative to the directory
+# + code - Segment code
+# + description - Segment name, as written in the table
+# + status - `M` or `C`
+# + occurrence - Maximum number of repeats
+# + box - Box drawing after the repeats, giving the nesting of the row
+type SegmentRow record {|
+    string url;
+    string code;
+    string description;
+    string status;
+    string occurrence;
+    string box;
+|};
+
+# Segment group row of a message's segment table.
+#
+# + number - Group number
+# + status - `M` or `C`
+# + occurrence - Maximum number of repeats
+# + box - Box drawing after the repeats, giving the nesting of the group
+type GroupRow record {|
+    string number;
+    string status;
+    string occurrence;
+    string box;
+|};
+
+type SegmentTableRow SegmentRow|GroupRow;
+
+# Simple or composite data element of a segment page.
+#
+# + url - Link to the element page, relative to the directory
+# + code - Element code
+# + description - Element name, as written in the page
+# + status - `M` or `C`
+# + occurrenceAndType - Repeats, followed by the representation for simple elements
+type FieldRow record {|
+    string url;
+    string code;
+    string description;
+    string status;
+    string occurrenceAndType;
+|};
+
+# Component of the preceding composite of a segment page.
+#
+# + url - Link to the element page, relative to the directory
+# + code - Element code
+# + status - `M` or `C`
+type ComponentRow record {|
+    string url;
+    string code;
+    string status;
+|};
+
+type SegmentPageRow FieldRow|ComponentRow;
+
+const LINK_START = "<A HREF = \"../";
+const GROUP_LABEL = "Segment group ";
+const SEGMENT_TABLE_TITLE = "  Segment table";
+const GROUP_RULE = "------------------";
+const COMPONENT_INDENT = "       ";
+
+// A link and the index right after its closing tag.
+type Link record {|
+    string url;
+    string code;
+    int endIndex;
+|};
+
+// Returns the rows of the segment table of a message page.
+function scanSegmentTable(string page) returns SegmentTableRow[]|error {
+    int? tableStart = findSegmentTable(page);
+    if tableStart is () {
+        return error("Cannot find a match for single segment table");
+    }
+
+    SegmentTableRow[] rows = [];
+    int cursor = tableStart;
+    int? nextLink = page.indexOf(LINK_START, cursor);
+    int? nextGroup = page.indexOf(GROUP_LABEL, cursor);
+    while nextLink is int || nextGroup is int {
+        boolean atLink = nextGroup is () || (nextLink is int && nextLink < nextGroup);
+        int rowStart = atLink ? <int>nextLink : <int>nextGroup;
+        [SegmentTableRow, int]? row = atLink ? scanSegmentRow(page, rowStart) : scanGroupRow(page, rowStart);
+        cursor = row is () ? rowStart + 1 : row[1];
+        if row is [SegmentTableRow, int] {
+            rows.push(row[0]);
+        }
+        if nextLink is int && nextLink < cursor {
+            nextLink = page.indexOf(LINK_START, cursor);
+        }
+        if nextGroup is int && nextGroup < cursor {
+            nextGroup = page.indexOf(GROUP_LABEL, cursor);
+        }
+    }
+    return rows;
+}
+
+// Returns the fields and components of a segment page, in page order.
+function scanSegmentPage(string page) returns SegmentPageRow[] {
+    SegmentPageRow[] rows = [];
+    int cursor = 0;
+    int? linkStart = page.indexOf(LINK_START, cursor);
+    while linkStart is int {
+        [SegmentPageRow, int]? row = scanFieldRow(page, linkStart, cursor) ?: scanComponentRow(page, linkStart, cursor);
+        if row is () {
+            cursor = linkStart + 1;
+        } else {
+            rows.push(row[0]);
+            cursor = row[1];
+        }
+        linkStart = page.indexOf(LINK_START, cursor);
+    }
+    return rows;
+}
+
+// Returns the index right after the first `N.N.N  Segment table` title that
+// is followed by any text.
+function findSegmentTable(string page) returns int? {
+    int? titleStart = page.indexOf(SEGMENT_TABLE_TITLE);
+    while titleStart is int {
+        int tableStart = titleStart + SEGMENT_TABLE_TITLE.length();
+        if tableStart < page.length() && isSectionNumberBefore(page, titleStart) {
+            return tableStart;
+        }
+        titleStart = page.indexOf(SEGMENT_TABLE_TITLE, titleStart + 1);
+    }
+    return ();
+}
+
+function isSectionNumberBefore(string page, int end) returns boolean {
+    int i = end;
+    foreach int part in 0 ..< 3 {
+        int digitsStart = skipDigitsBackward(page, i, 0);
+        if digitsStart == i {
+            return false;
+        }
+        i = digitsStart;
+        if part < 2 {
+            if i == 0 || page[i - 1] != "." {
+                return false;
+            }
+            i -= 1;
+        }
+    }
+    return true;
+}
+
+function scanSegmentRow(string page, int rowStart) returns [SegmentRow, int]? {
+    Link? link = scanLink(page, rowStart);
+    if link is () {
+        return ();
+    }
+    // \s+(.*)\s+([CM])\s+(\d+)([\s-]+\+*\|*), where `.*` takes the longest match.
+    int linkEnd = link.endIndex;
+    int textStart = skipWhitespace(page, linkEnd);
+    foreach int descriptionStart in int:range(textStart, linkEnd, -1) {
+        int lineEnd = findLineEnd(page, descriptionStart);
+        foreach int descriptionEnd in int:range(lineEnd, descriptionStart - 1, -1) {
+            int statusAt = skipWhitespace(page, descriptionEnd);
+            if statusAt == descriptionEnd || !isStatusAt(page, statusAt) {
+                continue;
+            }
+            int occurrenceStart = skipWhitespace(page, statusAt + 1);
+            int occurrenceEnd = skipDigits(page, occurrenceStart);
+            if occurrenceStart == statusAt + 1 || occurrenceEnd == occurrenceStart {
+                continue;
+            }
+            int boxEnd = occurrenceEnd;
+            while boxEnd < page.length() && (isWhitespace(page[boxEnd]) || page[boxEnd] == "-") {
+                boxEnd += 1;
+            }
+            if boxEnd == occurrenceEnd {
+                continue;
+            }
+            boxEnd = skipChar(page, skipChar(page, boxEnd, "+"), "|");
+            SegmentRow row = {
+                url: link.url,
+                code: link.code,
+                description: page.substring(descriptionStart, descriptionEnd),
+                status: page[statusAt],
+                occurrence: page.substring(occurrenceStart, occurrenceEnd),
+                box: page.substring(occurrenceEnd, boxEnd)
+            };
+            return [row, boxEnd];
+        }
+    }
+    return ();
+}
+
+function scanGroupRow(string page, int rowStart) returns [GroupRow, int]? {
+    // Segment group (\d+)\s+------------------\s+([CM])\s+(\d+)(-+\+*\|*)
+    int numberStart = rowStart + GROUP_LABEL.length();
+    int numberEnd = skipDigits(page, numberStart);
+    int ruleStart = skipWhitespace(page, numberEnd);
+    if numberEnd == numberStart || ruleStart == numberEnd || !hasTextAt(page, ruleStart, GROUP_RULE) {
+        return ();
+    }
+    int statusAt = skipWhitespace(page, ruleStart + GROUP_RULE.length());
+    if statusAt == ruleStart + GROUP_RULE.length() || !isStatusAt(page, statusAt) {
+        return ();
+    }
+    int occurrenceStart = skipWhitespace(page, statusAt + 1);
+    int occurrenceEnd = skipDigits(page, occurrenceStart);
+    int boxEnd = skipChar(page, occurrenceEnd, "-");
+    if occurrenceStart == statusAt + 1 || occurrenceEnd == occurrenceStart || boxEnd == occurrenceEnd {
+        return ();
+    }
+    boxEnd = skipChar(page, skipChar(page, boxEnd, "+"), "|");
+    GroupRow row = {
+        number: page.substring(numberStart, numberEnd),
+        status: page[statusAt],
+        occurrence: page.substring(occurrenceStart, occurrenceEnd),
+        box: page.substring(occurrenceEnd, boxEnd)
+    };
+    return [row, boxEnd];
+}
+
+function scanFieldRow(string page, int linkStart, int cursor) returns [FieldRow, int]? {
+    // (\d+)\s+ before the link, and \s+(.*)\s+([CM])\s+(\d+.*) after it.
+    int indentStart = linkStart;
+    while indentStart > cursor && isWhitespace(page[indentStart - 1]) {
+        indentStart -= 1;
+    }
+    if indentStart == linkStart || skipDigitsBackward(page, indentStart, cursor) == indentStart {
+        return ();
+    }
+    Link? link = scanLink(page, linkStart);
+    if link is () {
+        return ();
+    }
+    int linkEnd = link.endIndex;
+    int textStart = skipWhitespace(page, linkEnd);
+    foreach int descriptionStart in int:range(textStart, linkEnd, -1) {
+        int lineEnd = findLineEnd(page, descriptionStart);
+        foreach int descriptionEnd in int:range(lineEnd, descriptionStart - 1, -1) {
+            int statusAt = skipWhitespace(page, descriptionEnd);
+            if statusAt == descriptionEnd || !isStatusAt(page, statusAt) {
+                continue;
+            }
+            int occurrenceStart = skipWhitespace(page, statusAt + 1);
+            if occurrenceStart == statusAt + 1 || skipDigits(page, occurrenceStart) == occurrenceStart {
+                continue;
+            }
+            int rowEnd = findLineEnd(page, occurrenceStart);
+            FieldRow row = {
+                url: link.url,
+                code: link.code,
+                description: page.substring(descriptionStart, descriptionEnd),
+                status: page[statusAt],
+                occurrenceAndType: page.substring(occurrenceStart, rowEnd)
+            };
+            return [row, rowEnd];
+        }
+    }
+    return ();
+}
+
+function scanComponentRow(string page, int linkStart, int cursor) returns [ComponentRow, int]? {
+    // Seven spaces before the link, and \s+([A-Za-z-\n\s]*)\s+([CM]) after it.
+    int indentStart = linkStart - COMPONENT_INDENT.length();
+    if indentStart < cursor || !hasTextAt(page, indentStart, COMPONENT_INDENT) {
+        return ();
+    }
+    Link? link = scanLink(page, linkStart);
+    if link is () {
+        return ();
+    }
+    int linkEnd = link.endIndex;
+    int nameStart = skipWhitespace(page, linkEnd);
+    if nameStart == linkEnd {
+        return ();
+    }
+    int nameRunEnd = nameStart;
+    while nameRunEnd < page.length() && isComponentNameChar(page[nameRunEnd]) {
+        nameRunEnd += 1;
+    }
+    // The status is the last `C` or `M` of the name run that follows whitespace.
+    // It can only directly follow the link when the name is empty.
+    foreach int statusAt in int:range(nameRunEnd - 1, nameStart, -1) {
+        if isStatusAt(page, statusAt) && isWhitespace(page[statusAt - 1]) {
+            return [{url: link.url, code: link.code, status: page[statusAt]}, statusAt + 1];
+        }
+    }
+    if nameStart - linkEnd >= 2 && isStatusAt(page, nameStart) {
+        return [{url: link.url, code: link.code, status: page[nameStart]}, nameStart + 1];
+    }
+    return ();
+}
+
+// Scans `<A HREF = "../url">code</A>` starting at `linkStart`.
+function scanLink(string page, int linkStart) returns Link? {
+    int urlStart = linkStart + LINK_START.length();
+    int? urlEnd = page.indexOf("\"", urlStart);
+    if urlEnd is () || urlEnd == urlStart || !hasTextAt(page, urlEnd, "\">") {
+        return ();
+    }
+    int codeStart = urlEnd + 2;
+    int? codeEnd = page.indexOf("<", codeStart);
+    if codeEnd is () || codeEnd == codeStart || !hasTextAt(page, codeEnd, "</A>") {
+        return ();
+    }
+    return {url: page.substring(urlStart, urlEnd), code: page.substring(codeStart, codeEnd), endIndex: codeEnd + 4};
+}
+
+function hasTextAt(string page, int index, string text) returns boolean {
+    return index + text.length() <= page.length() && page.substring(index, index + text.length()) == text;
+}
+
+function isStatusAt(string page, int index) returns boolean {
+    return index < page.length() && (page[index] == "C" || page[index] == "M");
+}
+
+function skipWhitespace(string page, int index) returns int {
+    int i = index;
+    while i < page.length() && isWhitespace(page[i]) {
+        i += 1;
+    }
+    return i;
+}
+
+function skipDigits(string page, int index) returns int {
+    int i = index;
+    while i < page.length() && isDigit(page[i]) {
+        i += 1;
+    }
+    return i;
+}
+
+function skipDigitsBackward(string page, int end, int lowerBound) returns int {
+    int i = end;
+    while i > lowerBound && isDigit(page[i - 1]) {
+        i -= 1;
+    }
+    return i;
+}
+
+function skipChar(string page, int index, string c) returns int {
+    int i = index;
+    while i < page.length() && page[i] == c {
+        i += 1;
+    }
+    return i;
+}
+
+// Returns the index of the first line terminator at or after `index`, which
+// is where `.*` stops.
+function findLineEnd(string page, int index) returns int {
+    int i = index;
+    while i < page.length() && !isLineTerminator(page[i]) {
+        i += 1;
+    }
+    return i;
+}
+
+function isWhitespace(string c) returns boolean {
+    return c == " " || c == "\t" || c == "\n" || c == "\r" || c == "\u{0B}" || c == "\u{0C}";
+}
+
+function isLineTerminator(string c) returns boolean {
+    return c == "\n" || c == "\r" || c == "\u{85}" || c == "\u{2028}" || c == "\u{2029}";
+}
+
+function isDigit(string c) returns boolean {
+    return c >= "0" && c <= "9";
+}
+
+function isComponentNameChar(string c) returns boolean {
+    return (c >= "A" && c <= "Z") || (c >= "a" && c <= "z") || c == "-" || isWhitespace(c);
+}
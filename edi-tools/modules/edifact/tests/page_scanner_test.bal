@@ -0,0 +1,139 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/lang.regexp;
+import ballerina/test;
+import ballerina/time;
+
+const RECORDED_PAGES = "modules/edifact/tests/resources/pages/";
+const BENCHMARK_RUNS = 200;
+
+// The regular expressions the page scanner replaced. They are the reference
+// for the rows the scanner has to produce.
+final regexp:RegExp segmentTableRegex = re `\d+\.\d+\.\d+  Segment table([\s\S]+)`;
+final regexp:RegExp segmentGroupRegex = re `Segment group (\d+)\s+------------------\s+([CM])\s+(\d+)(-+\+*\|*)`;
+final regexp:RegExp segmentGroupOrSegmentRegex = re `<A HREF = "\.\./([^"]+)">([^<]+)</A>\s+(.*)\s+([CM])\s+(\d+)([\s-]+\+*\|*)|Segment group (\d+)\s+------------------\s+([CM])\s+(\d+)(-+\+*\|*)`;
+final regexp:RegExp fieldAndComponentRegex = re `(\d+)\s+<A HREF = "\.\./([^"]+)">([^<]+)</A>\s+(.*)\s+([CM])\s+(\d+.*)|       <A HREF = "\.\./([^"]+)">([^<]+)</A>\s+([A-Za-z-\n\s]*)\s+([CM])`;
+final regexp:RegExp fieldRegex = re `(\d+)\s+<A HREF = "\.\./([^"]+)">([^<]+)</A>\s+(.*)\s+([CM])\s+(\d+.*)`;
+
+@test:Config {}
+function testSegmentTableScannerMatchesRegex() returns error? {
+    string page = check io:fileReadString(RECORDED_PAGES + "orders_c.htm");
+    SegmentTableRow[] expected = check regexSegmentTable(page);
+    SegmentTableRow[] actual = check scanSegmentTable(page);
+    test:assertEquals(actual, expected);
+    test:assertEquals(actual.length(), 150);
+
+    EDISchema expectedSchema = check genMsgTypeEdiSchema(expected, {}, "ORDERS");
+    EDISchema actualSchema = check genMsgTypeEdiSchema(actual, {}, "ORDERS");
+    test:assertEquals(actualSchema, expectedSchema);
+}
+
+@test:Config {}
+function testSegmentPageScannerMatchesRegex() returns error? {
+    foreach string pageName in ["trsdbgm.htm", "trsdnad.htm"] {
+        string page = check io:fileReadString(RECORDED_PAGES + pageName);
+        test:assertEquals(scanSegmentPage(page), regexSegmentPage(page), pageName);
+    }
+}
+
+@test:Config {}
+function testSegmentPageScannerKeepsIrregularRowsOfRegex() returns error? {
+    SegmentPageRow[] rows = scanSegmentPage(check io:fileReadString(RECORDED_PAGES + "trsdnad.htm"));
+    // The third component of C058 has a name with characters other than
+    // letters and dashes, which the original expressions skipped.
+    test:assertEquals(from SegmentPageRow row in rows.slice(5, 9) select row.code, ["C058", "3124", "3124", "C080"]);
+    // The name of the component of C059 continues on the next line.
+    SegmentPageRow street = rows[13];
+    test:assertTrue(street is ComponentRow && street.code == "3042" && street.status == "M");
+}
+
+@test:Config {}
+function testSegmentTableScannerRejectsPageWithoutTable() {
+    SegmentTableRow[]|error rows = scanSegmentTable("4.3.1 Segment table\n<A HREF = \"../trsd/trsdunh.htm\">UNH</A>");
+    test:assertTrue(rows is error);
+}
+
+@test:Config {
+    groups: ["benchmark"]
+}
+function benchmarkPageScanner() returns error? {
+    string messagePage = check io:fileReadString(RECORDED_PAGES + "orders_c.htm");
+    string segmentPage = check io:fileReadString(RECORDED_PAGES + "trsdnad.htm");
+
+    decimal regexStart = time:monotonicNow();
+    foreach int i in 0 ..< BENCHMARK_RUNS {
+        _ = check regexSegmentTable(messagePage);
+        _ = regexSegmentPage(segmentPage);
+    }
+    decimal regexSeconds = time:monotonicNow() - regexStart;
+
+    decimal scannerStart = time:monotonicNow();
+    foreach int i in 0 ..< BENCHMARK_RUNS {
+        _ = check scanSegmentTable(messagePage);
+        _ = scanSegmentPage(segmentPage);
+    }
+    decimal scannerSeconds = time:monotonicNow() - scannerStart;
+
+    io:println(string `EDIFACT page parsing, ${BENCHMARK_RUNS} runs: regex ${regexSeconds}s, scanner ${scannerSeconds}s`);
+}
+
+function regexSegmentTable(string page) returns SegmentTableRow[]|error {
+    regexp:Groups[] tables = segmentTableRegex.findAllGroups(page);
+    if tables.length() != 1 {
+        return error("Cannot find a match for single segment table");
+    }
+    SegmentTableRow[] rows = [];
+    foreach regexp:Groups groups in segmentGroupOrSegmentRegex.findAllGroups(groupText(tables[0], 1)) {
+        if segmentGroupRegex.isFullMatch(groups[0].substring()) {
+            rows.push({
+                number: groupText(groups, 1),
+                status: groupText(groups, 2),
+                occurrence: groupText(groups, 3),
+                box: groupText(groups, 4)
+            });
+        } else {
+            rows.push({
+                url: groupText(groups, 1),
+                code: groupText(groups, 2),
+                description: groupText(groups, 3),
+                status: groupText(groups, 4),
+                occurrence: groupText(groups, 5),
+                box: groupText(groups, 6)
+            });
+        }
+    }
+    return rows;
+}
+
+function regexSegmentPage(string page) returns SegmentPageRow[] {
+    SegmentPageRow[] rows = [];
+    foreach regexp:Groups groups in fieldAndComponentRegex.findAllGroups(page) {
+        if fieldRegex.isFullMatch(groups[0].substring()) {
+            rows.push({
+                url: groupText(groups, 2),
+                code: groupText(groups, 3),
+                description: groupText(groups, 4),
+                status: groupText(groups, 5),
+                occurrenceAndType: groupText(groups, 6)
+            });
+        } else {
+            rows.push({url: groupText(groups, 1), code: groupText(groups, 2), status: groupText(groups, 4)});
+        }
+    }
+    return rows;
+}
@@ -19,15 +19,20 @@ import ballerina/log;
 
 map<int> recordNames = {};
 
-public function fixSchema(edi:EdiSchema schema) returns error? {
+public isolated function fixSchema(edi:EdiSchema schema) returns error? {
     foreach edi:EdiSegSchema segSchema in schema.segmentDefinitions {
         check fixSegment(segSchema);
     }
+    check fixSegmentGroups(schema);
+}
+
+// Resolves name conflicts in the segment groups of the schema, leaving its segment definitions unchanged.
+isolated function fixSegmentGroups(edi:EdiSchema schema) returns error? {
     edi:EdiSegGroupSchema rootSchema = {tag: schema.tag, segments: schema.segments};
     check fixSegmentGroup(rootSchema, schema);
 }
 
-public function fixSegmentGroup(edi:EdiSegGroupSchema groupSchema, edi:EdiSchema schema) returns error? {
+public isolated function fixSegmentGroup(edi:EdiSegGroupSchema groupSchema, edi:EdiSchema schema) returns error? {
     map<int> fieldNames = {};
     foreach edi:EdiUnitSchema unit in groupSchema.segments {
         if unit is edi:EdiSegSchema {
@@ -63,7 +68,7 @@ public function fixSegmentGroup(edi:EdiSegGroupSchema groupSchema, edi:EdiSchema
     }
 }
 
-function fixSegment(edi:EdiSegSchema segSchema) returns error? {
+isolated function fixSegment(edi:EdiSegSchema segSchema) returns error? {
     map<int> fieldNames = {};
     foreach edi:EdiFieldSchema 'field in segSchema.fields {
         string tag = 'field.tag;
@@ -80,7 +85,7 @@ function fixSegment(edi:EdiSegSchema segSchema) returns error? {
     }
 }
 
-function fixComposite(edi:EdiFieldSchema fieldSchema) returns error? {
+isolated function fixComposite(edi:EdiFieldSchema fieldSchema) returns error? {
     map<int> fieldNames = {};
     foreach edi:EdiComponentSchema component in fieldSchema.components {
         string tag = component.tag;
@@ -96,7 +101,7 @@ function fixComposite(edi:EdiFieldSchema fieldSchema) returns error? {
     }
 }
 
-public function getBalCompatibleName(string rawName) returns string {
+public isolated function getBalCompatibleName(string rawName) returns string {
     string name = rawName.trim();
     string:RegExp re = re `[^a-zA-Z0-9_]`;
     string:RegExp expectedRe = re `^[a-zA-Z].*`;
@@ -14,7 +14,6 @@
 // specific language governing permissions and limitations
 // under the License.
 
-import ballerina/io;
 import ballerina/log;
 import ballerina/edi;
 
@@ -84,7 +83,6 @@ public function readSegmentSchemas(json basedef) returns map<edi:EdiSegSchema>|e
                 };
                 segSchema.fields.push(fieldSchema);
             }
-            io:println(segField);
         }
         segmentSchemas[segCode] = segSchema;
     }
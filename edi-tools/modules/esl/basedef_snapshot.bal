@@ -0,0 +1,93 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/crypto;
+import ballerina/edi;
+import ballerina/file;
+import ballerina/io;
+import ballerina/log;
+import ballerina/yaml;
+
+// Incremented whenever the structure of the snapshot, or the segment definitions
+// derived from the basedefs, change. Snapshots of other versions are rebuilt.
+const SNAPSHOT_FORMAT_VERSION = 1;
+
+const SNAPSHOT_SUFFIX = ".snapshot.json";
+
+# Segment definitions read from a basedefs file, stored so that later runs on
+# the same basedefs skip parsing the YAML.
+#
+# + formatVersion - Version of the snapshot format
+# + basedefsHash - SHA-256 hash of the basedefs file content
+# + segments - Segment definitions by segment code, with name conflicts already resolved
+type BasedefSnapshot record {|
+    int formatVersion;
+    string basedefsHash;
+    map<edi:EdiSegSchema> segments;
+|};
+
+# Reads the segment definitions of a basedefs file, using the snapshot of a
+# previous run if the basedefs file has not changed since.
+#
+# The snapshot is written to `<snapshotDir>/.<basedefs file name>.snapshot.json`.
+# A snapshot that is missing, stale or unreadable is rebuilt from the basedefs.
+#
+# + basedefsPath - Path of the basedefs YAML file
+# + snapshotDir - Directory to keep the snapshot in. Defaults to the directory of the basedefs file.
+# + return - Segment definitions by segment code, or an error
+function loadSegmentSchemas(string basedefsPath, string? snapshotDir = ()) returns readonly & map<edi:EdiSegSchema>|error {
+    byte[] content = check io:fileReadBytes(basedefsPath);
+    string basedefsHash = crypto:hashSha256(content).toBase16();
+    string snapshotPath = check file:joinPath(snapshotDir ?: check file:parentPath(check file:getAbsolutePath(basedefsPath)),
+            "." + check file:basename(basedefsPath) + SNAPSHOT_SUFFIX);
+
+    if check file:test(snapshotPath, file:EXISTS) {
+        BasedefSnapshot|error snapshot = readSnapshot(snapshotPath);
+        if snapshot is error {
+            log:printDebug("Ignoring unreadable basedefs snapshot " + snapshotPath + ". " + snapshot.message());
+        } else if snapshot.formatVersion == SNAPSHOT_FORMAT_VERSION && snapshot.basedefsHash == basedefsHash {
+            log:printDebug("Using basedefs snapshot " + snapshotPath);
+            return snapshot.segments.cloneReadOnly();
+        }
+    }
+
+    json baseDefs = check yaml:readString(check string:fromBytes(content));
+    map<edi:EdiSegSchema> segments = check readSegmentSchemas(baseDefs);
+    foreach edi:EdiSegSchema segSchema in segments {
+        check fixSegment(segSchema);
+    }
+    BasedefSnapshot snapshot = {formatVersion: SNAPSHOT_FORMAT_VERSION, basedefsHash, segments};
+    error? e = writeSnapshot(snapshotPath, snapshot);
+    if e is error {
+        log:printWarn("Failed to write basedefs snapshot " + snapshotPath + ". " + e.message());
+    }
+    return segments.cloneReadOnly();
+}
+
+function readSnapshot(string snapshotPath) returns BasedefSnapshot|error {
+    json snapshotJson = check io:fileReadJson(snapshotPath);
+    return snapshotJson.cloneWithType();
+}
+
+function writeSnapshot(string snapshotPath, BasedefSnapshot snapshot) returns error? {
+    string dir = check file:parentPath(snapshotPath);
+    if !check file:test(dir, file:EXISTS) {
+        check file:createDir(dir, file:RECURSIVE);
+    }
+    // Write under a temporary name first, so that an interrupted run never leaves a partial snapshot.
+    check io:fileWriteString(snapshotPath + ".part", snapshot.toJsonString());
+    check file:rename(snapshotPath + ".part", snapshotPath);
+}
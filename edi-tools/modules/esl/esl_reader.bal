@@ -27,37 +27,102 @@ public function main1(string[] args) returns error? {
     check convertEsl(args[0], args[1], args[2]);
 }
 
-public function convertEsl(string eslDataPath, string eslSegmentsPath, string outputPath) returns error? {
-    json baseDefs = check yaml:readFile(eslSegmentsPath);
-    map<edi:EdiSegSchema> segDefinitions = check readSegmentSchemas(baseDefs);
+# Options for converting ESL schemas.
+#
+# + cacheDir - Directory to keep the basedefs snapshot in. Defaults to the directory of the basedefs file.
+# + jobs - Maximum number of ESL schemas converted concurrently in directory mode
+public type EslConversionOptions record {|
+    string? cacheDir = ();
+    int jobs = 1;
+|};
+
+type EslConversionTask record {|
+    string ediName;
+    string eslPath;
+    string outputPath;
+|};
+
+# Converts an ESL schema, or all ESL schemas of a directory, to EDI schemas.
+#
+# The basedefs are read once per run, or from the snapshot of a previous run if
+# they have not changed, and are shared read-only by all conversions. In
+# directory mode, the schemas are converted on up to `jobs` strands.
+#
+# + eslDataPath - ESL schema file, or directory of ESL schema files
+# + eslSegmentsPath - Basedefs file with the segment definitions
+# + outputPath - Output file, or output directory in directory mode
+# + options - Conversion options
+# + return - An error if a schema cannot be converted
+public function convertEsl(string eslDataPath, string eslSegmentsPath, string outputPath,
+        EslConversionOptions options = {}) returns error? {
+    readonly & map<edi:EdiSegSchema> segDefinitions = check loadSegmentSchemas(eslSegmentsPath, options.cacheDir);
     if check file:test(eslDataPath, file:IS_DIR) && check file:test(outputPath, file:IS_DIR) {
-        file:MetaData[] eslFiles = check file:readDir(eslDataPath);
-        foreach file:MetaData eslFile in eslFiles {
-            string ediName = check file:basename(eslFile.absPath);
+        file:MetaData[] items = check file:readDir(eslDataPath);
+        string[] eslFiles = from file:MetaData item in items
+            where !item.dir
+            order by item.absPath
+            select item.absPath;
+        EslConversionTask[] tasks = [];
+        foreach string eslFile in eslFiles {
+            string ediName = check file:basename(eslFile);
+            // Hidden files, such as a basedefs snapshot kept next to the schemas, are not ESL schemas.
+            if ediName.startsWith(".") {
+                continue;
+            }
             if ediName.endsWith(".esl") {
                 ediName = ediName.substring(0, ediName.length() - ".esl".length());
             }
             if ediName == "basedefs" || ediName == "structures.txt" {
                 continue;
             }
-            json eslJson = check yaml:readFile(eslFile.absPath);
-            edi:EdiSchema|error ediMapping = readEslSchema(eslJson, segDefinitions);
-            if ediMapping is error {
-                return error(string `Failed to convert schema of EDI: ${ediName}. Error: ${ediMapping.message()}`);
+            tasks.push({ediName, eslPath: eslFile, outputPath: check file:joinPath(outputPath, ediName + ".json")});
+        }
+
+        int workerCount = int:max(1, int:min(options.jobs, tasks.length()));
+        EslConversionTask[][] buckets = [];
+        foreach int i in 0 ..< workerCount {
+            buckets.push([]);
+        }
+        foreach int i in 0 ..< tasks.length() {
+            buckets[i % workerCount].push(tasks[i]);
+        }
+        future<error?>[] workers = [];
+        foreach EslConversionTask[] bucket in buckets {
+            readonly & EslConversionTask[] workerTasks = bucket.cloneReadOnly();
+            future<error?> worker = start convertEslTasks(workerTasks, segDefinitions);
+            workers.push(worker);
+        }
+        error? firstError = ();
+        foreach future<error?> worker in workers {
+            error? e = wait worker;
+            if firstError is () {
+                firstError = e;
             }
-            check fixSchema(ediMapping);
-            string mappingPath = check file:joinPath(outputPath, ediName + ".json");
-            check io:fileWriteJson(mappingPath, ediMapping.toJson());
         }
+        return firstError;
     } else {
         json eslJson = check yaml:readFile(eslDataPath);
         edi:EdiSchema ediSchema = check readEslSchema(eslJson, segDefinitions);
-        check fixSchema(ediSchema);
+        check fixSegmentGroups(ediSchema);
         check io:fileWriteJson(outputPath, ediSchema.toJson());
     }
 }
 
-public function readEslSchema(json eslSchema, map<edi:EdiSegSchema> segmentDefs) returns edi:EdiSchema|error {
+isolated function convertEslTasks(readonly & EslConversionTask[] tasks, readonly & map<edi:EdiSegSchema> segDefinitions)
+        returns error? {
+    foreach EslConversionTask task in tasks {
+        json eslJson = check yaml:readFile(task.eslPath);
+        edi:EdiSchema|error ediMapping = readEslSchema(eslJson, segDefinitions);
+        if ediMapping is error {
+            return error(string `Failed to convert schema of EDI: ${task.ediName}. Error: ${ediMapping.message()}`);
+        }
+        // The shared segment definitions are fixed when they are loaded, so only the segment groups are left.
+        check fixSegmentGroups(ediMapping);
+        check io:fileWriteJson(task.outputPath, ediMapping.toJson());
+    }
+}
+
+public isolated function readEslSchema(json eslSchema, map<edi:EdiSegSchema> segmentDefs) returns edi:EdiSchema|error {
     json[] units = [];
     var heading = eslSchema.heading;
     if heading is json[] {
@@ -93,7 +158,7 @@ public function readEslSchema(json eslSchema, map<edi:EdiSegSchema> segmentDefs)
     return ediSchema;
 }
 
-public function readSegmentGroup(json segGroupDef, map<edi:EdiSegSchema> segmentDefs) returns edi:EdiSegGroupSchema|error {
+public isolated function readSegmentGroup(json segGroupDef, map<edi:EdiSegSchema> segmentDefs) returns edi:EdiSegGroupSchema|error {
     json|error segGroupId = segGroupDef.groupId;
     if segGroupId is error {
         return error("Invalid segment group schema. groupId is required. " + segGroupDef.toString());
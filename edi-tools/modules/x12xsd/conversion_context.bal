@@ -0,0 +1,112 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/crypto;
+import ballerina/edi;
+import ballerina/io;
+
+# Data and caches shared by every XSD converted in one run. The conversions of
+# a collection run concurrently and all use the same context.
+#
+# Segment definitions are cached by segment name, occurrence bounds and a
+# fingerprint of the fields of the segment's XSD definition, so the segments that
+# most transaction sets share (N1, N3, N4, REF, DTM, PER, ...) are converted once
+# per run. The cached
+# definitions are immutable, so every converted schema refers to the same copy.
+# Header XSDs are cached by a hash of their content, so the interchange header
+# XSD that all directories of a collection share is only parsed once.
+isolated class X12ConversionContext {
+    private final readonly & map<string> conditionalFields;
+    private final map<readonly & edi:EdiSegSchema> segments = {};
+    private final map<readonly & X12Xsd> headerXsds = {};
+    private int segmentConversions = 0;
+    private int headerXsdParses = 0;
+
+    # Creates a conversion context.
+    #
+    # + conditionalFields - Fields marked as conditional in the segment details file, keyed by segment code and field position
+    isolated function init(readonly & map<string> conditionalFields = {}) {
+        self.conditionalFields = conditionalFields;
+    }
+
+    # Returns whether the segment details mark a field as conditional.
+    #
+    # + fieldName - Segment code and field position, e.g. `N101`
+    # + return - True if the field is conditional
+    isolated function isConditional(string fieldName) returns boolean {
+        return self.conditionalFields.length() > 0 && self.conditionalFields.hasKey(fieldName);
+    }
+
+    isolated function getSegment(string key) returns (readonly & edi:EdiSegSchema)? {
+        lock {
+            return self.segments[key];
+        }
+    }
+
+    isolated function putSegment(string key, readonly & edi:EdiSegSchema segment) {
+        lock {
+            self.segments[key] = segment;
+            self.segmentConversions += 1;
+        }
+    }
+
+    isolated function getHeaderXsd(string key) returns (readonly & X12Xsd)? {
+        lock {
+            return self.headerXsds[key];
+        }
+    }
+
+    isolated function putHeaderXsd(string key, readonly & X12Xsd xsd) {
+        lock {
+            self.headerXsds[key] = xsd;
+            self.headerXsdParses += 1;
+        }
+    }
+
+    # Returns the number of segment definitions converted in this run, which
+    # excludes the ones taken from the cache.
+    #
+    # + return - Number of converted segment definitions
+    isolated function getSegmentConversions() returns int {
+        lock {
+            return self.segmentConversions;
+        }
+    }
+
+    # Returns the number of header XSDs parsed in this run.
+    #
+    # + return - Number of parsed header XSDs
+    isolated function getHeaderXsdParses() returns int {
+        lock {
+            return self.headerXsdParses;
+        }
+    }
+}
+
+// Reads and indexes a header XSD, or returns the one already read in this run
+// if the file has the same content.
+isolated function loadHeaderXsd(string path, X12ConversionContext context) returns (readonly & X12Xsd)|error {
+    byte[] content = check io:fileReadBytes(path);
+    string key = crypto:hashSha256(content).toBase16();
+    readonly & X12Xsd? cached = context.getHeaderXsd(key);
+    if cached is readonly & X12Xsd {
+        return cached;
+    }
+    xml headerXsd = check xml:fromString(check string:fromBytes(content));
+    readonly & X12Xsd indexed = (check indexX12Xsd(headerXsd)).cloneReadOnly();
+    context.putHeaderXsd(key, indexed);
+    return indexed;
+}
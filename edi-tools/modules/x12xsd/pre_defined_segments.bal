@@ -20,7 +20,7 @@ import ballerina/edi;
 // XSDs, so they are inlined here. ST/SE come from the XSD itself and are
 // extracted from `segments` by `populateX12Envelope`.
 
-final edi:EdiSegSchema ISA_SEG = {
+final readonly & edi:EdiSegSchema ISA_SEG = {
     code: "ISA",
     tag: "InterchangeControlHeader",
     fields: [
@@ -52,7 +52,7 @@ final edi:EdiSegSchema ISA_SEG = {
     ]
 };
 
-final edi:EdiSegSchema IEA_SEG = {
+final readonly & edi:EdiSegSchema IEA_SEG = {
     code: "IEA",
     tag: "InterchangeControlTrailer",
     fields: [
@@ -62,7 +62,7 @@ final edi:EdiSegSchema IEA_SEG = {
     ]
 };
 
-final edi:EdiSegSchema GS_SEG = {
+final readonly & edi:EdiSegSchema GS_SEG = {
     code: "GS",
     tag: "FunctionalGroupHeader",
     fields: [
@@ -78,7 +78,7 @@ final edi:EdiSegSchema GS_SEG = {
     ]
 };
 
-final edi:EdiSegSchema GE_SEG = {
+final readonly & edi:EdiSegSchema GE_SEG = {
     code: "GE",
     tag: "FunctionalGroupTrailer",
     fields: [
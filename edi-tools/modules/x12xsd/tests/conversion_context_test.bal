@@ -0,0 +1,53 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/edi;
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+
+const TRANSACTION_XSD = "tests/resources/x12xsd/004010/210.xsd";
+const HEADER_XSD = "modules/x12xsd/tests/resources/headers/Interchange.xsd";
+
+@test:Config {}
+function testSegmentsAreConvertedOncePerRun() returns error? {
+    X12ConversionContext context = new;
+    edi:EdiSchema first = check convertX12Xsd(check io:fileReadXml(TRANSACTION_XSD), context);
+    int conversions = context.getSegmentConversions();
+    test:assertTrue(conversions > 0, "No segment was converted");
+
+    // A second file of the collection with the same segments takes all of them from the cache.
+    edi:EdiSchema second = check convertX12Xsd(check io:fileReadXml(TRANSACTION_XSD), context);
+    test:assertEquals(context.getSegmentConversions(), conversions, "Segments of the second file were converted again");
+    test:assertEquals(second, first);
+}
+
+@test:Config {}
+function testHeaderXsdIsParsedOncePerRun() returns error? {
+    X12ConversionContext context = new;
+    int conversions = 0;
+    foreach int i in 0 ..< 2 {
+        string dir = check file:createTempDir();
+        check file:copy(HEADER_XSD, check file:joinPath(dir, "Interchange.xsd"));
+        check file:copy(TRANSACTION_XSD, check file:joinPath(dir, "210.xsd"));
+        _ = check convertFromX12WithHeaders(dir, context);
+        if i == 0 {
+            conversions = context.getSegmentConversions();
+        }
+    }
+    test:assertEquals(context.getHeaderXsdParses(), 1, "The shared header XSD was parsed more than once");
+    test:assertEquals(context.getSegmentConversions(), conversions, "Segments of the second directory were converted again");
+}
@@ -22,32 +22,49 @@ import ballerina/log;
 xmlns "http://www.w3.org/2001/XMLSchema" as xs;
 xmlns "http://xml.x12.org/isomorph" as x12;
 
-map<string> conditionalFeildsMap = {};
+// One file or header directory of an X12 collection and its output path.
+type X12ConversionTask readonly & record {|
+    string inputPath;
+    string outputPath;
+    boolean withHeaders;
+|};
+
+// A loaded X12 XSD with its top-level `xs:element`s indexed by name, so that
+// segment and segment group references resolve with a map lookup instead of a
+// scan over every element of the XSD.
+type X12Xsd record {|
+    xml content;
+    map<xml> elements;
+|};
 
 public function convertFromX12XsdAndWrite(string inPath, string outPath, string segdetPath = "") returns error? {
-    loadConditionalFieldsMap(segdetPath);
-    xml x12xsd = check io:fileReadXml(inPath);
-    edi:EdiSchema ediSchema = check convertFromX12Xsd(x12xsd);
-    check io:fileWriteJson(outPath, ediSchema);
+    check convertX12Task({inputPath: inPath, outputPath: outPath, withHeaders: false}, loadConversionContext(segdetPath));
 }
 
 public function convertFromX12WithHeadersAndWrite(string inPath, string outPath, string segdetPath = "") returns error? {
-    loadConditionalFieldsMap(segdetPath);
-    edi:EdiSchema ediSchema = check convertFromX12WithHeaders(inPath);
-    check io:fileWriteJson(outPath, ediSchema);
+    check convertX12Task({inputPath: inPath, outputPath: outPath, withHeaders: true}, loadConversionContext(segdetPath));
 }
 
-public function convertFromX12CollectionAndWrite(string inPath, string outPath, boolean withHeaders, string segdetPath = "") returns error? {
-    loadConditionalFieldsMap(segdetPath);
+# Converts every X12 XSD (or, in headers mode, every directory of XSDs) in the input directory.
+#
+# + inPath - Directory containing the XSDs or the header directories
+# + outPath - Directory to write the converted schemas
+# + withHeaders - Whether each entry of the collection is a directory with an interchange header XSD
+# + segdetPath - Path to the segment details file
+# + jobs - Maximum number of files converted concurrently
+# + return - Error if any of the conversions fails
+public function convertFromX12CollectionAndWrite(string inPath, string outPath, boolean withHeaders, string segdetPath = "",
+        int jobs = 1) returns error? {
+    X12ConversionContext context = loadConversionContext(segdetPath);
     boolean isOutputDir = check file:test(outPath, file:IS_DIR);
     file:MetaData[] inFiles = check file:readDir(inPath);
+    X12ConversionTask[] tasks = [];
     if withHeaders {
         foreach file:MetaData inFile in inFiles {
             if (inFile.dir) {
                 string dirName = check file:basename(inFile.absPath);
                 string outputPathGenerated = isOutputDir ? check file:joinPath(outPath, dirName + ".json") : outPath;
-                edi:EdiSchema ediSchema = check convertFromX12WithHeaders(inFile.absPath);
-                check io:fileWriteJson(outputPathGenerated, ediSchema);
+                tasks.push({inputPath: inFile.absPath, outputPath: outputPathGenerated, withHeaders: true});
             }
         }
     } else {
@@ -56,14 +73,61 @@ public function convertFromX12CollectionAndWrite(string inPath, string outPath,
             if (ediName.endsWith(".xsd")) {
                 ediName = ediName.substring(0, ediName.length() - ".xsd".length());
             }
-            xml x12xsd = check io:fileReadXml(inFile.absPath);
-            edi:EdiSchema ediSchema = check convertFromX12Xsd(x12xsd);
-            check io:fileWriteJson(check file:joinPath(outPath, ediName + ".json"), ediSchema);
+            tasks.push({inputPath: inFile.absPath, outputPath: check file:joinPath(outPath, ediName + ".json"), withHeaders: false});
+        }
+    }
+
+    int workerCount = int:max(1, int:min(jobs, tasks.length()));
+    X12ConversionTask[][] buckets = [];
+    foreach int i in 0 ..< workerCount {
+        buckets.push([]);
+    }
+    foreach int i in 0 ..< tasks.length() {
+        buckets[i % workerCount].push(tasks[i]);
+    }
+    future<error?>[] workers = [];
+    foreach X12ConversionTask[] bucket in buckets {
+        readonly & X12ConversionTask[] workerTasks = bucket.cloneReadOnly();
+        future<error?> worker = start convertX12Tasks(workerTasks, context);
+        workers.push(worker);
+    }
+    // Let every worker finish before reporting a failure, so that no conversion is left half written.
+    error? firstError = ();
+    foreach future<error?> worker in workers {
+        error? result = wait worker;
+        if result is error && firstError is () {
+            firstError = result;
         }
     }
+    return firstError;
+}
+
+isolated function convertX12Tasks(readonly & X12ConversionTask[] tasks, X12ConversionContext context) returns error? {
+    foreach X12ConversionTask task in tasks {
+        check convertX12Task(task, context);
+    }
+}
+
+isolated function convertX12Task(X12ConversionTask task, X12ConversionContext context) returns error? {
+    edi:EdiSchema ediSchema;
+    if task.withHeaders {
+        ediSchema = check convertFromX12WithHeaders(task.inputPath, context);
+    } else {
+        ediSchema = check convertX12Xsd(check io:fileReadXml(task.inputPath), context);
+    }
+    check io:fileWriteJson(task.outputPath, ediSchema);
+}
+
+# Converts an X12 XSD to a Ballerina EDI schema. The segment definitions of the
+# returned schema are immutable.
+#
+# + x12xsd - X12 XSD of a transaction set
+# + return - Ballerina EDI schema or error
+public isolated function convertFromX12Xsd(xml x12xsd) returns edi:EdiSchema|error {
+    return convertX12Xsd(x12xsd, new);
 }
 
-public function convertFromX12Xsd(xml x12xsd) returns edi:EdiSchema|error {
+isolated function convertX12Xsd(xml x12xsd, X12ConversionContext context) returns edi:EdiSchema|error {
     xml elements = x12xsd/<xs:element>;
     xml root = elements[0];
     string rootName = "";
@@ -77,7 +141,7 @@ public function convertFromX12Xsd(xml x12xsd) returns edi:EdiSchema|error {
     if !rootName.startsWith("X12_") {
         return error("Invalid X12 schema");
     }
-    edi:EdiSegGroupSchema rootSegGroupSchema = check convertSegmentGroup(root, x12xsd, ediSchema);
+    edi:EdiSegGroupSchema rootSegGroupSchema = check convertSegmentGroup(root, check indexX12Xsd(x12xsd), ediSchema, context);
     ediSchema.segments = rootSegGroupSchema.segments;
     check populateX12Envelope(ediSchema);
     return ediSchema;
@@ -90,7 +154,7 @@ public function convertFromX12Xsd(xml x12xsd) returns edi:EdiSchema|error {
 // Returns an error if the XSD does not declare ST / SE — generating a closed
 // envelope wrapper without transaction header/trailer segments would produce
 // a schema that can never parse a conformant interchange.
-function populateX12Envelope(edi:EdiSchema schema) returns error? {
+isolated function populateX12Envelope(edi:EdiSchema schema) returns error? {
     edi:EdiUnitSchema[] body = [];
     edi:EdiUnitSchema[] txnHeader = [];
     edi:EdiUnitSchema[] txnTrailer = [];
@@ -139,7 +203,7 @@ function populateX12Envelope(edi:EdiSchema schema) returns error? {
 // ST and SE are lifted out of `segments[]` as-is and inherit whatever
 // `minOccurances` the XSD specified (often 0). At the envelope level they
 // are mandatory by definition, so promote them.
-function forceMandatoryX12(edi:EdiUnitSchema[] units) returns edi:EdiUnitSchema[] {
+isolated function forceMandatoryX12(edi:EdiUnitSchema[] units) returns edi:EdiUnitSchema[] {
     edi:EdiUnitSchema[] result = [];
     foreach edi:EdiUnitSchema u in units {
         if u is edi:EdiSegSchema {
@@ -161,7 +225,7 @@ function forceMandatoryX12(edi:EdiUnitSchema[] units) returns edi:EdiUnitSchema[
 
 // Returns the segment code of an EdiUnitSchema entry, resolving an EdiUnitRef
 // through `schema.segmentDefinitions` when needed.
-function getRefCode(edi:EdiUnitSchema unit, edi:EdiSchema schema) returns string? {
+isolated function getRefCode(edi:EdiUnitSchema unit, edi:EdiSchema schema) returns string? {
     if unit is edi:EdiSegSchema {
         return unit.code;
     }
@@ -172,10 +236,10 @@ function getRefCode(edi:EdiUnitSchema unit, edi:EdiSchema schema) returns string
     return ();
 }
 
-function convertFromX12WithHeaders(string inPath) returns edi:EdiSchema|error {
+isolated function convertFromX12WithHeaders(string inPath, X12ConversionContext context) returns edi:EdiSchema|error {
     string interchangePath = inPath + "/Interchange.xsd";
-    xml interchangeXsd = check io:fileReadXml(interchangePath);
-    xml elements = interchangeXsd/<xs:element>;
+    X12Xsd interchangeXsd = check loadHeaderXsd(interchangePath, context);
+    xml elements = interchangeXsd.content/<xs:element>;
     xml root = elements[0];
     string rootName = "";
     do {
@@ -188,12 +252,12 @@ function convertFromX12WithHeaders(string inPath) returns edi:EdiSchema|error {
     if !rootName.startsWith("X12_") {
         return error("Invalid X12 schema");
     }
-    edi:EdiSegGroupSchema rootSegGroupSchema = check convertSegmentGroup(root, interchangeXsd, ediSchema, inPath);
+    edi:EdiSegGroupSchema rootSegGroupSchema = check convertSegmentGroup(root, interchangeXsd, ediSchema, context, inPath);
     ediSchema.segments = rootSegGroupSchema.segments;
     return ediSchema;
 }
 
-function convertSegmentGroup(xml segmentGroup, xml x12xsd, edi:EdiSchema schema, string dirPath = "", int parentMinOccur = 0, int parentMaxOccur = 1) returns edi:EdiSegGroupSchema|error {
+isolated function convertSegmentGroup(xml segmentGroup, X12Xsd x12xsd, edi:EdiSchema schema, X12ConversionContext context, string dirPath = "", int parentMinOccur = 0, int parentMaxOccur = 1) returns edi:EdiSegGroupSchema|error {
     xml elements = segmentGroup/<xs:complexType>/<xs:sequence>/<xs:element>;
     string tag = "";
     do {
@@ -213,18 +277,18 @@ function convertSegmentGroup(xml segmentGroup, xml x12xsd, edi:EdiSchema schema,
         if ref.startsWith("X12_") {
             schema.name = ref;
             schema.tag = ref;
-            xml innerX12xsd = check readInnerX12xsd(x12xsd, dirPath);
+            xml innerX12xsd = check readInnerX12xsd(x12xsd.content, dirPath);
             xml rootElement = check validateAndGetRootEelement(innerX12xsd);
-            edi:EdiSegGroupSchema innerSegGroupSchema = check convertSegmentGroup(rootElement, innerX12xsd, schema, dirPath);
+            edi:EdiSegGroupSchema innerSegGroupSchema = check convertSegmentGroup(rootElement, check indexX12Xsd(innerX12xsd), schema, context, dirPath);
             segGroupSchema.segments.push(innerSegGroupSchema);
         }
         else if ref.startsWith("Loop_") {
             xml segGroupElement = check getUnitElement(ref, x12xsd);
-            edi:EdiSegGroupSchema childSegGroupSchema = check convertSegmentGroup(segmentGroup = segGroupElement, x12xsd = x12xsd, schema = schema, parentMaxOccur = eleMaxOccur, parentMinOccur = eleMinOccur);
+            edi:EdiSegGroupSchema childSegGroupSchema = check convertSegmentGroup(segmentGroup = segGroupElement, x12xsd = x12xsd, schema = schema, context = context, parentMaxOccur = eleMaxOccur, parentMinOccur = eleMinOccur);
             segGroupSchema.segments.push(childSegGroupSchema);
         } else {
             if !schema.segmentDefinitions.hasKey((ref)) {
-                edi:EdiSegSchema segSchema = check convertSegment(ref, eleMinOccur, eleMaxOccur, x12xsd);
+                edi:EdiSegSchema segSchema = check convertSegment(ref, eleMinOccur, eleMaxOccur, x12xsd, context);
                 schema.segmentDefinitions[ref] = segSchema;
             }
             edi:EdiUnitRef segRef = {ref: ref, minOccurances: eleMinOccur, maxOccurances: eleMaxOccur};
@@ -234,8 +298,14 @@ function convertSegmentGroup(xml segmentGroup, xml x12xsd, edi:EdiSchema schema,
     return segGroupSchema;
 }
 
-function convertSegment(string segmentName, int minOccurs, int maxOccurs, xml x12xsd) returns edi:EdiSegSchema|error {
+isolated function convertSegment(string segmentName, int minOccurs, int maxOccurs, X12Xsd x12xsd,
+        X12ConversionContext context) returns edi:EdiSegSchema|error {
     xml segElement = check getUnitElement(segmentName, x12xsd);
+    string cacheKey = segmentCacheKey(segmentName, minOccurs, maxOccurs, segElement);
+    readonly & edi:EdiSegSchema? cached = context.getSegment(cacheKey);
+    if cached is readonly & edi:EdiSegSchema {
+        return cached;
+    }
     string:RegExp underscorePlaceholder = re `_`;
     string[] nameParts = underscorePlaceholder.split(segmentName);
     edi:EdiSegSchema segSchema =
@@ -255,11 +325,8 @@ function convertSegment(string segmentName, int minOccurs, int maxOccurs, xml x1
         if (fieldMinOccurs is string) {
             fieldSchema.required = fieldMinOccurs != "0";
         }
-        if conditionalFeildsMap.length() > 0 {
-            string[] nameSplit = underscorePlaceholder.split(fieldName);
-            if conditionalFeildsMap.hasKey(nameSplit[0]) {
-                fieldSchema.required = false;
-            }
+        if context.isConditional(underscorePlaceholder.split(fieldName)[0]) {
+            fieldSchema.required = false;
         }
         string?|error fieldDataType = fieldElement/<xs:'annotation>/<xs:appinfo>/<x12:STD_Info>.DataType;
         if fieldDataType is error || fieldDataType == () {
@@ -269,7 +336,7 @@ function convertSegment(string segmentName, int minOccurs, int maxOccurs, xml x1
                 log:printWarn(string `Data type not defined. Defaulting it to string. Segment name: ${segmentName}, Field name: ${fieldName}`);
                 fieldSchema.dataType = edi:STRING;
             } else {
-                check convertCompositeField(fieldSchema, compositeElements, segmentName, fieldName);
+                check convertCompositeField(fieldSchema, compositeElements, segmentName, fieldName, context);
             }
         } else {
             edi:EdiDataType|error dataType = getDataType(fieldDataType);
@@ -282,10 +349,38 @@ function convertSegment(string segmentName, int minOccurs, int maxOccurs, xml x1
         }
         segSchema.fields.push(fieldSchema);
     }
-    return segSchema;
+    readonly & edi:EdiSegSchema converted = segSchema.cloneReadOnly();
+    context.putSegment(cacheKey, converted);
+    return converted;
+}
+
+// Key of a converted segment definition in the conversion context. Covers
+// everything `convertSegment` reads apart from the context itself: the segment
+// name, the occurrence bounds, and the name, minOccurs and data type of each
+// field and component. Reading these attributes is much cheaper than writing out
+// and hashing the whole element, which also holds the documentation text.
+isolated function segmentCacheKey(string segmentName, int minOccurs, int maxOccurs, xml segElement) returns string {
+    string key = string `${segmentName}:${minOccurs}:${maxOccurs}`;
+    xml fieldElements = segElement/<xs:complexType>/<xs:sequence>/<xs:element>;
+    foreach xml fieldElement in fieldElements {
+        key += "|" + fieldFingerprint(fieldElement);
+        xml compositeElements = fieldElement/<xs:complexType>/<xs:sequence>/<xs:element>;
+        foreach xml compositeElement in compositeElements {
+            key += ">" + fieldFingerprint(compositeElement);
+        }
+    }
+    return key;
 }
 
-function convertCompositeField(edi:EdiFieldSchema fieldSchema, xml compositeElements, string segmentName, string fieldName) returns error? {
+isolated function fieldFingerprint(xml fieldElement) returns string {
+    string|error name = fieldElement.name;
+    string|error minOccurs = fieldElement.minOccurs;
+    string?|error dataType = fieldElement/<xs:'annotation>/<xs:appinfo>/<x12:STD_Info>.DataType;
+    return string `${name is string ? name : ""},${minOccurs is string ? minOccurs : ""},${dataType is string ? dataType : ""}`;
+}
+
+isolated function convertCompositeField(edi:EdiFieldSchema fieldSchema, xml compositeElements, string segmentName, string fieldName,
+        X12ConversionContext context) returns error? {
     fieldSchema.dataType = edi:COMPOSITE;
     foreach xml compositeElement in compositeElements {
         string compositeFieldName = "";
@@ -300,12 +395,9 @@ function convertCompositeField(edi:EdiFieldSchema fieldSchema, xml compositeElem
         if compositeMinOccurs is string {
             compositeFieldSchema.required = compositeMinOccurs != "0";
         }
-        if conditionalFeildsMap.length() > 0 {
-            string:RegExp underscorePlaceholder = re `_`;
-            string[] nameSplit = underscorePlaceholder.split(compositeFieldName);
-            if conditionalFeildsMap.hasKey(nameSplit[0]) {
-                compositeFieldSchema.required = false;
-            }
+        string:RegExp underscorePlaceholder = re `_`;
+        if context.isConditional(underscorePlaceholder.split(compositeFieldName)[0]) {
+            compositeFieldSchema.required = false;
         }
         string?|error compositeDataType = compositeElement/<xs:'annotation>/<xs:appinfo>/<x12:STD_Info>.DataType;
         if compositeDataType is error || compositeDataType == () {
@@ -324,7 +416,7 @@ function convertCompositeField(edi:EdiFieldSchema fieldSchema, xml compositeElem
     }
 }
 
-function getDataType(string dataTypeString) returns edi:EdiDataType|error {
+isolated function getDataType(string dataTypeString) returns edi:EdiDataType|error {
     match dataTypeString {
         "ID"|"AN"|"DT"|"TM"|"R" => {
             return edi:STRING;
@@ -341,25 +433,30 @@ function getDataType(string dataTypeString) returns edi:EdiDataType|error {
     }
 }
 
-function getUnitElement(string name, xml x12xsd) returns xml|error {
-    xml? unitElement = ();
+// Indexes the top-level elements of an XSD by name. If a name is declared more
+// than once, the last declaration is used.
+isolated function indexX12Xsd(xml x12xsd) returns X12Xsd|error {
+    map<xml> elements = {};
     xml x12Elements = x12xsd/<xs:element>;
     foreach xml x12Element in x12Elements {
         string|error elementName = x12Element.name;
         if elementName is error {
             return error("EDI segment/segment group's name attribute  is not available. " + x12Element.toString(), elementName);
         }
-        if elementName == name {
-            unitElement = x12Element;
-        }
+        elements[elementName] = x12Element;
     }
+    return {content: x12xsd, elements};
+}
+
+isolated function getUnitElement(string name, X12Xsd x12xsd) returns xml|error {
+    xml? unitElement = x12xsd.elements[name];
     if (unitElement is ()) {
         return error("EDI segment/segment group not found in the input schema. Unit name: " + name);
     }
     return unitElement;
 }
 
-public function getBalCompatibleName(string rawName) returns string {
+public isolated function getBalCompatibleName(string rawName) returns string {
     string name = rawName.trim();
     string:RegExp nonAlphanumericUnderscore = re `[^a-zA-Z0-9_]`;
     string:RegExp startsWithLetter = re `^[a-zA-Z].*`;
@@ -370,7 +467,7 @@ public function getBalCompatibleName(string rawName) returns string {
     return name;
 }
 
-function readInnerX12xsd(xml x12xsd, string dirPath) returns xml|error {
+isolated function readInnerX12xsd(xml x12xsd, string dirPath) returns xml|error {
     xml include = x12xsd/<xs:include>;
     string schemaLocation = check include.schemaLocation;
     string schemaFilePath = dirPath + "/" + schemaLocation;
@@ -378,7 +475,7 @@ function readInnerX12xsd(xml x12xsd, string dirPath) returns xml|error {
     return innerX12xsd;
 }
 
-function validateAndGetRootEelement(xml xsdFileContent) returns xml|error {
+isolated function validateAndGetRootEelement(xml xsdFileContent) returns xml|error {
     xml elements = xsdFileContent/<xs:element>;
     xml root = elements[0];
     do {
@@ -389,16 +486,16 @@ function validateAndGetRootEelement(xml xsdFileContent) returns xml|error {
     return root;
 }
 
-function loadConditionalFieldsMap(string segdetlPath) {
+function loadConversionContext(string segdetlPath) returns X12ConversionContext {
     boolean|file:Error segdetlExisits = file:test(segdetlPath, file:EXISTS);
     if segdetlPath == "" || segdetlExisits is file:Error || !segdetlExisits {
         io:println("Segment details not found. This might affect the accuracy of the requried state of fields.");
-        return;
+        return new;
     }
     stream<string[], io:Error?>|io:Error csvStream = io:fileReadCsvAsStream(segdetlPath);
     if (csvStream is io:Error) {
         io:println("Error reading segment details. This might affect the accuracy of the requried state of fields.");
-        return;
+        return new;
     }
     map<string> fieldsMap = {};
     io:Error? forEach = csvStream.forEach(function(string[] val) {
@@ -408,8 +505,8 @@ function loadConditionalFieldsMap(string segdetlPath) {
     });
     if forEach is io:Error {
         io:println("Error reading segment details. This might affect the accuracy of the requried state of fields.");
-        return;
+        return new;
     }
     io:println("Segment details loaded successfully from " + segdetlPath);
-    conditionalFeildsMap = fieldsMap;
-};
+    return new (fieldsMap.cloneReadOnly());
+}
@@ -27,3 +27,70 @@ function filesProvider() returns string[][] {
         ["ORDERS", "tests/resources/edifact/d03a/ORDERS_expected.json", "tests/resources/edifact/d03a/ORDERS.json"]
     ];
 }
+
+@test:Config {}
+function testEdifactConversionFromCache() returns error? {
+    string cacheDir = check file:createTempDir();
+    string onlineOut = check file:createTempDir();
+    string offlineOut = check file:createTempDir();
+    int requestsBefore = stubRequestCount();
+
+    check edifact:convertEdifactToEdi("d99z", onlineOut, (),
+            {baseUrl: "http://localhost:9595/", cacheDir, jobs: 4});
+    // Message index, ORDERS, INVOIC, BGM, RFF and the missing NAD. Shared and
+    // predefined segments are not fetched.
+    int onlineRequests = stubRequestCount() - requestsBefore;
+    test:assertEquals(onlineRequests, 6, "Each page should be fetched once");
+
+    check edifact:convertEdifactToEdi("d99z", offlineOut, (),
+            {baseUrl: "http://localhost:9595/", cacheDir, offline: true, jobs: 4});
+    test:assertEquals(stubRequestCount() - requestsBefore, onlineRequests, "Offline conversion should not fetch pages");
+
+    foreach string msgType in ["ORDERS", "INVOIC"] {
+        json onlineJson = check io:fileReadJson(check file:joinPath(onlineOut, msgType + ".json"));
+        json offlineJson = check io:fileReadJson(check file:joinPath(offlineOut, msgType + ".json"));
+        test:assertEquals(offlineJson, onlineJson, msgType + " schema should not depend on the cache");
+    }
+
+    json orders = check io:fileReadJson(check file:joinPath(onlineOut, "ORDERS.json"));
+    map<json> segmentDefinitions = check (check orders.segmentDefinitions).ensureType();
+    test:assertTrue(segmentDefinitions.hasKey("BGM") && segmentDefinitions.hasKey("RFF"));
+    test:assertFalse(segmentDefinitions.hasKey("NAD"), "Segments without a page should be left out");
+}
+
+@test:Config {}
+function testOfflineEdifactConversionWithoutCache() returns error? {
+    string cacheDir = check file:createTempDir();
+    error? result = edifact:convertEdifactToEdi("d99z", check file:createTempDir(), "ORDERS",
+            {baseUrl: "http://localhost:9595/", cacheDir, offline: true});
+    if result !is error {
+        test:assertFail("Offline conversion with an empty cache should fail");
+    }
+    test:assertTrue(result.message().includes("is not in the cache"));
+}
+
+@test:Config {}
+function testEdifactConversionFromDirectoryFiles() returns error? {
+    string outputDir = check file:createTempDir();
+    check edifact:convertEdifactDirectoryToEdi("tests/resources/edifact/directory/d99z", outputDir);
+    test:assertTrue(check file:test(check file:joinPath(outputDir, "INVOIC.json"), file:EXISTS));
+
+    json orders = check io:fileReadJson(check file:joinPath(outputDir, "ORDERS.json"));
+    json[] segments = check (check orders.segments).ensureType();
+    test:assertEquals(segments.length(), 5, "UNH and UNT should be moved to the envelope");
+    json group2 = segments[3];
+    test:assertEquals(check group2.tag, "group_2");
+    json[] group2Segments = check (check group2.segments).ensureType();
+    test:assertEquals(group2Segments.length(), 3);
+    test:assertEquals(check group2Segments[2].tag, "group_3", "Segment group 3 should be nested in group 2");
+    test:assertEquals(check segments[4].ref, "UNS", "UNS should follow the groups closed by QTY");
+
+    map<json> segmentDefinitions = check (check orders.segmentDefinitions).ensureType();
+    test:assertFalse(segmentDefinitions.hasKey("PIA"), "Segments missing from the directory should be left out");
+    json qtyDetails = (check (check segmentDefinitions.get("QTY").fields).ensureType(json[]))[1];
+    test:assertEquals(check qtyDetails.tag, "QUANTITY_DETAILS");
+    json[] qtyComponents = check (check qtyDetails.components).ensureType();
+    test:assertEquals(qtyComponents.length(), 3, "Components should be taken from the composite directory");
+    test:assertEquals(check qtyComponents[1].tag, "Quantity");
+    test:assertEquals(check qtyComponents[1].dataType, "int", "Representation should be taken from the element directory");
+}
@@ -0,0 +1,64 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/file;
+import ballerina/http;
+import ballerina/io;
+
+// Serves UN/EDIFACT directory pages from local roots, and 404 for pages that are
+// not there, so that the conversion can be tested and benchmarked without
+// network access. The recorded pages of the conversion tests are always served.
+// Tests that write pages of their own add their root while they run.
+listener http:Listener edifactStubListener = new (9595);
+
+isolated string[] edifactStubRoots = ["tests/resources/edifact/stub"];
+
+isolated int edifactStubRequests = 0;
+
+service / on edifactStubListener {
+    isolated resource function get [string... path]() returns string|http:NotFound|error {
+        readonly & string[] stubRoots;
+        lock {
+            edifactStubRequests += 1;
+            stubRoots = edifactStubRoots.cloneReadOnly();
+        }
+        foreach string stubRoot in stubRoots {
+            string pagePath = check file:joinPath(stubRoot, ...path);
+            if check file:test(pagePath, file:EXISTS) {
+                return io:fileReadString(pagePath);
+            }
+        }
+        return http:NOT_FOUND;
+    }
+}
+
+isolated function addEdifactStubRoot(string stubRoot) {
+    lock {
+        edifactStubRoots.push(stubRoot);
+    }
+}
+
+isolated function removeEdifactStubRoot(string stubRoot) {
+    lock {
+        edifactStubRoots = from string root in edifactStubRoots where root != stubRoot select root;
+    }
+}
+
+isolated function stubRequestCount() returns int {
+    lock {
+        return edifactStubRequests;
+    }
+}
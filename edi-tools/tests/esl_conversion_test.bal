@@ -0,0 +1,83 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/edi;
+import ballerina/file;
+import ballerina/io;
+import ballerina/test;
+import ballerina/yaml;
+import editools.esl;
+
+const ESL_RESOURCES = "tests/resources/esl";
+final string[] & readonly eslSchemaNames = ["850", "855", "860", "875"];
+
+@test:Config
+function testEslDirectoryConversionWithSnapshot() returns error? {
+    string basedefsDir = check file:createTempDir();
+    string basedefsPath = check file:joinPath(basedefsDir, "basedefs.esl");
+    check file:copy(ESL_RESOURCES + "/basedefs.esl", basedefsPath);
+    string snapshotPath = check file:joinPath(basedefsDir, ".basedefs.esl.snapshot.json");
+
+    string sequentialOut = check file:createTempDir();
+    check esl:convertEsl(ESL_RESOURCES + "/schemas", basedefsPath, sequentialOut, {jobs: 1});
+    test:assertTrue(check file:test(snapshotPath, file:EXISTS), "Basedefs snapshot is not written");
+
+    string parallelOut = check file:createTempDir();
+    check esl:convertEsl(ESL_RESOURCES + "/schemas", basedefsPath, parallelOut, {jobs: 3});
+
+    foreach string name in eslSchemaNames {
+        json expected = check convertEslSequentially(ESL_RESOURCES + "/schemas/" + name + ".esl", basedefsPath);
+        json sequential = check io:fileReadJson(check file:joinPath(sequentialOut, name + ".json"));
+        json parallel = check io:fileReadJson(check file:joinPath(parallelOut, name + ".json"));
+        test:assertEquals(sequential, expected, "Conversion differs for " + name);
+        test:assertEquals(parallel, expected, "Parallel conversion differs for " + name);
+    }
+}
+
+@test:Config
+function testEslSnapshotIsRebuiltWhenBasedefsChange() returns error? {
+    string basedefsPath = check file:joinPath(check file:createTempDir(), "basedefs.esl");
+    check file:copy(ESL_RESOURCES + "/basedefs.esl", basedefsPath);
+    string cacheDir = check file:createTempDir();
+    string snapshotPath = check file:joinPath(cacheDir, ".basedefs.esl.snapshot.json");
+    string schemaPath = ESL_RESOURCES + "/schemas/850.esl";
+    string outputPath = check file:joinPath(check file:createTempDir(), "850.json");
+    check esl:convertEsl(schemaPath, basedefsPath, outputPath, {cacheDir});
+
+    // A snapshot of unchanged basedefs is used as is.
+    map<json> snapshot = check (check io:fileReadJson(snapshotPath)).ensureType();
+    map<json> segments = check snapshot.segments.ensureType();
+    map<json> stSegment = check segments.ST.ensureType();
+    stSegment["tag"] = "Cached_Transaction_Set_Header";
+    check io:fileWriteJson(snapshotPath, snapshot);
+    check esl:convertEsl(schemaPath, basedefsPath, outputPath, {cacheDir});
+    json converted = check io:fileReadJson(outputPath);
+    test:assertEquals(check converted.segmentDefinitions.ST.tag, "Cached_Transaction_Set_Header");
+
+    check io:fileWriteString(basedefsPath, "# Changed\n", io:APPEND);
+    check esl:convertEsl(schemaPath, basedefsPath, outputPath, {cacheDir});
+    converted = check io:fileReadJson(outputPath);
+    test:assertEquals(converted, check convertEslSequentially(schemaPath, basedefsPath));
+}
+
+// Converts an ESL schema without the basedefs snapshot, fixing the names of the
+// whole schema after reading it.
+function convertEslSequentially(string schemaPath, string basedefsPath) returns json|error {
+    map<edi:EdiSegSchema> segmentDefs = check esl:readSegmentSchemas(check yaml:readFile(basedefsPath));
+    edi:EdiSchema schema = check esl:readEslSchema(check yaml:readFile(schemaPath), segmentDefs);
+    check esl:fixSchema(schema);
+    return schema.toJson();
+}
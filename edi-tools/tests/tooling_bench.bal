@@ -0,0 +1,400 @@
+// Copyright (c) 2026 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/file;
+import ballerina/io;
+import ballerina/os;
+import ballerina/test;
+import ballerina/time;
+import editools.codegen;
+import editools.edifact;
+import editools.esl;
+import editools.x12xsd;
+
+// Scale benchmark of the schema tooling. The tests of the `benchmark` group are
+// left out of the regular test run, and run by the `benchmark` Gradle task of
+// edi-tools. Each tool phase runs once per corpus size on a synthetic corpus,
+// and its time and the peak heap of the phase are written to
+// target/benchmark/tooling.json. The corpus sizes are read from
+// BENCHMARK_SEGMENT_COUNTS, BENCHMARK_NESTING_DEPTHS and BENCHMARK_SCHEMA_COUNTS
+// (comma separated), and the number of jobs from BENCHMARK_JOBS.
+// resetPeakHeap and peakHeapBytes are in heap_support.bal, which Gradle copies
+// from edi-tools-tests/benchmarks/common before the tests run.
+
+const TOOLING_BENCHMARK_REPORT = "target/benchmark/tooling.json";
+const EDIFACT_BENCHMARK_STUB = "target/benchmark/edifact-stub";
+const EDIFACT_BENCHMARK_VERSION = "dbench";
+
+type ToolingBenchmarkResult record {|
+    string tool;
+    string phase;
+    string corpus;
+    int size;
+    decimal seconds;
+    int peakHeapBytes;
+|};
+
+isolated ToolingBenchmarkResult[] toolingBenchmarkResults = [];
+
+@test:Config {groups: ["benchmark"]}
+function benchCodegenSegmentCount() returns error? {
+    foreach int segmentCount in check benchmarkSizes("BENCHMARK_SEGMENT_COUNTS", "100,1000,5000") {
+        json schema = syntheticSchema("Bench", segmentCount, 3);
+        string outputDir = check file:createTempDir();
+        check measurePhase("codegen", "generateCodeForSchema", "segments", segmentCount, function() returns error? {
+            check codegen:generateCodeForSchema(schema, check file:joinPath(outputDir, "plain.bal"));
+        });
+        check measurePhase("codegen", "generateCodeForSchema typed", "segments", segmentCount, function() returns error? {
+            check codegen:generateCodeForSchema(schema, check file:joinPath(outputDir, "typed.bal"), true);
+        });
+        check file:remove(outputDir, file:RECURSIVE);
+    }
+}
+
+@test:Config {groups: ["benchmark"]}
+function benchCodegenNestingDepth() returns error? {
+    foreach int depth in check benchmarkSizes("BENCHMARK_NESTING_DEPTHS", "5,20,50") {
+        json schema = syntheticSchema("Bench", depth * 2, depth);
+        string outputDir = check file:createTempDir();
+        check measurePhase("codegen", "generateCodeForSchema", "nesting", depth, function() returns error? {
+            check codegen:generateCodeForSchema(schema, check file:joinPath(outputDir, "plain.bal"));
+        });
+        check measurePhase("codegen", "generateCodeForSchema typed", "nesting", depth, function() returns error? {
+            check codegen:generateCodeForSchema(schema, check file:joinPath(outputDir, "typed.bal"), true);
+        });
+        check file:remove(outputDir, file:RECURSIVE);
+    }
+}
+
+@test:Config {groups: ["benchmark"]}
+function benchLibgenSchemaCount() returns error? {
+    int jobs = check benchmarkJobs();
+    foreach int schemaCount in check benchmarkSizes("BENCHMARK_SCHEMA_COUNTS", "10,100,600") {
+        string schemaDir = check file:createTempDir();
+        foreach int i in 0 ..< schemaCount {
+            check io:fileWriteJson(check file:joinPath(schemaDir, "T" + syntheticId(i) + ".json"),
+                    syntheticSchema("T" + syntheticId(i), 50, 3));
+        }
+        string outputPath = check file:createTempDir();
+        codegen:LibData libdata = {orgName: "benchorg", libName: "benchlib", schemaPath: schemaDir, outputPath,
+            versioned: false, jobs, incremental: true};
+        check measurePhase("libgen", "generateLibrary", "schemas", schemaCount, function() returns error? {
+            check codegen:generateLibrary(libdata.clone());
+        });
+        check measurePhase("libgen", "generateLibrary unchanged", "schemas", schemaCount, function() returns error? {
+            check codegen:generateLibrary(libdata.clone());
+        });
+        check file:remove(schemaDir, file:RECURSIVE);
+        check file:remove(outputPath, file:RECURSIVE);
+    }
+}
+
+@test:Config {groups: ["benchmark"]}
+function benchX12CollectionConversion() returns error? {
+    int jobs = check benchmarkJobs();
+    foreach int schemaCount in check benchmarkSizes("BENCHMARK_SCHEMA_COUNTS", "10,100,600") {
+        string inputDir = check file:createTempDir();
+        foreach int i in 0 ..< schemaCount {
+            check file:copy("tests/resources/x12xsd/004010/210.xsd", check file:joinPath(inputDir, "T" + syntheticId(i) + ".xsd"));
+        }
+        string outputDir = check file:createTempDir();
+        check measurePhase("convertX12Schema", "convertFromX12CollectionAndWrite", "schemas", schemaCount, function() returns error? {
+            check x12xsd:convertFromX12CollectionAndWrite(inputDir, outputDir, false, jobs = jobs);
+        });
+        check file:remove(inputDir, file:RECURSIVE);
+        check file:remove(outputDir, file:RECURSIVE);
+    }
+}
+
+@test:Config {groups: ["benchmark"]}
+function benchEslConversion() returns error? {
+    int jobs = check benchmarkJobs();
+    int[] schemaCounts = check benchmarkSizes("BENCHMARK_SCHEMA_COUNTS", "10,100,600");
+    foreach int segmentCount in check benchmarkSizes("BENCHMARK_SEGMENT_COUNTS", "100,1000,5000") {
+        string corpusDir = check file:createTempDir();
+        string basedefsPath = check file:joinPath(corpusDir, "basedefs.esl");
+        check io:fileWriteString(basedefsPath, syntheticBasedefs(segmentCount));
+        string schemaDir = check file:joinPath(corpusDir, "schemas");
+        check file:createDir(schemaDir);
+        int schemaCount = schemaCounts[schemaCounts.length() - 1];
+        foreach int i in 0 ..< schemaCount {
+            check io:fileWriteString(check file:joinPath(schemaDir, "T" + syntheticId(i) + ".esl"),
+                    syntheticEslSchema(i, segmentCount));
+        }
+        string outputDir = check file:createTempDir();
+        check measurePhase("convertESL", "convertEsl", "segments", segmentCount, function() returns error? {
+            check esl:convertEsl(schemaDir, basedefsPath, outputDir, {jobs});
+        });
+        check measurePhase("convertESL", "convertEsl snapshot", "segments", segmentCount, function() returns error? {
+            check esl:convertEsl(schemaDir, basedefsPath, outputDir, {jobs});
+        });
+        check file:remove(corpusDir, file:RECURSIVE);
+        check file:remove(outputDir, file:RECURSIVE);
+    }
+}
+
+// The synthetic directory pages are served by the EDIFACT page stub of
+// edifact_stub.bal.
+@test:Config {groups: ["benchmark"]}
+function benchEdifactConversion() returns error? {
+    int jobs = check benchmarkJobs();
+    addEdifactStubRoot(EDIFACT_BENCHMARK_STUB);
+    foreach int messageCount in check benchmarkSizes("BENCHMARK_SCHEMA_COUNTS", "10,100,600") {
+        check writeSyntheticEdifactPages(messageCount, 20);
+        string cacheDir = check file:createTempDir();
+        string outputDir = check file:createTempDir();
+        edifact:EdifactConversionOptions options = {baseUrl: "http://localhost:9595/", cacheDir, jobs};
+        check measurePhase("convertEdifactSchema", "convertEdifactToEdi", "messages", messageCount, function() returns error? {
+            check edifact:convertEdifactToEdi(EDIFACT_BENCHMARK_VERSION, outputDir, (), options);
+        });
+        check measurePhase("convertEdifactSchema", "convertEdifactToEdi offline", "messages", messageCount, function() returns error? {
+            check edifact:convertEdifactToEdi(EDIFACT_BENCHMARK_VERSION, outputDir, (), {...options, offline: true});
+        });
+        check file:remove(cacheDir, file:RECURSIVE);
+        check file:remove(outputDir, file:RECURSIVE);
+        check file:remove(EDIFACT_BENCHMARK_STUB, file:RECURSIVE);
+    }
+    removeEdifactStubRoot(EDIFACT_BENCHMARK_STUB);
+}
+
+@test:AfterGroups {value: ["benchmark"]}
+function writeToolingBenchmarkReport() returns error? {
+    ToolingBenchmarkResult[] results;
+    lock {
+        results = toolingBenchmarkResults.clone();
+    }
+    string reportDir = check file:parentPath(TOOLING_BENCHMARK_REPORT);
+    if !check file:test(reportDir, file:EXISTS) {
+        check file:createDir(reportDir, file:RECURSIVE);
+    }
+    check io:fileWriteJson(TOOLING_BENCHMARK_REPORT, results.toJson());
+}
+
+function measurePhase(string tool, string phase, string corpus, int size, function () returns error? run) returns error? {
+    resetPeakHeap();
+    decimal startTime = time:monotonicNow();
+    check run();
+    decimal seconds = (time:monotonicNow() - startTime).round(3);
+    ToolingBenchmarkResult result = {tool, phase, corpus, size, seconds, peakHeapBytes: peakHeapBytes()};
+    io:println(string `[${tool}] ${phase}, ${size} ${corpus}: ${seconds} s, peak heap ${result.peakHeapBytes / 1048576} MB`);
+    lock {
+        toolingBenchmarkResults.push(result.cloneReadOnly());
+    }
+}
+
+function benchmarkSizes(string envVar, string defaultValue) returns int[]|error {
+    string value = os:getEnv(envVar);
+    return from string item in re `,`.split(value == "" ? defaultValue : value)
+        where item.trim() != ""
+        select check int:fromString(item.trim());
+}
+
+function benchmarkJobs() returns int|error {
+    string value = os:getEnv("BENCHMARK_JOBS");
+    return value == "" ? 4 : int:fromString(value);
+}
+
+function syntheticId(int i) returns string {
+    return padText(i.toString(), 4, "0", true);
+}
+
+// Ballerina EDI schema with `segmentCount` segment definitions. The first
+// `depth` segments open a chain of nested segment groups, and the rest are
+// referenced at the top level.
+function syntheticSchema(string name, int segmentCount, int depth) returns json {
+    map<json> segmentDefinitions = {};
+    foreach int i in 0 ..< segmentCount {
+        string code = "S" + syntheticId(i);
+        segmentDefinitions[code] = {
+            code,
+            tag: "Segment_" + code,
+            fields: [
+                {tag: "code", required: true},
+                {tag: "identifier", required: true},
+                {tag: "quantity", dataType: "int"},
+                {tag: "amount", dataType: "float"},
+                {tag: "unit", components: [{tag: "unitCode"}, {tag: "unitQualifier"}]}
+            ]
+        };
+    }
+    json[] segments = [];
+    int nestedCount = int:min(depth, segmentCount);
+    foreach int i in nestedCount ..< segmentCount {
+        segments.push({ref: "S" + syntheticId(i), tag: "Segment_S" + syntheticId(i), minOccurances: 0, maxOccurances: 1});
+    }
+    json[] innermost = [];
+    foreach int level in 0 ..< nestedCount {
+        int i = nestedCount - 1 - level;
+        json[] groupSegments = [{ref: "S" + syntheticId(i), tag: "Segment_S" + syntheticId(i), minOccurances: 1, maxOccurances: 1}];
+        groupSegments.push(...innermost);
+        innermost = [{tag: "Group_" + syntheticId(i), minOccurances: 0, maxOccurances: -1, segments: groupSegments}];
+    }
+    segments.push(...innermost);
+    return {
+        name,
+        tag: name,
+        delimiters: {segment: "~", 'field: "*", component: ":", repetition: "^"},
+        segments,
+        segmentDefinitions
+    };
+}
+
+function syntheticBasedefs(int segmentCount) returns string {
+    string[] lines = [
+        "form: X12",
+        "version: '004010'",
+        "elements:",
+        "- { id: '93', name: Name, type: AN }",
+        "- { id: '330', name: Quantity Ordered, type: R }",
+        "- { id: '355', name: Unit or Basis for Measurement Code, type: ID }",
+        "composites:",
+        "- id: C001",
+        "  name: Composite Unit of Measure",
+        "  values:",
+        "  - { idRef: '355', usage: M }",
+        "segments:"
+    ];
+    foreach int i in 0 ..< segmentCount {
+        lines.push("- id: S" + syntheticId(i), "  name: Synthetic Segment " + syntheticId(i), "  values:",
+                "  - { idRef: '93', usage: M }", "  - { idRef: '330', usage: O }", "  - { idRef: C001, usage: O }");
+    }
+    return string:'join("\n", ...lines) + "\n";
+}
+
+// ESL schema of 20 segments of the basedefs, in a group nested three deep.
+function syntheticEslSchema(int index, int segmentCount) returns string {
+    string[] ids = from int i in 0 ..< 20 select "S" + syntheticId((index * 20 + i) % segmentCount);
+    string[] lines = [
+        "form: X12",
+        "version: '004010'",
+        "id: 'T" + syntheticId(index) + "'",
+        "name: Synthetic " + syntheticId(index),
+        "heading:",
+        "- { idRef: " + ids[0] + ", usage: M }",
+        "detail:",
+        "- groupId: " + ids[1],
+        "  usage: O",
+        "  count: 100",
+        "  items:",
+        "  - { idRef: " + ids[1] + ", usage: M }",
+        "  - groupId: " + ids[2],
+        "    usage: O",
+        "    count: 10",
+        "    items:",
+        "    - { idRef: " + ids[2] + ", usage: M }",
+        "    - groupId: " + ids[3],
+        "      usage: O",
+        "      count: 10",
+        "      items:",
+        "      - { idRef: " + ids[3] + ", usage: M }"
+    ];
+    foreach string id in ids.slice(4) {
+        lines.push("- { idRef: " + id + ", usage: O }");
+    }
+    lines.push("summary:", "- { idRef: " + ids[0] + ", usage: O }");
+    return string:'join("\n", ...lines) + "\n";
+}
+
+// Writes a UN/EDIFACT directory of `messageCount` message types, each with
+// `segmentsPerMessage` segments in segment groups nested up to three deep.
+// Each message type uses segments of its own, so every message adds segment
+// pages to fetch.
+function writeSyntheticEdifactPages(int messageCount, int segmentsPerMessage) returns error? {
+    string versionDir = check file:joinPath(EDIFACT_BENCHMARK_STUB, "trade", "untdid", EDIFACT_BENCHMARK_VERSION);
+    string messageDir = check file:joinPath(versionDir, "trmd");
+    string segmentDir = check file:joinPath(versionDir, "trsd");
+    if check file:test(EDIFACT_BENCHMARK_STUB, file:EXISTS) {
+        check file:remove(EDIFACT_BENCHMARK_STUB, file:RECURSIVE);
+    }
+    check file:createDir(messageDir, file:RECURSIVE);
+    check file:createDir(segmentDir, file:RECURSIVE);
+
+    string[] index = [];
+    foreach int m in 0 ..< messageCount {
+        string messageCode = "M" + syntheticId(m);
+        index.push(string `<A HREF = "${messageCode.toLowerAscii()}_c.htm">${messageCode}</A>  Synthetic message ${m}`);
+        string[] rows = [edifactSegmentRow(10, "UNH", "Message header", "M", 1, "")];
+        int position = 20;
+        foreach int s in 0 ..< segmentsPerMessage {
+            string segmentCode = "X" + syntheticId(m * segmentsPerMessage + s);
+            int depth = s % 4;
+            if depth > 0 {
+                rows.push(string `${padText(position.toString(), 5, "0", true)}       ---- Segment group ${s}  ------------------ C   9---------+${padText("", depth - 1, "|", false)}`);
+                position += 10;
+            }
+            rows.push(edifactSegmentRow(position, segmentCode, "Synthetic segment " + segmentCode, "M", 1,
+                    padText("", depth, "|", false)));
+            position += 10;
+            check io:fileWriteString(check file:joinPath(segmentDir, "trsd" + segmentCode.toLowerAscii() + ".htm"),
+                    edifactSegmentPage(segmentCode));
+        }
+        rows.push(edifactSegmentRow(position, "UNT", "Message trailer", "M", 1, ""));
+        check io:fileWriteString(check file:joinPath(messageDir, messageCode.toLowerAscii() + "_c.htm"),
+                string `<HTML>
+<HEAD><TITLE>${messageCode}</TITLE></HEAD>
+<BODY>
+<PRE>
+4.3    Message structure
+
+4.3.1  Segment table
+
+Pos    Tag Name                                      S   R
+
+${string:'join("\n", ...rows)}
+</PRE>
+</BODY>
+</HTML>
+`);
+    }
+    check io:fileWriteString(check file:joinPath(messageDir, "trmdi1.htm"), string `<HTML>
+<HEAD><TITLE>UN/EDIFACT - Messages index</TITLE></HEAD>
+<BODY>
+<PRE>
+${string:'join("\n", ...index)}
+</PRE>
+</BODY>
+</HTML>
+`);
+}
+
+function edifactSegmentRow(int position, string code, string name, string status, int repeats, string box) returns string {
+    return string `${padText(position.toString(), 5, "0", true)}   <A HREF = "../trsd/trsd${code.toLowerAscii()}.htm">${code}</A> ${padText(name, 44, " ", false)} ${status}   ${padText(repeats.toString(), 5, " ", false)} ${box}`;
+}
+
+function padText(string text, int length, string padding, boolean atStart) returns string {
+    string padded = text;
+    while padded.length() < length {
+        padded = atStart ? padding + padded : padded + padding;
+    }
+    return padded;
+}
+
+function edifactSegmentPage(string code) returns string {
+    return string `<HTML>
+<HEAD><TITLE>${code}</TITLE></HEAD>
+<BODY>
+<PRE>
+       ${code}  SYNTHETIC SEGMENT
+
+010    <A HREF = "../tred/tred1001.htm">1001</A>  Document name code                         C    1 an..3
+020    <A HREF = "../tred/tred1004.htm">1004</A>  Document identifier                        C    1 an..70
+030    <A HREF = "../tred/tred1225.htm">1225</A>  Message function code                      C    1 an..3
+</PRE>
+</BODY>
+</HTML>
+`;
+}
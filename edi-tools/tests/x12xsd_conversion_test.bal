@@ -14,6 +14,8 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/file;
+import ballerina/io;
 import ballerina/test;
 import editools.x12xsd;
 
@@ -22,4 +24,22 @@ function testX12XsdConversion() returns error? {
     string inpath = "tests/resources/x12xsd/004010/210.xsd";
     string outpath = "tests/resources/x12xsd/004010/210.json";
     check x12xsd:convertFromX12XsdAndWrite(inpath, outpath);
-}
\ No newline at end of file
+}
+
+@test:Config
+function testX12CollectionConversionInParallel() returns error? {
+    string inputDir = check file:createTempDir();
+    foreach string name in ["210", "210a", "210b", "210c", "210d"] {
+        check file:copy("tests/resources/x12xsd/004010/210.xsd", check file:joinPath(inputDir, name + ".xsd"));
+    }
+    string sequentialOut = check file:createTempDir();
+    string parallelOut = check file:createTempDir();
+    check x12xsd:convertFromX12CollectionAndWrite(inputDir, sequentialOut, false, jobs = 1);
+    check x12xsd:convertFromX12CollectionAndWrite(inputDir, parallelOut, false, jobs = 4);
+
+    foreach string name in ["210", "210a", "210b", "210c", "210d"] {
+        json sequential = check io:fileReadJson(check file:joinPath(sequentialOut, name + ".json"));
+        json parallel = check io:fileReadJson(check file:joinPath(parallelOut, name + ".json"));
+        test:assertEquals(parallel, sequential, "Parallel conversion differs for " + name);
+    }
+}